@@ -0,0 +1,43 @@
+package framework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.bean.users.get.userall.UserAllDto;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AbstractDtoBenchmark {
+
+    private UserAllDto users;
+    private UserAllDto sameUsers;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkData.users();
+        sameUsers = BenchmarkData.users();
+    }
+
+    @Benchmark
+    public UserAllDto sorted() {
+        return users.sorted();
+    }
+
+    @Benchmark
+    public boolean equalsDto() {
+        return users.equals(sameUsers);
+    }
+}
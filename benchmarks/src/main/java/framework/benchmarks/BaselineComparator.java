@@ -0,0 +1,144 @@
+package framework.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare JMH json result with stored baseline and fail when any benchmark regressed more than threshold.
+ * Arguments: result file, baseline file, threshold (0.25 = 25%), update baseline flag.
+ * If update flag is true result is stored as new baseline. Missing baseline fails the run, otherwise every fresh
+ * checkout would pass: store it once on the machine that runs the gate with -Dbenchmark.updateBaseline=true.
+ */
+public final class BaselineComparator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <result.json> <baseline.json> [threshold] [updateBaseline]");
+            System.exit(2);
+        }
+        File result = new File(args[0]);
+        File baseline = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.25;
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!result.isFile()) {
+            System.err.println("JMH result not found: " + result);
+            System.exit(2);
+        }
+        if (update) {
+            storeBaseline(result, baseline);
+            return;
+        }
+        if (!baseline.isFile()) {
+            System.err.println("Baseline not found: " + baseline + ", run with updateBaseline=true to store it");
+            System.exit(2);
+        }
+
+        int regressions = compare(read(baseline), read(result), threshold);
+        if (regressions > 0) {
+            System.err.printf(Locale.ROOT, "%d benchmark(s) regressed more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static void storeBaseline(File result, File baseline) throws IOException {
+        File dir = baseline.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Unable to create " + dir);
+        }
+        Files.copy(result.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("Baseline stored: " + baseline);
+    }
+
+    /**
+     * Print comparison table and return number of regressions.
+     */
+    static int compare(Map<String, Score> baseline, Map<String, Score> current, double threshold) {
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %9s %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-70s %14s %14.3f %9s %s  NEW%n",
+                    entry.getKey(), "-", now.score, "-", now.unit);
+                continue;
+            }
+            if (!before.unit.equals(now.unit)) {
+                System.out.printf(Locale.ROOT, "%-70s unit changed %s -> %s, skipped%n",
+                    entry.getKey(), before.unit, now.unit);
+                continue;
+            }
+            double change = now.worseBy(before);
+            boolean regressed = change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-70s %14.3f %14.3f %8.1f%% %s%s%n",
+                entry.getKey(), before.score, now.score, change * 100, now.unit, regressed ? "  REGRESSION" : "");
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf(Locale.ROOT, "%-70s not run%n", name);
+            }
+        }
+        return regressions;
+    }
+
+    static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            String mode = run.path("mode").asText();
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText()).append(' ').append(mode);
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(name.toString(),
+                new Score(mode, metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    static final class Score {
+        final String mode;
+        final double score;
+        final String unit;
+
+        Score(String mode, double score, String unit) {
+            this.mode = mode;
+            this.score = score;
+            this.unit = unit;
+        }
+
+        /**
+         * Relative degradation against baseline, negative when faster.
+         * Throughput is better when higher, time modes (avgt, sample, ss) when lower.
+         */
+        double worseBy(Score baseline) {
+            if (baseline.score == 0) {
+                return 0;
+            }
+            if ("thrpt".equals(mode)) {
+                return (baseline.score - score) / baseline.score;
+            }
+            return (score - baseline.score) / baseline.score;
+        }
+    }
+}
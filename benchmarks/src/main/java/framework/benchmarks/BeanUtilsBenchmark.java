@@ -0,0 +1,43 @@
+package framework.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.bean.users.get.userall.UserAllDto;
+import framework.utilities.BeanUtils;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanUtilsBenchmark {
+
+    private UserAllDto users;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkData.users();
+    }
+
+    @Benchmark
+    public Map<String, String> recursiveDescribe() {
+        return BeanUtils.recursiveDescribe(users);
+    }
+
+    @Benchmark
+    public Object getProperty() {
+        return BeanUtils.getProperty(users, "support.url");
+    }
+}
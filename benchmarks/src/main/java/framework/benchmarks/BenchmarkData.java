@@ -0,0 +1,40 @@
+package framework.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.apache.commons.io.IOUtils;
+
+import framework.bean.users.get.userall.UserAllDto;
+import framework.utilities.objectmapper.DtoConvert;
+
+/**
+ * Shared fixtures of benchmarks: reqres users page as json, dto and map.
+ */
+final class BenchmarkData {
+
+    static final String USERS_JSON = load("users.json");
+
+    private BenchmarkData() {
+        throw new AssertionError();
+    }
+
+    static UserAllDto users() {
+        return DtoConvert.stringToDto(UserAllDto.class, USERS_JSON, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> usersMap() {
+        return DtoConvert.stringToDto(Map.class, USERS_JSON, false);
+    }
+
+    private static String load(String resource) {
+        try (InputStream stream = BenchmarkData.class.getClassLoader().getResourceAsStream(resource)) {
+            return IOUtils.toString(stream, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package framework.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import framework.bean.users.get.userall.UserAllDto;
+import framework.utilities.objectmapper.DtoConvert;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConvertBenchmark {
+
+    private UserAllDto users;
+    private Map<String, Object> usersMap;
+
+    @Setup
+    public void setUp() {
+        users = BenchmarkData.users();
+        usersMap = BenchmarkData.usersMap();
+    }
+
+    @Benchmark
+    public String dtoToJsonString() {
+        return DtoConvert.dtoToJsonString(users);
+    }
+
+    @Benchmark
+    public UserAllDto stringToDto() {
+        return DtoConvert.stringToDto(UserAllDto.class, BenchmarkData.USERS_JSON, false);
+    }
+
+    @Benchmark
+    public UserAllDto roundTrip() {
+        return DtoConvert.stringToDto(UserAllDto.class, DtoConvert.dtoToJsonString(users), false);
+    }
+
+    @Benchmark
+    public UserAllDto mapToDto() {
+        return DtoConvert.mapToDto(UserAllDto.class, usersMap, false);
+    }
+
+    /**
+     * Reference point: mapper created per call, as DtoConvert used to do.
+     */
+    @Benchmark
+    public UserAllDto stringToDtoNewMapper() throws Exception {
+        return new ObjectMapper().readValue(BenchmarkData.USERS_JSON, UserAllDto.class);
+    }
+}
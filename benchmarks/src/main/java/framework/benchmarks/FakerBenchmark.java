@@ -0,0 +1,43 @@
+package framework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.utilities.Faker;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FakerBenchmark {
+
+    @Benchmark
+    public String randomString() {
+        return Faker.randomString(20);
+    }
+
+    @Benchmark
+    public String randomAlphaNumeric() {
+        return Faker.randomAlphaNumeric(16);
+    }
+
+    @Benchmark
+    public String randomEmailAddress() {
+        return Faker.randomEmailAddress();
+    }
+
+    @Benchmark
+    public String generateUuidAsString() {
+        return Faker.generateUuidAsString();
+    }
+}
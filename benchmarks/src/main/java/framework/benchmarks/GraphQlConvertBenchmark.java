@@ -0,0 +1,65 @@
+package framework.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.utilities.graphqlmapper.GraphQlConvert;
+import framework.utilities.graphqlmapper.graphql.GraphQlField;
+import framework.utilities.graphqlmapper.graphql.GraphQlObject;
+import framework.utilities.graphqlmapper.graphql.GraphQlQuery;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphQlConvertBenchmark {
+
+    @Benchmark
+    public String toQueryString() {
+        return GraphQlConvert.toQueryString(UsersQuery.class);
+    }
+
+    @GraphQlQuery(name = "users")
+    public static class UsersQuery {
+
+        @GraphQlField
+        private Integer page;
+        @GraphQlField
+        private Integer total;
+        @GraphQlObject
+        private List<User> data;
+        @GraphQlObject
+        private Support support;
+    }
+
+    public static class User {
+
+        @GraphQlField
+        private Integer id;
+        @GraphQlField
+        private String email;
+        @GraphQlField(name = "first_name")
+        private String firstName;
+        @GraphQlField(name = "last_name")
+        private String lastName;
+    }
+
+    public static class Support {
+
+        @GraphQlField
+        private String url;
+        @GraphQlField
+        private String text;
+    }
+}
@@ -0,0 +1,39 @@
+package framework.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.utilities.softasst.JsonCompare;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonCompareBenchmark {
+
+    private Map<String, Object> actual;
+    private Map<String, Object> expected;
+
+    @Setup
+    public void setUp() {
+        actual = BenchmarkData.usersMap();
+        expected = BenchmarkData.usersMap();
+    }
+
+    @Benchmark
+    public boolean isEqual() {
+        return new JsonCompare().isEqual(actual, expected);
+    }
+}
@@ -0,0 +1,44 @@
+package framework.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.utilities.TimeHelper;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimeHelperBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private String dateTime = "2019-07-05T07:54:00";
+    private Long epoch = 1562313240L;
+
+    @Benchmark
+    public LocalDateTime parseTime() {
+        return TimeHelper.parseTime(dateTime, PATTERN);
+    }
+
+    @Benchmark
+    public String asUtc() {
+        return TimeHelper.asUtc(epoch);
+    }
+
+    @Benchmark
+    public String reformatLocalDateTime() {
+        return TimeHelper.reformatLocalDateTime(dateTime, PATTERN, "dd/MM/yyyy HH:mm");
+    }
+}
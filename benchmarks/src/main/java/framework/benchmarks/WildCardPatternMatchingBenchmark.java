@@ -0,0 +1,36 @@
+package framework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import framework.utilities.WildCardPatternMatching;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WildCardPatternMatchingBenchmark {
+
+    private String address = "172.28.0.1";
+    private String path = "/api/v1/users/42/orders/2024-01-01T10:00:00Z";
+
+    @Benchmark
+    public boolean isMatchAddress() {
+        return WildCardPatternMatching.isMatch(address, "*172.*.0.*");
+    }
+
+    @Benchmark
+    public boolean isMatchPath() {
+        return WildCardPatternMatching.isMatch(path, "/api/*/users/*/orders/*Z");
+    }
+}
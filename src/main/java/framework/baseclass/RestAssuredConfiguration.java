@@ -1,51 +1,83 @@
 package framework.baseclass;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import static io.restassured.config.HttpClientConfig.httpClientConfig;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HeaderElement;
 import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.impl.conn.PoolingClientConnectionManager;
 import org.apache.http.message.BasicHeaderElementIterator;
 import org.apache.http.params.HttpConnectionParams;
 import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import framework.bean.apiconfig.ApiConfig;
+import framework.bean.apiconfig.ConnectionPoolSettings;
+import framework.utilities.metrics.MetricsRegistry;
+import framework.utilities.objectmapper.DtoConvert;
 import io.restassured.RestAssured;
 import io.restassured.config.EncoderConfig;
 import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.config.SSLConfig;
 
+/**
+ * Shared RestAssured configuration with one pooled http client for all api modules.
+ * <p>RestAssured 5 works with AbstractHttpClient only (HTTPBuilder keeps it as AbstractHttpClient), which accepts
+ * legacy ClientConnectionManager, so PoolingHttpClientConnectionManager can't be plugged in.
+ * The legacy pool is configured from the same settings instead:</p>
+ * <ul>
+ * <li>"HttpConnectionPool" entry of environment.json - MaxTotal, DefaultMaxPerRoute, TimeToLiveMillis,
+ * ValidateAfterInactivityMillis, IdleTimeoutMillis;</li>
+ * <li>"ConnectionPool.MaxPerRoute" of an api setting - limit of connections to that api.</li>
+ * </ul>
+ * <p>Legacy api has no validate after inactivity, positive ValidateAfterInactivityMillis enables stale connection
+ * check before a pooled connection is reused. Pool statistics are published as "httpConnectionPool" gauge
+ * of MetricsRegistry.</p>
+ */
 public class RestAssuredConfiguration {
 
 	protected static final Logger LOGGER = LogManager.getLogger();
+	private static final String POOL_SETTINGS = "HttpConnectionPool";
+	private static final String POOL_GAUGE = "httpConnectionPool";
+	private static final int DEFAULT_MAX_TOTAL = 10000;
+	private static final int DEFAULT_MAX_PER_ROUTE = 300;
+	private static final int DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS = 2000;
+	private static final int DEFAULT_IDLE_TIMEOUT_MILLIS = 60 * 1000;
+
 	private final RestAssuredConfig config;
+	private final ConnectionPoolSettings poolSettings;
+	// legacy pool is the only one RestAssured 5 accepts, see class comment
+	@SuppressWarnings("deprecation")
+	private final PoolingClientConnectionManager pool;
+	private final IdleConnectionMonitorThread staleMonitor;
+	private final Set<HttpRoute> routes = ConcurrentHashMap.newKeySet();
 
 	private RestAssuredConfiguration() {
-		
-		this.config = RestAssuredConfig.newConfig().httpClient(httpClientConfig().httpClientFactory(() -> {
-			PoolingClientConnectionManager pool2 = new PoolingClientConnectionManager();
-			pool2.setMaxTotal(10000);
-			pool2.setDefaultMaxPerRoute(300);
-			iddleMonitor(pool2);
-
-			DefaultHttpClient client = new DefaultHttpClient(pool2);
-
-			client.setKeepAliveStrategy(this::configureKeepAlive);
-
-			HttpParams params = client.getParams();
-			HttpConnectionParams.setConnectionTimeout(params, 60 * 1000);
-			HttpConnectionParams.setSoTimeout(params, 60 * 1000);
-			HttpConnectionParams.setSoReuseaddr(params, true);
-			HttpConnectionParams.setTcpNoDelay(params, true);
-			return client;
-		}).setParam("http.connection.timeout", 300000).setParam("http.socket.timeout", 300000)
+		this.poolSettings = loadPoolSettings();
+		this.pool = createPool(poolSettings);
+		this.staleMonitor = iddleMonitor(pool, poolSettings.getIdleTimeoutMillis());
+		Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "http-pool-shutdown"));
+		MetricsRegistry.getInstance().registerGauge(POOL_GAUGE, this::getPoolStatistics);
+
+		this.config = RestAssuredConfig.newConfig().httpClient(httpClientConfig().httpClientFactory(this::createClient)
+				.setParam("http.connection.timeout", 300000).setParam("http.socket.timeout", 300000)
 				.setParam("http.connection-manager.timeout", 300000).reuseHttpClientInstance())
 				.encoderConfig(initDefaultEncoderConfig()).sslConfig(new SSLConfig().allowAllHostnames());
 	}
@@ -54,6 +86,113 @@ public class RestAssuredConfiguration {
 		return SingletonHolder.INSTANCE;
 	}
 
+	@SuppressWarnings("deprecation")
+	private DefaultHttpClient createClient() {
+		DefaultHttpClient client = new DefaultHttpClient(pool);
+
+		client.setKeepAliveStrategy(this::configureKeepAlive);
+		client.addRequestInterceptor(this::trackRoute);
+
+		HttpParams params = client.getParams();
+		HttpConnectionParams.setConnectionTimeout(params, 60 * 1000);
+		HttpConnectionParams.setSoTimeout(params, 60 * 1000);
+		HttpConnectionParams.setSoReuseaddr(params, true);
+		HttpConnectionParams.setTcpNoDelay(params, true);
+		HttpConnectionParams.setStaleCheckingEnabled(params, poolSettings.getValidateAfterInactivityMillis() > 0);
+		return client;
+	}
+
+	private static ConnectionPoolSettings loadPoolSettings() {
+		Map<String, Object> mapping = EnvironmentProvider.provideEnvironment().getSettings(POOL_SETTINGS);
+		ConnectionPoolSettings settings = mapping == null ? null
+				: DtoConvert.mapToDto(ConnectionPoolSettings.class, mapping, false);
+		if (settings == null) {
+			settings = new ConnectionPoolSettings();
+		}
+		if (settings.getMaxTotal() == null) {
+			settings.setMaxTotal(DEFAULT_MAX_TOTAL);
+		}
+		if (settings.getDefaultMaxPerRoute() == null) {
+			settings.setDefaultMaxPerRoute(DEFAULT_MAX_PER_ROUTE);
+		}
+		if (settings.getTimeToLiveMillis() == null) {
+			settings.setTimeToLiveMillis(-1L);
+		}
+		if (settings.getValidateAfterInactivityMillis() == null) {
+			settings.setValidateAfterInactivityMillis(DEFAULT_VALIDATE_AFTER_INACTIVITY_MILLIS);
+		}
+		if (settings.getIdleTimeoutMillis() == null) {
+			settings.setIdleTimeoutMillis(DEFAULT_IDLE_TIMEOUT_MILLIS);
+		}
+		return settings;
+	}
+
+	// qualified name, as deprecation warning of an import can't be suppressed on java 8
+	@SuppressWarnings("deprecation")
+	private static PoolingClientConnectionManager createPool(ConnectionPoolSettings settings) {
+		LOGGER.debug("Create http connection pool: max total [{}], max per route [{}], time to live [{}]ms",
+				settings.getMaxTotal(), settings.getDefaultMaxPerRoute(), settings.getTimeToLiveMillis());
+		PoolingClientConnectionManager pool = new PoolingClientConnectionManager(
+				org.apache.http.impl.conn.SchemeRegistryFactory.createDefault(), settings.getTimeToLiveMillis(),
+				TimeUnit.MILLISECONDS);
+		pool.setMaxTotal(settings.getMaxTotal());
+		pool.setDefaultMaxPerRoute(settings.getDefaultMaxPerRoute());
+		return pool;
+	}
+
+	/**
+	 * Apply connection limit of api setting (ConnectionPool.MaxPerRoute) to its route.
+	 *
+	 * @param apiConfig ApiConfig
+	 */
+	public void registerApi(ApiConfig apiConfig) {
+		if (apiConfig == null || StringUtils.isEmpty(apiConfig.getApiUrl()) || apiConfig.getConnectionPool() == null
+				|| apiConfig.getConnectionPool().getMaxPerRoute() == null) {
+			return;
+		}
+		URI uri = URI.create(apiConfig.getApiUrl());
+		String scheme = uri.getScheme() == null ? HttpHost.DEFAULT_SCHEME_NAME : uri.getScheme();
+		boolean secure = "https".equalsIgnoreCase(scheme);
+		int port = apiConfig.getApiPort() != null ? apiConfig.getApiPort() : uri.getPort();
+		int maxPerRoute = apiConfig.getConnectionPool().getMaxPerRoute();
+		// route may be resolved with explicit or with default (-1) port, limit both
+		pool.setMaxPerRoute(new HttpRoute(new HttpHost(uri.getHost(), port, scheme), null, secure), maxPerRoute);
+		pool.setMaxPerRoute(new HttpRoute(new HttpHost(uri.getHost(), -1, scheme), null, secure), maxPerRoute);
+		LOGGER.debug("Limit connections to [{}] by [{}]", apiConfig.getApiUrl(), maxPerRoute);
+	}
+
+	private void trackRoute(HttpRequest request, HttpContext context) {
+		Object route = context.getAttribute(HttpClientContext.HTTP_ROUTE);
+		if (route instanceof HttpRoute) {
+			routes.add((HttpRoute) route);
+		}
+	}
+
+	/**
+	 * Get live statistics of the pool: total and per each used route.
+	 *
+	 * @return Map of route (or "total") to leased, pending, available and max connections
+	 */
+	public Map<String, Map<String, Integer>> getPoolStatistics() {
+		Map<String, Map<String, Integer>> statistics = new LinkedHashMap<>();
+		statistics.put("total", toMap(pool.getTotalStats()));
+		routes.forEach(route -> statistics.put(route.getTargetHost().toURI(), toMap(pool.getStats(route))));
+		return statistics;
+	}
+
+	public PoolStats getTotalPoolStats() {
+		return pool.getTotalStats();
+	}
+
+	private static Map<String, Integer> toMap(PoolStats stats) {
+		Map<String, Integer> map = new LinkedHashMap<>();
+		map.put("leased", stats.getLeased());
+		map.put("pending", stats.getPending());
+		map.put("available", stats.getAvailable());
+		map.put("max", stats.getMax());
+		return map;
+	}
+
 	private long configureKeepAlive(HttpResponse response, HttpContext context) {
 		// Honor 'keep-alive' header
 		HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
@@ -75,17 +214,21 @@ public class RestAssuredConfiguration {
 	}
 
 	/**
-	 * Will use once rest assured moves to newer implementations.
+	 * Start monitor that evicts expired and idle connections from the pool.
 	 */
-	private void iddleMonitor(PoolingClientConnectionManager pool) {
-		IdleConnectionMonitorThread staleMonitor = new IdleConnectionMonitorThread(pool);
+	private static IdleConnectionMonitorThread iddleMonitor(ClientConnectionManager pool, long idleTimeoutMillis) {
+		IdleConnectionMonitorThread staleMonitor = new IdleConnectionMonitorThread(pool, idleTimeoutMillis);
 		staleMonitor.start();
-		try {
-			staleMonitor.join(1000);
-		} catch (InterruptedException e) {
-			LOGGER.error(e);
-			Thread.currentThread().interrupt();
-		}
+		return staleMonitor;
+	}
+
+	/**
+	 * Stop idle connection monitor and close all pooled connections.
+	 * Called by shutdown hook, safe to call more than once.
+	 */
+	public void shutdown() {
+		staleMonitor.shutdown();
+		pool.shutdown();
 	}
 
 	public RestAssuredConfig defaultConfig() {
@@ -104,11 +247,18 @@ public class RestAssuredConfiguration {
 	public static class IdleConnectionMonitorThread extends Thread {
 
 		private final ClientConnectionManager connMgr;
+		private final long idleTimeoutMillis;
 		private volatile boolean shutdown;
 
 		public IdleConnectionMonitorThread(ClientConnectionManager connMgr) {
-			super();
+			this(connMgr, DEFAULT_IDLE_TIMEOUT_MILLIS);
+		}
+
+		public IdleConnectionMonitorThread(ClientConnectionManager connMgr, long idleTimeoutMillis) {
+			super("http-idle-connection-monitor");
 			this.connMgr = connMgr;
+			this.idleTimeoutMillis = idleTimeoutMillis;
+			setDaemon(true);
 		}
 
 		@Override
@@ -118,7 +268,7 @@ public class RestAssuredConfiguration {
 					synchronized (this) {
 						wait(1000);
 						connMgr.closeExpiredConnections();
-						connMgr.closeIdleConnections(60, TimeUnit.SECONDS);
+						connMgr.closeIdleConnections(idleTimeoutMillis, TimeUnit.MILLISECONDS);
 					}
 				}
 			} catch (InterruptedException ex) {
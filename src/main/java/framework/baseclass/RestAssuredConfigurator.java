@@ -16,7 +16,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.hamcrest.Matchers;
 
+import framework.pageobject.api.correlation.CorrelationFilter;
 import framework.utilities.LogginOutputStream;
+import framework.utilities.balancer.LoadBalancingFilter;
+import framework.utilities.balancer.NodeBalancer;
+import framework.utilities.cache.ResponseCache;
+import framework.utilities.cache.ResponseCacheFilter;
+import framework.utilities.httplog.HttpLogFilter;
+import framework.utilities.httplog.HttpLogWriter;
+import framework.utilities.metrics.MetricsFilter;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
@@ -24,8 +32,6 @@ import io.restassured.config.RedirectConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.Filter;
 import io.restassured.filter.log.ErrorLoggingFilter;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 
@@ -91,36 +97,37 @@ public class RestAssuredConfigurator {
 
 		/**
 		 * Enable Request Filter. This filter will log all requests into console in
-		 * Debug mode.
+		 * Debug mode. Requests are captured into a bounded queue and written by a
+		 * background thread, see {@link HttpLogWriter}.
 		 * 
 		 * @return this
 		 */
 		public Builder usingRequestFilter() {
-			try {
-				return this.usingFilter(new RequestLoggingFilter(
-						new PrintStream(new LogginOutputStream(LogManager.getLogger(), Level.DEBUG), true,
-								StandardCharsets.UTF_8.name())));
-			} catch (UnsupportedEncodingException e) {
-				LOGGER.error(e);
-			}
-			return this;
+			return this.usingFilter(new HttpLogFilter(true, false));
 		}
 
 		/**
 		 * Enable Response Filter. This filter will log all responses into console in
-		 * Debug mode.
+		 * Debug mode. Responses are captured into a bounded queue and written by a
+		 * background thread, see {@link HttpLogWriter}.
 		 * 
 		 * @return this
 		 */
 		public Builder usingResponseFilter() {
-			try {
-				return this.usingFilter(new ResponseLoggingFilter(
-						new PrintStream(new LogginOutputStream(LogManager.getLogger(), Level.DEBUG), true,
-								StandardCharsets.UTF_8.name())));
-			} catch (UnsupportedEncodingException e) {
-				LOGGER.error(e);
-			}
-			return this;
+			return this.usingFilter(new HttpLogFilter(false, true));
+		}
+
+		/**
+		 * Log requests and/or responses with own writer, e.g. with other logger, body
+		 * length or queue capacity.
+		 * 
+		 * @param writer      HttpLogWriter
+		 * @param logRequest  log requests
+		 * @param logResponse log responses
+		 * @return this
+		 */
+		public Builder usingHttpLog(HttpLogWriter writer, boolean logRequest, boolean logResponse) {
+			return this.usingFilter(new HttpLogFilter(writer, logRequest, logResponse));
 		}
 
 		/**
@@ -140,6 +147,47 @@ public class RestAssuredConfigurator {
 			return this;
 		}
 
+		/**
+		 * Enable Metrics Filter. This filter will record latency, throughput and
+		 * in-flight requests of each endpoint into MetricsRegistry.
+		 * 
+		 * @return this
+		 */
+		public Builder usingMetricsFilter() {
+			return this.usingFilter(new MetricsFilter());
+		}
+
+		/**
+		 * Spread requests over api nodes of the balancer.
+		 * 
+		 * @param balancer NodeBalancer
+		 * @return this
+		 */
+		public Builder usingLoadBalancer(NodeBalancer balancer) {
+			return this.usingFilter(new LoadBalancingFilter(balancer));
+		}
+
+		/**
+		 * Answer GET requests from response cache. Add it before other filters, so
+		 * cache hits are not measured as calls.
+		 * 
+		 * @param cache ResponseCache
+		 * @return this
+		 */
+		public Builder usingResponseCache(ResponseCache cache) {
+			return this.usingFilter(new ResponseCacheFilter(cache));
+		}
+
+		/**
+		 * Replace ${name} in all requests of module with variables of the current
+		 * virtual user, see {@link CorrelationFilter}.
+		 * 
+		 * @return this
+		 */
+		public Builder usingCorrelation() {
+			return this.usingFilter(new CorrelationFilter());
+		}
+
 //		/**
 //		 * Enable RestAssured Filter.
 //		 * 
@@ -227,6 +275,7 @@ public class RestAssuredConfigurator {
 			setupHeaders();
 			setupContentType();
 			setupConnectionInfo();
+			setupFilters();
 			createDefaultResponseSpecification();
 			return new RestAssuredConfigurator(specBuilder);
 		}
@@ -239,6 +288,12 @@ public class RestAssuredConfigurator {
 					.expectBody(Matchers.anyOf(Matchers.notNullValue(), Matchers.nullValue())).build();
 		}
 
+		private void setupFilters() {
+			if (!filters.isEmpty()) {
+				specBuilder.addFilters(filters);
+			}
+		}
+
 		private void setupHeaders() {
 			if (usingHeaders) {
 				headers.forEach((hk, hv) -> this.specBuilder.addHeader(hk, hv));
@@ -11,9 +11,14 @@ import io.restassured.response.ValidatableResponse;
 import io.restassured.specification.RequestSpecification;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import framework.pageobject.api.correlation.Correlation;
+import framework.pageobject.api.correlation.CorrelationFilter;
+import framework.utilities.objectmapper.JsonArrayReader;
+
 /**
  * AbstractWebEndpoint class is parent implementation of all abstract API methods
  * it contains all generic methods and return response in different structured
@@ -60,6 +65,37 @@ public class AbstractWebEndpoint {
         return validatableResponse.extract().body().jsonPath().getList("", dtoClass);
     }
 
+    /**
+     * A helper method to read list response element by element, without building json path tree and the whole list.
+     * Body is parsed straight from the connection, no String of it is built; it is held in memory only if a filter
+     * has read it, e.g. response cache or http log. Unknown properties are ignored.
+     * Stream should be closed, e.g. in try-with-resources.
+     * Return stream of given class type
+     */
+    public static <T> Stream<T> extractAsDtoStream(ValidatableResponse validatableResponse, Class<T> dtoClass) {
+        return extractAsDtoStream(validatableResponse, dtoClass, "");
+    }
+
+    /**
+     * A helper method to read list response element by element, array is located by JSON pointer, e.g. /data.
+     * Return stream of given class type
+     */
+    public static <T> Stream<T> extractAsDtoStream(ValidatableResponse validatableResponse, Class<T> dtoClass,
+        String arrayPointer) {
+        return JsonArrayReader.of(validatableResponse.extract().asInputStream(), dtoClass, arrayPointer, false)
+            .stream();
+    }
+
+    /**
+     * A helper method to pass list response elements to visitor one by one, visitor returns false to stop.
+     * Return number of visited elements
+     */
+    public static <T> int visitDtoList(ValidatableResponse validatableResponse, Class<T> dtoClass,
+        String arrayPointer, JsonArrayReader.Visitor<? super T> visitor) {
+        return JsonArrayReader.of(validatableResponse.extract().asInputStream(), dtoClass, arrayPointer, false)
+            .visit(visitor);
+    }
+
     /**
      * A helper method to use rest assured to extract json path.
      * Return JsonPath
@@ -72,6 +108,26 @@ public class AbstractWebEndpoint {
         return this.requestSpecification;
     }
 
+    /**
+     * Request specification of this endpoint with correlation: ${name} in the request is replaced with variable
+     * of the current virtual user, values of correlations are extracted from the response into its variables.
+     * @param correlations correlations applied to the response, none to only substitute variables
+     * @return RequestSpecification for methods that take one, e.g. post(spec, path, body)
+     */
+    public RequestSpecification correlated(Correlation... correlations) {
+        return given()
+            .spec(this.getRequestSpecification())
+            .filter(new CorrelationFilter(correlations));
+    }
+
+    /**
+     * Non-blocking view of this endpoint, every request returns CompletableFuture.
+     * @return AsyncWebEndpoint backed by shared bounded executor
+     */
+    public AsyncWebEndpoint async() {
+        return new AsyncWebEndpoint(this);
+    }
+
     /**
      * Execute request.
      * @param method - method, e.g. POST, GET, etc.
@@ -127,6 +183,21 @@ public class AbstractWebEndpoint {
                 .statusCode(statusCode);
     }
 
+    /**
+     * Execute request without status code validation, e.g. for load test samples that check response themselves.
+     * @param requestSpecification - RequestSpecification
+     * @param method - method, e.g. POST, GET, etc.
+     * @param path - path to endpoint or absolute url
+     * @return Response
+     */
+    public Response sendRequest(RequestSpecification requestSpecification, String method, String path) {
+        return given()
+            .spec(requestSpecification)
+            .when()
+            .request(method, path)
+            .andReturn();
+    }
+
     /**
      * Execute POST request.
      * @param path - path to endpoint, such as foo/bar
@@ -1,12 +1,9 @@
 package framework.baseclass.apis;
 
-import org.apache.commons.lang3.StringUtils;
-
-import framework.baseclass.EnvironmentProvider;
-import framework.baseclass.RestAssuredConfigurator;
 import framework.bean.apiconfig.ApiConfig;
-import framework.utilities.objectmapper.DtoConvert;
-import io.restassured.http.ContentType;
+import framework.utilities.balancer.NodeBalancer;
+import framework.utilities.cache.ResponseCache;
+import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.specification.RequestSpecification;
 
 import java.util.Map;
@@ -15,6 +12,7 @@ import java.util.Map;
  * Maven property read environment decided
  * environment.json load > dto convert 
  * Default Request Specification set 
+ * Api config and specifications are loaded once per process, see {@link ApiSpecificationCache}
  * @author Deepak.Rathod
  *
  */
@@ -23,6 +21,8 @@ public abstract class AbstractWebService {
     protected String apiSetting;
     protected ApiConfig apiConfig;
     protected boolean useSwagger;
+    protected NodeBalancer nodeBalancer;
+    protected ResponseCache responseCache;
     
 	protected AbstractWebService(String apiSetting, boolean useSwagger) {
 		this.useSwagger = useSwagger;
@@ -43,38 +43,38 @@ public abstract class AbstractWebService {
 
 
     private void loadApiConfig() {
-        Map<String, Object> mapping = EnvironmentProvider
-            .provideEnvironment().getSettings(apiSetting);
-        apiConfig = DtoConvert.mapToDto(ApiConfig.class, mapping, false);
+        ApiSpecificationCache.CachedApi api = ApiSpecificationCache.getInstance().getApi(apiSetting);
+        apiConfig = api.getApiConfig();
+        nodeBalancer = api.getNodeBalancer();
+        responseCache = api.getResponseCache();
     }
     
+    /**
+     * Default specification of the api, shared by all threads, must not be changed.
+     * 
+     * @return RequestSpecification
+     */
     protected RequestSpecification getDefaultSpecification() {
-        RestAssuredConfigurator.Builder configurator = RestAssuredConfigurator.newBuilder()
-            .usingContentType(ContentType.JSON);
-        if (!StringUtils.isEmpty(apiConfig.getApiVersion())) {
-            configurator.withConnectionInfo(apiConfig.getApiUrl(),
-                apiConfig.getApiPort(),
-                apiConfig.getApiBasePath(),
-                apiConfig.getApiVersion());
-        } else {
-            configurator.withConnectionInfo(apiConfig.getApiUrl(),
-                apiConfig.getApiPort(),
-                apiConfig.getApiBasePath());
-        }
+        return ApiSpecificationCache.getInstance().getSpecification(apiSetting, true);
+    }
 
-        if (apiConfig.getDefaultHeaders() != null) {
-            configurator.withHeaders(apiConfig.getDefaultHeaders());
-        }
-        return configurator.build().getRequestSpecification();
+    /**
+     * Copy of default specification with own headers, e.g. authorization of the current user.
+     * 
+     * @param headers headers added to default headers
+     * @return RequestSpecification
+     */
+    protected RequestSpecification getDefaultSpecification(Map<String, String> headers) {
+        return new RequestSpecBuilder().addRequestSpecification(getDefaultSpecification()).addHeaders(headers)
+            .build();
     }
 
+    /**
+     * Default specification of the api without api version, shared by all threads, must not be changed.
+     * 
+     * @return RequestSpecification
+     */
     protected RequestSpecification buildUnversionedSpecs() {
-        return RestAssuredConfigurator.newBuilder()
-            .withConnectionInfo(apiConfig.getApiUrl(),
-                apiConfig.getApiPort(),
-                apiConfig.getApiBasePath())
-            .usingContentType(ContentType.JSON)
-            .withHeaders(apiConfig.getDefaultHeaders())
-            .build().getRequestSpecification();
+        return ApiSpecificationCache.getInstance().getSpecification(apiSetting, false);
     }
 }
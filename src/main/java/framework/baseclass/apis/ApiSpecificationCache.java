@@ -0,0 +1,156 @@
+package framework.baseclass.apis;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.baseclass.EnvironmentProvider;
+import framework.baseclass.RestAssuredConfiguration;
+import framework.baseclass.RestAssuredConfigurator;
+import framework.bean.apiconfig.ApiConfig;
+import framework.utilities.balancer.NodeBalancer;
+import framework.utilities.cache.ResponseCache;
+import framework.utilities.metrics.MetricsRegistry;
+import framework.utilities.objectmapper.DtoConvert;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Process wide cache of api settings and default request specifications, shared by all {@link AbstractWebService}
+ * instances of all threads. Api config, node balancer and response cache are created once per api setting,
+ * specification once per api setting and api version (empty version for unversioned specification).
+ * Cached objects must not be changed: specifications are only merged into requests, default headers of cached
+ * config are unmodifiable. Per thread headers, e.g. authorization, are added to a copy of the specification, see
+ * {@link AbstractWebService#getDefaultSpecification(Map)}.
+ */
+public final class ApiSpecificationCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final Map<String, CachedApi> apis = new ConcurrentHashMap<>();
+    private final Map<String, RequestSpecification> specifications = new ConcurrentHashMap<>();
+
+    private ApiSpecificationCache() {
+    }
+
+    public static ApiSpecificationCache getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Get api settings, they are read from environment on the first call.
+     *
+     * @param apiSetting api setting name
+     * @return CachedApi
+     */
+    public CachedApi getApi(String apiSetting) {
+        return apis.computeIfAbsent(apiSetting, CachedApi::load);
+    }
+
+    /**
+     * Get default request specification of api: content type, connection info, default headers and filters.
+     *
+     * @param apiSetting api setting name
+     * @param versioned add api version to base path
+     * @return shared RequestSpecification
+     */
+    public RequestSpecification getSpecification(String apiSetting, boolean versioned) {
+        CachedApi api = getApi(apiSetting);
+        String version = versioned ? StringUtils.defaultString(api.getApiConfig().getApiVersion()) : "";
+        return specifications.computeIfAbsent(apiSetting + '@' + version, key -> buildSpecification(api, version));
+    }
+
+    /**
+     * Forget cached settings and specifications, e.g. after environment properties were changed.
+     */
+    public void clear() {
+        specifications.clear();
+        apis.clear();
+    }
+
+    private static RequestSpecification buildSpecification(CachedApi api, String version) {
+        ApiConfig apiConfig = api.getApiConfig();
+        RestAssuredConfigurator.Builder configurator = RestAssuredConfigurator.newBuilder()
+            .usingContentType(ContentType.JSON);
+        if (!version.isEmpty()) {
+            configurator.withConnectionInfo(apiConfig.getApiUrl(),
+                apiConfig.getApiPort(),
+                apiConfig.getApiBasePath(),
+                version);
+        } else {
+            configurator.withConnectionInfo(apiConfig.getApiUrl(),
+                apiConfig.getApiPort(),
+                apiConfig.getApiBasePath());
+        }
+        if (apiConfig.getDefaultHeaders() != null) {
+            configurator.withHeaders(apiConfig.getDefaultHeaders());
+        }
+        if (api.getResponseCache() != null) {
+            configurator.usingResponseCache(api.getResponseCache());
+        }
+        if (MetricsRegistry.isEnabled()) {
+            configurator.usingMetricsFilter();
+        }
+        if (api.getNodeBalancer() != null) {
+            configurator.usingLoadBalancer(api.getNodeBalancer());
+        }
+        LOGGER.debug("Build default specification of [{}], version [{}]", api.apiSetting, version);
+        return configurator.build().getRequestSpecification();
+    }
+
+    /**
+     * Settings of one api read from environment.
+     */
+    public static final class CachedApi {
+
+        private final String apiSetting;
+        private final ApiConfig apiConfig;
+        private final NodeBalancer nodeBalancer;
+        private final ResponseCache responseCache;
+
+        private CachedApi(String apiSetting, ApiConfig apiConfig) {
+            this.apiSetting = apiSetting;
+            this.apiConfig = apiConfig;
+            this.nodeBalancer = NodeBalancer.forApi(apiSetting, apiConfig);
+            this.responseCache = ResponseCache.forApi(apiSetting, apiConfig);
+        }
+
+        private static CachedApi load(String apiSetting) {
+            Map<String, Object> mapping = EnvironmentProvider.provideEnvironment().getSettings(apiSetting);
+            ApiConfig apiConfig = mapping == null ? null : DtoConvert.mapToDto(ApiConfig.class, mapping, false);
+            if (apiConfig == null) {
+                throw new IllegalStateException("Api settings not found: " + apiSetting);
+            }
+            if (apiConfig.getDefaultHeaders() != null) {
+                apiConfig.setDefaultHeaders(Collections.unmodifiableMap(apiConfig.getDefaultHeaders()));
+            }
+            RestAssuredConfiguration.instance().registerApi(apiConfig);
+            LOGGER.debug("Load api settings of [{}]", apiSetting);
+            return new CachedApi(apiSetting, apiConfig);
+        }
+
+        public ApiConfig getApiConfig() {
+            return apiConfig;
+        }
+
+        public NodeBalancer getNodeBalancer() {
+            return nodeBalancer;
+        }
+
+        public ResponseCache getResponseCache() {
+            return responseCache;
+        }
+    }
+
+    private static class SingletonHolder {
+
+        static final ApiSpecificationCache INSTANCE = new ApiSpecificationCache();
+
+        private SingletonHolder() {
+            //empty
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package framework.baseclass.apis;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.utilities.MavenProperty;
+
+/**
+ * AsyncWebEndpoint is non-blocking twin of {@link AbstractWebEndpoint}.
+ * Every request method of the wrapped endpoint is mirrored here and returns {@link CompletableFuture},
+ * so a single test thread can keep many requests in flight.
+ * Requests are executed on a bounded executor and go through the same RequestSpecification,
+ * hence through the pooled http client of RestAssuredConfiguration.
+ * Example
+ * <pre>
+ *      AsyncWebEndpoint users = Users.UsersApi().getBFeature().async();
+ *      List&#60;CompletableFuture&#60;ValidatableResponse&#62;&#62; calls = ids.stream()
+ *          .map(id -> users.get("/users/{ID}", id))
+ *          .collect(Collectors.toList());
+ *      CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).join();
+ * </pre>
+ * @author Deepak.Rathod
+ */
+public class AsyncWebEndpoint {
+
+    protected static final Logger LOGGER = LogManager.getLogger();
+    private static final String THREADS_PROPERTY = "AsyncWebEndpoint.threads";
+    private static final String QUEUE_PROPERTY = "AsyncWebEndpoint.queueSize";
+    private static final int DEFAULT_THREADS = 64;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+
+    private final AbstractWebEndpoint endpoint;
+    private final ExecutorService executor;
+
+    /**
+     * Wrap endpoint and use shared bounded executor.
+     *
+     * @param endpoint blocking endpoint to delegate to
+     */
+    public AsyncWebEndpoint(AbstractWebEndpoint endpoint) {
+        this(endpoint, SingletonHolder.EXECUTOR);
+    }
+
+    /**
+     * Wrap endpoint and use custom executor.
+     *
+     * @param endpoint blocking endpoint to delegate to
+     * @param executor executor to run requests on
+     */
+    public AsyncWebEndpoint(AbstractWebEndpoint endpoint, ExecutorService executor) {
+        this.endpoint = Objects.requireNonNull(endpoint, "Endpoint must be not null");
+        this.executor = Objects.requireNonNull(executor, "Executor must be not null");
+    }
+
+    /**
+     * Get shared executor used by default for all async endpoints.
+     * Size is defined by maven properties AsyncWebEndpoint.threads and AsyncWebEndpoint.queueSize.
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService defaultExecutor() {
+        return SingletonHolder.EXECUTOR;
+    }
+
+    public AbstractWebEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public RequestSpecification getRequestSpecification() {
+        return endpoint.getRequestSpecification();
+    }
+
+    /**
+     * Execute request asynchronously.
+     * @see AbstractWebEndpoint#makeRequest(String, String, Object, int, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> makeRequest(String method, String path, Object body, int statusCode,
+        Object... params) {
+        return submit(() -> endpoint.makeRequest(method, path, body, statusCode, params));
+    }
+
+    /**
+     * Execute request asynchronously.
+     * @see AbstractWebEndpoint#makeRequest(RequestSpecification, String, String, Object, int, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> makeRequest(
+        RequestSpecification requestSpecification,
+        String method,
+        String path,
+        Object body,
+        int statusCode,
+        Object... params) {
+        return submit(() -> endpoint.makeRequest(requestSpecification, method, path, body, statusCode, params));
+    }
+
+    /**
+     * Execute POST request asynchronously.
+     * @see AbstractWebEndpoint#post(String, Object, Class, Object...)
+     */
+    public <T> CompletableFuture<T> post(String path, Object bodyPayload, Class<T> responseClass,
+        Object... pathParams) {
+        return submit(() -> endpoint.post(path, bodyPayload, responseClass, pathParams));
+    }
+
+    /**
+     * Execute POST request asynchronously.
+     * @see AbstractWebEndpoint#post(String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> post(String path, Object bodyPayload, Object... pathParams) {
+        return submit(() -> endpoint.post(path, bodyPayload, pathParams));
+    }
+
+    /**
+     * Execute POST request asynchronously.
+     * @see AbstractWebEndpoint#post(RequestSpecification, String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> post(RequestSpecification requestSpecification, String path,
+        Object bodyPayload, Object... pathParams) {
+        return submit(() -> endpoint.post(requestSpecification, path, bodyPayload, pathParams));
+    }
+
+    /**
+     * Execute HEAD request asynchronously.
+     * @see AbstractWebEndpoint#head(String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> head(String path, Object... params) {
+        return submit(() -> endpoint.head(path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#get(String, Class, Object...)
+     */
+    public <T> CompletableFuture<T> get(String path, Class<T> responseClass, Object... params) {
+        return submit(() -> endpoint.get(path, responseClass, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#get(String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> get(String path, Object... params) {
+        return submit(() -> endpoint.get(path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#getResponse(String, Object...)
+     */
+    public CompletableFuture<Response> getResponse(String path, Object... params) {
+        return submit(() -> endpoint.getResponse(path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#getResponse(RequestSpecification, String, Object...)
+     */
+    public CompletableFuture<Response> getResponse(RequestSpecification requestSpecification, String path,
+        Object... params) {
+        return submit(() -> endpoint.getResponse(requestSpecification, path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#get(RequestSpecification, String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> get(RequestSpecification requestSpecification, String path,
+        Object... params) {
+        return submit(() -> endpoint.get(requestSpecification, path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#get(RequestSpecification, RestAssuredConfig, String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> get(RequestSpecification requestSpecification,
+        RestAssuredConfig config, String path, Object... params) {
+        return submit(() -> endpoint.get(requestSpecification, config, path, params));
+    }
+
+    /**
+     * Execute GET request asynchronously.
+     * @see AbstractWebEndpoint#get(RequestSpecification, String, Map, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> get(RequestSpecification requestSpecification, String path,
+        Map<String, ?> queryParams, Object... params) {
+        return submit(() -> endpoint.get(requestSpecification, path, queryParams, params));
+    }
+
+    /**
+     * Execute DELETE request asynchronously.
+     * @see AbstractWebEndpoint#delete(String, Class, Object...)
+     */
+    public <T> CompletableFuture<T> delete(String path, Class<T> responseClass, Object... params) {
+        return submit(() -> endpoint.delete(path, responseClass, params));
+    }
+
+    /**
+     * Execute DELETE request asynchronously.
+     * @see AbstractWebEndpoint#delete(String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> delete(String path, Object... params) {
+        return submit(() -> endpoint.delete(path, params));
+    }
+
+    /**
+     * Execute DELETE request asynchronously.
+     * @see AbstractWebEndpoint#delete(RequestSpecification, String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> delete(RequestSpecification requestSpecification, String path,
+        Object... params) {
+        return submit(() -> endpoint.delete(requestSpecification, path, params));
+    }
+
+    /**
+     * Execute DELETE request with body asynchronously.
+     * @see AbstractWebEndpoint#deleteWithBody(RequestSpecification, String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> deleteWithBody(RequestSpecification requestSpecification,
+        String path, Object bodyPayload, Object... params) {
+        return submit(() -> endpoint.deleteWithBody(requestSpecification, path, bodyPayload, params));
+    }
+
+    /**
+     * Execute PUT request asynchronously.
+     * @see AbstractWebEndpoint#put(String, Object, Class, Object...)
+     */
+    public <T> CompletableFuture<T> put(String path, Object bodyPayload, Class<T> responseClass, Object... params) {
+        return submit(() -> endpoint.put(path, bodyPayload, responseClass, params));
+    }
+
+    /**
+     * Execute PUT request asynchronously.
+     * @see AbstractWebEndpoint#put(String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> put(String path, Object bodyPayload, Object... params) {
+        return submit(() -> endpoint.put(path, bodyPayload, params));
+    }
+
+    /**
+     * Execute PUT request asynchronously.
+     * @see AbstractWebEndpoint#put(RequestSpecification, String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> put(RequestSpecification requestSpecification, String path,
+        Object bodyPayload, Object... params) {
+        return submit(() -> endpoint.put(requestSpecification, path, bodyPayload, params));
+    }
+
+    /**
+     * Execute PUT request without body asynchronously. Named apart from put, as put(spec, path, Object...) would be
+     * ambiguous with put(spec, path, bodyPayload, Object...) here.
+     * @see AbstractWebEndpoint#put(RequestSpecification, String, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> putWithoutBody(RequestSpecification requestSpecification,
+        String path, Object... params) {
+        return submit(() -> endpoint.put(requestSpecification, path, params));
+    }
+
+    /**
+     * Execute PATCH request asynchronously.
+     * @see AbstractWebEndpoint#patch(String, Object, Class, Object...)
+     */
+    public <T> CompletableFuture<T> patch(String path, Object bodyPayload, Class<T> responseClass,
+        Object... params) {
+        return submit(() -> endpoint.patch(path, bodyPayload, responseClass, params));
+    }
+
+    /**
+     * Execute PATCH request asynchronously.
+     * @see AbstractWebEndpoint#patch(String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> patch(String path, Object bodyPayload, Object... params) {
+        return submit(() -> endpoint.patch(path, bodyPayload, params));
+    }
+
+    /**
+     * Execute PATCH request asynchronously.
+     * @see AbstractWebEndpoint#patch(RequestSpecification, String, Object, Object...)
+     */
+    public CompletableFuture<ValidatableResponse> patch(RequestSpecification requestSpecification, String path,
+        Object bodyPayload, Object... params) {
+        return submit(() -> endpoint.patch(requestSpecification, path, bodyPayload, params));
+    }
+
+    /**
+     * Run any blocking endpoint call on the executor of this endpoint.
+     * Useful for custom methods of AbstractWebEndpoint subclasses, e.g. BFeature::getAllUsersData.
+     * When queue of the executor is full the call is not run and the future fails with
+     * RejectedExecutionException, so the calling thread is never blocked.
+     *
+     * @param call blocking call
+     * @param <T> result type
+     * @return CompletableFuture of call result
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = MavenProperty.getMavenProperties().getProperty(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Property [{}] has invalid value [{}], default [{}] is used", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        int threads = intProperty(THREADS_PROPERTY, DEFAULT_THREADS);
+        int queueSize = intProperty(QUEUE_PROPERTY, DEFAULT_QUEUE_SIZE);
+        LOGGER.debug("Create async endpoint executor with [{}] threads and queue size [{}]", threads, queueSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("async-endpoint-%d")
+                .build(),
+            // queue is full - reject, submit fails the future instead of running the request on the caller
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static class SingletonHolder {
+
+        private static final ExecutorService EXECUTOR = createDefaultExecutor();
+
+        private SingletonHolder() {
+            //empty
+        }
+    }
+}
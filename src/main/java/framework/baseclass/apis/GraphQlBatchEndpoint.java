@@ -0,0 +1,524 @@
+package framework.baseclass.apis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.bean.AbstractDto;
+import framework.utilities.graphqlmapper.GraphQlAliasBatch;
+import framework.utilities.graphqlmapper.GraphQlRequest;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+/**
+ * GraphQL client that coalesces queries issued within a short window into one http request.
+ * Queries are merged into one aliased operation, see {@link GraphQlAliasBatch}, or sent as json array
+ * when server supports array batching; response is split back and every caller gets own response.
+ * With persisted queries only SHA-256 hash of query is sent, full text is sent once when server asks for it;
+ * merged aliased queries are always sent with full text, as each combination of queries has its own hash.
+ * Requests go through RequestSpecification of wrapped endpoint on the executor of {@link AsyncWebEndpoint}.
+ * Example
+ * <pre>
+ *      GraphQlBatchEndpoint graphQl = GraphQlBatchEndpoint.newBuilder()
+ *          .withEndpoint(Users.UsersApi().getBFeature())
+ *          .withPath("/graphql")
+ *          .withWindow(5, TimeUnit.MILLISECONDS)
+ *          .usingPersistedQueries()
+ *          .build();
+ *      CompletableFuture&#60;UsersDto&#62; users = graphQl.query(new UsersQueryDto(), UsersDto.class);
+ * </pre>
+ */
+public class GraphQlBatchEndpoint {
+
+    protected static final Logger LOGGER = LogManager.getLogger();
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_NOT_SUPPORTED = "PersistedQueryNotSupported";
+
+    /**
+     * How batched queries are put into one http request.
+     */
+    public enum BatchMode {
+        /**
+         * Queries are merged into one operation, top level fields get aliases.
+         */
+        ALIASES,
+        /**
+         * Queries are sent as json array and server answers with array of responses.
+         */
+        ARRAY
+    }
+
+    private final AbstractWebEndpoint endpoint;
+    private final String path;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BatchMode batchMode;
+    private final boolean persistedQueries;
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+    private List<Pending> pending = new ArrayList<>();
+    private long batchNumber;
+    private volatile boolean persistedQueriesSupported = true;
+
+    private GraphQlBatchEndpoint(Builder builder) {
+        this.endpoint = Objects.requireNonNull(builder.endpoint, "Endpoint must be not null");
+        this.path = builder.path;
+        this.windowNanos = builder.windowNanos;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchMode = builder.batchMode;
+        this.persistedQueries = builder.persistedQueries;
+        this.executor = builder.executor;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Send query of annotated dto, see {@link AbstractDto#toGraphQlQueryString()}.
+     *
+     * @param queryDto dto annotated with GraphQlQuery
+     * @return future of whole response: data, errors and extensions
+     */
+    public CompletableFuture<JsonNode> query(AbstractDto queryDto) {
+        return query(new GraphQlRequest(queryDto.toGraphQlQueryString()));
+    }
+
+    /**
+     * Send query of annotated dto and read data of response as dto.
+     *
+     * @param queryDto dto annotated with GraphQlQuery
+     * @param dataClass class of data
+     * @param <T> type of data
+     * @return future of data, null if response has no data
+     */
+    public <T> CompletableFuture<T> query(AbstractDto queryDto, Class<T> dataClass) {
+        return query(queryDto).thenApply(response -> {
+            try {
+                JsonNode data = response.get("data");
+                return data == null || data.isNull() ? null : ObjectMapperRegistry.convert(data,
+                    ObjectMapperRegistry.reader(ObjectMapperRegistry.Format.JSON, dataClass, false));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Send query with variables.
+     *
+     * @param query query text
+     * @param variables values of variables, without $
+     * @return future of whole response: data, errors and extensions
+     */
+    public CompletableFuture<JsonNode> query(String query, Map<String, ?> variables) {
+        return query(new GraphQlRequest(query, variables));
+    }
+
+    /**
+     * Send query. It waits for other queries up to the window, the batch is sent earlier when it is full.
+     *
+     * @param request query and variables
+     * @return future of whole response: data, errors and extensions
+     */
+    public CompletableFuture<JsonNode> query(GraphQlRequest request) {
+        Pending query = new Pending(request);
+        List<Pending> full = null;
+        long scheduled = -1;
+        synchronized (lock) {
+            pending.add(query);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduled = batchNumber;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        } else if (scheduled >= 0) {
+            long number = scheduled;
+            Scheduler.SCHEDULER.schedule(() -> flush(number), windowNanos, TimeUnit.NANOSECONDS);
+        }
+        return query.result;
+    }
+
+    /**
+     * Send waiting queries now, without waiting for the window to end.
+     */
+    public void flush() {
+        List<Pending> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private void flush(long number) {
+        List<Pending> batch;
+        synchronized (lock) {
+            // batch was already sent because it became full
+            if (number != batchNumber) {
+                return;
+            }
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Hand batch to the executor. Executor with full queue rejects it, then every query of the batch fails,
+     * as nobody else would complete them: scheduled flush swallows the exception and a full batch belongs to
+     * many callers.
+     */
+    private void dispatch(List<Pending> batch) {
+        try {
+            executor.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            LOGGER.error("GraphQL batch of {} queries is rejected by executor", batch.size(), e);
+            fail(batch, e);
+        }
+    }
+
+    private static void fail(List<Pending> batch, Throwable e) {
+        for (Pending query : batch) {
+            query.result.completeExceptionally(e);
+        }
+    }
+
+    private List<Pending> takePending() {
+        List<Pending> batch = pending;
+        pending = new ArrayList<>();
+        batchNumber++;
+        return batch;
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            if (batch.size() == 1) {
+                batch.get(0).complete(execute(batch.get(0).request));
+            } else if (batchMode == BatchMode.ARRAY) {
+                List<JsonNode> responses = executeArray(requests(batch));
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).complete(responses.get(i));
+                }
+            } else {
+                sendAliased(batch);
+            }
+        } catch (RuntimeException | IOException e) {
+            LOGGER.error("GraphQL batch of {} queries failed", batch.size(), e);
+            fail(batch, e);
+        }
+    }
+
+    /**
+     * Queries that can't be merged, e.g. with fragments, are sent one by one.
+     * Merged query is sent with full text: its text differs for every combination of queries, so its hash would
+     * be unknown to server each time and cost an extra request.
+     */
+    private void sendAliased(List<Pending> batch) throws IOException {
+        List<Pending> mergeable = new ArrayList<>(batch.size());
+        for (Pending query : batch) {
+            if (GraphQlAliasBatch.isMergeable(query.request.getQuery())) {
+                mergeable.add(query);
+            } else {
+                query.complete(execute(query.request));
+            }
+        }
+        if (mergeable.size() == 1) {
+            mergeable.get(0).complete(execute(mergeable.get(0).request));
+        } else if (!mergeable.isEmpty()) {
+            GraphQlAliasBatch aliasBatch = new GraphQlAliasBatch(requests(mergeable));
+            List<JsonNode> responses = aliasBatch.split(post(aliasBatch.getRequest().toBody(false, true)));
+            for (int i = 0; i < mergeable.size(); i++) {
+                mergeable.get(i).complete(responses.get(i));
+            }
+        }
+    }
+
+    private JsonNode execute(GraphQlRequest request) throws IOException {
+        if (!usePersistedQueries()) {
+            return post(request.toBody(false, true));
+        }
+        JsonNode response = post(request.toBody(true, false));
+        if (hasError(response, PERSISTED_QUERY_NOT_FOUND)) {
+            response = post(request.toBody(true, true));
+        } else if (hasError(response, PERSISTED_QUERY_NOT_SUPPORTED)) {
+            disablePersistedQueries();
+            response = post(request.toBody(false, true));
+        }
+        return response;
+    }
+
+    private List<JsonNode> executeArray(List<GraphQlRequest> requests) throws IOException {
+        boolean persisted = usePersistedQueries();
+        List<JsonNode> responses = postArray(requests, persisted, !persisted);
+        if (!persisted) {
+            return responses;
+        }
+        List<GraphQlRequest> unknown = new ArrayList<>();
+        List<Integer> unknownIndexes = new ArrayList<>();
+        for (int i = 0; i < responses.size(); i++) {
+            if (hasError(responses.get(i), PERSISTED_QUERY_NOT_SUPPORTED)) {
+                disablePersistedQueries();
+                return postArray(requests, false, true);
+            }
+            if (hasError(responses.get(i), PERSISTED_QUERY_NOT_FOUND)) {
+                unknown.add(requests.get(i));
+                unknownIndexes.add(i);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            List<JsonNode> registered = postArray(unknown, true, true);
+            for (int i = 0; i < unknown.size(); i++) {
+                responses.set(unknownIndexes.get(i), registered.get(i));
+            }
+        }
+        return responses;
+    }
+
+    private List<JsonNode> postArray(List<GraphQlRequest> requests, boolean persisted, boolean withQuery)
+        throws IOException {
+        ArrayNode bodies = JsonNodeFactory.instance.arrayNode(requests.size());
+        for (GraphQlRequest request : requests) {
+            bodies.add(request.toBody(persisted, withQuery));
+        }
+        JsonNode response = post(bodies);
+        if (!response.isArray() || response.size() != requests.size()) {
+            throw new IllegalStateException("Server does not support array batching, use BatchMode.ALIASES."
+                + " Response: " + response);
+        }
+        List<JsonNode> responses = new ArrayList<>(response.size());
+        response.forEach(responses::add);
+        return responses;
+    }
+
+    private JsonNode post(JsonNode body) throws IOException {
+        RequestSpecBuilder specBuilder = new RequestSpecBuilder();
+        specBuilder.addRequestSpecification(endpoint.getRequestSpecification());
+        specBuilder.setContentType(ContentType.JSON);
+        ExtractableResponse<Response> response = endpoint.post(specBuilder.build(), path,
+            ObjectMapperRegistry.jsonWriter().writeValueAsString(body)).extract();
+        String content = response.asString();
+        try {
+            return ObjectMapperRegistry.readTree(content);
+        } catch (IOException e) {
+            throw new IOException("GraphQL response is not a json, status " + response.statusCode() + ": "
+                + content, e);
+        }
+    }
+
+    private boolean usePersistedQueries() {
+        return persistedQueries && persistedQueriesSupported;
+    }
+
+    private void disablePersistedQueries() {
+        if (persistedQueriesSupported) {
+            LOGGER.warn("Server {} does not support persisted queries, full queries are sent", path);
+            persistedQueriesSupported = false;
+        }
+    }
+
+    private static boolean hasError(JsonNode response, String code) {
+        JsonNode errors = response.get("errors");
+        if (errors == null || !errors.isArray()) {
+            return false;
+        }
+        for (JsonNode error : errors) {
+            JsonNode extensions = error.path("extensions");
+            if (code.equals(error.path("message").asText())
+                || code.equals(toCode(extensions.path("code").asText()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * PERSISTED_QUERY_NOT_FOUND to PersistedQueryNotFound.
+     */
+    private static String toCode(String constant) {
+        StringBuilder code = new StringBuilder(constant.length());
+        boolean upper = true;
+        for (int i = 0; i < constant.length(); i++) {
+            char symbol = constant.charAt(i);
+            if (symbol == '_') {
+                upper = true;
+            } else {
+                code.append(upper ? Character.toUpperCase(symbol) : Character.toLowerCase(symbol));
+                upper = false;
+            }
+        }
+        return code.toString();
+    }
+
+    private static List<GraphQlRequest> requests(List<Pending> batch) {
+        List<GraphQlRequest> requests = new ArrayList<>(batch.size());
+        for (Pending query : batch) {
+            requests.add(query.request);
+        }
+        return Collections.unmodifiableList(requests);
+    }
+
+    /**
+     * Query waiting for its response.
+     */
+    private static final class Pending {
+
+        private final GraphQlRequest request;
+        private final CompletableFuture<JsonNode> result = new CompletableFuture<>();
+
+        Pending(GraphQlRequest request) {
+            this.request = request;
+        }
+
+        void complete(JsonNode response) {
+            result.complete(response);
+        }
+    }
+
+    public static final class Builder {
+        private AbstractWebEndpoint endpoint;
+        private String path;
+        private long windowNanos;
+        private int maxBatchSize;
+        private BatchMode batchMode;
+        private boolean persistedQueries;
+        private ExecutorService executor;
+
+        private Builder() {
+            this.path = "/graphql";
+            this.windowNanos = TimeUnit.MILLISECONDS.toNanos(5);
+            this.maxBatchSize = 50;
+            this.batchMode = BatchMode.ALIASES;
+            this.persistedQueries = false;
+            this.executor = AsyncWebEndpoint.defaultExecutor();
+        }
+
+        /**
+         * Endpoint which RequestSpecification is used for requests.
+         *
+         * @param endpoint AbstractWebEndpoint
+         * @return this
+         */
+        public Builder withEndpoint(AbstractWebEndpoint endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
+        /**
+         * Path of GraphQL endpoint, /graphql by default.
+         *
+         * @param path path
+         * @return this
+         */
+        public Builder withPath(String path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * How long the first query of a batch waits for others, 5 ms by default.
+         *
+         * @param window duration, 0 sends queries without waiting
+         * @param unit time unit
+         * @return this
+         */
+        public Builder withWindow(long window, TimeUnit unit) {
+            if (window < 0) {
+                throw new IllegalArgumentException("Window should not be negative: " + window);
+            }
+            this.windowNanos = unit.toNanos(window);
+            return this;
+        }
+
+        /**
+         * Max number of queries in one request, batch is sent as soon as it is full. 50 by default.
+         *
+         * @param maxBatchSize positive number, 1 disables batching
+         * @return this
+         */
+        public Builder withMaxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("Max batch size should be positive: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * How batch is put into request, ALIASES by default; use ARRAY only if server supports array batching.
+         *
+         * @param batchMode BatchMode
+         * @return this
+         */
+        public Builder withBatchMode(BatchMode batchMode) {
+            this.batchMode = Objects.requireNonNull(batchMode, "Batch mode must be not null");
+            return this;
+        }
+
+        /**
+         * Send SHA-256 hash of query instead of its text, automatic persisted queries protocol.
+         * If server does not support it, full queries are sent. Applies to single queries and to ARRAY batches;
+         * queries merged by ALIASES mode are always sent with full text.
+         *
+         * @return this
+         */
+        public Builder usingPersistedQueries() {
+            this.persistedQueries = true;
+            return this;
+        }
+
+        /**
+         * Executor to send requests on, shared executor of AsyncWebEndpoint by default.
+         *
+         * @param executor ExecutorService
+         * @return this
+         */
+        public Builder withExecutor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(executor, "Executor must be not null");
+            return this;
+        }
+
+        public GraphQlBatchEndpoint build() {
+            return new GraphQlBatchEndpoint(this);
+        }
+    }
+
+    private static class Scheduler {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private Scheduler() {
+            //empty
+        }
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("graphql-batch-%d").build());
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
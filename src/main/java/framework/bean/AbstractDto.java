@@ -15,7 +15,10 @@ import framework.utilities.BeanUtils;
 import framework.utilities.Encoding;
 import framework.utilities.ReflectionUtil;
 import framework.utilities.graphqlmapper.GraphQlConvert;
+import framework.utilities.jsondiff.Difference;
+import framework.utilities.jsondiff.JsonDiff;
 import framework.utilities.objectmapper.DtoConvert;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -63,8 +66,7 @@ public abstract class AbstractDto implements Comparable<Object> {
     }
 
     public Object getByBeanPath(String name) {
-        Map<String, String> nonNullFields = BeanUtils.recursiveDescribe(this);
-        return nonNullFields.get(name);
+        return BeanUtils.getPropertyAsString(this, name);
     }
 
     public Object getFieldValueByJsonPropertyNameIgnoreCase(String name) {
@@ -285,6 +287,18 @@ public abstract class AbstractDto implements Comparable<Object> {
         return differences.isEmpty();
     }
 
+    /**
+     * Compare objects as json trees using diff settings, e.g. unordered arrays or parallel comparison
+     * of wide objects, see {@link JsonDiff.Builder#withParallelism(int)}.
+     * @param other Other object of same type
+     * @param jsonDiff diff settings
+     * @param <T> any type
+     * @return differences of other object from this one, empty if objects are equal
+     */
+    public <T extends AbstractDto> List<Difference> diff(T other, JsonDiff jsonDiff) {
+        return jsonDiff.diff(ObjectMapperRegistry.valueToTree(this), ObjectMapperRegistry.valueToTree(other));
+    }
+
     /**
      * Compare object with other object ignore or not ignore null fields Comparing complex object.
      */
@@ -38,6 +38,15 @@ public class ApiConfig {
     @JsonProperty(value = "SSHSettings", access = JsonProperty.Access.READ_WRITE)
     private ConnectionInfo connectionInfo;
 
+    @JsonProperty(value = "ConnectionPool", access = JsonProperty.Access.READ_WRITE)
+    private ConnectionPoolSettings connectionPool;
+
+    @JsonProperty(value = "LoadBalancing", access = JsonProperty.Access.READ_WRITE)
+    private LoadBalancingSettings loadBalancing;
+
+    @JsonProperty(value = "ResponseCache", access = JsonProperty.Access.READ_WRITE)
+    private ResponseCacheSettings responseCache;
+
     public Map<String, String> getDefaultHeaders() {
         return defaultHeaders;
     }
@@ -136,6 +145,33 @@ public class ApiConfig {
         this.cassandra = cassandra;
     }
 
+    public ConnectionPoolSettings getConnectionPool() {
+        return connectionPool;
+    }
+
+    public ApiConfig setConnectionPool(ConnectionPoolSettings connectionPool) {
+        this.connectionPool = connectionPool;
+        return this;
+    }
+
+    public LoadBalancingSettings getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    public ApiConfig setLoadBalancing(LoadBalancingSettings loadBalancing) {
+        this.loadBalancing = loadBalancing;
+        return this;
+    }
+
+    public ResponseCacheSettings getResponseCache() {
+        return responseCache;
+    }
+
+    public ApiConfig setResponseCache(ResponseCacheSettings responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -155,13 +191,17 @@ public class ApiConfig {
             && Objects.equals(swaggerDocumentation, apiConfig.swaggerDocumentation)
             && Objects.equals(defaultHeaders, apiConfig.defaultHeaders)
             && Objects.equals(cassandra, apiConfig.cassandra)
-            &&  Objects.equals(connectionInfo, apiConfig.connectionInfo);
+            &&  Objects.equals(connectionInfo, apiConfig.connectionInfo)
+            && Objects.equals(connectionPool, apiConfig.connectionPool)
+            && Objects.equals(loadBalancing, apiConfig.loadBalancing)
+            && Objects.equals(responseCache, apiConfig.responseCache);
     }
 
     @Override
     public int hashCode() {
         return Objects
             .hash(apiUrl, apiNodes, redirectUrl, retryHosts, apiPort, apiBasePath, apiVersion, swaggerDocumentation,
-                defaultHeaders, cassandra, connectionInfo);
+                defaultHeaders, cassandra, connectionInfo, connectionPool, loadBalancing,
+                responseCache);
     }
 }
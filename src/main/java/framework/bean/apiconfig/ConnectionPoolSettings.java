@@ -0,0 +1,118 @@
+package framework.bean.apiconfig;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Http connection pool settings.
+ * Top level "HttpConnectionPool" entry of environment.json defines the shared pool,
+ * "ConnectionPool" entry of an api setting defines limit of connections to that api (MaxPerRoute).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ConnectionPoolSettings {
+
+    @JsonProperty(value = "MaxTotal", access = JsonProperty.Access.READ_WRITE)
+    private Integer maxTotal;
+    @JsonProperty(value = "DefaultMaxPerRoute", access = JsonProperty.Access.READ_WRITE)
+    private Integer defaultMaxPerRoute;
+    @JsonProperty(value = "MaxPerRoute", access = JsonProperty.Access.READ_WRITE)
+    private Integer maxPerRoute;
+    @JsonProperty(value = "TimeToLiveMillis", access = JsonProperty.Access.READ_WRITE)
+    private Long timeToLiveMillis;
+    @JsonProperty(value = "ValidateAfterInactivityMillis", access = JsonProperty.Access.READ_WRITE)
+    private Integer validateAfterInactivityMillis;
+    @JsonProperty(value = "IdleTimeoutMillis", access = JsonProperty.Access.READ_WRITE)
+    private Integer idleTimeoutMillis;
+
+    public Integer getMaxTotal() {
+        return maxTotal;
+    }
+
+    public ConnectionPoolSettings setMaxTotal(Integer maxTotal) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public Integer getDefaultMaxPerRoute() {
+        return defaultMaxPerRoute;
+    }
+
+    public ConnectionPoolSettings setDefaultMaxPerRoute(Integer defaultMaxPerRoute) {
+        this.defaultMaxPerRoute = defaultMaxPerRoute;
+        return this;
+    }
+
+    public Integer getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public ConnectionPoolSettings setMaxPerRoute(Integer maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    public Long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    public ConnectionPoolSettings setTimeToLiveMillis(Long timeToLiveMillis) {
+        this.timeToLiveMillis = timeToLiveMillis;
+        return this;
+    }
+
+    public Integer getValidateAfterInactivityMillis() {
+        return validateAfterInactivityMillis;
+    }
+
+    public ConnectionPoolSettings setValidateAfterInactivityMillis(Integer validateAfterInactivityMillis) {
+        this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+        return this;
+    }
+
+    public Integer getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public ConnectionPoolSettings setIdleTimeoutMillis(Integer idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ConnectionPoolSettings that = (ConnectionPoolSettings) o;
+
+        return new EqualsBuilder()
+            .append(maxTotal, that.maxTotal)
+            .append(defaultMaxPerRoute, that.defaultMaxPerRoute)
+            .append(maxPerRoute, that.maxPerRoute)
+            .append(timeToLiveMillis, that.timeToLiveMillis)
+            .append(validateAfterInactivityMillis, that.validateAfterInactivityMillis)
+            .append(idleTimeoutMillis, that.idleTimeoutMillis)
+            .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+            .append(maxTotal)
+            .append(defaultMaxPerRoute)
+            .append(maxPerRoute)
+            .append(timeToLiveMillis)
+            .append(validateAfterInactivityMillis)
+            .append(idleTimeoutMillis)
+            .toHashCode();
+    }
+}
@@ -0,0 +1,130 @@
+package framework.bean.apiconfig;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Client side load balancing settings of an api ("LoadBalancing" entry of an api setting).
+ * Requests are spread over "ApiNodes", "RetryHosts" are used when all api nodes are ejected or failed.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoadBalancingSettings {
+
+    @JsonProperty(value = "Strategy", access = JsonProperty.Access.READ_WRITE)
+    private String strategy;
+    @JsonProperty(value = "MaxAttempts", access = JsonProperty.Access.READ_WRITE)
+    private Integer maxAttempts;
+    @JsonProperty(value = "FailureThreshold", access = JsonProperty.Access.READ_WRITE)
+    private Integer failureThreshold;
+    @JsonProperty(value = "SlowCallMillis", access = JsonProperty.Access.READ_WRITE)
+    private Long slowCallMillis;
+    @JsonProperty(value = "EjectionMillis", access = JsonProperty.Access.READ_WRITE)
+    private Long ejectionMillis;
+    @JsonProperty(value = "MaxEjectionMillis", access = JsonProperty.Access.READ_WRITE)
+    private Long maxEjectionMillis;
+    @JsonProperty(value = "MaxEjectedPercent", access = JsonProperty.Access.READ_WRITE)
+    private Integer maxEjectedPercent;
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public LoadBalancingSettings setStrategy(String strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public LoadBalancingSettings setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    public Integer getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public LoadBalancingSettings setFailureThreshold(Integer failureThreshold) {
+        this.failureThreshold = failureThreshold;
+        return this;
+    }
+
+    public Long getSlowCallMillis() {
+        return slowCallMillis;
+    }
+
+    public LoadBalancingSettings setSlowCallMillis(Long slowCallMillis) {
+        this.slowCallMillis = slowCallMillis;
+        return this;
+    }
+
+    public Long getEjectionMillis() {
+        return ejectionMillis;
+    }
+
+    public LoadBalancingSettings setEjectionMillis(Long ejectionMillis) {
+        this.ejectionMillis = ejectionMillis;
+        return this;
+    }
+
+    public Long getMaxEjectionMillis() {
+        return maxEjectionMillis;
+    }
+
+    public LoadBalancingSettings setMaxEjectionMillis(Long maxEjectionMillis) {
+        this.maxEjectionMillis = maxEjectionMillis;
+        return this;
+    }
+
+    public Integer getMaxEjectedPercent() {
+        return maxEjectedPercent;
+    }
+
+    public LoadBalancingSettings setMaxEjectedPercent(Integer maxEjectedPercent) {
+        this.maxEjectedPercent = maxEjectedPercent;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        LoadBalancingSettings that = (LoadBalancingSettings) o;
+
+        return new EqualsBuilder()
+            .append(strategy, that.strategy)
+            .append(maxAttempts, that.maxAttempts)
+            .append(failureThreshold, that.failureThreshold)
+            .append(slowCallMillis, that.slowCallMillis)
+            .append(ejectionMillis, that.ejectionMillis)
+            .append(maxEjectionMillis, that.maxEjectionMillis)
+            .append(maxEjectedPercent, that.maxEjectedPercent)
+            .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+            .append(strategy)
+            .append(maxAttempts)
+            .append(failureThreshold)
+            .append(slowCallMillis)
+            .append(ejectionMillis)
+            .append(maxEjectionMillis)
+            .append(maxEjectedPercent)
+            .toHashCode();
+    }
+}
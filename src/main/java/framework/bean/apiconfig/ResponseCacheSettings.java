@@ -0,0 +1,95 @@
+package framework.bean.apiconfig;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+/**
+ * Response cache settings of an api ("ResponseCache" entry of an api setting), cache is enabled by the entry.
+ * EndpointTtlMillis maps path pattern (base path and endpoint path template, e.g. /api/users*) to its time to live,
+ * 0 disables caching of matched endpoints. KeyHeaders are request headers that make different cache entries.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResponseCacheSettings {
+
+    @JsonProperty(value = "MaxEntries", access = JsonProperty.Access.READ_WRITE)
+    private Long maxEntries;
+    @JsonProperty(value = "TtlMillis", access = JsonProperty.Access.READ_WRITE)
+    private Long ttlMillis;
+    @JsonProperty(value = "EndpointTtlMillis", access = JsonProperty.Access.READ_WRITE)
+    private Map<String, Long> endpointTtlMillis;
+    @JsonProperty(value = "KeyHeaders", access = JsonProperty.Access.READ_WRITE)
+    private List<String> keyHeaders;
+
+    public Long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public ResponseCacheSettings setMaxEntries(Long maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    public Long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public ResponseCacheSettings setTtlMillis(Long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+    public Map<String, Long> getEndpointTtlMillis() {
+        return endpointTtlMillis;
+    }
+
+    public ResponseCacheSettings setEndpointTtlMillis(Map<String, Long> endpointTtlMillis) {
+        this.endpointTtlMillis = endpointTtlMillis;
+        return this;
+    }
+
+    public List<String> getKeyHeaders() {
+        return keyHeaders;
+    }
+
+    public ResponseCacheSettings setKeyHeaders(List<String> keyHeaders) {
+        this.keyHeaders = keyHeaders;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResponseCacheSettings that = (ResponseCacheSettings) o;
+
+        return new EqualsBuilder()
+            .append(maxEntries, that.maxEntries)
+            .append(ttlMillis, that.ttlMillis)
+            .append(endpointTtlMillis, that.endpointTtlMillis)
+            .append(keyHeaders, that.keyHeaders)
+            .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+            .append(maxEntries)
+            .append(ttlMillis)
+            .append(endpointTtlMillis)
+            .append(keyHeaders)
+            .toHashCode();
+    }
+}
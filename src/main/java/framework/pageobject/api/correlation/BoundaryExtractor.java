@@ -0,0 +1,107 @@
+package framework.pageobject.api.correlation;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boundary extractor, created by {@link Extractors#boundary}. Boundaries are searched in response bytes
+ * with automata built once (Knuth-Morris-Pratt), so every byte of content is read once.
+ */
+final class BoundaryExtractor implements Extractor {
+
+    private final String left;
+    private final String right;
+    private final Automaton leftAutomaton;
+    private final Automaton rightAutomaton;
+    private final boolean ascii;
+
+    BoundaryExtractor(String left, String right) {
+        this.left = left;
+        this.right = right;
+        this.leftAutomaton = new Automaton(left.getBytes(StandardCharsets.UTF_8));
+        this.rightAutomaton = new Automaton(right.getBytes(StandardCharsets.UTF_8));
+        this.ascii = Extractors.isAscii(left) && Extractors.isAscii(right);
+    }
+
+    @Override
+    public List<String> extract(byte[] content, Charset charset, int limit) {
+        if (!Extractors.isAsciiCompatible(charset)) {
+            content = new String(content, charset).getBytes(StandardCharsets.UTF_8);
+            charset = StandardCharsets.UTF_8;
+        }
+        boolean compiled = ascii || charset.equals(StandardCharsets.UTF_8);
+        Automaton leftBoundary = compiled ? leftAutomaton : new Automaton(left.getBytes(charset));
+        Automaton rightBoundary = compiled ? rightAutomaton : new Automaton(right.getBytes(charset));
+        List<String> values = new ArrayList<>();
+        int position = 0;
+        while (limit <= 0 || values.size() < limit) {
+            int start = leftBoundary.indexOf(content, position);
+            if (start < 0) {
+                break;
+            }
+            start += leftBoundary.length();
+            int end = rightBoundary.length() == 0 ? content.length : rightBoundary.indexOf(content, start);
+            if (end < 0) {
+                break;
+            }
+            values.add(new String(content, start, end - start, charset));
+            position = end + Math.max(rightBoundary.length(), leftBoundary.length() == 0 ? 1 : 0);
+            if (position >= content.length) {
+                break;
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "boundary [" + left + "] [" + right + "]";
+    }
+
+    /**
+     * Search automaton of one boundary: failure table tells where to continue after a mismatch.
+     */
+    private static final class Automaton {
+
+        private final byte[] needle;
+        private final int[] failure;
+
+        Automaton(byte[] needle) {
+            this.needle = needle;
+            this.failure = new int[needle.length];
+            for (int i = 1, matched = 0; i < needle.length; i++) {
+                while (matched > 0 && needle[i] != needle[matched]) {
+                    matched = failure[matched - 1];
+                }
+                if (needle[i] == needle[matched]) {
+                    matched++;
+                }
+                failure[i] = matched;
+            }
+        }
+
+        int length() {
+            return needle.length;
+        }
+
+        int indexOf(byte[] content, int from) {
+            if (needle.length == 0) {
+                return from <= content.length ? from : -1;
+            }
+            for (int i = from, matched = 0; i < content.length; i++) {
+                while (matched > 0 && content[i] != needle[matched]) {
+                    matched = failure[matched - 1];
+                }
+                if (content[i] == needle[matched]) {
+                    matched++;
+                }
+                if (matched == needle.length) {
+                    return i - needle.length + 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
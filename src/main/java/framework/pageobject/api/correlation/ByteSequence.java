@@ -0,0 +1,44 @@
+package framework.pageobject.api.correlation;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bytes seen as ISO-8859-1 characters, so regular expressions run over ASCII response bytes without decoding them
+ * and match offsets are byte offsets.
+ */
+final class ByteSequence implements CharSequence {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    ByteSequence(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    private ByteSequence(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (bytes[offset + index] & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new ByteSequence(bytes, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -1,32 +1,170 @@
 package framework.pageobject.api.correlation;
 
-public class Correlation {
-
-	private static Correlation ce=null;
-	
-	private AFeature afeature = null;
-	private BFeature bfeature = null;
-	
-	private Correlation() {
-		initObjects();
-	}
-	
-	public static Correlation getInstance() {
-		if(ce==null) {
-			ce = new Correlation();
-		}
-		return ce;
-	}
-	
-	private void initObjects() {
-		
-	}
-	
-	public AFeature getAFeature() {
-		return afeature;
-	}
-	
-	public BFeature getBFeature() {
-		return bfeature;
-	}
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Declarative correlation of a dynamic value: extractor applied to response and variable the value is put into.
+ * Match number 1..n takes n-th match, 0 takes random match, negative takes all matches into name_1..name_n
+ * and name_matchNr, values of a previous response with more matches are removed. When nothing is found, default
+ * value is set if it is defined.
+ * Correlations are immutable and may be kept in constants of endpoints.
+ * Example
+ * <pre>
+ *      private static final Correlation INVOICE_ID = Correlation.jsonPath("invoiceId", "$.Id");
+ *      ...
+ *      invoices.post(invoices.correlated(INVOICE_ID), "/invoice", invoice);
+ *      payments.post(payments.correlated(), "/payment", "{\"InvoiceId\":\"${invoiceId}\"}");
+ * </pre>
+ */
+public final class Correlation {
+
+    private final String variable;
+    private final Extractor extractor;
+    private final int matchNumber;
+    private final String defaultValue;
+
+    private Correlation(Builder builder) {
+        this.variable = builder.variable;
+        this.extractor = builder.extractor;
+        this.matchNumber = builder.matchNumber;
+        this.defaultValue = builder.defaultValue;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Put group 1 of the first match of perl style regular expression into variable.
+     */
+    public static Correlation regex(String variable, String regex) {
+        return newBuilder().withVariable(variable).usingExtractor(Extractors.regex(regex)).build();
+    }
+
+    /**
+     * Put text between the first left and right boundaries into variable.
+     */
+    public static Correlation boundary(String variable, String left, String right) {
+        return newBuilder().withVariable(variable).usingExtractor(Extractors.boundary(left, right)).build();
+    }
+
+    /**
+     * Put the first value of json path into variable.
+     */
+    public static Correlation jsonPath(String variable, String path) {
+        return newBuilder().withVariable(variable).usingExtractor(Extractors.jsonPath(path)).build();
+    }
+
+    public String getVariable() {
+        return variable;
+    }
+
+    /**
+     * Extract value from content into variables.
+     *
+     * @param content response body
+     * @param charset charset of content
+     * @param variables variables of virtual user
+     * @return true if value was found
+     */
+    public boolean apply(byte[] content, Charset charset, CorrelationVariables variables) {
+        List<String> values = extractor.extract(content, charset, matchNumber > 0 ? matchNumber : 0);
+        if (matchNumber < 0) {
+            setMatchCount(variables, values.size());
+        }
+        if (values.isEmpty() || matchNumber > values.size()) {
+            if (defaultValue != null) {
+                variables.put(variable, defaultValue);
+            }
+            return false;
+        }
+        if (matchNumber < 0) {
+            for (int i = 0; i < values.size(); i++) {
+                variables.put(variable + "_" + (i + 1), values.get(i));
+            }
+        } else {
+            variables.put(variable, values.get(matchNumber == 0
+                ? ThreadLocalRandom.current().nextInt(values.size()) : matchNumber - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Set name_matchNr and remove name_n values left by a previous response with more matches.
+     */
+    private void setMatchCount(CorrelationVariables variables, int found) {
+        String previous = variables.get(variable + "_matchNr");
+        int stale = 0;
+        try {
+            stale = previous == null ? 0 : Integer.parseInt(previous);
+        } catch (NumberFormatException e) {
+            // value was not set by correlation, there is nothing to remove
+        }
+        for (int i = found + 1; i <= stale; i++) {
+            variables.remove(variable + "_" + i);
+        }
+        variables.put(variable + "_matchNr", Integer.toString(found));
+    }
+
+    @Override
+    public String toString() {
+        return variable + " <- " + extractor;
+    }
+
+    public static final class Builder {
+        private String variable;
+        private Extractor extractor;
+        private int matchNumber = 1;
+        private String defaultValue;
+
+        private Builder() {
+        }
+
+        public Builder withVariable(String variable) {
+            this.variable = variable;
+            return this;
+        }
+
+        /**
+         * Define extractor, see {@link Extractors}.
+         *
+         * @param extractor Extractor
+         * @return this
+         */
+        public Builder usingExtractor(Extractor extractor) {
+            this.extractor = extractor;
+            return this;
+        }
+
+        /**
+         * Define which match is taken: 1..n, 0 for random, negative for all. Default is 1.
+         *
+         * @param matchNumber match number
+         * @return this
+         */
+        public Builder withMatchNumber(int matchNumber) {
+            this.matchNumber = matchNumber;
+            return this;
+        }
+
+        /**
+         * Define value that is set when nothing is found, variable is not changed otherwise.
+         *
+         * @param defaultValue String
+         * @return this
+         */
+        public Builder withDefault(String defaultValue) {
+            this.defaultValue = defaultValue;
+            return this;
+        }
+
+        public Correlation build() {
+            if (variable == null || variable.isEmpty() || extractor == null) {
+                throw new IllegalArgumentException("Correlation variable and extractor must be defined");
+            }
+            return new Correlation(this);
+        }
+    }
 }
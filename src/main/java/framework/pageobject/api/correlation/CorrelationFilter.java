@@ -0,0 +1,86 @@
+package framework.pageobject.api.correlation;
+
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter of {@link CorrelationVariables} of the current thread: ${name} in headers, path, query, form
+ * params and String body is replaced with value of variable before the request, correlations are applied to
+ * response bytes after it.
+ */
+public class CorrelationFilter implements Filter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String VARIABLE = "${";
+
+    private final List<Correlation> correlations;
+
+    public CorrelationFilter(Correlation... correlations) {
+        this.correlations = new ArrayList<>(Arrays.asList(correlations));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+        FilterContext ctx) {
+        CorrelationVariables variables = CorrelationVariables.current();
+        substitute(requestSpec, variables);
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (!correlations.isEmpty()) {
+            byte[] content = response.asByteArray();
+            Charset charset = Extractors.charsetOf(response.getContentType());
+            for (Correlation correlation : correlations) {
+                if (!correlation.apply(content, charset, variables)) {
+                    LOGGER.debug("Correlation [{}] is not found in response of [{}]", correlation,
+                        requestSpec.getURI());
+                }
+            }
+        }
+        return response;
+    }
+
+    private static void substitute(FilterableRequestSpecification requestSpec, CorrelationVariables variables) {
+        for (Header header : requestSpec.getHeaders()) {
+            if (header.getValue().contains(VARIABLE)) {
+                requestSpec.replaceHeader(header.getName(), variables.substitute(header.getValue()));
+            }
+        }
+        for (Map.Entry<String, String> param : substituted(requestSpec.getNamedPathParams(), variables)) {
+            requestSpec.removeNamedPathParam(param.getKey()).pathParam(param.getKey(), param.getValue());
+        }
+        for (Map.Entry<String, String> param : substituted(requestSpec.getQueryParams(), variables)) {
+            requestSpec.removeQueryParam(param.getKey()).queryParam(param.getKey(), param.getValue());
+        }
+        for (Map.Entry<String, String> param : substituted(requestSpec.getFormParams(), variables)) {
+            requestSpec.removeFormParam(param.getKey()).formParam(param.getKey(), param.getValue());
+        }
+        Object body = requestSpec.getBody();
+        if (body instanceof String && ((String) body).contains(VARIABLE)) {
+            requestSpec.body(variables.substitute((String) body));
+        }
+    }
+
+    private static List<Map.Entry<String, String>> substituted(Map<String, ?> params,
+        CorrelationVariables variables) {
+        List<Map.Entry<String, String>> result = new ArrayList<>();
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            if (param.getValue() instanceof String && ((String) param.getValue()).contains(VARIABLE)) {
+                result.add(new AbstractMap.SimpleImmutableEntry<>(param.getKey(),
+                    variables.substitute((String) param.getValue())));
+            }
+        }
+        return result;
+    }
+}
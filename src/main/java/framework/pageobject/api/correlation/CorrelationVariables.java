@@ -0,0 +1,83 @@
+package framework.pageobject.api.correlation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Variables of one virtual user: values extracted by {@link Correlation} and substituted into later requests
+ * as ${name}. Store of the current thread is used by {@link CorrelationFilter}, as every virtual user of load
+ * tests runs on its own thread. Reset it at the start of a scenario when threads are reused, e.g. by a pool.
+ */
+public final class CorrelationVariables {
+
+    private static final ThreadLocal<CorrelationVariables> CURRENT = ThreadLocal.withInitial(
+        CorrelationVariables::new);
+
+    private final Map<String, String> values = new HashMap<>();
+
+    /**
+     * Variables of the current thread.
+     *
+     * @return CorrelationVariables
+     */
+    public static CorrelationVariables current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Remove variables of the current thread.
+     */
+    public static void reset() {
+        CURRENT.remove();
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public CorrelationVariables put(String name, String value) {
+        values.put(name, value);
+        return this;
+    }
+
+    public CorrelationVariables remove(String name) {
+        values.remove(name);
+        return this;
+    }
+
+    public Map<String, String> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Replace ${name} with value of variable, unknown variables are kept as is.
+     *
+     * @param text text with variables
+     * @return text with values
+     */
+    public String substitute(String text) {
+        int start = text == null ? -1 : text.indexOf("${");
+        if (start < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length() + 32);
+        int position = 0;
+        while (start >= 0) {
+            int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+            String value = values.get(text.substring(start + 2, end));
+            result.append(text, position, start).append(value == null ? text.substring(start, end + 1) : value);
+            position = end + 1;
+            start = text.indexOf("${", position);
+        }
+        return result.append(text, position, text.length()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,21 @@
+package framework.pageobject.api.correlation;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Finds dynamic values, e.g. ids and tokens, in response bytes. Extractors are compiled once and are thread safe,
+ * see {@link Extractors}.
+ */
+public interface Extractor {
+
+    /**
+     * Find values in content.
+     *
+     * @param content response body
+     * @param charset charset of content, found values are decoded with it
+     * @param limit max number of values, 0 for all
+     * @return found values in order of content
+     */
+    List<String> extract(byte[] content, Charset charset, int limit);
+}
@@ -0,0 +1,167 @@
+package framework.pageobject.api.correlation;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Factory of extractors. Extractors with the same expression are compiled once and shared: regular expressions,
+ * boundary automata and json paths are kept in a bounded cache, so extractors may be declared per call.
+ * <ul>
+ * <li>regex - perl style regular expression as in jmeter, brace that doesn't start a quantifier is a literal,
+ * e.g. {"ID":"(.*?)"}, and dot matches any character except \n. ASCII content runs through the expression
+ * as bytes, other content is decoded first;</li>
+ * <li>boundary - text between left and right boundaries, empty right boundary takes the rest of content;</li>
+ * <li>json path - $.a.b, $.a[0], $.a[*].b, $['a'], $..id, containers are returned as json.</li>
+ * </ul>
+ */
+public final class Extractors {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int CACHE_SIZE = 1024;
+    private static final String CHARSET = "charset=";
+    private static final Pattern QUANTIFIER = Pattern.compile("\\{\\d+(,\\d*)?}");
+    private static final byte[] ASCII_PROBE = "\n\"{}[]$:,azAZ09".getBytes(StandardCharsets.US_ASCII);
+    private static final Cache<String, Pattern> PATTERNS = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+    private static final Cache<List<Object>, Extractor> EXTRACTORS = CacheBuilder.newBuilder()
+        .maximumSize(CACHE_SIZE).build();
+
+    private Extractors() {
+        //empty
+    }
+
+    /**
+     * Extract group 1 of regular expression, or whole match if expression has no groups.
+     *
+     * @param regex perl style regular expression
+     * @return RegexExtractor
+     */
+    public static RegexExtractor regex(String regex) {
+        return regex(regex, pattern(regex).matcher("").groupCount() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Extract group of regular expression.
+     *
+     * @param regex perl style regular expression
+     * @param group group number, 0 for whole match
+     * @return RegexExtractor
+     */
+    public static RegexExtractor regex(String regex, int group) {
+        return (RegexExtractor) EXTRACTORS.asMap().computeIfAbsent(Arrays.asList("regex", regex, group),
+            key -> new RegexExtractor(regex, group));
+    }
+
+    /**
+     * Extract text between boundaries.
+     *
+     * @param left left boundary
+     * @param right right boundary, empty to take the rest of content
+     * @return Extractor
+     */
+    public static Extractor boundary(String left, String right) {
+        return EXTRACTORS.asMap().computeIfAbsent(Arrays.asList("boundary", left, right),
+            key -> new BoundaryExtractor(left, right));
+    }
+
+    /**
+     * Extract values of json path, content is parsed as a stream without building a tree.
+     *
+     * @param path json path
+     * @return Extractor
+     */
+    public static Extractor jsonPath(String path) {
+        return EXTRACTORS.asMap().computeIfAbsent(Arrays.asList("jsonPath", path),
+            key -> new JsonPathExtractor(path));
+    }
+
+    /**
+     * Compile perl style regular expression, where brace that doesn't start a quantifier is a literal and only \n
+     * ends a line, as in jmeter.
+     *
+     * @param regex regular expression
+     * @return cached Pattern
+     */
+    public static Pattern pattern(String regex) {
+        return PATTERNS.asMap().computeIfAbsent(regex, key -> Pattern.compile(escapeBraces(key), Pattern.UNIX_LINES));
+    }
+
+    /**
+     * Charset of response content type, UTF-8 if it is not defined or not supported.
+     *
+     * @param contentType Content-Type header value
+     * @return Charset
+     */
+    public static Charset charsetOf(String contentType) {
+        int start = contentType == null ? -1 : contentType.toLowerCase(Locale.ROOT).indexOf(CHARSET);
+        if (start < 0) {
+            return StandardCharsets.UTF_8;
+        }
+        start += CHARSET.length();
+        int end = contentType.indexOf(';', start);
+        String name = (end < 0 ? contentType.substring(start) : contentType.substring(start, end)).trim()
+            .replace("\"", "");
+        try {
+            return Charset.forName(name);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Charset [{}] is not supported, UTF-8 is used", name);
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static String escapeBraces(String regex) {
+        StringBuilder result = new StringBuilder(regex.length() + 8);
+        boolean inClass = false;
+        for (int i = 0; i < regex.length(); i++) {
+            char symbol = regex.charAt(i);
+            if (symbol == '\\' && i + 1 < regex.length()) {
+                result.append(symbol).append(regex.charAt(++i));
+                continue;
+            }
+            if (symbol == '[') {
+                inClass = true;
+            } else if (symbol == ']') {
+                inClass = false;
+            } else if (symbol == '{' && !inClass
+                && !QUANTIFIER.matcher(regex).region(i, regex.length()).lookingAt()) {
+                result.append('\\');
+            }
+            result.append(symbol);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Check if ASCII characters are single bytes of the same value in charset, e.g. UTF-8 or ISO-8859-1.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1)
+            || charset.equals(StandardCharsets.US_ASCII)
+            || Arrays.equals(ASCII_PROBE, new String(ASCII_PROBE, StandardCharsets.US_ASCII).getBytes(charset));
+    }
+
+    static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isAscii(byte[] content) {
+        for (byte symbol : content) {
+            if (symbol < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,210 @@
+package framework.pageobject.api.correlation;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Json path extractor, created by {@link Extractors#jsonPath}. Content is read by streaming parser, values are
+ * taken while tokens are read: neither a String of content nor a tree is built, containers that can't contain
+ * the path are skipped. Supported: $, .name, ['name'], [index], [*], .*, ..name (deep scan).
+ * Matched objects and arrays are returned as json and are not scanned for nested matches.
+ */
+final class JsonPathExtractor implements Extractor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String path;
+    private final List<Segment> segments;
+    private final boolean deep;
+
+    JsonPathExtractor(String path) {
+        this.path = path;
+        this.segments = Collections.unmodifiableList(parse(path.trim()));
+        this.deep = segments.stream().anyMatch(segment -> segment.deep);
+    }
+
+    @Override
+    public List<String> extract(byte[] content, Charset charset, int limit) {
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII)) {
+            content = new String(content, charset).getBytes(StandardCharsets.UTF_8);
+        }
+        List<String> values = new ArrayList<>();
+        List<Frame> frames = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(content)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    frames.get(frames.size() - 1).name = parser.getCurrentName();
+                    continue;
+                }
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    frames.remove(frames.size() - 1);
+                    continue;
+                }
+                if (!frames.isEmpty() && frames.get(frames.size() - 1).array) {
+                    frames.get(frames.size() - 1).index++;
+                }
+                if (matches(0, frames, 0)) {
+                    values.add(valueOf(parser, token, content));
+                    if (limit > 0 && values.size() == limit) {
+                        break;
+                    }
+                } else if (token.isStructStart()) {
+                    if (canContainMatch(frames)) {
+                        frames.add(new Frame(token == JsonToken.START_ARRAY));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Json path [{}] is not applied to not json content: {}", path, e.getMessage());
+        }
+        return values;
+    }
+
+    private static String valueOf(JsonParser parser, JsonToken token, byte[] content) throws IOException {
+        if (token.isStructStart()) {
+            int start = (int) parser.getTokenLocation().getByteOffset();
+            parser.skipChildren();
+            int end = (int) parser.getCurrentLocation().getByteOffset();
+            return new String(content, start, end - start, StandardCharsets.UTF_8);
+        }
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    /**
+     * Check if path of current value, element of every frame, matches segments from the given ones.
+     */
+    private boolean matches(int segment, List<Frame> frames, int frame) {
+        if (segment == segments.size()) {
+            return frame == frames.size();
+        }
+        Segment current = segments.get(segment);
+        if (!current.deep) {
+            return frame < frames.size() && current.matches(frames.get(frame))
+                && matches(segment + 1, frames, frame + 1);
+        }
+        for (int i = frame; i < frames.size(); i++) {
+            if (current.matches(frames.get(i)) && matches(segment + 1, frames, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Frames are added only while they match the path, so only the last one is checked.
+     */
+    private boolean canContainMatch(List<Frame> frames) {
+        if (deep) {
+            return true;
+        }
+        int depth = frames.size();
+        return depth < segments.size() && (depth == 0 || segments.get(depth - 1).matches(frames.get(depth - 1)));
+    }
+
+    private static List<Segment> parse(String path) {
+        List<Segment> result = new ArrayList<>();
+        int position = path.startsWith("$") ? 1 : 0;
+        while (position < path.length()) {
+            boolean deepScan = path.startsWith("..", position);
+            if (deepScan) {
+                position += 2;
+            } else if (path.charAt(position) == '.') {
+                position++;
+            }
+            if (position < path.length() && path.charAt(position) == '[') {
+                int end = path.indexOf(']', position);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Not closed [ in json path: " + path);
+                }
+                result.add(Segment.ofBracket(path.substring(position + 1, end).trim(), deepScan, path));
+                position = end + 1;
+            } else {
+                int end = position;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                if (end == position) {
+                    throw new IllegalArgumentException("Empty name in json path: " + path);
+                }
+                String name = path.substring(position, end);
+                result.add("*".equals(name) ? new Segment(null, -1, deepScan) : new Segment(name, -1, deepScan));
+                position = end;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "json path " + path;
+    }
+
+    /**
+     * Open object or array, with name or index of its child that is being read.
+     */
+    private static final class Frame {
+
+        private final boolean array;
+        private int index = -1;
+        private String name;
+
+        Frame(boolean array) {
+            this.array = array;
+        }
+    }
+
+    /**
+     * Step of json path: field name, array index or wildcard (no name and no index).
+     */
+    private static final class Segment {
+
+        private final String name;
+        private final int index;
+        private final boolean deep;
+
+        Segment(String name, int index, boolean deep) {
+            this.name = name;
+            this.index = index;
+            this.deep = deep;
+        }
+
+        static Segment ofBracket(String selector, boolean deep, String path) {
+            if ("*".equals(selector)) {
+                return new Segment(null, -1, deep);
+            }
+            if (selector.length() >= 2 && (selector.charAt(0) == '\'' || selector.charAt(0) == '"')
+                && selector.charAt(selector.length() - 1) == selector.charAt(0)) {
+                return new Segment(selector.substring(1, selector.length() - 1), -1, deep);
+            }
+            try {
+                int index = Integer.parseInt(selector);
+                if (index >= 0) {
+                    return new Segment(null, index, deep);
+                }
+            } catch (NumberFormatException e) {
+                // not an index, reported below
+            }
+            throw new IllegalArgumentException("Json path selector [" + selector + "] is not supported: " + path);
+        }
+
+        boolean matches(Frame frame) {
+            if (name != null) {
+                return !frame.array && name.equals(frame.name);
+            }
+            return index < 0 || frame.array && frame.index == index;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package framework.pageobject.api.correlation;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression extractor, created by {@link Extractors#regex}. ASCII response is matched as bytes without
+ * decoding it; response with other characters is decoded with its charset first, so dot, classes and quantifiers
+ * always see characters, not bytes.
+ */
+public final class RegexExtractor implements Extractor {
+
+    private final String regex;
+    private final int group;
+    private final Pattern pattern;
+
+    RegexExtractor(String regex, int group) {
+        this.regex = regex;
+        this.group = group;
+        this.pattern = Extractors.pattern(regex);
+        int groupCount = pattern.matcher("").groupCount();
+        if (group < 0 || group > groupCount) {
+            throw new IllegalArgumentException("Group " + group + " is not found in [" + regex + "], groups: "
+                + groupCount);
+        }
+    }
+
+    public int getGroupCount() {
+        return pattern.matcher("").groupCount();
+    }
+
+    @Override
+    public List<String> extract(byte[] content, Charset charset, int limit) {
+        List<String> values = new ArrayList<>();
+        for (String[] groups : findGroups(content, charset, limit)) {
+            values.add(groups[group]);
+        }
+        return values;
+    }
+
+    /**
+     * Find matches with all groups.
+     *
+     * @param content response body
+     * @param charset charset of content
+     * @param limit max number of matches, 0 for all
+     * @return groups of every match, group 0 is the whole match, not matched group is null
+     */
+    public List<String[]> findGroups(byte[] content, Charset charset, int limit) {
+        CharSequence text = Extractors.isAsciiCompatible(charset) && Extractors.isAscii(content)
+            ? new ByteSequence(content) : new String(content, charset);
+        Matcher matcher = pattern.matcher(text);
+        List<String[]> matches = new ArrayList<>();
+        while ((limit <= 0 || matches.size() < limit) && matcher.find()) {
+            String[] groups = new String[matcher.groupCount() + 1];
+            for (int i = 0; i < groups.length; i++) {
+                groups[i] = matcher.group(i);
+            }
+            matches.add(groups);
+        }
+        return matches;
+    }
+
+    @Override
+    public String toString() {
+        return "regex " + regex + " group " + group;
+    }
+}
@@ -1,37 +1,28 @@
 package framework.utilities;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 import org.apache.commons.beanutils.BeanUtilsBean;
 import org.apache.commons.beanutils.ConvertUtilsBean;
-import org.apache.commons.beanutils.FluentPropertyBeanIntrospector;
-import org.apache.commons.beanutils.PropertyUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import framework.utilities.accessor.ClassAccessors;
+import framework.utilities.accessor.PropertyFlattener;
+import framework.utilities.accessor.PropertyPath;
+
+/**
+ * Bean property access by path. Paths are compiled once into cached accessor chains,
+ * see {@link PropertyPath} and {@link ClassAccessors}.
+ */
 public class BeanUtils {
 
     private static final Logger LOGGER = LogManager.getLogger();
     private static ConvertUtilsBean converter = BeanUtilsBean.getInstance().getConvertUtils();
 
-    static {
-        PropertyUtils.addBeanIntrospector(new FluentPropertyBeanIntrospector());
-    }
-
     private BeanUtils() {
         //default constructor
     }
@@ -46,8 +37,8 @@ public class BeanUtils {
     public static Object getProperty(Object bean, String name) {
         Object result = null;
         try {
-            result = PropertyUtils.getProperty(bean, name);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            result = PropertyPath.compile(name).get(bean);
+        } catch (InvocationTargetException | NoSuchMethodException e) {
             LOGGER.error(e);
         }
         return result;
@@ -62,12 +53,27 @@ public class BeanUtils {
      */
     public static void setProperty(Object bean, String name, Object value) {
         try {
-            PropertyUtils.setProperty(bean, name, value);
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            PropertyPath.compile(name).set(bean, value);
+        } catch (InvocationTargetException | NoSuchMethodException e) {
             LOGGER.error(e);
         }
     }
 
+    /**
+     * Get property from object as it is presented by {@link #recursiveDescribe(Object)}.
+     *
+     * @param bean any object
+     * @param name the name of the property or path, for example nameA.nameB or with arrays nameA.[1].nameB
+     * @return String value of the property, null if property is missing, null or is not a simple value
+     */
+    public static String getPropertyAsString(Object bean, String name) {
+        Object value = PropertyPath.compile(name).find(bean);
+        if (value == null || converter.lookup(value.getClass()) == null) {
+            return null;
+        }
+        return converter.convert(value);
+    }
+
     /**
      * Recursively describe input object.
      *
@@ -75,158 +81,50 @@ public class BeanUtils {
      * @return Flat map, key is path to property and value is a String value of that property
      */
     public static Map<String, String> recursiveDescribe(Object object) {
-        Set cache = new HashSet();
-        return recursiveDescribe(object, null, cache);
+        return recursiveDescribe(object, PropertyFlattener.NO_DEPTH_LIMIT, null);
     }
 
-    private static Map<String, String> recursiveDescribe(Object object, String prefix, Set cache) {
-        if (object == null /*|| cache.contains(object)*/) {
-            return Collections.emptyMap();
-        }
-        cache.add(object);
-        prefix = (prefix != null) ? prefix + "." : "";
-
+    /**
+     * Recursively describe input object up to depth, skipping filtered paths.
+     *
+     * @param object input Object to describe
+     * @param maxDepth max number of path segments, for example 2 keeps data.[0] but not data.[0].email
+     * @param pathFilter tested on every path before it is described, rejected path is skipped with all its
+     *                   children; null accepts all
+     * @return Flat map sorted by path, key is path to property and value is a String value of that property
+     */
+    public static Map<String, String> recursiveDescribe(Object object, int maxDepth, Predicate<String> pathFilter) {
         Map<String, String> beanMap = new TreeMap<>();
-
-        Map<String, Object> properties = getProperties(object);
-
-        for (Map.Entry<String, Object> propertyEntry : properties.entrySet()) {
-            String property = propertyEntry.getKey();
-            Object value = propertyEntry.getValue();
-            try {
-                if (value == null) {
-                    //ignore nulls
-                } else if (Collection.class.isAssignableFrom(value.getClass())) {
-                    beanMap.putAll(convertAll((Collection) value, prefix + property, cache));
-                } else if (value.getClass().isArray()) {
-                    beanMap.putAll(convertAll(Arrays.asList((Object[]) value), prefix + property, cache));
-                } else if (Map.class.isAssignableFrom(value.getClass())) {
-                    beanMap.putAll(convertMap((Map) value, prefix + property, cache));
-                } else {
-                    beanMap.putAll(convertObject(value, prefix + property, cache));
-                }
-            } catch (Exception e) {
-                LOGGER.error(e);
-            }
+        Iterator<Map.Entry<String, String>> entries = describeIterator(object, maxDepth, pathFilter);
+        while (entries.hasNext()) {
+            Map.Entry<String, String> entry = entries.next();
+            beanMap.put(entry.getKey(), entry.getValue());
         }
         return beanMap;
     }
 
-    private static Map<String, Object> getProperties(Object object) {
-        Map<String, Object> propertyMap;
-        if (object instanceof Map) {
-            propertyMap = (Map) object;
-        } else if (object instanceof List) {
-            propertyMap = convertArray(((List) object));
-        } else {
-            propertyMap = getFields(object);
-            //getters take precedence in case of any name collisions
-            propertyMap.putAll(getGetterMethods(object));
-        }
-
-        return propertyMap;
-    }
-
-    private static Map<String, Object> convertArray(List<Object> valArray) {
-        Map<String, Object> valuesMap = new HashMap<>();
-        for (int currentElm = 0; currentElm < valArray.size(); currentElm++) {
-            Object value = valArray.get(currentElm);
-            if (value != null) {
-                valuesMap.put("[" + currentElm + "]", value);
-            }
-        }
-        return valuesMap;
-    }
-
-    private static Map<String, Object> getGetterMethods(Object object) {
-        Map<String, Object> result = new HashMap<>();
-        BeanInfo info;
-        try {
-            info = Introspector.getBeanInfo(object.getClass());
-            for (PropertyDescriptor pd : info.getPropertyDescriptors()) {
-                Method reader = pd.getReadMethod();
-                if (reader != null) {
-                    String name = pd.getName();
-                    if (!"class".equals(name)) {
-                        result.put(name, invokeReaderMethod(reader, object));
-                    }
-                }
-            }
-        } catch (IntrospectionException e) {
-            LOGGER.error(e);
-        }
-        return result;
-    }
-
-    private static Object invokeReaderMethod(Method reader, Object parameter) {
-        try {
-            return reader.invoke(parameter);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            LOGGER.debug(e);
-        }
-        return null;
-    }
-
-    private static Map<String, Object> getFields(Object object) {
-        return getFields(object, object.getClass());
-    }
-
-    private static Map<String, Object> getFields(Object object, Class<?> classType) {
-        Map<String, Object> result = new HashMap<>();
-
-        Class superClass = classType.getSuperclass();
-        if (superClass != null) {
-            result.putAll(getFields(object, superClass));
-        }
-
-        //get public fields only
-        Field[] fields = classType.getFields();
-        for (Field field : fields) {
-            try {
-                result.put(field.getName(), field.get(object));
-            } catch (IllegalAccessException e) {
-                LOGGER.error(e);
-                //you can choose to do something here
-            }
-        }
-        return result;
-    }
-
-    private static Map<String, String> convertAll(Collection<Object> values, String key, Set cache) {
-        Map<String, String> valuesMap = new HashMap<>();
-        Object[] valArray = values.toArray();
-        for (int i = 0; i < valArray.length; i++) {
-            Object value = valArray[i];
-            if (value != null) {
-                valuesMap.putAll(convertObject(value, key + ".[" + i + "]", cache));
-            }
-        }
-        return valuesMap;
-    }
-
-    private static Map<String, String> convertMap(Map<Object, Object> values, String key, Set cache) {
-        Map<String, String> valuesMap = new HashMap<>();
-        for (Map.Entry<Object, Object> entry : values.entrySet()) {
-            Object thisKey = entry.getKey();
-            Object value = entry.getValue();
-            if (value != null) {
-                valuesMap.putAll(convertObject(value, key + "." + thisKey, cache));
-            }
-        }
-        return valuesMap;
+    /**
+     * Describe input object lazily, each entry is computed when it is requested.
+     * Entries are the same as in {@link #recursiveDescribe(Object)}, but not sorted.
+     *
+     * @param object input Object to describe
+     * @return Iterator of path - String value pairs
+     */
+    public static Iterator<Map.Entry<String, String>> describeIterator(Object object) {
+        return new PropertyFlattener(object);
     }
 
-    private static Map<String, String> convertObject(Object value, String key, Set cache) {
-        //if this type has a registered converted, then get the string and return
-        if (converter.lookup(value.getClass()) != null) {
-            String stringValue = converter.convert(value);
-            Map<String, String> valueMap = new HashMap<>();
-            valueMap.put(key, stringValue);
-            return valueMap;
-        } else {
-            //otherwise, treat it as a nested bean that needs to be described itself
-            return recursiveDescribe(value, key, cache);
-        }
+    /**
+     * Describe input object lazily up to depth, skipping filtered paths.
+     *
+     * @param object input Object to describe
+     * @param maxDepth max number of path segments
+     * @param pathFilter tested on every path before it is described; null accepts all
+     * @return Iterator of path - String value pairs
+     */
+    public static Iterator<Map.Entry<String, String>> describeIterator(Object object, int maxDepth,
+        Predicate<String> pathFilter) {
+        return new PropertyFlattener(object, maxDepth, pathFilter);
     }
 
 }
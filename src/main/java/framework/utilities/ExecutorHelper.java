@@ -1,7 +1,11 @@
 package framework.utilities;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -39,4 +43,39 @@ public class ExecutorHelper {
         }
         return isFinished;
     }
+
+    /**
+     * Create executor that starts a new virtual thread for each task.
+     * Virtual threads are available since java 21 only, the framework is compiled for java 8,
+     * so the factory is looked up at runtime. On older runtime an unbounded cached pool
+     * of daemon platform threads is returned instead.
+     *
+     * @return ExecutorService
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            LOGGER.warn("Virtual threads are not supported by java [{}], cached thread pool is used",
+                System.getProperty("java.version"));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOGGER.error(e);
+        }
+        return Executors.newCachedThreadPool(new ThreadFactoryBuilder().setDaemon(true).build());
+    }
+
+    /**
+     * Check if current runtime supports virtual threads.
+     *
+     * @return true if java 21+ runtime
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
 }
@@ -5,11 +5,18 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * OutputStream that writes text to logger. Every line is logged as its own event as soon as it is complete,
+ * decoded right from the written bytes when nothing is buffered; the rest of the last line is kept in a reusable
+ * buffer until the next line end or flush. Nothing is buffered while the level is disabled for the logger.
+ * Stream can be shared between threads.
+ */
 public class LogginOutputStream extends OutputStream {
 
 	private static final Logger LOGGER = LogManager.getLogger();
@@ -19,6 +26,11 @@ public class LogginOutputStream extends OutputStream {
 	 */
 	private static final int DEFAULT_BUFFER_LENGTH = 2048;
 
+	/**
+	 * Buffer grown above this size by a huge line is replaced with a default one once it is logged.
+	 */
+	private static final int MAX_RETAINED_BUFFER_LENGTH = 64 * 1024;
+
 	/**
 	 * Indicates stream state.
 	 */
@@ -34,20 +46,15 @@ public class LogginOutputStream extends OutputStream {
 	 */
 	private int count;
 
-	/**
-	 * Remembers the size of the buffer.
-	 */
-	private int curBufLength;
-
 	/**
 	 * The LOGGER to write to.
 	 */
-	private Logger log;
+	private final Logger log;
 
 	/**
 	 * The log level.
 	 */
-	private Level level;
+	private final Level level;
 
 	/**
 	 * Creates the Logging instance to flush to the given LOGGER.
@@ -62,8 +69,7 @@ public class LogginOutputStream extends OutputStream {
 		}
 		this.log = log;
 		this.level = level;
-		curBufLength = DEFAULT_BUFFER_LENGTH;
-		buf = new byte[curBufLength];
+		buf = new byte[DEFAULT_BUFFER_LENGTH];
 		count = 0;
 	}
 
@@ -86,42 +92,68 @@ public class LogginOutputStream extends OutputStream {
 	 * @throws IOException if an I/O error occurs.
 	 */
 	@Override
-	public void write(final int b) throws IOException {
-		if (hasBeenClosed) {
-			throw new IOException("The stream has been closed.");
-		}
+	public synchronized void write(final int b) throws IOException {
+		ensureOpen();
 		// don't log nulls
-		if (b == 0) {
+		if (b == 0 || !log.isEnabled(level)) {
 			return;
 		}
-		// would this be writing past the buffer?
-		if (count == curBufLength) {
-			// grow the buffer
-			final int newBufLength = curBufLength + DEFAULT_BUFFER_LENGTH;
-			final byte[] newBuf = new byte[newBufLength];
-			System.arraycopy(buf, 0, newBuf, 0, curBufLength);
-			buf = newBuf;
-			curBufLength = newBufLength;
+		if (b == '\n') {
+			logBuffer();
+			return;
 		}
-
+		ensureCapacity(count + 1);
 		buf[count] = (byte) b;
 		count++;
 	}
 
+	/**
+	 * Writes bytes to this output stream, every complete line is logged as its own event, the rest is buffered.
+	 *
+	 * @param bytes the data
+	 * @param off   the start offset in the data
+	 * @param len   the number of bytes to write
+	 * @throws IOException if an I/O error occurs.
+	 */
+	@Override
+	public synchronized void write(final byte[] bytes, final int off, final int len) throws IOException {
+		ensureOpen();
+		if ((off | len | (off + len) | (bytes.length - (off + len))) < 0) {
+			throw new IndexOutOfBoundsException("Offset " + off + ", length " + len + ", size " + bytes.length);
+		}
+		if (len == 0 || !log.isEnabled(level)) {
+			return;
+		}
+		int end = off + len;
+		int start = off;
+		for (int i = off; i < end; i++) {
+			if (bytes[i] == '\n') {
+				if (count == 0) {
+					// line is decoded right from the input
+					logText(bytes, start, i);
+				} else {
+					append(bytes, start, i);
+					logBuffer();
+				}
+				start = i + 1;
+			} else if (bytes[i] == 0) {
+				// don't log nulls
+				append(bytes, start, i);
+				start = i + 1;
+			}
+		}
+		append(bytes, start, end);
+	}
+
 	/**
 	 * Flushes this output stream and forces any buffered output bytes to be written
 	 * out.
 	 */
 	@Override
-	public void flush() {
-		if (count == 0) {
-			return;
+	public synchronized void flush() {
+		if (count > 0) {
+			logBuffer();
 		}
-		final byte[] bytes = new byte[count];
-		System.arraycopy(buf, 0, bytes, 0, count);
-		String str = new String(bytes, StandardCharsets.UTF_8);
-		log.log(level, str);
-		count = 0;
 	}
 
 	/**
@@ -129,9 +161,52 @@ public class LogginOutputStream extends OutputStream {
 	 * this stream.
 	 */
 	@Override
-	public void close() {
+	public synchronized void close() {
 		flush();
 		hasBeenClosed = true;
 	}
 
+	private void ensureOpen() throws IOException {
+		if (hasBeenClosed) {
+			throw new IOException("The stream has been closed.");
+		}
+	}
+
+	private void append(final byte[] bytes, final int from, final int to) {
+		int length = to - from;
+		if (length > 0) {
+			ensureCapacity(count + length);
+			System.arraycopy(bytes, from, buf, count, length);
+			count += length;
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > buf.length) {
+			buf = Arrays.copyOf(buf, Math.max(capacity, buf.length * 2));
+		}
+	}
+
+	/**
+	 * Log buffered line and empty the buffer, buffer grown by a huge line is released.
+	 */
+	private void logBuffer() {
+		logText(buf, 0, count);
+		count = 0;
+		if (buf.length > MAX_RETAINED_BUFFER_LENGTH) {
+			buf = new byte[DEFAULT_BUFFER_LENGTH];
+		}
+	}
+
+	/**
+	 * Log text without the last line terminator, empty text is skipped.
+	 */
+	private void logText(final byte[] bytes, final int from, final int to) {
+		int end = to > from && bytes[to - 1] == '\r' ? to - 1 : to;
+		if (end > from) {
+			// CharSequence is logged as simple message, without looking for {} parameters
+			log.log(level, (CharSequence) new String(bytes, from, end - from, StandardCharsets.UTF_8));
+		}
+	}
+
 }
@@ -0,0 +1,259 @@
+package framework.utilities.accessor;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Compiled property accessors of a class, built once per class on first use.
+ * Properties are java beans getters and setters, fluent setters returning this and public fields;
+ * getter takes precedence over a field with same name.
+ * Example
+ * <pre>
+ *      PropertyAccessor email = ClassAccessors.forClass(UserDto.class).get("email");
+ *      Object value = email.get(user);
+ * </pre>
+ */
+public final class ClassAccessors {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<ClassAccessors> CACHE = new ClassValue<ClassAccessors>() {
+        @Override
+        protected ClassAccessors computeValue(Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Map<String, PropertyAccessor> accessors;
+
+    private ClassAccessors(Class<?> type) {
+        this.type = type;
+        this.accessors = Collections.unmodifiableMap(compile(type));
+    }
+
+    /**
+     * Get accessors of class, compiled on first call.
+     *
+     * @param type bean class
+     * @return ClassAccessors
+     */
+    public static ClassAccessors forClass(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Get accessor of property.
+     *
+     * @param name property name
+     * @return accessor or null if class has no such property
+     */
+    public PropertyAccessor get(String name) {
+        return accessors.get(name);
+    }
+
+    /**
+     * All properties of class.
+     *
+     * @return accessors in declaration order
+     */
+    public Collection<PropertyAccessor> all() {
+        return accessors.values();
+    }
+
+    private static Map<String, PropertyAccessor> compile(Class<?> type) {
+        Map<String, PropertyAccessor.Getter> getters = new LinkedHashMap<>();
+        Map<String, PropertyAccessor.Setter> setters = new LinkedHashMap<>();
+        Map<String, Class<?>> types = new LinkedHashMap<>();
+
+        for (Field field : type.getFields()) {
+            String name = field.getName();
+            types.put(name, field.getType());
+            getters.put(name, fieldGetter(field));
+            if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers())) {
+                setters.put(name, fieldSetter(field));
+            }
+        }
+
+        try {
+            BeanInfo info = Introspector.getBeanInfo(type);
+            for (PropertyDescriptor descriptor : info.getPropertyDescriptors()) {
+                String name = descriptor.getName();
+                if ("class".equals(name) || descriptor.getPropertyType() == null) {
+                    continue;
+                }
+                PropertyAccessor.Getter getter = methodGetter(descriptor.getReadMethod());
+                PropertyAccessor.Setter setter = methodSetter(descriptor.getWriteMethod());
+                if (getter != null || setter != null) {
+                    types.put(name, descriptor.getPropertyType());
+                }
+                if (getter != null) {
+                    getters.put(name, getter);
+                }
+                if (setter != null) {
+                    setters.put(name, setter);
+                }
+            }
+        } catch (IntrospectionException e) {
+            LOGGER.error(e);
+        }
+
+        // fluent setters, e.g. ApiConfig setApiUrl(String), are not recognized by Introspector
+        for (Method method : type.getMethods()) {
+            String methodName = method.getName();
+            if (methodName.length() > 3 && methodName.startsWith("set") && method.getParameterCount() == 1
+                && method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                String name = Introspector.decapitalize(methodName.substring(3));
+                Class<?> propertyType = types.get(name);
+                if (!setters.containsKey(name) && (propertyType == null
+                    || propertyType == method.getParameterTypes()[0])) {
+                    PropertyAccessor.Setter setter = methodSetter(method);
+                    if (setter != null) {
+                        setters.put(name, setter);
+                        types.put(name, method.getParameterTypes()[0]);
+                    }
+                }
+            }
+        }
+
+        Map<String, PropertyAccessor> result = new LinkedHashMap<>();
+        types.forEach((name, propertyType) ->
+            result.put(name, new PropertyAccessor(name, propertyType, getters.get(name), setters.get(name))));
+        return result;
+    }
+
+    private static PropertyAccessor.Getter methodGetter(Method method) {
+        if (method == null || method.getParameterCount() != 0) {
+            return null;
+        }
+        if (isLinkable(method.getDeclaringClass())) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                Class<?> returnType = method.getReturnType();
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get",
+                    MethodType.methodType(PropertyAccessor.Getter.class), GETTER_TYPE, handle,
+                    MethodType.methodType(returnType.isPrimitive() ? ClassUtils.primitiveToWrapper(returnType)
+                        : Object.class, method.getDeclaringClass()));
+                return (PropertyAccessor.Getter) site.getTarget().invoke();
+            } catch (Throwable e) {
+                LOGGER.debug("Getter {} is called through method handle: {}", method, e);
+            }
+        }
+        MethodHandle handle = unreflect(method);
+        if (handle == null) {
+            return null;
+        }
+        MethodHandle getter = handle.asType(GETTER_TYPE);
+        return bean -> getter.invokeExact(bean);
+    }
+
+    private static PropertyAccessor.Setter methodSetter(Method method) {
+        if (method == null || method.getParameterCount() != 1) {
+            return null;
+        }
+        Class<?> parameterType = method.getParameterTypes()[0];
+        if (isLinkable(method.getDeclaringClass()) && isLinkable(parameterType)) {
+            try {
+                MethodHandle handle = LOOKUP.unreflect(method);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "set",
+                    MethodType.methodType(PropertyAccessor.Setter.class), SETTER_TYPE, handle,
+                    MethodType.methodType(void.class, method.getDeclaringClass(),
+                        ClassUtils.primitiveToWrapper(parameterType)));
+                return (PropertyAccessor.Setter) site.getTarget().invoke();
+            } catch (Throwable e) {
+                LOGGER.debug("Setter {} is called through method handle: {}", method, e);
+            }
+        }
+        MethodHandle handle = unreflect(method);
+        if (handle == null) {
+            return null;
+        }
+        MethodHandle setter = handle.asType(SETTER_TYPE);
+        return (bean, value) -> {
+            setter.invokeExact(bean, value);
+        };
+    }
+
+    private static PropertyAccessor.Getter fieldGetter(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle handle = LOOKUP.unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            MethodHandle getter = handle.asType(GETTER_TYPE);
+            return bean -> getter.invokeExact(bean);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug(e);
+            return null;
+        }
+    }
+
+    private static PropertyAccessor.Setter fieldSetter(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+            return (bean, value) -> {
+                setter.invokeExact(bean, value);
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug(e);
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            method.setAccessible(true);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            LOGGER.debug(e);
+            return null;
+        }
+    }
+
+    /**
+     * Spun lambda classes reference bean classes by name from this class loader,
+     * so only public classes visible from here can be linked.
+     */
+    private static boolean isLinkable(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        if (!Modifier.isPublic(type.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(type.getName(), false, ClassAccessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
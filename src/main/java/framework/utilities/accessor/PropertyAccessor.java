@@ -0,0 +1,107 @@
+package framework.utilities.accessor;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.commons.lang3.ClassUtils;
+
+/**
+ * Compiled accessor of one bean property: getter and setter are lambdas spun by LambdaMetafactory
+ * (or bound method handles when the class can't be linked that way), so reading a property costs
+ * an interface call instead of reflective lookup and Method.invoke.
+ */
+public final class PropertyAccessor {
+
+    /**
+     * Compiled read access.
+     */
+    @FunctionalInterface
+    interface Getter {
+        Object get(Object bean) throws Throwable;
+    }
+
+    /**
+     * Compiled write access, return value of fluent setters is dropped.
+     */
+    @FunctionalInterface
+    interface Setter {
+        void set(Object bean, Object value) throws Throwable;
+    }
+
+    private final String name;
+    private final Class<?> type;
+    private final Getter getter;
+    private final Setter setter;
+
+    PropertyAccessor(String name, Class<?> type, Getter getter, Setter setter) {
+        this.name = name;
+        this.type = type;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * Read property value.
+     *
+     * @param bean object of the class this accessor was compiled for
+     * @return the value
+     * @throws NoSuchMethodException if property is write only
+     * @throws InvocationTargetException if getter throws
+     */
+    public Object get(Object bean) throws NoSuchMethodException, InvocationTargetException {
+        if (getter == null) {
+            throw new NoSuchMethodException("Property '" + name + "' has no getter method in class '"
+                + bean.getClass() + "'");
+        }
+        try {
+            return getter.get(bean);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     * Write property value. Value is not converted, its type should match property type.
+     *
+     * @param bean object of the class this accessor was compiled for
+     * @param value the value
+     * @throws NoSuchMethodException if property is read only
+     * @throws InvocationTargetException if setter throws
+     */
+    public void set(Object bean, Object value) throws NoSuchMethodException, InvocationTargetException {
+        if (setter == null) {
+            throw new NoSuchMethodException("Property '" + name + "' has no setter method in class '"
+                + bean.getClass() + "'");
+        }
+        if (value == null ? type.isPrimitive() : !ClassUtils.primitiveToWrapper(type).isInstance(value)) {
+            throw new IllegalArgumentException("Cannot set " + (value == null ? "null" : value.getClass().getName())
+                + " to property '" + name + "' of type " + type.getName() + " in class '" + bean.getClass() + "'");
+        }
+        try {
+            setter.set(bean, value);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyAccessor{" + name + ": " + type.getName() + (getter != null ? ", r" : "")
+            + (setter != null ? ", w" : "") + "}";
+    }
+}
@@ -0,0 +1,257 @@
+package framework.utilities.accessor;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.commons.beanutils.BeanUtilsBean;
+import org.apache.commons.beanutils.ConvertUtilsBean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Lazy flattening of an object graph into path - string value pairs, the same pairs
+ * {@link framework.utilities.BeanUtils#recursiveDescribe(Object)} returns.
+ * Graph is walked with an explicit stack, objects already on the current path are skipped,
+ * so cyclic graphs end. Shared objects that are not ancestors are described every time they occur.
+ * Entries come in walk order, not sorted.
+ * Example
+ * <pre>
+ *      Iterator&lt;Map.Entry&lt;String, String&gt;&gt; entries =
+ *          new PropertyFlattener(users, 3, path -&gt; !path.startsWith("support"));
+ * </pre>
+ */
+public final class PropertyFlattener implements Iterator<Map.Entry<String, String>> {
+
+    public static final int NO_DEPTH_LIMIT = Integer.MAX_VALUE;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ConvertUtilsBean converter = BeanUtilsBean.getInstance().getConvertUtils();
+    private final int maxDepth;
+    private final Predicate<String> pathFilter;
+    private final Deque<Frame> stack = new ArrayDeque<>();
+    private final Set<Object> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+    private Map.Entry<String, String> next;
+
+    /**
+     * Flatten whole graph.
+     *
+     * @param root object to describe
+     */
+    public PropertyFlattener(Object root) {
+        this(root, NO_DEPTH_LIMIT, null);
+    }
+
+    /**
+     * Flatten graph up to depth, skipping filtered paths.
+     *
+     * @param root object to describe
+     * @param maxDepth max number of path segments, for example 2 keeps data.[0] but not data.[0].email
+     * @param pathFilter tested on every path before it is described, rejected path is skipped with all its
+     *                   children; null accepts all
+     */
+    public PropertyFlattener(Object root, int maxDepth, Predicate<String> pathFilter) {
+        this.maxDepth = maxDepth;
+        this.pathFilter = pathFilter;
+        if (root != null && maxDepth > 0) {
+            push(root, "", 1, properties(root));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Map.Entry<String, String> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Map.Entry<String, String> entry = next;
+        next = null;
+        return entry;
+    }
+
+    private Map.Entry<String, String> advance() {
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (!frame.children.hasNext()) {
+                stack.pop();
+                ancestors.remove(frame.owner);
+                continue;
+            }
+            Child child = frame.children.next();
+            String path = frame.prefix + child.name;
+            if (pathFilter != null && !pathFilter.test(path)) {
+                continue;
+            }
+            try {
+                Map.Entry<String, String> entry = visit(child, path, frame.depth);
+                if (entry != null) {
+                    return entry;
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Bean properties and map values expand collections into elements, elements are converted
+     * to string if there is a converter for them and described as nested objects otherwise.
+     */
+    private Map.Entry<String, String> visit(Child child, String path, int depth) {
+        Object value = child.value;
+        if (child.property) {
+            if (value instanceof Collection || value.getClass().isArray()) {
+                push(value, path + ".", depth + 1, elements(value));
+                return null;
+            } else if (value instanceof Map) {
+                push(value, path + ".", depth + 1, entries((Map<?, ?>) value));
+                return null;
+            }
+        }
+        if (converter.lookup(value.getClass()) != null) {
+            return new AbstractMap.SimpleImmutableEntry<>(path, converter.convert(value));
+        }
+        if (value instanceof Enum) {
+            // constants are public static fields of enum itself, describing them never ends
+            return new AbstractMap.SimpleImmutableEntry<>(path, ((Enum<?>) value).name());
+        }
+        push(value, path + ".", depth + 1, properties(value));
+        return null;
+    }
+
+    private void push(Object owner, String prefix, int depth, List<Child> children) {
+        if (depth > maxDepth || children.isEmpty()) {
+            return;
+        }
+        if (!ancestors.add(owner)) {
+            LOGGER.debug("Cycle at {}, {} is skipped", prefix, owner.getClass());
+            return;
+        }
+        stack.push(new Frame(owner, prefix, depth, children.iterator()));
+    }
+
+    private List<Child> properties(Object object) {
+        List<Child> children = new ArrayList<>();
+        if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (entry.getValue() != null) {
+                    children.add(new Child(String.valueOf(entry.getKey()), entry.getValue(), true));
+                }
+            }
+        } else if (object instanceof List) {
+            List<?> list = (List<?>) object;
+            for (int i = 0; i < list.size(); i++) {
+                Object value = list.get(i);
+                if (value != null) {
+                    children.add(new Child("[" + i + "]", value, true));
+                }
+            }
+        } else {
+            //public fields and getters, getters take precedence in case of any name collisions
+            for (PropertyAccessor accessor : ClassAccessors.forClass(object.getClass()).all()) {
+                if (accessor.isReadable()) {
+                    Object value = read(accessor, object);
+                    if (value != null) {
+                        children.add(new Child(accessor.getName(), value, true));
+                    }
+                }
+            }
+        }
+        return children;
+    }
+
+    private static List<Child> elements(Object collectionOrArray) {
+        List<Child> children = new ArrayList<>();
+        if (collectionOrArray instanceof Collection) {
+            int index = 0;
+            for (Object value : (Collection<?>) collectionOrArray) {
+                if (value != null) {
+                    children.add(new Child("[" + index + "]", value, false));
+                }
+                index++;
+            }
+        } else {
+            int length = Array.getLength(collectionOrArray);
+            for (int i = 0; i < length; i++) {
+                Object value = Array.get(collectionOrArray, i);
+                if (value != null) {
+                    children.add(new Child("[" + i + "]", value, false));
+                }
+            }
+        }
+        return children;
+    }
+
+    private static List<Child> entries(Map<?, ?> map) {
+        List<Child> children = new ArrayList<>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getValue() != null) {
+                children.add(new Child(String.valueOf(entry.getKey()), entry.getValue(), false));
+            }
+        }
+        return children;
+    }
+
+    private static Object read(PropertyAccessor accessor, Object object) {
+        try {
+            return accessor.get(object);
+        } catch (NoSuchMethodException | InvocationTargetException e) {
+            LOGGER.debug(e);
+        }
+        return null;
+    }
+
+    /**
+     * Object being described: its path prefix and children not visited yet.
+     */
+    private static final class Frame {
+
+        private final Object owner;
+        private final String prefix;
+        private final int depth;
+        private final Iterator<Child> children;
+
+        Frame(Object owner, String prefix, int depth, Iterator<Child> children) {
+            this.owner = owner;
+            this.prefix = prefix;
+            this.depth = depth;
+            this.children = children;
+        }
+    }
+
+    /**
+     * Path segment and value, property values are expanded if they are collections, elements are not.
+     */
+    private static final class Child {
+
+        private final String name;
+        private final Object value;
+        private final boolean property;
+
+        Child(String name, Object value, boolean property) {
+            this.name = name;
+            this.value = value;
+            this.property = property;
+        }
+    }
+}
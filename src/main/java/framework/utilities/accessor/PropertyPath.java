@@ -0,0 +1,329 @@
+package framework.utilities.accessor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.beanutils.NestedNullException;
+
+/**
+ * Nested property path compiled into chain of accessors.
+ * Supported syntax: nameA.nameB, indexes nameA.1.nameB, nameA[1].nameB, nameA.[1].nameB
+ * and map keys nameA(key).nameB. Maps are navigated by key, lists and arrays by index.
+ * Compiled paths are cached, each step remembers accessor of the last class it met.
+ * Example
+ * <pre>
+ *      PropertyPath path = PropertyPath.compile("data.0.email");
+ *      Object email = path.get(users);
+ * </pre>
+ */
+public final class PropertyPath {
+
+    private static final int MAX_CACHED_PATHS = 10000;
+
+    /**
+     * Paths come from code and describe keys, so the set is small; least recently used paths are evicted if it
+     * ever gets too big.
+     */
+    private static final Cache<String, PropertyPath> CACHE = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PATHS)
+        .build();
+
+    private final String path;
+    private final Step[] steps;
+
+    private PropertyPath(String path, List<Step> steps) {
+        this.path = path;
+        this.steps = steps.toArray(new Step[0]);
+    }
+
+    /**
+     * Compile path or take it from cache.
+     *
+     * @param path property path
+     * @return PropertyPath
+     */
+    public static PropertyPath compile(String path) {
+        return CACHE.asMap().computeIfAbsent(path, key -> new PropertyPath(key, parse(key)));
+    }
+
+    /**
+     * Read value.
+     *
+     * @param root object to start from
+     * @return the value, null if last property is null
+     * @throws NoSuchMethodException if there is no such property
+     * @throws InvocationTargetException if getter throws
+     * @throws NestedNullException if any property before the last is null
+     */
+    public Object get(Object root) throws NoSuchMethodException, InvocationTargetException {
+        Object current = root;
+        for (int i = 0; i < steps.length; i++) {
+            if (current == null) {
+                throw nullAt(i);
+            }
+            current = steps[i].get(current);
+        }
+        return current;
+    }
+
+    /**
+     * Read value, missing properties, indexes and nulls on the way give null.
+     *
+     * @param root object to start from
+     * @return the value or null
+     */
+    public Object find(Object root) {
+        Object current = root;
+        try {
+            for (int i = 0; i < steps.length && current != null; i++) {
+                current = steps[i].get(current);
+            }
+            return current;
+        } catch (NoSuchMethodException | InvocationTargetException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write value of the last property.
+     *
+     * @param root object to start from
+     * @param value the value, should match property type
+     * @throws NoSuchMethodException if there is no such property
+     * @throws InvocationTargetException if getter or setter throws
+     * @throws NestedNullException if any property before the last is null
+     */
+    public void set(Object root, Object value) throws NoSuchMethodException, InvocationTargetException {
+        Object current = root;
+        int last = steps.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (current == null) {
+                throw nullAt(i);
+            }
+            current = steps[i].get(current);
+        }
+        if (current == null) {
+            throw nullAt(last);
+        }
+        steps[last].set(current, value);
+    }
+
+    /**
+     * Number of cached compiled paths.
+     *
+     * @return int
+     */
+    public static int cachedPaths() {
+        return (int) CACHE.size();
+    }
+
+    private NestedNullException nullAt(int step) {
+        return new NestedNullException("Null property value for '" + path + "' at step " + step);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private static List<Step> parse(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Property path is empty");
+        }
+        List<Step> steps = new ArrayList<>();
+        int position = 0;
+        int length = path.length();
+        while (position < length) {
+            char symbol = path.charAt(position);
+            if (symbol == '.') {
+                position++;
+            } else if (symbol == '[') {
+                int end = closing(path, position, ']');
+                steps.add(new IndexStep(parseIndex(path, path.substring(position + 1, end))));
+                position = end + 1;
+            } else if (symbol == '(') {
+                int end = closing(path, position, ')');
+                steps.add(new KeyStep(path.substring(position + 1, end)));
+                position = end + 1;
+            } else {
+                int end = position;
+                while (end < length && ".[(".indexOf(path.charAt(end)) < 0) {
+                    end++;
+                }
+                String name = path.substring(position, end);
+                steps.add(isIndex(name) ? new IndexStep(Integer.parseInt(name)) : new PropertyStep(name));
+                position = end;
+            }
+        }
+        if (steps.isEmpty()) {
+            throw new IllegalArgumentException("Invalid property path '" + path + "'");
+        }
+        return Collections.unmodifiableList(steps);
+    }
+
+    private static int closing(String path, int from, char symbol) {
+        int end = path.indexOf(symbol, from);
+        if (end < 0) {
+            throw new IllegalArgumentException("Missing '" + symbol + "' in property path '" + path + "'");
+        }
+        return end;
+    }
+
+    private static int parseIndex(String path, String index) {
+        if (!isIndex(index)) {
+            throw new IllegalArgumentException("Invalid index '" + index + "' in property path '" + path + "'");
+        }
+        return Integer.parseInt(index);
+    }
+
+    private static boolean isIndex(String name) {
+        if (name.isEmpty() || name.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private interface Step {
+        Object get(Object current) throws NoSuchMethodException, InvocationTargetException;
+
+        void set(Object current, Object value) throws NoSuchMethodException, InvocationTargetException;
+    }
+
+    /**
+     * Bean property or map key.
+     */
+    private static final class PropertyStep implements Step {
+
+        private final String name;
+        private volatile Resolved last;
+
+        PropertyStep(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object get(Object current) throws NoSuchMethodException, InvocationTargetException {
+            if (current instanceof Map) {
+                return ((Map<?, ?>) current).get(name);
+            }
+            return accessor(current).get(current);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void set(Object current, Object value) throws NoSuchMethodException, InvocationTargetException {
+            if (current instanceof Map) {
+                ((Map<Object, Object>) current).put(name, value);
+            } else {
+                accessor(current).set(current, value);
+            }
+        }
+
+        private PropertyAccessor accessor(Object current) throws NoSuchMethodException {
+            Resolved resolved = last;
+            Class<?> type = current.getClass();
+            if (resolved == null || resolved.type != type) {
+                PropertyAccessor accessor = ClassAccessors.forClass(type).get(name);
+                if (accessor == null) {
+                    throw new NoSuchMethodException("Unknown property '" + name + "' on class '" + type + "'");
+                }
+                resolved = new Resolved(type, accessor);
+                last = resolved;
+            }
+            return resolved.accessor;
+        }
+    }
+
+    /**
+     * Accessor found for the class met last time.
+     */
+    private static final class Resolved {
+
+        private final Class<?> type;
+        private final PropertyAccessor accessor;
+
+        Resolved(Class<?> type, PropertyAccessor accessor) {
+            this.type = type;
+            this.accessor = accessor;
+        }
+    }
+
+    /**
+     * List or array element, numeric map key.
+     */
+    private static final class IndexStep implements Step {
+
+        private final int index;
+
+        IndexStep(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Object get(Object current) throws NoSuchMethodException {
+            if (current instanceof List) {
+                return ((List<?>) current).get(index);
+            }
+            if (current.getClass().isArray()) {
+                return Array.get(current, index);
+            }
+            if (current instanceof Map) {
+                return ((Map<?, ?>) current).get(String.valueOf(index));
+            }
+            throw new NoSuchMethodException("Class '" + current.getClass() + "' is not indexed, index " + index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void set(Object current, Object value) throws NoSuchMethodException {
+            if (current instanceof List) {
+                ((List<Object>) current).set(index, value);
+            } else if (current.getClass().isArray()) {
+                Array.set(current, index, value);
+            } else if (current instanceof Map) {
+                ((Map<Object, Object>) current).put(String.valueOf(index), value);
+            } else {
+                throw new NoSuchMethodException("Class '" + current.getClass() + "' is not indexed, index " + index);
+            }
+        }
+    }
+
+    /**
+     * Map value by key.
+     */
+    private static final class KeyStep implements Step {
+
+        private final String key;
+
+        KeyStep(String key) {
+            this.key = key;
+        }
+
+        @Override
+        public Object get(Object current) throws NoSuchMethodException {
+            if (current instanceof Map) {
+                return ((Map<?, ?>) current).get(key);
+            }
+            throw new NoSuchMethodException("Class '" + current.getClass() + "' is not mapped, key " + key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void set(Object current, Object value) throws NoSuchMethodException {
+            if (current instanceof Map) {
+                ((Map<Object, Object>) current).put(key, value);
+            } else {
+                throw new NoSuchMethodException("Class '" + current.getClass() + "' is not mapped, key " + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package framework.utilities.balancer;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One node of a balanced api with its load and passive health state.
+ * Node address is taken from "ApiNodes" or "RetryHosts", e.g. https://node1.example.com:8443 or node1:8080,
+ * missing scheme and port are taken from api url and api port.
+ */
+public class ApiNode {
+
+    private final String baseUri;
+    private final int port;
+    private final boolean failover;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejectionsTotal = new LongAdder();
+    private int consecutiveFailures;
+    private int consecutiveEjections;
+    private volatile long ejectedUntilNanos;
+    private volatile boolean ejected;
+
+    ApiNode(String baseUri, int port, boolean failover) {
+        this.baseUri = baseUri;
+        this.port = port;
+        this.failover = failover;
+    }
+
+    /**
+     * Parse node address.
+     *
+     * @param address node address from environment
+     * @param defaultScheme scheme of api url
+     * @param defaultPort api port, may be null
+     * @param failover true for retry host
+     * @return ApiNode
+     */
+    static ApiNode parse(String address, String defaultScheme, Integer defaultPort, boolean failover) {
+        URI uri = URI.create(address.contains("://") ? address : defaultScheme + "://" + address);
+        int port = uri.getPort();
+        if (port == -1) {
+            port = defaultPort != null ? defaultPort : defaultPort(uri.getScheme());
+        }
+        return new ApiNode(uri.getScheme() + "://" + uri.getHost(), port, failover);
+    }
+
+    private static int defaultPort(String scheme) {
+        return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+    }
+
+    public String getBaseUri() {
+        return baseUri;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public boolean isFailover() {
+        return failover;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public boolean isEjected() {
+        return ejected;
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+        requests.increment();
+    }
+
+    /**
+     * Release node after the call and update its health.
+     *
+     * @return true if node has just reached failure threshold
+     */
+    synchronized boolean release(boolean success, int failureThreshold) {
+        outstanding.decrementAndGet();
+        if (success) {
+            consecutiveFailures = 0;
+            consecutiveEjections = 0;
+            return false;
+        }
+        failures.increment();
+        consecutiveFailures++;
+        return !ejected && consecutiveFailures >= failureThreshold;
+    }
+
+    /**
+     * Eject node, every next ejection in a row lasts twice longer, up to max ejection time.
+     */
+    synchronized void eject(long ejectionNanos, long maxEjectionNanos) {
+        long duration = Math.min(maxEjectionNanos, ejectionNanos << Math.min(consecutiveEjections, 20));
+        consecutiveEjections++;
+        ejectionsTotal.increment();
+        ejectedUntilNanos = System.nanoTime() + duration;
+        ejected = true;
+    }
+
+    /**
+     * Check if node can take requests, node is reinstated when its ejection time is over.
+     */
+    boolean isAvailable(long nowNanos) {
+        if (ejected && nowNanos - ejectedUntilNanos >= 0) {
+            synchronized (this) {
+                if (ejected && nowNanos - ejectedUntilNanos >= 0) {
+                    // next failure ejects node again with longer ejection time
+                    consecutiveFailures = 0;
+                    ejected = false;
+                }
+            }
+        }
+        return !ejected;
+    }
+
+    Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("outstanding", getOutstanding());
+        statistics.put("requests", getRequests());
+        statistics.put("failures", getFailures());
+        statistics.put("ejections", ejectionsTotal.sum());
+        statistics.put("ejected", ejected);
+        statistics.put("failover", failover);
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return baseUri + ":" + port;
+    }
+}
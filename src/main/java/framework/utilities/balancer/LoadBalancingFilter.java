@@ -0,0 +1,126 @@
+package framework.utilities.balancer;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * RestAssured filter that sends every request to a node selected by {@link NodeBalancer}.
+ * Request that failed without response is repeated on another node (up to MaxAttempts):
+ * connection failures for any method, other I/O failures for idempotent methods only.
+ * Repeated request keeps headers, cookies, body and resolved path, but skips filters defined after this one.
+ */
+public class LoadBalancingFilter implements Filter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final List<String> IDEMPOTENT_METHODS = Arrays.asList("GET", "HEAD", "OPTIONS", "PUT", "DELETE",
+        "TRACE");
+
+    private final NodeBalancer balancer;
+
+    public LoadBalancingFilter(NodeBalancer balancer) {
+        this.balancer = balancer;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+        FilterContext ctx) {
+        ApiNode node = balancer.select();
+        if (node == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        requestSpec.baseUri(node.getBaseUri());
+        requestSpec.port(node.getPort());
+        try {
+            return call(node, () -> ctx.next(requestSpec, responseSpec));
+        } catch (Exception e) {
+            List<ApiNode> tried = new ArrayList<>();
+            tried.add(node);
+            Throwable failure = e;
+            while (tried.size() < balancer.getMaxAttempts() && isRetryable(failure, requestSpec.getMethod())) {
+                ApiNode next = balancer.select(tried);
+                if (next == null) {
+                    break;
+                }
+                tried.add(next);
+                LOGGER.warn("Request to [{}] failed with [{}], repeat it on [{}]", requestSpec.getURI(), failure, next);
+                try {
+                    return call(next, () -> resend(requestSpec, next));
+                } catch (Exception repeated) {
+                    e.addSuppressed(repeated);
+                    failure = repeated;
+                }
+            }
+            throw e;
+        }
+    }
+
+    private Response call(ApiNode node, Supplier<Response> request) {
+        balancer.acquire(node);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Response response = request.get();
+            success = response.getStatusCode() < 500;
+            return response;
+        } finally {
+            balancer.release(node, System.nanoTime() - start, success);
+        }
+    }
+
+    private static Response resend(FilterableRequestSpecification requestSpec, ApiNode node) {
+        URI original = URI.create(requestSpec.getURI());
+        String uri = node.getBaseUri() + ":" + node.getPort() + original.getRawPath()
+            + (original.getRawQuery() == null ? "" : "?" + original.getRawQuery());
+        RequestSpecification repeated = RestAssured.given()
+            .config(requestSpec.getConfig())
+            .urlEncodingEnabled(false)
+            .headers(requestSpec.getHeaders())
+            .cookies(requestSpec.getCookies());
+        if (requestSpec.getContentType() != null) {
+            repeated.contentType(requestSpec.getContentType());
+        }
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            repeated.body(body);
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            repeated.formParams(requestSpec.getFormParams());
+        }
+        requestSpec.getMultiPartParams().forEach(repeated::multiPart);
+        return repeated.request(requestSpec.getMethod(), uri);
+    }
+
+    private static boolean isRetryable(Throwable failure, String method) {
+        Throwable cause = failure;
+        while (cause != null) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+                // request has not reached the node
+                return true;
+            }
+            if (cause instanceof IOException) {
+                return IDEMPOTENT_METHODS.contains(method.toUpperCase());
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,213 @@
+package framework.utilities.balancer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.bean.apiconfig.ApiConfig;
+import framework.bean.apiconfig.LoadBalancingSettings;
+import framework.utilities.metrics.MetricsRegistry;
+
+/**
+ * Spreads requests of an api over its nodes ("ApiNodes") with passive health tracking.
+ * <ul>
+ * <li>node that failed (no response, 5xx or slower than SlowCallMillis) FailureThreshold times in a row
+ * is ejected for EjectionMillis, every next ejection in a row lasts twice longer up to MaxEjectionMillis;</li>
+ * <li>ejected node is reinstated when its ejection time is over, successful call resets its backoff;</li>
+ * <li>no more than MaxEjectedPercent of all nodes, but at least one node unless it is 0, are ejected at the same
+ * time, so a single node or small cluster can still eject its failing node;</li>
+ * <li>"RetryHosts" take requests only when no api node is available;</li>
+ * <li>when every node is ejected requests go to api nodes anyway, health is ignored.</li>
+ * </ul>
+ * Node statistics are published as "apiNodes.[api setting]" gauge of MetricsRegistry.
+ */
+public class NodeBalancer {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_EJECTION_MILLIS = 30 * 1000L;
+    private static final long DEFAULT_MAX_EJECTION_MILLIS = 5 * 60 * 1000L;
+    private static final int DEFAULT_MAX_EJECTED_PERCENT = 50;
+
+    private final String name;
+    private final List<ApiNode> nodes;
+    private final List<ApiNode> failoverNodes;
+    private final NodeSelectionStrategy strategy;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final int maxAttempts;
+    private final int failureThreshold;
+    private final long slowCallNanos;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+    private final int maxEjected;
+
+    NodeBalancer(String name, List<ApiNode> nodes, List<ApiNode> failoverNodes, LoadBalancingSettings settings) {
+        this.name = name;
+        this.nodes = Collections.unmodifiableList(nodes);
+        this.failoverNodes = Collections.unmodifiableList(failoverNodes);
+        this.strategy = NodeSelectionStrategy.fromName(settings.getStrategy());
+        this.maxAttempts = valueOrDefault(settings.getMaxAttempts(), DEFAULT_MAX_ATTEMPTS);
+        this.failureThreshold = valueOrDefault(settings.getFailureThreshold(), DEFAULT_FAILURE_THRESHOLD);
+        this.slowCallNanos = settings.getSlowCallMillis() == null ? Long.MAX_VALUE
+            : TimeUnit.MILLISECONDS.toNanos(settings.getSlowCallMillis());
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(
+            valueOrDefault(settings.getEjectionMillis(), DEFAULT_EJECTION_MILLIS));
+        this.maxEjectionNanos = TimeUnit.MILLISECONDS.toNanos(
+            valueOrDefault(settings.getMaxEjectionMillis(), DEFAULT_MAX_EJECTION_MILLIS));
+        int maxEjectedPercent = valueOrDefault(settings.getMaxEjectedPercent(), DEFAULT_MAX_EJECTED_PERCENT);
+        this.maxEjected = maxEjectedPercent <= 0 ? 0
+            : Math.max(1, (nodes.size() + failoverNodes.size()) * maxEjectedPercent / 100);
+    }
+
+    /**
+     * Create balancer of api nodes.
+     *
+     * @param apiSetting api setting name
+     * @param apiConfig ApiConfig
+     * @return NodeBalancer or null if api has neither "ApiNodes" nor "RetryHosts"
+     */
+    public static NodeBalancer forApi(String apiSetting, ApiConfig apiConfig) {
+        if (isEmpty(apiConfig.getApiNodes()) && isEmpty(apiConfig.getRetryHosts())) {
+            return null;
+        }
+        String scheme = URI.create(apiConfig.getApiUrl()).getScheme();
+        List<ApiNode> nodes = new ArrayList<>();
+        if (isEmpty(apiConfig.getApiNodes())) {
+            nodes.add(ApiNode.parse(apiConfig.getApiUrl(), scheme, apiConfig.getApiPort(), false));
+        } else {
+            apiConfig.getApiNodes().forEach(node -> nodes.add(ApiNode.parse(node, scheme, apiConfig.getApiPort(), false)));
+        }
+        List<ApiNode> failoverNodes = new ArrayList<>();
+        if (!isEmpty(apiConfig.getRetryHosts())) {
+            apiConfig.getRetryHosts()
+                .forEach(node -> failoverNodes.add(ApiNode.parse(node, scheme, apiConfig.getApiPort(), true)));
+        }
+        LoadBalancingSettings settings = apiConfig.getLoadBalancing() == null ? new LoadBalancingSettings()
+            : apiConfig.getLoadBalancing();
+        NodeBalancer balancer = new NodeBalancer(apiSetting, nodes, failoverNodes, settings);
+        MetricsRegistry.getInstance().registerGauge("apiNodes." + apiSetting, balancer::getStatistics);
+        LOGGER.debug("Balance [{}] over {} with {}, failover {}", apiSetting, nodes, balancer.strategy, failoverNodes);
+        return balancer;
+    }
+
+    /**
+     * Select node for the next request.
+     *
+     * @return ApiNode
+     */
+    public ApiNode select() {
+        return select(Collections.emptySet());
+    }
+
+    /**
+     * Select node for the next request except nodes that already failed it.
+     *
+     * @param excluded nodes to skip
+     * @return ApiNode or null if every node is excluded
+     */
+    public ApiNode select(Collection<ApiNode> excluded) {
+        long now = System.nanoTime();
+        List<ApiNode> candidates = available(nodes, excluded, now, true);
+        if (candidates.isEmpty()) {
+            candidates = available(failoverNodes, excluded, now, true);
+        }
+        if (candidates.isEmpty()) {
+            candidates = available(nodes, excluded, now, false);
+        }
+        return candidates.isEmpty() ? null : strategy.select(candidates, sequence);
+    }
+
+    private static List<ApiNode> available(List<ApiNode> nodes, Collection<ApiNode> excluded, long now,
+        boolean healthy) {
+        List<ApiNode> candidates = new ArrayList<>(nodes.size());
+        for (ApiNode node : nodes) {
+            if (!excluded.contains(node) && (!healthy || node.isAvailable(now))) {
+                candidates.add(node);
+            }
+        }
+        return candidates;
+    }
+
+    void acquire(ApiNode node) {
+        node.acquire();
+    }
+
+    /**
+     * Record outcome of the call made to the node.
+     *
+     * @param node ApiNode
+     * @param latencyNanos call latency
+     * @param success false if call failed without response or with server error
+     */
+    void release(ApiNode node, long latencyNanos, boolean success) {
+        if (node.release(success && latencyNanos <= slowCallNanos, failureThreshold)) {
+            synchronized (this) {
+                if (!node.isEjected() && countEjected() < maxEjected) {
+                    node.eject(ejectionNanos, maxEjectionNanos);
+                    LOGGER.warn("Api node [{}] of [{}] is ejected after {} failures in a row", node, name,
+                        failureThreshold);
+                }
+            }
+        }
+    }
+
+    private int countEjected() {
+        int ejected = 0;
+        for (ApiNode node : nodes) {
+            ejected += node.isEjected() ? 1 : 0;
+        }
+        for (ApiNode node : failoverNodes) {
+            ejected += node.isEjected() ? 1 : 0;
+        }
+        return ejected;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public NodeSelectionStrategy getStrategy() {
+        return strategy;
+    }
+
+    public List<ApiNode> getNodes() {
+        return nodes;
+    }
+
+    public List<ApiNode> getFailoverNodes() {
+        return failoverNodes;
+    }
+
+    /**
+     * Get load and health of every node.
+     *
+     * @return Map of node to its statistics
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        nodes.forEach(node -> statistics.put(node.toString(), node.getStatistics()));
+        failoverNodes.forEach(node -> statistics.put(node.toString(), node.getStatistics()));
+        return statistics;
+    }
+
+    private static boolean isEmpty(List<String> list) {
+        return list == null || list.isEmpty();
+    }
+
+    private static int valueOrDefault(Integer value, int defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    private static long valueOrDefault(Long value, long defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,78 @@
+package framework.utilities.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy to pick api node for the next request among available nodes.
+ */
+public enum NodeSelectionStrategy {
+
+    /**
+     * Nodes take requests in turn.
+     */
+    ROUND_ROBIN {
+        @Override
+        ApiNode select(List<ApiNode> nodes, AtomicInteger sequence) {
+            return nodes.get(Math.floorMod(sequence.getAndIncrement(), nodes.size()));
+        }
+    },
+
+    /**
+     * Node with the least number of requests in flight, ties are resolved in turn.
+     */
+    LEAST_OUTSTANDING {
+        @Override
+        ApiNode select(List<ApiNode> nodes, AtomicInteger sequence) {
+            int size = nodes.size();
+            int start = Math.floorMod(sequence.getAndIncrement(), size);
+            ApiNode selected = nodes.get(start);
+            for (int i = 1; i < size; i++) {
+                ApiNode node = nodes.get((start + i) % size);
+                if (node.getOutstanding() < selected.getOutstanding()) {
+                    selected = node;
+                }
+            }
+            return selected;
+        }
+    },
+
+    /**
+     * Less loaded of two random nodes, close to least outstanding without scanning all nodes
+     * and without herding on the same node.
+     */
+    POWER_OF_TWO_CHOICES {
+        @Override
+        ApiNode select(List<ApiNode> nodes, AtomicInteger sequence) {
+            int size = nodes.size();
+            if (size == 1) {
+                return nodes.get(0);
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            ApiNode a = nodes.get(first);
+            ApiNode b = nodes.get(second);
+            return a.getOutstanding() <= b.getOutstanding() ? a : b;
+        }
+    };
+
+    abstract ApiNode select(List<ApiNode> nodes, AtomicInteger sequence);
+
+    /**
+     * Find strategy by name, case insensitive.
+     *
+     * @param name strategy name, e.g. round_robin
+     * @return NodeSelectionStrategy, ROUND_ROBIN if name is empty
+     */
+    public static NodeSelectionStrategy fromName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return ROUND_ROBIN;
+        }
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,71 @@
+package framework.utilities.cache;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Cookies;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+/**
+ * Response kept by {@link ResponseCache} with its validators and expiration time.
+ * Every hit gets its own copy of the response, so callers can't affect each other.
+ */
+class CachedResponse {
+
+    private final int statusCode;
+    private final String statusLine;
+    private final Headers headers;
+    private final Cookies cookies;
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final String lastModified;
+    private volatile long expiresAtNanos;
+
+    private CachedResponse(Response response, long expiresAtNanos) {
+        this.statusCode = response.getStatusCode();
+        this.statusLine = response.getStatusLine();
+        this.headers = response.getHeaders();
+        this.cookies = response.getDetailedCookies();
+        this.contentType = response.getContentType();
+        // reading body keeps it in the response, so caller can still read it
+        this.body = response.asByteArray();
+        this.etag = response.getHeader("ETag");
+        this.lastModified = response.getHeader("Last-Modified");
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    static CachedResponse of(Response response, long expiresAtNanos) {
+        return new CachedResponse(response, expiresAtNanos);
+    }
+
+    boolean isFresh(long nowNanos) {
+        return nowNanos - expiresAtNanos < 0;
+    }
+
+    boolean canRevalidate() {
+        return etag != null || lastModified != null;
+    }
+
+    String getEtag() {
+        return etag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+
+    void refresh(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    Response toResponse() {
+        return new ResponseBuilder()
+            .setStatusCode(statusCode)
+            .setStatusLine(statusLine)
+            .setHeaders(headers)
+            .setCookies(cookies)
+            .setContentType(contentType)
+            .setBody(body)
+            .build();
+    }
+}
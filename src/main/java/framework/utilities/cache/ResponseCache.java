@@ -0,0 +1,172 @@
+package framework.utilities.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.bean.apiconfig.ApiConfig;
+import framework.bean.apiconfig.ResponseCacheSettings;
+import framework.utilities.WildCardPatternMatching;
+import framework.utilities.metrics.MetricsRegistry;
+import io.restassured.specification.FilterableRequestSpecification;
+
+/**
+ * Size bounded cache of GET responses of an api, used by {@link ResponseCacheFilter}.
+ * Entry is kept after its time to live, so it can be revalidated with If-None-Match or If-Modified-Since,
+ * least recently used entries are evicted when cache is full.
+ * Hit, miss and revalidation statistics are published as "responseCache.[api setting]" gauge of MetricsRegistry.
+ */
+public class ResponseCache {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final long DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_TTL_MILLIS = 60 * 1000L;
+    private static final List<String> DEFAULT_KEY_HEADERS = Arrays.asList("Accept", "Authorization");
+
+    private final Cache<String, CachedResponse> entries;
+    private final long ttlNanos;
+    private final Map<String, Long> endpointTtlNanos = new LinkedHashMap<>();
+    private final List<String> keyHeaders;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    public ResponseCache(ResponseCacheSettings settings) {
+        long maxEntries = settings.getMaxEntries() == null ? DEFAULT_MAX_ENTRIES : settings.getMaxEntries();
+        this.entries = CacheBuilder.newBuilder().maximumSize(maxEntries).recordStats().build();
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(
+            settings.getTtlMillis() == null ? DEFAULT_TTL_MILLIS : settings.getTtlMillis());
+        if (settings.getEndpointTtlMillis() != null) {
+            settings.getEndpointTtlMillis()
+                .forEach((pattern, ttl) -> endpointTtlNanos.put(pattern, TimeUnit.MILLISECONDS.toNanos(ttl)));
+        }
+        this.keyHeaders = settings.getKeyHeaders() == null ? DEFAULT_KEY_HEADERS
+            : Collections.unmodifiableList(settings.getKeyHeaders());
+    }
+
+    /**
+     * Create response cache of an api.
+     *
+     * @param apiSetting api setting name
+     * @param apiConfig ApiConfig
+     * @return ResponseCache or null if api has no "ResponseCache" entry
+     */
+    public static ResponseCache forApi(String apiSetting, ApiConfig apiConfig) {
+        if (apiConfig.getResponseCache() == null) {
+            return null;
+        }
+        ResponseCache cache = new ResponseCache(apiConfig.getResponseCache());
+        MetricsRegistry.getInstance().registerGauge("responseCache." + apiSetting, cache::getStatistics);
+        LOGGER.debug("Cache GET responses of [{}]", apiSetting);
+        return cache;
+    }
+
+    /**
+     * Get time to live of endpoint responses, the first matching EndpointTtlMillis pattern wins.
+     *
+     * @param path base path and endpoint path template
+     * @return time to live in nanoseconds, 0 if endpoint is not cached
+     */
+    long getTtlNanos(String path) {
+        for (Map.Entry<String, Long> endpoint : endpointTtlNanos.entrySet()) {
+            if (WildCardPatternMatching.isMatch(path, endpoint.getKey())) {
+                return endpoint.getValue();
+            }
+        }
+        return ttlNanos;
+    }
+
+    /**
+     * Build cache key from method, resolved URI and key headers of the request.
+     */
+    String key(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getMethod()).append(' ').append(requestSpec.getURI());
+        for (String header : keyHeaders) {
+            List<String> values = requestSpec.getHeaders().getValues(header);
+            if (!values.isEmpty()) {
+                key.append('\n').append(header).append('=').append(values);
+            }
+        }
+        return key.toString();
+    }
+
+    CachedResponse get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    /**
+     * Remove cached responses of the resource, with any query and key headers.
+     *
+     * @param uri resource URI without query
+     */
+    public void invalidate(String uri) {
+        String prefix = "GET " + uri;
+        entries.asMap().keySet().removeIf(key -> key.startsWith(prefix)
+            && (key.length() == prefix.length() || key.charAt(prefix.length()) == '?'
+                || key.charAt(prefix.length()) == '\n'));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    /**
+     * Get cache statistics.
+     *
+     * @return Map with size, hits, misses, revalidations (304 responses), evictions and hit ratio
+     */
+    public Map<String, Object> getStatistics() {
+        long hit = getHits();
+        long revalidated = getRevalidations();
+        long total = hit + revalidated + getMisses();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", entries.size());
+        statistics.put("hits", hit);
+        statistics.put("misses", getMisses());
+        statistics.put("revalidations", revalidated);
+        statistics.put("evictions", entries.stats().evictionCount());
+        statistics.put("hitRatio", total == 0 ? 0.0 : (double) (hit + revalidated) / total);
+        return statistics;
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache" + getStatistics();
+    }
+}
@@ -0,0 +1,90 @@
+package framework.utilities.cache;
+
+import java.util.Objects;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that answers GET requests from {@link ResponseCache}.
+ * <ul>
+ * <li>fresh entry is returned without a call;</li>
+ * <li>expired entry with ETag or Last-Modified is revalidated, 304 response returns cached entry again;</li>
+ * <li>only 200 responses without "Cache-Control: no-store" are cached;</li>
+ * <li>request with own If-None-Match or If-Modified-Since header is not cached;</li>
+ * <li>successful POST, PUT, PATCH or DELETE removes cached responses of the same resource.</li>
+ * </ul>
+ */
+public class ResponseCacheFilter implements Filter {
+
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+        FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        if (!"GET".equalsIgnoreCase(method)) {
+            // configured URI, as filters after this one (e.g. LoadBalancingFilter) may point request to a node
+            String uri = requestSpec.getURI();
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (!isSafe(method) && response.getStatusCode() < 400) {
+                int query = uri.indexOf('?');
+                cache.invalidate(query < 0 ? uri : uri.substring(0, query));
+            }
+            return response;
+        }
+        long ttl = cache.getTtlNanos(Objects.toString(requestSpec.getBasePath(), "")
+            + requestSpec.getUserDefinedPath());
+        if (ttl <= 0 || requestSpec.getHeaders().hasHeaderWithName(IF_NONE_MATCH)
+            || requestSpec.getHeaders().hasHeaderWithName(IF_MODIFIED_SINCE)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = cache.key(requestSpec);
+        long now = System.nanoTime();
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            cache.recordHit();
+            return cached.toResponse();
+        }
+        boolean revalidate = cached != null && cached.canRevalidate();
+        if (revalidate) {
+            if (cached.getEtag() != null) {
+                requestSpec.header(IF_NONE_MATCH, cached.getEtag());
+            } else {
+                requestSpec.header(IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (revalidate && response.getStatusCode() == 304) {
+            cache.recordRevalidation();
+            cached.refresh(System.nanoTime() + ttl);
+            return cached.toResponse();
+        }
+        cache.recordMiss();
+        if (response.getStatusCode() == 200 && !isNoStore(response)) {
+            cache.put(key, CachedResponse.of(response, System.nanoTime() + ttl));
+        }
+        return response;
+    }
+
+    private static boolean isSafe(String method) {
+        return "HEAD".equalsIgnoreCase(method) || "OPTIONS".equalsIgnoreCase(method)
+            || "TRACE".equalsIgnoreCase(method);
+    }
+
+    private static boolean isNoStore(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        return cacheControl != null && cacheControl.toLowerCase().contains("no-store");
+    }
+}
@@ -0,0 +1,10 @@
+package framework.utilities.factories;
+
+public class BatchExecutionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BatchExecutionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,98 @@
+package framework.utilities.factories;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a batch executed by {@link ParallelTaskRunner}.
+ * Results are kept in the same order as tasks were given, failed and cancelled tasks have null result.
+ *
+ * @param <T> result type of the tasks
+ */
+public class BatchResult<T> {
+
+    private final List<T> results;
+    private final Map<Integer, Throwable> failures;
+    private final int cancelled;
+    private final LatencyStatistics latency;
+    private final long elapsedNanos;
+
+    BatchResult(List<T> results, Map<Integer, Throwable> failures, int cancelled, LatencyStatistics latency,
+        long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.cancelled = cancelled;
+        this.latency = latency;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get results in task order.
+     *
+     * @return List of results, null for failed or cancelled task
+     */
+    public List<T> getResults() {
+        return results;
+    }
+
+    /**
+     * Get failures by task index. Task that exceeded its timeout fails with TimeoutException.
+     *
+     * @return Map of task index to cause
+     */
+    public Map<Integer, Throwable> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Number of tasks cancelled because of fail fast.
+     *
+     * @return int
+     */
+    public int getCancelled() {
+        return cancelled;
+    }
+
+    public LatencyStatistics getLatency() {
+        return latency;
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty() && cancelled == 0;
+    }
+
+    /**
+     * Get results or throw if any task failed.
+     *
+     * @return List of results in task order
+     * @throws BatchExecutionException with first failure as cause, other failures are suppressed
+     */
+    public List<T> getResultsOrThrow() {
+        if (failures.isEmpty()) {
+            return results;
+        }
+        BatchExecutionException exception = null;
+        for (Map.Entry<Integer, Throwable> failure : failures.entrySet()) {
+            if (exception == null) {
+                exception = new BatchExecutionException(String.format(
+                    "%d of %d tasks failed, %d cancelled. First failed task index: %d",
+                    failures.size(), results.size(), cancelled, failure.getKey()), failure.getValue());
+            } else {
+                exception.addSuppressed(failure.getValue());
+            }
+        }
+        throw exception;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchResult: tasks=%d, failed=%d, cancelled=%d, elapsed=%dms, latency[%s]",
+            results.size(), failures.size(), cancelled, getElapsed(TimeUnit.MILLISECONDS), latency);
+    }
+}
@@ -0,0 +1,85 @@
+package framework.utilities.factories;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable latency distribution of a batch of tasks.
+ * Values are kept in nanoseconds and sorted once, percentiles are read by nearest rank.
+ */
+public class LatencyStatistics {
+
+    private static final double NANOS_IN_MILLI = 1_000_000d;
+
+    private final long[] sortedNanos;
+
+    /**
+     * Create statistics from measured latencies.
+     *
+     * @param latenciesNanos latency of every finished task in nanoseconds
+     */
+    public LatencyStatistics(long[] latenciesNanos) {
+        this.sortedNanos = Arrays.copyOf(latenciesNanos, latenciesNanos.length);
+        Arrays.sort(this.sortedNanos);
+    }
+
+    public int getCount() {
+        return sortedNanos.length;
+    }
+
+    public long getMin(TimeUnit unit) {
+        return sortedNanos.length == 0 ? 0 : unit.convert(sortedNanos[0], TimeUnit.NANOSECONDS);
+    }
+
+    public long getMax(TimeUnit unit) {
+        return sortedNanos.length == 0 ? 0 : unit.convert(sortedNanos[sortedNanos.length - 1], TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get mean latency.
+     *
+     * @param unit time unit of result
+     * @return mean value
+     */
+    public double getMean(TimeUnit unit) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (long value : sortedNanos) {
+            sum += value;
+        }
+        return sum / sortedNanos.length / TimeUnit.NANOSECONDS.convert(1, unit);
+    }
+
+    /**
+     * Get latency at given percentile, e.g. 50, 99, 99.9.
+     *
+     * @param percentile value between 0 and 100
+     * @param unit time unit of result
+     * @return latency at percentile
+     */
+    public long getPercentile(double percentile, TimeUnit unit) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be between 0 and 100, but was " + percentile);
+        }
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedNanos.length);
+        int index = Math.max(0, Math.min(sortedNanos.length - 1, rank - 1));
+        return unit.convert(sortedNanos[index], TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, min=%.3fms, p50=%.3fms, p90=%.3fms, p99=%.3fms, max=%.3fms, mean=%.3fms",
+            getCount(),
+            getMin(TimeUnit.NANOSECONDS) / NANOS_IN_MILLI,
+            getPercentile(50, TimeUnit.NANOSECONDS) / NANOS_IN_MILLI,
+            getPercentile(90, TimeUnit.NANOSECONDS) / NANOS_IN_MILLI,
+            getPercentile(99, TimeUnit.NANOSECONDS) / NANOS_IN_MILLI,
+            getMax(TimeUnit.NANOSECONDS) / NANOS_IN_MILLI,
+            getMean(TimeUnit.NANOSECONDS) / NANOS_IN_MILLI);
+    }
+}
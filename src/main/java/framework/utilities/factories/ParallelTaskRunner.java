@@ -0,0 +1,254 @@
+package framework.utilities.factories;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs a batch of callable tasks in parallel and collects results in task order.
+ * Unlike {@link ThreadExecutorHelper#executeTask(Callable)} failures are not swallowed:
+ * they are returned in {@link BatchResult}, and in fail fast mode the first failure cancels the rest of the batch.
+ * Example
+ * <pre>
+ *      BatchResult&#60;UserAllDto&#62; batch = ParallelTaskRunner.using(helper)
+ *          .failFast(true)
+ *          .taskTimeout(30, TimeUnit.SECONDS)
+ *          .run(tasks);
+ *      LOGGER.info(batch);
+ *      List&#60;UserAllDto&#62; users = batch.getResultsOrThrow();
+ * </pre>
+ */
+public class ParallelTaskRunner {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ExecutorService executor;
+    private boolean failFast;
+    private long taskTimeoutNanos;
+
+    private ParallelTaskRunner(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor, "Executor must be not null");
+    }
+
+    /**
+     * Create runner on top of executor helper. Helper should be reusable or fresh, runner doesn't shut it down.
+     *
+     * @param helper ThreadExecutorHelper
+     * @return ParallelTaskRunner
+     */
+    public static ParallelTaskRunner using(ThreadExecutorHelper helper) {
+        return new ParallelTaskRunner(helper.executor);
+    }
+
+    public static ParallelTaskRunner using(ExecutorService executor) {
+        return new ParallelTaskRunner(executor);
+    }
+
+    /**
+     * Cancel remaining tasks on the first failure.
+     *
+     * @param failFast true to cancel
+     * @return this
+     */
+    public ParallelTaskRunner failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Define maximum execution time of each task, counted from the moment task starts.
+     * Task that exceeds it is interrupted and reported with TimeoutException.
+     *
+     * @param timeout timeout value, 0 means no timeout
+     * @param unit time unit
+     * @return this
+     */
+    public ParallelTaskRunner taskTimeout(long timeout, TimeUnit unit) {
+        this.taskTimeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Execute the same task several times in parallel.
+     *
+     * @param numberOfTasks number of executions
+     * @param callableTask task to call
+     * @param <T> result type
+     * @return BatchResult
+     */
+    public <T> BatchResult<T> run(int numberOfTasks, Callable<T> callableTask) {
+        return run(Collections.nCopies(numberOfTasks, callableTask));
+    }
+
+    /**
+     * Execute tasks in parallel and wait until all of them are finished or cancelled.
+     *
+     * @param tasks tasks to call
+     * @param <T> result type
+     * @return BatchResult with results in task order
+     */
+    public <T> BatchResult<T> run(List<? extends Callable<T>> tasks) {
+        final int size = tasks.size();
+        final long batchStart = System.nanoTime();
+        BlockingQueue<TimedTask<T>> completed = new LinkedBlockingQueue<>();
+        List<TimedTask<T>> submitted = new ArrayList<>(size);
+        for (int index = 0; index < size; index++) {
+            TimedTask<T> task = new TimedTask<>(index, tasks.get(index), taskTimeoutNanos, completed);
+            submitted.add(task);
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.setRejected(e);
+            }
+        }
+
+        List<T> results = new ArrayList<>(Collections.nCopies(size, (T) null));
+        Map<Integer, Throwable> failures = new TreeMap<>();
+        long[] latencies = new long[size];
+        int measured = 0;
+        int cancelled = 0;
+        boolean aborted = false;
+        try {
+            for (int done = 0; done < size; done++) {
+                TimedTask<T> task = completed.take();
+                if (task.isCancelled() && !task.isTimedOut()) {
+                    cancelled++;
+                    continue;
+                }
+                if (task.isStarted()) {
+                    latencies[measured++] = task.getLatencyNanos();
+                }
+                Throwable failure = collect(task, results);
+                if (failure != null) {
+                    failures.put(task.index, failure);
+                    if (failFast && !aborted) {
+                        aborted = true;
+                        LOGGER.debug("Task [{}] failed, cancel the rest of the batch", task.index);
+                        submitted.forEach(other -> other.cancel(true));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error(e);
+            submitted.forEach(other -> other.cancel(true));
+            Thread.currentThread().interrupt();
+        }
+        return new BatchResult<>(results, failures, cancelled,
+            new LatencyStatistics(Arrays.copyOf(latencies, measured)), System.nanoTime() - batchStart);
+    }
+
+    private static <T> Throwable collect(TimedTask<T> task, List<T> results) throws InterruptedException {
+        if (task.rejected != null) {
+            return task.rejected;
+        }
+        try {
+            results.set(task.index, task.get());
+            return null;
+        } catch (CancellationException e) {
+            return new TimeoutException(String.format("Task [%d] exceeded timeout of %dms",
+                task.index, TimeUnit.NANOSECONDS.toMillis(task.timeoutNanos)));
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    /**
+     * FutureTask that measures own latency, cancels itself on timeout and reports completion to the queue.
+     */
+    private static final class TimedTask<T> extends FutureTask<T> {
+
+        private final int index;
+        private final long timeoutNanos;
+        private final BlockingQueue<TimedTask<T>> completed;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile boolean timedOut;
+        private volatile ScheduledFuture<?> timer;
+        private RejectedExecutionException rejected;
+
+        TimedTask(int index, Callable<T> callable, long timeoutNanos, BlockingQueue<TimedTask<T>> completed) {
+            super(callable);
+            this.index = index;
+            this.timeoutNanos = timeoutNanos;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) {
+                return;
+            }
+            startNanos = System.nanoTime();
+            if (timeoutNanos > 0) {
+                timer = TimeoutScheduler.SCHEDULER.schedule(() -> {
+                    timedOut = true;
+                    cancel(true);
+                }, timeoutNanos, TimeUnit.NANOSECONDS);
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            endNanos = System.nanoTime();
+            ScheduledFuture<?> scheduled = timer;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            completed.add(this);
+        }
+
+        void setRejected(RejectedExecutionException e) {
+            this.rejected = e;
+            // complete the future, so done() reports it to the queue
+            super.set(null);
+        }
+
+        boolean isStarted() {
+            return startNanos != 0;
+        }
+
+        boolean isTimedOut() {
+            return timedOut;
+        }
+
+        long getLatencyNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    private static class TimeoutScheduler {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private TimeoutScheduler() {
+            //empty
+        }
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("task-timeout-%d").build());
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
@@ -12,12 +12,30 @@ import java.util.concurrent.ThreadFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import framework.utilities.ExecutorHelper;
+import framework.utilities.MavenProperty;
+
 /**
  * A simple helper to execute callable tasks in parallel.
+ * By default executor is shut down after the first batch. Call {@link #reusable()} to keep it alive
+ * between batches and {@link #close()} when it is not needed anymore.
+ * Number of threads limits concurrency (closed model), for load at a target rate of requests per second use
+ * {@link framework.utilities.loadtest.ArrivalRateScheduler}.
+ * Example
+ * <pre>
+ *      try (ThreadExecutorHelper helper = ThreadExecutorHelper.virtualThreadExecutor(10000).reusable()) {
+ *          helper.executeTask(() -> Users.UsersApi().getBFeature().getAllUsersData());
+ *          helper.executeTask(500, () -> PaymentModule.getInstance().getOnlinePaymentGetway().getAllUsersData());
+ *      }
+ * </pre>
  */
-public class ThreadExecutorHelper {
+public class ThreadExecutorHelper implements AutoCloseable {
+
+    private static final String VIRTUAL_THREADS_PROPERTY = "ThreadExecutorHelper.virtualThreads";
 
     private final int numberOfThreads;
+    private final boolean virtualThreads;
+    private boolean shutdownAfterBatch;
     ExecutorService executor;
 
     private static final Logger LOGGER = LogManager.getLogger();
@@ -32,18 +50,74 @@ public class ThreadExecutorHelper {
      * @param numberOfThreads number of threads
      */
     public ThreadExecutorHelper(int numberOfThreads) {
+        this(numberOfThreads, false);
+    }
+
+    /**
+     * Create executor with defined number of platform threads or with virtual thread per task.
+     *
+     * @param numberOfThreads number of threads, for virtual threads - default number of tasks in a batch
+     * @param virtualThreads true to start virtual thread per task instead of fixed pool
+     */
+    public ThreadExecutorHelper(int numberOfThreads, boolean virtualThreads) {
         this.numberOfThreads = numberOfThreads;
-        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
-            .setDaemon(true)
-            .build();
+        this.virtualThreads = virtualThreads;
+        this.shutdownAfterBatch = true;
+        if (virtualThreads) {
+            executor = ExecutorHelper.newVirtualThreadPerTaskExecutor();
+        } else {
+            final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .build();
 
-        executor = Executors.newFixedThreadPool(this.numberOfThreads, threadFactory);
+            executor = Executors.newFixedThreadPool(this.numberOfThreads, threadFactory);
+        }
     }
 
     public static ThreadExecutorHelper threadExecutor(int threads) {
         return new ThreadExecutorHelper(threads);
     }
 
+    /**
+     * Create executor that runs every task in its own virtual thread.
+     *
+     * @param tasks default number of tasks in a batch
+     * @return ThreadExecutorHelper
+     */
+    public static ThreadExecutorHelper virtualThreadExecutor(int tasks) {
+        return new ThreadExecutorHelper(tasks, true);
+    }
+
+    /**
+     * Create executor, thread mode is taken from maven property ThreadExecutorHelper.virtualThreads.
+     *
+     * @param threads number of threads or tasks in a batch
+     * @return ThreadExecutorHelper
+     */
+    public static ThreadExecutorHelper configuredExecutor(int threads) {
+        String prop = MavenProperty.getMavenProperties().getProperty(VIRTUAL_THREADS_PROPERTY, MavenProperty.FALSE);
+        return new ThreadExecutorHelper(threads, Boolean.parseBoolean(prop));
+    }
+
+    /**
+     * Keep executor alive after each batch, so helper can run many batches.
+     * Executor should be stopped with {@link #close()}.
+     *
+     * @return this
+     */
+    public ThreadExecutorHelper reusable() {
+        this.shutdownAfterBatch = false;
+        return this;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
     /**
      * Execute task.
      *
@@ -78,7 +152,28 @@ public class ThreadExecutorHelper {
             LOGGER.error(e);
         }
 
-        executor.shutdown();
+        if (shutdownAfterBatch) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Create runner that collects results and failures of batches executed by this helper.
+     *
+     * @return ParallelTaskRunner
+     */
+    public ParallelTaskRunner runner() {
+        return ParallelTaskRunner.using(this);
+    }
+
+    /**
+     * Stop executor and kill not finished tasks.
+     */
+    @Override
+    public void close() {
+        if (!executor.isShutdown()) {
+            ExecutorHelper.stopExecutor(executor);
+        }
     }
 
     /**
@@ -0,0 +1,172 @@
+package framework.utilities.feeder;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out rows of {@link CsvFile} to many threads without locks: threads take row numbers from an atomic
+ * cursor (or thread local one) in order of {@link FeedStrategy}. At the end of file rows are recycled,
+ * or {@link #next()} returns null when feeder is built without recycle.
+ * Example
+ * <pre>
+ *      CsvFeeder logins = CsvFeeder.newBuilder()
+ *          .withFile(CsvFile.newBuilder().withPath("jmeter/resources/ManualInvoiceLoginID.csv")
+ *              .withColumns("email").build())
+ *          .usingStrategy(FeedStrategy.UNIQUE_PER_THREAD)
+ *          .build();
+ *      ...
+ *      String email = logins.next().get("email");
+ * </pre>
+ */
+public final class CsvFeeder {
+
+    private static final int END = -1;
+
+    private final CsvFile file;
+    private final FeedStrategy strategy;
+    private final boolean recycle;
+    private final AtomicLong cursor = new AtomicLong();
+    private final ThreadLocal<long[]> threadCursor = ThreadLocal.withInitial(() -> new long[1]);
+    private final ThreadLocal<CsvRow> threadRow = new ThreadLocal<>();
+
+    private CsvFeeder(Builder builder) {
+        this.file = builder.file;
+        this.strategy = builder.strategy;
+        this.recycle = builder.recycle;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public CsvFile getFile() {
+        return file;
+    }
+
+    /**
+     * Take next row for the calling thread.
+     *
+     * @return CsvRow, null when the end of file is reached and rows are not recycled, or file is empty
+     */
+    public CsvRow next() {
+        if (strategy == FeedStrategy.UNIQUE_PER_THREAD) {
+            CsvRow row = threadRow.get();
+            if (row == null) {
+                int index = position(cursor.getAndIncrement());
+                row = index == END ? null : file.row(index);
+                threadRow.set(row);
+            }
+            return row;
+        }
+        int index = nextIndex();
+        return index == END ? null : file.row(index);
+    }
+
+    /**
+     * Data provider of rows taken from feeder, e.g. few random logins. Every invocation gets fields of one row
+     * as String arguments. Data provider ends after given number of rows or at the end of file.
+     *
+     * @param invocations max number of rows
+     * @return Iterator of rows fields
+     */
+    public Iterator<Object[]> dataProvider(int invocations) {
+        return new Iterator<Object[]>() {
+            private int count;
+            private CsvRow row;
+
+            @Override
+            public boolean hasNext() {
+                if (row == null && count < invocations) {
+                    row = CsvFeeder.this.next();
+                    count++;
+                    if (row == null) {
+                        count = invocations;
+                    }
+                }
+                return row != null;
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] fields = row.toArray();
+                row = null;
+                return fields;
+            }
+        };
+    }
+
+    private int nextIndex() {
+        switch (strategy) {
+            case RANDOM:
+                return file.size() == 0 ? END : ThreadLocalRandom.current().nextInt(file.size());
+            case PER_THREAD:
+                return position(threadCursor.get()[0]++);
+            default:
+                return position(cursor.getAndIncrement());
+        }
+    }
+
+    private int position(long sequence) {
+        int size = file.size();
+        if (size == 0) {
+            return END;
+        }
+        if (recycle) {
+            return (int) (sequence % size);
+        }
+        return sequence < size ? (int) sequence : END;
+    }
+
+    @Override
+    public String toString() {
+        return file + ", " + strategy + (recycle ? ", recycle" : ", stop at the end of file");
+    }
+
+    public static final class Builder {
+        private CsvFile file;
+        private FeedStrategy strategy = FeedStrategy.SEQUENTIAL;
+        private boolean recycle = true;
+
+        private Builder() {
+        }
+
+        public Builder withFile(CsvFile file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * Define order of rows, default is {@link FeedStrategy#SEQUENTIAL}.
+         *
+         * @param strategy FeedStrategy
+         * @return this
+         */
+        public Builder usingStrategy(FeedStrategy strategy) {
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * Define if rows are recycled at the end of file, default is true.
+         *
+         * @param recycle boolean
+         * @return this
+         */
+        public Builder withRecycle(boolean recycle) {
+            this.recycle = recycle;
+            return this;
+        }
+
+        public CsvFeeder build() {
+            if (file == null || strategy == null) {
+                throw new IllegalArgumentException("CSV file and feed strategy must be not null");
+            }
+            return new CsvFeeder(this);
+        }
+    }
+}
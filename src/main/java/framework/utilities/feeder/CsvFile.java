@@ -0,0 +1,380 @@
+package framework.utilities.feeder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * CSV file mapped into memory: file is read once to index row offsets, rows are read from the mapping
+ * and split into fields only when they are used, so large files are not copied onto the heap
+ * (index takes 8 bytes per row). Blank lines are skipped, with quoted data a value may contain delimiters,
+ * line breaks and "" for a quote. Charset must be ASCII compatible, e.g. UTF-8 or ISO-8859-1.
+ * Rows are handed out to threads by {@link CsvFeeder}, or to TestNG by {@link #dataProvider()}.
+ * Example
+ * <pre>
+ *      CsvFile logins = CsvFile.newBuilder()
+ *          .withPath("jmeter/resources/ProdLogin.csv")
+ *          .withColumns("email")
+ *          .build();
+ *
+ *      &#64;DataProvider(name = "logins")
+ *      public Iterator&lt;Object[]&gt; logins() {
+ *          return logins.dataProvider();
+ *      }
+ * </pre>
+ */
+public final class CsvFile {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_BITS;
+    private static final int MIN_LINE_BUFFER = 128;
+    private static final int INITIAL_INDEX_SIZE = 1 << 20;
+
+    private final Path path;
+    private final Charset charset;
+    private final char delimiter;
+    private final boolean quoted;
+    private final MappedByteBuffer[] segments;
+    private final long length;
+    private final long[] offsets;
+    private final int first;
+    private final List<String> columns;
+
+    private CsvFile(Builder builder) {
+        this.path = builder.path;
+        this.charset = builder.charset;
+        this.delimiter = builder.delimiter;
+        this.quoted = builder.quoted;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.length = channel.size();
+            this.segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(SEGMENT_SIZE, length - position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("CSV file can't be mapped: " + path, e);
+        }
+        this.offsets = index();
+        if (builder.columns != null) {
+            this.columns = Collections.unmodifiableList(Arrays.asList(builder.columns));
+            this.first = builder.header && offsets.length > 0 ? 1 : 0;
+        } else if (builder.header && offsets.length > 0) {
+            this.columns = Collections.unmodifiableList(Arrays.asList(split(readLine(offsets[0]))));
+            this.first = 1;
+        } else {
+            this.columns = Collections.emptyList();
+            this.first = 0;
+        }
+        LOGGER.debug("CSV file [{}] is indexed: {} rows, {} bytes", path, size(), length);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Open UTF-8 comma separated file without header.
+     *
+     * @param path path to file
+     * @return CsvFile
+     */
+    public static CsvFile open(String path) {
+        return newBuilder().withPath(path).build();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Column names of header or of builder, empty list if columns are not named.
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Number of data rows, header is not included.
+     */
+    public int size() {
+        return offsets.length - first;
+    }
+
+    /**
+     * Get data row, fields are parsed on first access.
+     *
+     * @param index zero based index of data row
+     * @return CsvRow
+     */
+    public CsvRow row(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Row " + index + " of " + size() + " rows of " + path);
+        }
+        return new CsvRow(this, index, offsets[first + index]);
+    }
+
+    /**
+     * Data provider of all rows in file order, every invocation gets fields of one row as String arguments.
+     * Rows are read while TestNG iterates, so the file is not loaded at once.
+     *
+     * @return Iterator of rows fields
+     */
+    public Iterator<Object[]> dataProvider() {
+        return new Iterator<Object[]>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return row(index++).toArray();
+            }
+        };
+    }
+
+    /**
+     * Read row and split it into fields.
+     */
+    String[] parse(long offset) {
+        return split(readLine(offset));
+    }
+
+    int columnIndex(String column) {
+        int index = columns.indexOf(column);
+        if (index < 0) {
+            throw new IllegalArgumentException("Column [" + column + "] is not found in " + columns + " of " + path);
+        }
+        return index;
+    }
+
+    private byte byteAt(long position) {
+        return segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & (SEGMENT_SIZE - 1)));
+    }
+
+    /**
+     * Scan file once and remember where every not blank row starts.
+     */
+    private long[] index() {
+        long[] starts = new long[(int) Math.max(16, Math.min(length / 32, INITIAL_INDEX_SIZE))];
+        int count = 0;
+        long start = hasByteOrderMark() ? 3 : 0;
+        boolean blank = true;
+        boolean inQuotes = false;
+        for (int segment = 0; segment < segments.length; segment++) {
+            MappedByteBuffer buffer = segments[segment];
+            long base = segment * SEGMENT_SIZE;
+            for (int i = segment == 0 ? (int) start : 0, limit = buffer.limit(); i < limit; i++) {
+                byte symbol = buffer.get(i);
+                if (quoted && symbol == '"') {
+                    inQuotes = !inQuotes;
+                    blank = false;
+                } else if (symbol == '\n' && !inQuotes) {
+                    if (!blank) {
+                        if (count == starts.length) {
+                            starts = Arrays.copyOf(starts, grow(count));
+                        }
+                        starts[count++] = start;
+                    }
+                    start = base + i + 1;
+                    blank = true;
+                } else if (symbol != ' ' && symbol != '\t' && symbol != '\r') {
+                    blank = false;
+                }
+            }
+        }
+        if (!blank) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+            }
+            starts[count++] = start;
+        }
+        return Arrays.copyOf(starts, count);
+    }
+
+    private static int grow(int count) {
+        if (count >= Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("CSV file has too many rows: " + count);
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 8, count * 2L);
+    }
+
+    private boolean hasByteOrderMark() {
+        return length >= 3 && byteAt(0) == (byte) 0xEF && byteAt(1) == (byte) 0xBB && byteAt(2) == (byte) 0xBF;
+    }
+
+    /**
+     * Read row bytes from the offset to unquoted line break.
+     */
+    private String readLine(long offset) {
+        byte[] buffer = new byte[MIN_LINE_BUFFER];
+        int count = 0;
+        boolean inQuotes = false;
+        for (long position = offset; position < length; position++) {
+            byte symbol = byteAt(position);
+            if (symbol == '\n' && !inQuotes) {
+                break;
+            }
+            if (quoted && symbol == '"') {
+                inQuotes = !inQuotes;
+            }
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, count * 2);
+            }
+            buffer[count++] = symbol;
+        }
+        if (count > 0 && buffer[count - 1] == '\r') {
+            count--;
+        }
+        return new String(buffer, 0, count, charset);
+    }
+
+    /**
+     * Split line, with quoted data "a,b" is one value and "" is a quote.
+     */
+    private String[] split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean inQuotes = false;
+        for (int i = 0; i < line.length(); i++) {
+            char symbol = line.charAt(i);
+            if (quoted && symbol == '"') {
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (symbol == delimiter && !inQuotes) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(symbol);
+            }
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return path + " " + columns + ", rows: " + size();
+    }
+
+    public static final class Builder {
+        private Path path;
+        private Charset charset = StandardCharsets.UTF_8;
+        private char delimiter = ',';
+        private boolean quoted;
+        private boolean header;
+        private String[] columns;
+
+        private Builder() {
+        }
+
+        public Builder withPath(String path) {
+            return withPath(Paths.get(path));
+        }
+
+        public Builder withPath(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Define charset, default is UTF-8.
+         *
+         * @param charset ASCII compatible charset
+         * @return this
+         */
+        public Builder withCharset(Charset charset) {
+            byte[] lineBreak = "\n".getBytes(charset);
+            if (lineBreak.length != 1 || lineBreak[0] != '\n') {
+                throw new IllegalArgumentException("Charset is not ASCII compatible: " + charset);
+            }
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * Define delimiter of values, default is comma.
+         *
+         * @param delimiter ASCII character
+         * @return this
+         */
+        public Builder withDelimiter(char delimiter) {
+            if (delimiter > 127 || delimiter == '\n' || delimiter == '\r' || delimiter == '"') {
+                throw new IllegalArgumentException("Delimiter must be ASCII character except line break and quote: "
+                    + delimiter);
+            }
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        /**
+         * Define if values may be quoted, default is false.
+         *
+         * @param quoted boolean
+         * @return this
+         */
+        public Builder withQuotedData(boolean quoted) {
+            this.quoted = quoted;
+            return this;
+        }
+
+        /**
+         * Define if first line is header. Header names columns unless they are defined by {@link #withColumns}.
+         *
+         * @param header boolean
+         * @return this
+         */
+        public Builder withHeader(boolean header) {
+            this.header = header;
+            return this;
+        }
+
+        /**
+         * Name columns of file without header.
+         *
+         * @param columns column names
+         * @return this
+         */
+        public Builder withColumns(String... columns) {
+            this.columns = columns.clone();
+            return this;
+        }
+
+        public CsvFile build() {
+            if (path == null) {
+                throw new IllegalArgumentException("CSV file path must be not null");
+            }
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalStateException("CSV file not found: " + path.toAbsolutePath());
+            }
+            return new CsvFile(this);
+        }
+    }
+}
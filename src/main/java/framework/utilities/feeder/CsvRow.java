@@ -0,0 +1,98 @@
+package framework.utilities.feeder;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row of {@link CsvFile}. Row is read from the mapped file and split into fields on first access.
+ */
+public final class CsvRow {
+
+    private final CsvFile file;
+    private final int index;
+    private final long offset;
+    private volatile String[] values;
+
+    CsvRow(CsvFile file, int index, long offset) {
+        this.file = file;
+        this.index = index;
+        this.offset = offset;
+    }
+
+    /**
+     * Zero based index of data row in file.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Number of fields.
+     */
+    public int size() {
+        return values().length;
+    }
+
+    /**
+     * Get field by position.
+     *
+     * @param position zero based position of field
+     * @return String value
+     */
+    public String get(int position) {
+        String[] fields = values();
+        if (position < 0 || position >= fields.length) {
+            throw new IndexOutOfBoundsException("Field " + position + " of " + fields.length + " fields of row "
+                + index + " of " + file.getPath());
+        }
+        return fields[position];
+    }
+
+    /**
+     * Get field by column name of header or of {@link CsvFile.Builder#withColumns}.
+     *
+     * @param column column name
+     * @return String value, empty if row has no such field
+     */
+    public String get(String column) {
+        int position = file.columnIndex(column);
+        String[] fields = values();
+        return position < fields.length ? fields[position] : "";
+    }
+
+    public Object[] toArray() {
+        String[] fields = values();
+        return Arrays.copyOf(fields, fields.length, Object[].class);
+    }
+
+    /**
+     * Get fields by column names, fields without column name are skipped.
+     *
+     * @return Map of column to value in columns order
+     */
+    public Map<String, String> toMap() {
+        List<String> columns = file.getColumns();
+        String[] fields = values();
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            map.put(columns.get(i), i < fields.length ? fields[i] : "");
+        }
+        return map;
+    }
+
+    private String[] values() {
+        String[] fields = values;
+        if (fields == null) {
+            fields = file.parse(offset);
+            values = fields;
+        }
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", values());
+    }
+}
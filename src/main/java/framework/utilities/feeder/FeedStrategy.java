@@ -0,0 +1,28 @@
+package framework.utilities.feeder;
+
+/**
+ * Order {@link CsvFeeder} hands out rows to threads.
+ */
+public enum FeedStrategy {
+
+    /**
+     * Rows go in file order, every row is taken by one thread, threads share the cursor.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Random row on every call, file never ends.
+     */
+    RANDOM,
+
+    /**
+     * Every thread reads all rows in file order with its own cursor, as jmeter shareMode.thread.
+     */
+    PER_THREAD,
+
+    /**
+     * Every thread takes its own row on first call and keeps it, e.g. one login per virtual user.
+     * With recycle, threads above number of rows share rows.
+     */
+    UNIQUE_PER_THREAD
+}
@@ -0,0 +1,424 @@
+package framework.utilities.graphqlmapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Several GraphQL queries coalesced into one operation. Top level fields of every query get alias with query prefix,
+ * e.g. page becomes b1_page: page, variables are renamed the same way, so queries of same shape do not collide.
+ * Response of merged operation is split back into one response per query.
+ * Only single anonymous or named query operations without fragments can be merged, see {@link #isMergeable(String)}.
+ * Example
+ * <pre>
+ *      GraphQlAliasBatch batch = new GraphQlAliasBatch(requests);
+ *      JsonNode response = send(batch.getRequest());
+ *      List&lt;JsonNode&gt; responses = batch.split(response);
+ * </pre>
+ */
+public final class GraphQlAliasBatch {
+
+    private static final String OPERATION = "query";
+
+    private final int size;
+    private final GraphQlRequest request;
+
+    /**
+     * Merge queries.
+     *
+     * @param requests queries accepted by {@link #isMergeable(String)}
+     * @throws IllegalArgumentException if any query can't be merged
+     */
+    public GraphQlAliasBatch(List<GraphQlRequest> requests) {
+        this.size = requests.size();
+        List<String> variableDefinitions = new ArrayList<>();
+        StringBuilder selections = new StringBuilder();
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            GraphQlRequest source = requests.get(i);
+            String prefix = prefix(i);
+            Operation operation = Operation.parse(source.getQuery());
+            if (operation == null) {
+                throw new IllegalArgumentException("Query can't be merged: " + source.getQuery());
+            }
+            if (!operation.variables.isEmpty()) {
+                variableDefinitions.add(renameVariables(operation.variables, prefix));
+            }
+            for (Selection selection : operation.selections) {
+                selections.append(prefix).append(selection.responseName).append(": ").append(selection.name)
+                    .append(renameVariables(selection.rest, prefix)).append(' ');
+            }
+            source.getVariables().forEach((name, value) -> variables.put(prefix + name, value));
+        }
+        StringBuilder query = new StringBuilder(OPERATION).append(" batch");
+        if (!variableDefinitions.isEmpty()) {
+            query.append('(').append(String.join(", ", variableDefinitions)).append(')');
+        }
+        query.append(" {").append(selections.toString().trim()).append('}');
+        this.request = new GraphQlRequest(query.toString(), variables);
+    }
+
+    /**
+     * Check query is a single query operation without fragments, such queries can be merged.
+     *
+     * @param query query text
+     * @return true if query can be merged
+     */
+    public static boolean isMergeable(String query) {
+        return Operation.parse(query) != null;
+    }
+
+    /**
+     * Merged request.
+     *
+     * @return GraphQlRequest
+     */
+    public GraphQlRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Split response of merged request. Fields of data and errors with path go to the query they belong to,
+     * errors without path and extensions go to every query.
+     *
+     * @param response response of merged request
+     * @return responses in order of queries
+     */
+    public List<JsonNode> split(JsonNode response) {
+        List<ObjectNode> responses = new ArrayList<>(size);
+        JsonNode data = response.get("data");
+        for (int i = 0; i < size; i++) {
+            ObjectNode part = JsonNodeFactory.instance.objectNode();
+            if (data != null && data.isObject()) {
+                part.putObject("data");
+            } else if (data != null) {
+                part.set("data", data);
+            }
+            responses.add(part);
+        }
+        if (data != null && data.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = data.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                int index = indexOf(field.getKey());
+                if (index >= 0) {
+                    ((ObjectNode) responses.get(index).get("data"))
+                        .set(field.getKey().substring(prefix(index).length()), field.getValue());
+                }
+            }
+        }
+        JsonNode errors = response.get("errors");
+        if (errors != null && errors.isArray()) {
+            for (JsonNode error : errors) {
+                JsonNode path = error.get("path");
+                int index = path != null && path.size() > 0 ? indexOf(path.get(0).asText()) : -1;
+                if (index >= 0) {
+                    ObjectNode routed = error.deepCopy();
+                    ArrayNode routedPath = (ArrayNode) routed.get("path");
+                    routedPath.set(0, JsonNodeFactory.instance.textNode(
+                        path.get(0).asText().substring(prefix(index).length())));
+                    errors(responses.get(index)).add(routed);
+                } else {
+                    for (ObjectNode part : responses) {
+                        errors(part).add(error);
+                    }
+                }
+            }
+        }
+        JsonNode extensions = response.get("extensions");
+        if (extensions != null) {
+            for (ObjectNode part : responses) {
+                part.set("extensions", extensions);
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(responses));
+    }
+
+    private static ArrayNode errors(ObjectNode response) {
+        JsonNode errors = response.get("errors");
+        return errors == null ? response.putArray("errors") : (ArrayNode) errors;
+    }
+
+    private static String prefix(int index) {
+        return "b" + index + "_";
+    }
+
+    /**
+     * Index of the query from prefix of alias, e.g. 12 from b12_page.
+     */
+    private int indexOf(String alias) {
+        if (alias.length() < 3 || alias.charAt(0) != 'b') {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 1; i < alias.length(); i++) {
+            char symbol = alias.charAt(i);
+            if (symbol == '_') {
+                return i > 1 && index < size ? index : -1;
+            }
+            if (symbol < '0' || symbol > '9' || i > 9) {
+                return -1;
+            }
+            index = index * 10 + symbol - '0';
+        }
+        return -1;
+    }
+
+    /**
+     * Rename $variable to $prefix_variable, string literals are kept as is.
+     */
+    private static String renameVariables(String text, String prefix) {
+        if (text.indexOf('$') < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length() + 16);
+        int position = 0;
+        while (position < text.length()) {
+            char symbol = text.charAt(position);
+            if (symbol == '"') {
+                int end = Scanner.skipString(text, position);
+                result.append(text, position, end);
+                position = end;
+            } else {
+                result.append(symbol);
+                if (symbol == '$') {
+                    result.append(prefix);
+                }
+                position++;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Query operation: variable definitions and top level selections.
+     */
+    private static final class Operation {
+
+        private final String variables;
+        private final List<Selection> selections;
+
+        Operation(String variables, List<Selection> selections) {
+            this.variables = variables;
+            this.selections = selections;
+        }
+
+        /**
+         * Parse query, null if it is not a single query operation or uses fragments on top level.
+         */
+        static Operation parse(String query) {
+            Scanner scanner = new Scanner(query);
+            scanner.skipIgnored();
+            String variables = "";
+            if (!scanner.peek('{')) {
+                if (!OPERATION.equals(scanner.name())) {
+                    return null;
+                }
+                scanner.skipIgnored();
+                if (scanner.isNameStart()) {
+                    scanner.name();
+                    scanner.skipIgnored();
+                }
+                if (scanner.peek('(')) {
+                    int start = scanner.position + 1;
+                    int end = scanner.skipBalanced('(', ')');
+                    if (end < 0) {
+                        return null;
+                    }
+                    variables = query.substring(start, end - 1).trim();
+                    scanner.skipIgnored();
+                }
+                if (!scanner.peek('{')) {
+                    // directives on operation
+                    return null;
+                }
+            }
+            int open = scanner.position;
+            int end = scanner.skipBalanced('{', '}');
+            if (end < 0) {
+                return null;
+            }
+            Scanner rest = new Scanner(query);
+            rest.position = end;
+            rest.skipIgnored();
+            if (!rest.atEnd()) {
+                return null;
+            }
+            List<Selection> selections = Selection.parseAll(query.substring(0, end - 1), open + 1);
+            return selections == null || selections.isEmpty() ? null : new Operation(variables, selections);
+        }
+    }
+
+    /**
+     * Top level field: response name, field name and the rest - arguments, directives and selection set.
+     */
+    private static final class Selection {
+
+        private final String responseName;
+        private final String name;
+        private final String rest;
+
+        Selection(String responseName, String name, String rest) {
+            this.responseName = responseName;
+            this.name = name;
+            this.rest = rest;
+        }
+
+        static List<Selection> parseAll(String text, int from) {
+            List<Selection> selections = new ArrayList<>();
+            Scanner scanner = new Scanner(text);
+            scanner.position = from;
+            scanner.skipIgnored();
+            while (!scanner.atEnd()) {
+                if (!scanner.isNameStart()) {
+                    // fragment spreads and inline fragments
+                    return null;
+                }
+                String responseName = scanner.name();
+                String name = responseName;
+                scanner.skipIgnored();
+                if (scanner.peek(':')) {
+                    scanner.position++;
+                    scanner.skipIgnored();
+                    if (!scanner.isNameStart()) {
+                        return null;
+                    }
+                    name = scanner.name();
+                }
+                int start = scanner.position;
+                scanner.skipIgnored();
+                if (scanner.peek('(') && scanner.skipBalanced('(', ')') < 0) {
+                    return null;
+                }
+                scanner.skipIgnored();
+                while (scanner.peek('@')) {
+                    scanner.position++;
+                    scanner.name();
+                    scanner.skipIgnored();
+                    if (scanner.peek('(') && scanner.skipBalanced('(', ')') < 0) {
+                        return null;
+                    }
+                    scanner.skipIgnored();
+                }
+                if (scanner.peek('{') && scanner.skipBalanced('{', '}') < 0) {
+                    return null;
+                }
+                selections.add(new Selection(responseName, name, text.substring(start, scanner.position).trim()));
+                scanner.skipIgnored();
+            }
+            return selections;
+        }
+    }
+
+    /**
+     * Position in query text with GraphQL lexical rules: commas are whitespace, strings may contain braces.
+     */
+    private static final class Scanner {
+
+        private final String text;
+        private int position;
+
+        Scanner(String text) {
+            this.text = text;
+        }
+
+        boolean atEnd() {
+            return position >= text.length();
+        }
+
+        boolean peek(char symbol) {
+            return position < text.length() && text.charAt(position) == symbol;
+        }
+
+        boolean isNameStart() {
+            if (atEnd()) {
+                return false;
+            }
+            char symbol = text.charAt(position);
+            return symbol == '_' || Character.isLetter(symbol);
+        }
+
+        String name() {
+            int start = position;
+            while (position < text.length()) {
+                char symbol = text.charAt(position);
+                if (symbol != '_' && !Character.isLetterOrDigit(symbol)) {
+                    break;
+                }
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        void skipIgnored() {
+            while (position < text.length()) {
+                char symbol = text.charAt(position);
+                if (symbol == '#') {
+                    while (position < text.length() && text.charAt(position) != '\n') {
+                        position++;
+                    }
+                } else if (Character.isWhitespace(symbol) || symbol == ',') {
+                    position++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Skip from opening symbol to matching closing one.
+         *
+         * @return position after closing symbol or -1 if it is not found
+         */
+        int skipBalanced(char open, char close) {
+            int depth = 0;
+            while (position < text.length()) {
+                char symbol = text.charAt(position);
+                if (symbol == '"') {
+                    position = skipString(text, position);
+                    continue;
+                }
+                if (symbol == open) {
+                    depth++;
+                } else if (symbol == close && --depth == 0) {
+                    position++;
+                    return position;
+                }
+                position++;
+            }
+            return -1;
+        }
+
+        /**
+         * Position after string or block string literal starting at position.
+         */
+        static int skipString(String text, int position) {
+            if (text.startsWith("\"\"\"", position)) {
+                int end = text.indexOf("\"\"\"", position + 3);
+                while (end > 0 && text.charAt(end - 1) == '\\') {
+                    end = text.indexOf("\"\"\"", end + 3);
+                }
+                return end < 0 ? text.length() : end + 3;
+            }
+            int current = position + 1;
+            while (current < text.length()) {
+                char symbol = text.charAt(current);
+                if (symbol == '\\') {
+                    current += 2;
+                } else if (symbol == '"') {
+                    return current + 1;
+                } else {
+                    current++;
+                }
+            }
+            return text.length();
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package framework.utilities.graphqlmapper;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -20,6 +22,7 @@ import framework.utilities.graphqlmapper.graphql.GraphQlQuery;
  * fields you need with {@literal @}GraphQLField(name="field name"). Annotate fields represents inner objects contains
  * graphQL annotations with {@literal @}GraphQLObject(name="object name", value="string with variables"). Field name
  * will be used if no name provided with annotation. See examples in RecentQueryDto.class
+ * Annotations are read once per query class, see {@link GraphQlQueryTemplate}.
  */
 public class GraphQlConvert {
 
@@ -33,6 +36,18 @@ public class GraphQlConvert {
     private static final String ARGS_DELIMITER = " :";
     private static final int FIRST_ARGUMENT = 0;
 
+    private static final MethodType ARGUMENTS_TYPE = MethodType.methodType(String.class);
+
+    /**
+     * Query classes are walked once, compiled templates are kept while classes are loaded.
+     */
+    private static final ClassValue<GraphQlQueryTemplate> TEMPLATES = new ClassValue<GraphQlQueryTemplate>() {
+        @Override
+        protected GraphQlQueryTemplate computeValue(Class<?> type) {
+            return compile(type);
+        }
+    };
+
     private GraphQlConvert() {
     }
 
@@ -40,18 +55,32 @@ public class GraphQlConvert {
      * Parse annotated classes to valid graphQL query string.
      */
     public static String toQueryString(Class<?> clazz) {
+        return toQueryTemplate(clazz).toQueryString();
+    }
+
+    /**
+     * Get compiled query of annotated class, it is built on first call.
+     *
+     * @param clazz query root class annotated with {@literal @}GraphQlQuery
+     * @return GraphQlQueryTemplate
+     */
+    public static GraphQlQueryTemplate toQueryTemplate(Class<?> clazz) {
         if (!clazz.isAnnotationPresent(GraphQlQuery.class)) {
             throw new ClassNotAnnotatedException(
                 "query root class should be annotated with @GraphQLQuery(name=your query name)");
         }
-        StringBuilder graphQlQuery = new StringBuilder();
+        return TEMPLATES.get(clazz);
+    }
+
+    private static GraphQlQueryTemplate compile(Class<?> clazz) {
+        GraphQlQueryTemplate.Compiler graphQlQuery = new GraphQlQueryTemplate.Compiler();
 
         graphQlQuery.append("query ").append(clazz.getAnnotation(GraphQlQuery.class).name()).append(
             OPEN_BRACES);
         parse(clazz, graphQlQuery);
         graphQlQuery.append(CLOSE_BRACES);
 
-        return graphQlQuery.toString();
+        return graphQlQuery.compile();
     }
 
 
@@ -59,7 +88,7 @@ public class GraphQlConvert {
      * Parse next query class according to it type. If provided class annotated as object it will be enclosed with
      * braces. If provided class annotated as field it will be separated by comma.
      */
-    private static void parse(Class<?> clazz, StringBuilder graphQlQuery) {
+    private static void parse(Class<?> clazz, GraphQlQueryTemplate.Compiler graphQlQuery) {
         Field[] fields = clazz.getDeclaredFields();
         for (Field field : fields) {
             if (field.isAnnotationPresent(GraphQlObject.class)) {
@@ -96,30 +125,30 @@ public class GraphQlConvert {
      * <p>The only reason for the method exists - reuse your Dtos for query/response processing.
      *
      */
-    private static void parseParameterized(Field field, StringBuilder qraphQlQuery) {
+    private static void parseParameterized(Field field, GraphQlQueryTemplate.Compiler qraphQlQuery) {
         Type type = field.getGenericType();
         if (type instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType) type;
-            try {
-                // Extract List/Collection/Map parameter class name and use it for process next class
-                parse(Class.forName(parameterizedType.getActualTypeArguments()[FIRST_ARGUMENT].getTypeName()),
-                    qraphQlQuery);
-            } catch (ClassNotFoundException e) {
-                LOGGER.error(e.getMessage());
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[FIRST_ARGUMENT];
+            if (argument instanceof Class) {
+                // Extract List/Collection/Map parameter class and use it for process next class
+                parse((Class<?>) argument, qraphQlQuery);
+            } else {
+                LOGGER.error("Type argument {} of field {} is not a class", argument.getTypeName(), field);
             }
         } else {
             parse(field.getType(), qraphQlQuery);
         }
     }
 
-    private static void appendArguments(Class<?> clazz, Field field, GraphQlObject object, StringBuilder query) {
+    private static void appendArguments(Class<?> clazz, Field field, GraphQlObject object,
+        GraphQlQueryTemplate.Compiler query) {
         if (field.isAnnotationPresent(GraphQlArgs.class)) {
             GraphQlArgs args = field.getAnnotation(GraphQlArgs.class);
             if (args.replaceArgs()) {
                 query.append(OPEN_PARENTHESE)
                     .append(args.argName())
                     .append(ARGS_DELIMITER)
-                    .append(retrieveArgumentValues(clazz))
+                    .slot(args.argName(), argumentValues(clazz))
                     .append(CLOSED_PARANTHESE);
             } else {
                 query.append(OPEN_PARENTHESE).append(args.argName()).append(CLOSED_PARANTHESE);
@@ -128,15 +157,17 @@ public class GraphQlConvert {
         query.append(object.empty() ? "" : OPEN_BRACES);
     }
 
-    private static String retrieveArgumentValues(Class<?> clazz) {
-        Method getArgumentsValue = null;
-        String result = null;
+    /**
+     * Static argumentsToString() of query class, it is called each time query is built.
+     */
+    private static MethodHandle argumentValues(Class<?> clazz) {
         try {
-            getArgumentsValue = clazz.getDeclaredMethod("argumentsToString");
-            result = (String) getArgumentsValue.invoke(null);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            Method getArgumentsValue = clazz.getDeclaredMethod("argumentsToString");
+            getArgumentsValue.setAccessible(true);
+            return MethodHandles.lookup().unreflect(getArgumentsValue).asType(ARGUMENTS_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
             LOGGER.error(e);
         }
-        return result;
+        return null;
     }
 }
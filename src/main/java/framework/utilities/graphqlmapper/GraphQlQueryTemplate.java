@@ -0,0 +1,177 @@
+package framework.utilities.graphqlmapper;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * GraphQL query compiled from annotated query class: text parts and argument slots between them.
+ * Slots are arguments of fields annotated with {@literal @}GraphQlArgs(replaceArgs = true), by default they are
+ * filled with argumentsToString() of the declaring class, builder can bind own values.
+ * Template is immutable and can be shared between threads.
+ * Example
+ * <pre>
+ *      String query = GraphQlConvert.toQueryTemplate(UsersQuery.class).newBuilder()
+ *          .withArgument("filter", "{status: ACTIVE}")
+ *          .build();
+ * </pre>
+ */
+public final class GraphQlQueryTemplate {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final String[] parts;
+    private final Slot[] slots;
+    private final List<String> argumentNames;
+    private final int length;
+    private final String constant;
+
+    private GraphQlQueryTemplate(List<String> parts, List<Slot> slots) {
+        this.parts = parts.toArray(new String[0]);
+        this.slots = slots.toArray(new Slot[0]);
+        LinkedHashSet<String> names = new LinkedHashSet<>();
+        for (Slot slot : slots) {
+            names.add(slot.name);
+        }
+        this.argumentNames = Collections.unmodifiableList(new ArrayList<>(names));
+        int total = 0;
+        for (String part : parts) {
+            total += part.length();
+        }
+        this.length = total;
+        this.constant = slots.isEmpty() ? this.parts[0] : null;
+    }
+
+    /**
+     * Query string with default argument values.
+     *
+     * @return String
+     */
+    public String toQueryString() {
+        return constant != null ? constant : render(Collections.emptyMap());
+    }
+
+    /**
+     * Names of arguments that can be bound, in query order.
+     *
+     * @return argument names
+     */
+    public List<String> getArgumentNames() {
+        return argumentNames;
+    }
+
+    public Builder newBuilder() {
+        return new Builder(this);
+    }
+
+    private String render(Map<String, String> arguments) {
+        StringBuilder query = new StringBuilder(length + 32 * slots.length);
+        query.append(parts[0]);
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            String value = arguments.get(slot.name);
+            query.append(value != null || arguments.containsKey(slot.name) ? value : slot.defaultValue());
+            query.append(parts[i + 1]);
+        }
+        return query.toString();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(parts);
+    }
+
+    /**
+     * Argument value placeholder.
+     */
+    private static final class Slot {
+
+        private final String name;
+        private final MethodHandle defaultValue;
+
+        Slot(String name, MethodHandle defaultValue) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+
+        String defaultValue() {
+            if (defaultValue == null) {
+                return null;
+            }
+            try {
+                return (String) defaultValue.invokeExact();
+            } catch (Throwable e) {
+                LOGGER.error(e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Collects text and slots while query class is walked, adjacent text is joined into one part.
+     */
+    static final class Compiler {
+
+        private final List<String> parts = new ArrayList<>();
+        private final List<Slot> slots = new ArrayList<>();
+        private final StringBuilder text = new StringBuilder();
+
+        Compiler append(String value) {
+            text.append(value);
+            return this;
+        }
+
+        Compiler slot(String name, MethodHandle defaultValue) {
+            parts.add(text.toString());
+            text.setLength(0);
+            slots.add(new Slot(name, defaultValue));
+            return this;
+        }
+
+        GraphQlQueryTemplate compile() {
+            parts.add(text.toString());
+            return new GraphQlQueryTemplate(parts, slots);
+        }
+    }
+
+    /**
+     * Binds argument values, values are put into query as is, e.g. "{status: ACTIVE}" or "$status".
+     */
+    public static final class Builder {
+        private final GraphQlQueryTemplate template;
+        private final Map<String, String> arguments;
+
+        private Builder(GraphQlQueryTemplate template) {
+            this.template = template;
+            this.arguments = new HashMap<>();
+        }
+
+        /**
+         * Bind value of argument.
+         *
+         * @param argName argument name, as in {@literal @}GraphQlArgs(argName)
+         * @param value argument value
+         * @return this
+         * @throws IllegalArgumentException if query has no such argument
+         */
+        public Builder withArgument(String argName, String value) {
+            if (!template.argumentNames.contains(argName)) {
+                throw new IllegalArgumentException("Query has no argument '" + argName + "', arguments: "
+                    + template.argumentNames);
+            }
+            this.arguments.put(argName, value);
+            return this;
+        }
+
+        public String build() {
+            return template.render(arguments);
+        }
+    }
+}
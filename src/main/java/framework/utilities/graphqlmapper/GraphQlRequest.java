@@ -0,0 +1,110 @@
+package framework.utilities.graphqlmapper;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+/**
+ * GraphQL request: query text and variables. Body can be sent with full query text or as automatic persisted query,
+ * where only SHA-256 hash of the query is sent and the text is added when server does not know the hash yet.
+ * Example
+ * <pre>
+ *      GraphQlRequest request = new GraphQlRequest(usersQuery.toGraphQlQueryString());
+ *      ObjectNode body = request.toBody(false, true);
+ * </pre>
+ */
+public final class GraphQlRequest {
+
+    private static final int MAX_CACHED_HASHES = 10000;
+
+    /**
+     * Queries come from templates, so the same texts are hashed again and again, least recently used are evicted.
+     */
+    private static final Cache<String, String> HASHES = CacheBuilder.newBuilder()
+        .maximumSize(MAX_CACHED_HASHES)
+        .build();
+
+    private final String query;
+    private final Map<String, Object> variables;
+
+    public GraphQlRequest(String query) {
+        this(query, Collections.emptyMap());
+    }
+
+    /**
+     * Create request.
+     *
+     * @param query query text
+     * @param variables values of query variables, without $
+     */
+    public GraphQlRequest(String query, Map<String, ?> variables) {
+        this.query = Objects.requireNonNull(query, "Query must be not null");
+        this.variables = variables == null || variables.isEmpty() ? Collections.emptyMap()
+            : Collections.unmodifiableMap(new LinkedHashMap<>(variables));
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+
+    /**
+     * SHA-256 of query text, as lower case hex string.
+     *
+     * @return String
+     */
+    public String getSha256() {
+        return sha256(query);
+    }
+
+    /**
+     * Json body of request.
+     *
+     * @param persisted add persistedQuery extension with hash of the query
+     * @param withQuery add query text, persisted query is registered by server when both hash and text are sent
+     * @return ObjectNode
+     */
+    public ObjectNode toBody(boolean persisted, boolean withQuery) {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        if (withQuery || !persisted) {
+            body.put("query", query);
+        }
+        if (!variables.isEmpty()) {
+            body.set("variables", ObjectMapperRegistry.valueToTree(variables));
+        }
+        if (persisted) {
+            ObjectNode persistedQuery = body.putObject("extensions").putObject("persistedQuery");
+            persistedQuery.put("version", 1);
+            persistedQuery.put("sha256Hash", getSha256());
+        }
+        return body;
+    }
+
+    /**
+     * SHA-256 of query text, hashes of recent queries are cached.
+     *
+     * @param query query text
+     * @return lower case hex string
+     */
+    public static String sha256(String query) {
+        return HASHES.asMap().computeIfAbsent(query,
+            key -> Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString());
+    }
+
+    @Override
+    public String toString() {
+        return variables.isEmpty() ? query : query + " " + variables;
+    }
+}
@@ -0,0 +1,72 @@
+package framework.utilities.httplog;
+
+import java.util.Arrays;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that captures request and/or response for {@link HttpLogWriter}.
+ * Test thread only copies up to max body length of body, formatting and writing is done by the writer thread.
+ * Nothing is captured while the writer level is disabled.
+ */
+public class HttpLogFilter implements Filter {
+
+    private final HttpLogWriter writer;
+    private final boolean logRequest;
+    private final boolean logResponse;
+
+    public HttpLogFilter(boolean logRequest, boolean logResponse) {
+        this(HttpLogWriter.getInstance(), logRequest, logResponse);
+    }
+
+    public HttpLogFilter(HttpLogWriter writer, boolean logRequest, boolean logResponse) {
+        this.writer = writer;
+        this.logRequest = logRequest;
+        this.logResponse = logResponse;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+        FilterContext ctx) {
+        if (!writer.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (logRequest) {
+            captureRequest(requestSpec);
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (logResponse) {
+            captureResponse(requestSpec, response);
+        }
+        return response;
+    }
+
+    private void captureRequest(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        int length = 0;
+        int max = writer.getMaxBodyLength();
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            length = bytes.length;
+            body = length > max ? Arrays.copyOf(bytes, max) : bytes.clone();
+        } else if (body != null) {
+            String text = body.toString();
+            length = text.length();
+            body = length > max ? text.substring(0, max) : text;
+        }
+        writer.submit(HttpLogRecord.request(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+            requestSpec.getContentType(), body, length));
+    }
+
+    private void captureResponse(FilterableRequestSpecification requestSpec, Response response) {
+        byte[] bytes = response.asByteArray();
+        int length = bytes == null ? 0 : bytes.length;
+        byte[] body = length == 0 ? null : Arrays.copyOf(bytes, Math.min(length, writer.getMaxBodyLength()));
+        writer.submit(HttpLogRecord.response(requestSpec.getMethod(), requestSpec.getURI(), response.getStatusLine(),
+            response.getHeaders(), response.getContentType(), body, length));
+    }
+}
@@ -0,0 +1,97 @@
+package framework.utilities.httplog;
+
+import io.restassured.http.Headers;
+
+/**
+ * Request or response captured on test thread, rendered later by {@link HttpLogWriter}.
+ * Only references and truncated body copies are kept, so capture does no formatting.
+ */
+final class HttpLogRecord {
+
+    private final boolean response;
+    private final long timestampMillis;
+    private final String threadName;
+    private final String method;
+    private final String uri;
+    private final String statusLine;
+    private final Headers headers;
+    private final String contentType;
+    private final Object body;
+    private final int bodyLength;
+
+    private HttpLogRecord(boolean response, String method, String uri, String statusLine, Headers headers,
+        String contentType, Object body, int bodyLength) {
+        this.response = response;
+        this.timestampMillis = System.currentTimeMillis();
+        this.threadName = Thread.currentThread().getName();
+        this.method = method;
+        this.uri = uri;
+        this.statusLine = statusLine;
+        this.headers = headers;
+        this.contentType = contentType;
+        this.body = body;
+        this.bodyLength = bodyLength;
+    }
+
+    /**
+     * Capture request.
+     *
+     * @param body String or byte[] body, already truncated, can be null
+     * @param bodyLength length of the whole body
+     */
+    static HttpLogRecord request(String method, String uri, Headers headers, String contentType, Object body,
+        int bodyLength) {
+        return new HttpLogRecord(false, method, uri, null, headers, contentType, body, bodyLength);
+    }
+
+    /**
+     * Capture response.
+     *
+     * @param body truncated body bytes, can be null
+     * @param bodyLength length of the whole body
+     */
+    static HttpLogRecord response(String method, String uri, String statusLine, Headers headers,
+        String contentType, byte[] body, int bodyLength) {
+        return new HttpLogRecord(true, method, uri, statusLine, headers, contentType, body, bodyLength);
+    }
+
+    boolean isResponse() {
+        return response;
+    }
+
+    long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    String getThreadName() {
+        return threadName;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getUri() {
+        return uri;
+    }
+
+    String getStatusLine() {
+        return statusLine;
+    }
+
+    Headers getHeaders() {
+        return headers;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    Object getBody() {
+        return body;
+    }
+
+    int getBodyLength() {
+        return bodyLength;
+    }
+}
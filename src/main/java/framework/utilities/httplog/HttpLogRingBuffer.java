@@ -0,0 +1,85 @@
+package framework.utilities.httplog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of many producers and a single consumer.
+ * Producers claim a slot by moving the tail, the consumer frees slot before moving the head, so a claimed slot is
+ * always empty. Offer never waits, it fails when the queue is full.
+ *
+ * @param <E> element type
+ */
+final class HttpLogRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Create queue.
+     *
+     * @param capacity requested capacity, rounded up to power of two
+     */
+    HttpLogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add element, can be called from any thread.
+     *
+     * @param element element, not null
+     * @return false if queue is full
+     */
+    boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            if (position - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(position, position + 1)) {
+                slots.lazySet((int) position & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take the oldest element, must be called from the consumer thread only.
+     *
+     * @return element or null if queue is empty or the oldest element is not published yet
+     */
+    E poll() {
+        long position = head.get();
+        int index = (int) position & mask;
+        E element = slots.get(index);
+        if (element == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head.lazySet(position + 1);
+        return element;
+    }
+
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+}
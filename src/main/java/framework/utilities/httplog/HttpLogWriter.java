@@ -0,0 +1,396 @@
+package framework.utilities.httplog;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.utilities.metrics.MetricsRegistry;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+/**
+ * Writes requests and responses captured by {@link HttpLogFilter} to log on a background thread.
+ * Captured records wait in a bounded lock-free queue, test threads never wait for the writer:
+ * <ul>
+ * <li>bodies longer than max body length are truncated when captured;</li>
+ * <li>when the queue is filled above sampling threshold, only one of every sampling rate records is queued;</li>
+ * <li>when the queue is full, records are dropped.</li>
+ * </ul>
+ * Sampled out and dropped records are counted, reported in log by the writer and published as "httpLog" gauge of
+ * MetricsRegistry for the shared instance.
+ * Example
+ * <pre>
+ *      HttpLogWriter writer = HttpLogWriter.newBuilder().withMaxBodyLength(4096).withCapacity(1024).build();
+ *      RestAssuredConfigurator.newBuilder().usingHttpLog(writer, true, true);
+ * </pre>
+ */
+public final class HttpLogWriter {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String GAUGE = "httpLog";
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int DEFAULT_MAX_BODY_LENGTH = 16 * 1024;
+    private static final int DEFAULT_SAMPLING_THRESHOLD_PERCENT = 75;
+    private static final int DEFAULT_SAMPLING_RATE = 10;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String CHARSET = "charset=";
+
+    private final Logger log;
+    private final Level level;
+    private final int maxBodyLength;
+    private final int samplingThreshold;
+    private final int samplingRate;
+    private final HttpLogRingBuffer<HttpLogRecord> queue;
+    private final Thread thread;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder truncated = new LongAdder();
+    private volatile long written;
+    private volatile boolean waiting;
+    private volatile boolean running = true;
+    private long reportedLost;
+
+    private HttpLogWriter(Builder builder) {
+        this.log = builder.log;
+        this.level = builder.level;
+        this.maxBodyLength = builder.maxBodyLength;
+        this.queue = new HttpLogRingBuffer<>(builder.capacity);
+        this.samplingThreshold = (int) ((long) queue.capacity() * builder.samplingThresholdPercent / 100);
+        this.samplingRate = builder.samplingRate;
+        this.thread = new Thread(this::run, "http-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Shared writer with default settings, it logs to this class logger on DEBUG level.
+     *
+     * @return HttpLogWriter
+     */
+    public static HttpLogWriter getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Check if records would be logged, nothing should be captured otherwise.
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return log.isEnabled(level);
+    }
+
+    public int getMaxBodyLength() {
+        return maxBodyLength;
+    }
+
+    /**
+     * Queue record, never waits.
+     *
+     * @return false if record was sampled out or dropped
+     */
+    boolean submit(HttpLogRecord record) {
+        if (samplingRate > 1 && queue.size() >= samplingThreshold
+            && sampleSequence.getAndIncrement() % samplingRate != 0) {
+            sampledOut.increment();
+            return false;
+        }
+        if (!queue.offer(record)) {
+            dropped.increment();
+            return false;
+        }
+        queued.incrementAndGet();
+        if (waiting) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Wait until records queued before the call are written.
+     *
+     * @param timeout max time to wait
+     * @param unit time unit
+     * @return false if records were not written in time
+     */
+    public boolean flush(long timeout, TimeUnit unit) {
+        long target = queued.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (written < target) {
+            if (!thread.isAlive() || System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(thread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    /**
+     * Write queued records and stop the writer thread, records submitted later are dropped.
+     *
+     * @param timeout max time to wait for queued records
+     * @param unit time unit
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        flush(timeout, unit);
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    /**
+     * Get writer statistics: queued, written, sampled out, dropped and truncated records, current queue size.
+     *
+     * @return Map of statistic name to value
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("queued", queued.get());
+        statistics.put("written", written);
+        statistics.put("sampledOut", getSampledOut());
+        statistics.put("dropped", getDropped());
+        statistics.put("truncated", truncated.sum());
+        statistics.put("queueSize", queue.size());
+        statistics.put("capacity", queue.capacity());
+        return statistics;
+    }
+
+    private void run() {
+        while (running) {
+            HttpLogRecord record = queue.poll();
+            if (record == null) {
+                reportLost();
+                waiting = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+                continue;
+            }
+            try {
+                log.log(level, (CharSequence) render(record));
+            } catch (RuntimeException e) {
+                LOGGER.error("Http log record can't be written", e);
+            }
+            written++;
+        }
+        reportLost();
+    }
+
+    /**
+     * Log how many records were lost since the last report.
+     */
+    private void reportLost() {
+        long lost = getDropped() + getSampledOut();
+        if (lost != reportedLost) {
+            LOGGER.warn("{} http log records were not logged, queue was full: dropped {}, sampled out {}",
+                lost - reportedLost, getDropped(), getSampledOut());
+            reportedLost = lost;
+        }
+    }
+
+    private String render(HttpLogRecord record) {
+        StringBuilder text = new StringBuilder(256);
+        text.append(record.isResponse() ? "Response to " : "Request ").append(record.getMethod()).append(' ')
+            .append(record.getUri()).append(" [").append(record.getThreadName()).append(' ')
+            .append(timeFormat.format(new Date(record.getTimestampMillis()))).append(']');
+        if (record.isResponse()) {
+            text.append('\n').append(record.getStatusLine());
+        }
+        Headers headers = record.getHeaders();
+        if (headers != null) {
+            for (Header header : headers) {
+                text.append('\n').append(header.getName()).append(": ").append(header.getValue());
+            }
+        }
+        appendBody(text, record);
+        return text.toString();
+    }
+
+    private void appendBody(StringBuilder text, HttpLogRecord record) {
+        Object body = record.getBody();
+        if (body == null) {
+            return;
+        }
+        int shown;
+        String content;
+        if (body instanceof byte[]) {
+            byte[] bytes = (byte[]) body;
+            shown = bytes.length;
+            content = new String(bytes, charset(record.getContentType()));
+        } else {
+            content = body.toString();
+            shown = content.length();
+        }
+        if (content.isEmpty()) {
+            return;
+        }
+        boolean isTruncated = shown < record.getBodyLength();
+        text.append("\n\n");
+        if (!isTruncated && isJson(record.getContentType())) {
+            try {
+                text.append(ObjectMapperRegistry.prettyJsonWriter()
+                    .writeValueAsString(ObjectMapperRegistry.readTree(content)));
+                return;
+            } catch (IOException e) {
+                // not a valid json, logged as is
+            }
+        }
+        text.append(content);
+        if (isTruncated) {
+            truncated.increment();
+            text.append("\n... truncated, ").append(shown).append(" of ").append(record.getBodyLength())
+                .append(body instanceof byte[] ? " bytes" : " characters");
+        }
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.toLowerCase().contains("json");
+    }
+
+    private static Charset charset(String contentType) {
+        if (contentType != null) {
+            int start = contentType.toLowerCase().indexOf(CHARSET);
+            if (start >= 0) {
+                start += CHARSET.length();
+                int end = contentType.indexOf(';', start);
+                String name = (end < 0 ? contentType.substring(start) : contentType.substring(start, end))
+                    .trim().replace("\"", "");
+                try {
+                    return Charset.forName(name);
+                } catch (IllegalArgumentException e) {
+                    // unknown charset, UTF-8 is used
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    public static final class Builder {
+        private Logger log = LOGGER;
+        private Level level = Level.DEBUG;
+        private int capacity = DEFAULT_CAPACITY;
+        private int maxBodyLength = DEFAULT_MAX_BODY_LENGTH;
+        private int samplingThresholdPercent = DEFAULT_SAMPLING_THRESHOLD_PERCENT;
+        private int samplingRate = DEFAULT_SAMPLING_RATE;
+
+        private Builder() {
+        }
+
+        /**
+         * Define logger and level records are written with.
+         *
+         * @param log Logger
+         * @param level Level
+         * @return this
+         */
+        public Builder withLogger(Logger log, Level level) {
+            if (log == null || level == null) {
+                throw new IllegalArgumentException("Logger or log level must be not null");
+            }
+            this.log = log;
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Define queue capacity, rounded up to power of two.
+         *
+         * @param capacity max number of records waiting to be written
+         * @return this
+         */
+        public Builder withCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Define max body length, longer bodies are truncated.
+         *
+         * @param maxBodyLength bytes or characters, 0 to skip bodies
+         * @return this
+         */
+        public Builder withMaxBodyLength(int maxBodyLength) {
+            if (maxBodyLength < 0) {
+                throw new IllegalArgumentException("Max body length must be not negative: " + maxBodyLength);
+            }
+            this.maxBodyLength = maxBodyLength;
+            return this;
+        }
+
+        /**
+         * Queue only one of every rate records when the queue is filled above threshold.
+         *
+         * @param thresholdPercent queue fill in percents of capacity
+         * @param rate one of rate records is queued
+         * @return this
+         */
+        public Builder withSampling(int thresholdPercent, int rate) {
+            if (thresholdPercent < 0 || thresholdPercent > 100 || rate < 1) {
+                throw new IllegalArgumentException("Sampling threshold must be between 0 and 100 and rate positive: "
+                    + thresholdPercent + ", " + rate);
+            }
+            this.samplingThresholdPercent = thresholdPercent;
+            this.samplingRate = rate;
+            return this;
+        }
+
+        /**
+         * Queue every record while there is space, drop records only when queue is full.
+         *
+         * @return this
+         */
+        public Builder withoutSampling() {
+            this.samplingRate = 1;
+            return this;
+        }
+
+        public HttpLogWriter build() {
+            return new HttpLogWriter(this);
+        }
+    }
+
+    private static class SingletonHolder {
+
+        private static final HttpLogWriter INSTANCE = createInstance();
+
+        private SingletonHolder() {
+            //empty
+        }
+
+        private static HttpLogWriter createInstance() {
+            HttpLogWriter writer = newBuilder().build();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writer.shutdown(5, TimeUnit.SECONDS),
+                "http-log-shutdown"));
+            MetricsRegistry.getInstance().registerGauge(GAUGE, writer::getStatistics);
+            return writer;
+        }
+    }
+}
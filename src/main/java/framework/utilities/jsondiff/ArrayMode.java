@@ -0,0 +1,20 @@
+package framework.utilities.jsondiff;
+
+/**
+ * How elements of json arrays are matched.
+ */
+public enum ArrayMode {
+    /**
+     * Element i of expected array is compared with element i of actual array.
+     */
+    STRICT,
+    /**
+     * Arrays are compared as multisets, order does not matter, duplicates are counted.
+     */
+    UNORDERED,
+    /**
+     * Object elements are matched by value of a key field, e.g. "id", order does not matter.
+     * Elements without key are matched as {@link #UNORDERED}.
+     */
+    KEYED
+}
@@ -0,0 +1,107 @@
+package framework.utilities.jsondiff;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Objects;
+
+/**
+ * One difference between expected and actual json, addressed by JSON Pointer.
+ * For matched elements of unordered and keyed arrays the path holds index of the expected element,
+ * for unexpected elements - index in the actual array.
+ */
+public final class Difference {
+
+    /**
+     * Kind of difference.
+     */
+    public enum Type {
+        /**
+         * Expected value is absent in actual json.
+         */
+        MISSING,
+        /**
+         * Actual json has value that is not expected.
+         */
+        UNEXPECTED,
+        /**
+         * Values are of different json types, e.g. string and number.
+         */
+        TYPE,
+        /**
+         * Values are of same type but not equal.
+         */
+        VALUE
+    }
+
+    private final Type type;
+    private final String path;
+    private final JsonNode expected;
+    private final JsonNode actual;
+
+    public Difference(Type type, String path, JsonNode expected, JsonNode actual) {
+        this.type = type;
+        this.path = path;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * JSON Pointer of the value, "" for root.
+     *
+     * @return String
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public JsonPointer getPointer() {
+        return JsonPointer.compile(path);
+    }
+
+    /**
+     * Expected value, null if value is unexpected.
+     *
+     * @return JsonNode
+     */
+    public JsonNode getExpected() {
+        return expected;
+    }
+
+    /**
+     * Actual value, null if value is missing.
+     *
+     * @return JsonNode
+     */
+    public JsonNode getActual() {
+        return actual;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Difference that = (Difference) o;
+        return type == that.type && path.equals(that.path) && Objects.equals(expected, that.expected)
+            && Objects.equals(actual, that.actual);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, path, expected, actual);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Validate field <%s>: %s expected: <%s> but was: <%s>",
+            path.isEmpty() ? "<root>" : path, type, expected == null ? "<absent>" : expected,
+            actual == null ? "<absent>" : actual);
+    }
+}
@@ -0,0 +1,939 @@
+package framework.utilities.jsondiff;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+/**
+ * Structural diff of json trees. Differences are addressed by JSON Pointer.
+ * Arrays are compared by index, as multisets or by key field, per path pattern;
+ * unordered and keyed matching is hash based, so it stays linear on large arrays.
+ * Wide objects and long arrays can be compared in parallel, differences are merged in the same order
+ * a sequential comparison reports them.
+ * JsonDiff is immutable and can be shared between threads.
+ * Example
+ * <pre>
+ *      JsonDiff jsonDiff = JsonDiff.newBuilder()
+ *          .withArrayKey("/data", "id")
+ *          .withArrayMode("/data/&#42;/tags", ArrayMode.UNORDERED)
+ *          .ignoring("/data/&#42;/updatedAt", "/meta/**")
+ *          .build();
+ *      List&lt;Difference&gt; differences = jsonDiff.diff(expected, actual);
+ * </pre>
+ */
+public final class JsonDiff {
+
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1000;
+
+    private static final JsonDiff STRICT = newBuilder().build();
+    // one pool per parallelism shared by all instances, idle workers stop so pools need no shutdown
+    private static final ConcurrentMap<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final ArrayRule defaultRule;
+    private final List<ArrayRule> arrayRules;
+    private final List<PathGlob> ignored;
+    private final boolean ignoreExtraFields;
+    private final int maxDifferences;
+    private final int parallelism;
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    private JsonDiff(Builder builder) {
+        this.defaultRule = new ArrayRule(null, builder.arrayMode, builder.arrayKey);
+        this.arrayRules = Collections.unmodifiableList(new ArrayList<>(builder.arrayRules));
+        this.ignored = Collections.unmodifiableList(new ArrayList<>(builder.ignored));
+        this.ignoreExtraFields = builder.ignoreExtraFields;
+        this.maxDifferences = builder.maxDifferences;
+        this.parallelism = builder.parallelism;
+        this.parallelThreshold = builder.parallelThreshold;
+        this.pool = parallelism > 1 ? POOLS.computeIfAbsent(parallelism, ForkJoinPool::new) : null;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Diff with default settings: arrays are compared by index, nothing is ignored.
+     *
+     * @return JsonDiff
+     */
+    public static JsonDiff strict() {
+        return STRICT;
+    }
+
+    /**
+     * Find differences of actual json from expected one.
+     *
+     * @param expected expected json
+     * @param actual actual json
+     * @return differences, empty if json trees are equal
+     */
+    public List<Difference> diff(JsonNode expected, JsonNode actual) {
+        Comparison comparison = new Comparison(maxDifferences, new JsonPath());
+        run(comparison, orMissing(expected), orMissing(actual));
+        return comparison.differences;
+    }
+
+    /**
+     * Find differences of actual json from expected one.
+     *
+     * @param expectedJson expected json
+     * @param actualJson actual json
+     * @return differences, empty if json documents are equal
+     * @throws IOException if any of documents is not a valid json
+     */
+    public List<Difference> diff(String expectedJson, String actualJson) throws IOException {
+        return diff(ObjectMapperRegistry.readTree(expectedJson), ObjectMapperRegistry.readTree(actualJson));
+    }
+
+    /**
+     * Check json trees are equal, comparison stops on the first difference.
+     *
+     * @param expected expected json
+     * @param actual actual json
+     * @return true if there are no differences
+     */
+    public boolean isEqual(JsonNode expected, JsonNode actual) {
+        Comparison comparison = new Comparison(1, new JsonPath());
+        run(comparison, orMissing(expected), orMissing(actual));
+        return comparison.found == 0;
+    }
+
+    private void run(Comparison comparison, JsonNode expected, JsonNode actual) {
+        if (pool == null) {
+            comparison.compare(expected, actual);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> comparison.compare(expected, actual)));
+        }
+    }
+
+    private static JsonNode orMissing(JsonNode node) {
+        return node == null ? MissingNode.getInstance() : node;
+    }
+
+    /**
+     * State of one comparison: current path and differences found.
+     */
+    private final class Comparison {
+
+        private final JsonPath path;
+        private final List<Difference> differences = new ArrayList<>();
+        private boolean collecting = true;
+        private int limit;
+        private int found;
+
+        Comparison(int limit, JsonPath path) {
+            this.limit = limit;
+            this.path = path;
+        }
+
+        private boolean done() {
+            return found >= limit;
+        }
+
+        private void report(Difference.Type type, JsonNode expected, JsonNode actual) {
+            if (!done()) {
+                found++;
+                if (collecting) {
+                    differences.add(new Difference(type, path.pointer(), expected, actual));
+                }
+            }
+        }
+
+        private boolean isIgnored() {
+            for (int i = 0; i < ignored.size(); i++) {
+                if (ignored.get(i).matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private ArrayRule arrayRule() {
+            for (int i = 0; i < arrayRules.size(); i++) {
+                ArrayRule rule = arrayRules.get(i);
+                if (rule.glob.matches(path)) {
+                    return rule;
+                }
+            }
+            return defaultRule;
+        }
+
+        void compare(JsonNode expected, JsonNode actual) {
+            if (done() || expected == actual || isIgnored()) {
+                return;
+            }
+            JsonNodeType type = expected.getNodeType();
+            if (type != actual.getNodeType()) {
+                report(Difference.Type.TYPE, expected, actual);
+            } else if (type == JsonNodeType.OBJECT) {
+                compareObjects(expected, actual);
+            } else if (type == JsonNodeType.ARRAY) {
+                compareArrays(expected, actual);
+            } else if (type == JsonNodeType.NUMBER) {
+                if (!numbersEqual(expected, actual)) {
+                    report(Difference.Type.VALUE, expected, actual);
+                }
+            } else if (!expected.equals(actual)) {
+                report(Difference.Type.VALUE, expected, actual);
+            }
+        }
+
+        private void compareObjects(JsonNode expected, JsonNode actual) {
+            if (isParallel(expected.size())) {
+                List<Map.Entry<String, JsonNode>> fields = new ArrayList<>(expected.size());
+                expected.fields().forEachRemaining(fields::add);
+                compareInParallel(fields.size(), (comparison, from, to) -> {
+                    for (int i = from; i < to && !comparison.done(); i++) {
+                        comparison.compareField(fields.get(i), actual);
+                    }
+                });
+            } else {
+                Iterator<Map.Entry<String, JsonNode>> fields = expected.fields();
+                while (fields.hasNext() && !done()) {
+                    compareField(fields.next(), actual);
+                }
+            }
+            if (ignoreExtraFields) {
+                return;
+            }
+            Iterator<Map.Entry<String, JsonNode>> actualFields = actual.fields();
+            while (actualFields.hasNext() && !done()) {
+                Map.Entry<String, JsonNode> field = actualFields.next();
+                if (!expected.has(field.getKey())) {
+                    path.push(field.getKey());
+                    if (!isIgnored()) {
+                        report(Difference.Type.UNEXPECTED, null, field.getValue());
+                    }
+                    path.pop();
+                }
+            }
+        }
+
+        private void compareField(Map.Entry<String, JsonNode> field, JsonNode actual) {
+            JsonNode actualValue = actual.get(field.getKey());
+            path.push(field.getKey());
+            if (actualValue != null) {
+                compare(field.getValue(), actualValue);
+            } else if (!isIgnored()) {
+                report(Difference.Type.MISSING, field.getValue(), null);
+            }
+            path.pop();
+        }
+
+        private void compareArrays(JsonNode expected, JsonNode actual) {
+            ArrayRule rule = arrayRule();
+            if (rule.mode == ArrayMode.STRICT) {
+                compareByIndex(expected, actual);
+            } else if (rule.mode == ArrayMode.UNORDERED) {
+                matchUnordered(expected, actual, elements(expected), elements(actual));
+            } else {
+                matchByKey(expected, actual, rule.key);
+            }
+        }
+
+        private void compareByIndex(JsonNode expected, JsonNode actual) {
+            int common = Math.min(expected.size(), actual.size());
+            if (isParallel(common)) {
+                compareInParallel(common, (comparison, from, to) -> {
+                    for (int i = from; i < to && !comparison.done(); i++) {
+                        comparison.compareElement(expected, actual, i);
+                    }
+                });
+            } else {
+                for (int i = 0; i < common && !done(); i++) {
+                    compareElement(expected, actual, i);
+                }
+            }
+            for (int i = common; i < expected.size() && !done(); i++) {
+                reportElement(Difference.Type.MISSING, expected, i);
+            }
+            for (int i = common; i < actual.size() && !done(); i++) {
+                reportElement(Difference.Type.UNEXPECTED, actual, i);
+            }
+        }
+
+        private void compareElement(JsonNode expected, JsonNode actual, int index) {
+            path.push(index);
+            compare(expected.get(index), actual.get(index));
+            path.pop();
+        }
+
+        /**
+         * Containers are split only while differences are collected, probing of unordered elements
+         * stops on the first difference and stays on the current thread.
+         */
+        private boolean isParallel(int size) {
+            return pool != null && collecting && size >= parallelThreshold && ForkJoinTask.inForkJoinPool();
+        }
+
+        /**
+         * Compare ranges of children in subtasks, each with own path and differences;
+         * differences are appended range by range, so the result does not depend on scheduling.
+         */
+        private void compareInParallel(int size, RangeComparison rangeComparison) {
+            int chunk = Math.max(1, (size + parallelism * 4 - 1) / (parallelism * 4));
+            List<ForkJoinTask<Comparison>> tasks = new ArrayList<>();
+            for (int from = 0; from < size; from += chunk) {
+                int start = from;
+                int end = Math.min(size, from + chunk);
+                Comparison comparison = new Comparison(limit - found, path.copy());
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    rangeComparison.compare(comparison, start, end);
+                    return comparison;
+                }));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            for (ForkJoinTask<Comparison> task : tasks) {
+                for (Difference difference : task.join().differences) {
+                    if (done()) {
+                        return;
+                    }
+                    found++;
+                    differences.add(difference);
+                }
+            }
+        }
+
+        private void reportElement(Difference.Type type, JsonNode array, int index) {
+            path.push(index);
+            if (!isIgnored()) {
+                JsonNode element = array.get(index);
+                report(type, type == Difference.Type.MISSING ? element : null,
+                    type == Difference.Type.MISSING ? null : element);
+            }
+            path.pop();
+        }
+
+        /**
+         * Indexes of array elements that are not ignored.
+         */
+        private Indexes elements(JsonNode array) {
+            Indexes indexes = new Indexes(array.size());
+            for (int i = 0; i < array.size(); i++) {
+                if (ignored.isEmpty()) {
+                    indexes.add(i);
+                } else {
+                    path.push(i);
+                    if (!isIgnored()) {
+                        indexes.add(i);
+                    }
+                    path.pop();
+                }
+            }
+            return indexes;
+        }
+
+        /**
+         * Match elements as multisets. Actual elements are sorted by structural hash, that honours ignored
+         * paths and array modes, and candidates with the same hash are confirmed by comparison, so cost is
+         * n log n for distinct elements. When extra fields are ignored elements are matched by shape.
+         */
+        private void matchUnordered(JsonNode expected, JsonNode actual, Indexes expectedIndexes,
+            Indexes actualIndexes) {
+            boolean[] matched = new boolean[actual.size()];
+            Indexes missing = new Indexes(0);
+            if (ignoreExtraFields) {
+                matchByShape(expected, actual, expectedIndexes, actualIndexes, matched, missing);
+            } else {
+                HashIndex index = new HashIndex(actualIndexes.size);
+                for (int a = 0; a < actualIndexes.size; a++) {
+                    int j = actualIndexes.values[a];
+                    path.push(j);
+                    index.add(hash(actual.get(j)), j);
+                    path.pop();
+                }
+                index.sort();
+                for (int e = 0; e < expectedIndexes.size; e++) {
+                    int i = expectedIndexes.values[e];
+                    JsonNode element = expected.get(i);
+                    path.push(i);
+                    int elementHash = hash(element);
+                    path.pop();
+                    if (!takeMatching(element, i, actual, index, elementHash, matched)) {
+                        missing.add(i);
+                    }
+                }
+            }
+            for (int m = 0; m < missing.size && !done(); m++) {
+                reportElement(Difference.Type.MISSING, expected, missing.values[m]);
+            }
+            for (int a = 0; a < actualIndexes.size && !done(); a++) {
+                int j = actualIndexes.values[a];
+                if (!matched[j]) {
+                    reportElement(Difference.Type.UNEXPECTED, actual, j);
+                }
+            }
+        }
+
+        private boolean takeMatching(JsonNode element, int index, JsonNode actual, HashIndex candidates,
+            int elementHash, boolean[] matched) {
+            for (int position = candidates.firstFree(elementHash); position >= 0;
+                position = candidates.nextFree(position, elementHash)) {
+                int j = candidates.indexAt(position);
+                if (isSame(element, actual.get(j), index)) {
+                    candidates.take(position);
+                    matched[j] = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Match elements when extra fields are ignored, so matching elements may have different hashes.
+         * Expected elements are grouped by shape (field names and lengths of ordered arrays), actual elements
+         * are hashed by fields of the shape only and candidates are confirmed by comparison, so cost is
+         * n log n per distinct shape of expected elements.
+         */
+        private void matchByShape(JsonNode expected, JsonNode actual, Indexes expectedIndexes, Indexes actualIndexes,
+            boolean[] matched, Indexes missing) {
+            Map<String, Indexes> shapes = new LinkedHashMap<>();
+            StringBuilder shape = new StringBuilder();
+            for (int e = 0; e < expectedIndexes.size; e++) {
+                int i = expectedIndexes.values[e];
+                shape.setLength(0);
+                path.push(i);
+                appendShape(expected.get(i), shape);
+                path.pop();
+                shapes.computeIfAbsent(shape.toString(), key -> new Indexes(0)).add(i);
+            }
+            for (Indexes group : shapes.values()) {
+                JsonNode template = expected.get(group.values[0]);
+                HashIndex index = new HashIndex(actualIndexes.size);
+                for (int a = 0; a < actualIndexes.size; a++) {
+                    int j = actualIndexes.values[a];
+                    if (!matched[j]) {
+                        path.push(j);
+                        index.add(projectedHash(template, actual.get(j)), j);
+                        path.pop();
+                    }
+                }
+                index.sort();
+                for (int e = 0; e < group.size; e++) {
+                    int i = group.values[e];
+                    JsonNode element = expected.get(i);
+                    path.push(i);
+                    int elementHash = projectedHash(template, element);
+                    path.pop();
+                    if (!takeMatching(element, i, actual, index, elementHash, matched)) {
+                        missing.add(i);
+                    }
+                }
+            }
+            // report missing elements in array order, not in order of shapes
+            Arrays.sort(missing.values, 0, missing.size);
+        }
+
+        /**
+         * Shape of element: names of fields that are not ignored, lengths of ordered arrays and kinds of values.
+         */
+        private void appendShape(JsonNode node, StringBuilder shape) {
+            if (node.isObject()) {
+                shape.append('{');
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    path.push(field.getKey());
+                    if (!isIgnored()) {
+                        shape.append(field.getKey().length()).append(':').append(field.getKey());
+                        appendShape(field.getValue(), shape);
+                    }
+                    path.pop();
+                }
+                shape.append('}');
+            } else if (node.isArray() && arrayRule().mode == ArrayMode.STRICT) {
+                shape.append('[');
+                for (int i = 0; i < node.size(); i++) {
+                    path.push(i);
+                    if (isIgnored()) {
+                        shape.append('_');
+                    } else {
+                        appendShape(node.get(i), shape);
+                    }
+                    path.pop();
+                }
+                shape.append(']');
+            } else {
+                shape.append(node.isArray() ? "[*]" : ".");
+            }
+        }
+
+        /**
+         * Hash of node by fields of template only: a node that matches element of template shape, while extra
+         * fields are ignored, has the hash of that element. Unordered and keyed arrays are not hashed.
+         */
+        private int projectedHash(JsonNode template, JsonNode node) {
+            switch (template.getNodeType()) {
+                case OBJECT:
+                    if (!node.isObject()) {
+                        return node.getNodeType().ordinal();
+                    }
+                    int objectHash = 0;
+                    Iterator<Map.Entry<String, JsonNode>> fields = template.fields();
+                    while (fields.hasNext()) {
+                        String name = fields.next().getKey();
+                        JsonNode value = node.get(name);
+                        path.push(name);
+                        if (value != null && !isIgnored()) {
+                            objectHash += name.hashCode() * 31 ^ projectedHash(template.get(name), value);
+                        }
+                        path.pop();
+                    }
+                    return objectHash;
+                case ARRAY:
+                    if (!node.isArray() || arrayRule().mode != ArrayMode.STRICT) {
+                        return node.getNodeType().ordinal();
+                    }
+                    int arrayHash = 1;
+                    for (int i = 0; i < template.size() && i < node.size(); i++) {
+                        path.push(i);
+                        if (!isIgnored()) {
+                            arrayHash = 31 * arrayHash + projectedHash(template.get(i), node.get(i));
+                        }
+                        path.pop();
+                    }
+                    return arrayHash;
+                default:
+                    return node.isContainerNode() ? node.getNodeType().ordinal() : hash(node);
+            }
+        }
+
+        private void matchByKey(JsonNode expected, JsonNode actual, String key) {
+            Map<Object, Object> actualByKey = new HashMap<>();
+            Indexes actualWithoutKey = new Indexes(0);
+            Indexes actualIndexes = elements(actual);
+            for (int a = 0; a < actualIndexes.size; a++) {
+                int j = actualIndexes.values[a];
+                Object value = keyOf(actual.get(j), key);
+                if (value == null) {
+                    actualWithoutKey.add(j);
+                } else {
+                    // single index for unique key, queue of indexes for duplicates
+                    actualByKey.merge(value, j, JsonDiff::appendIndex);
+                }
+            }
+            boolean[] matched = new boolean[actual.size()];
+            Indexes expectedWithoutKey = new Indexes(0);
+            Indexes expectedIndexes = elements(expected);
+            for (int e = 0; e < expectedIndexes.size && !done(); e++) {
+                int i = expectedIndexes.values[e];
+                JsonNode element = expected.get(i);
+                Object value = keyOf(element, key);
+                if (value == null) {
+                    expectedWithoutKey.add(i);
+                    continue;
+                }
+                Integer j = takeByKey(actualByKey, value);
+                if (j == null) {
+                    reportElement(Difference.Type.MISSING, expected, i);
+                } else {
+                    matched[j] = true;
+                    path.push(i);
+                    compare(element, actual.get(j));
+                    path.pop();
+                }
+            }
+            for (int a = 0; a < actualIndexes.size && !done(); a++) {
+                int j = actualIndexes.values[a];
+                if (!matched[j] && keyOf(actual.get(j), key) != null) {
+                    reportElement(Difference.Type.UNEXPECTED, actual, j);
+                }
+            }
+            matchUnordered(expected, actual, expectedWithoutKey, actualWithoutKey);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Integer takeByKey(Map<Object, Object> actualByKey, Object key) {
+            Object indexes = actualByKey.get(key);
+            if (indexes instanceof ArrayDeque) {
+                return ((ArrayDeque<Integer>) indexes).poll();
+            }
+            if (indexes != null) {
+                actualByKey.remove(key);
+            }
+            return (Integer) indexes;
+        }
+
+        /**
+         * Compare without reporting, path of the element is the expected index.
+         */
+        private boolean isSame(JsonNode expected, JsonNode actual, int index) {
+            boolean wasCollecting = collecting;
+            int wasLimit = limit;
+            int wasFound = found;
+            collecting = false;
+            limit = 1;
+            found = 0;
+            path.push(index);
+            compare(expected, actual);
+            path.pop();
+            boolean same = found == 0;
+            collecting = wasCollecting;
+            limit = wasLimit;
+            found = wasFound;
+            return same;
+        }
+
+        /**
+         * Hash consistent with comparison: ignored paths are skipped, object fields and elements of
+         * unordered arrays are summed, numbers are hashed by value.
+         */
+        private int hash(JsonNode node) {
+            switch (node.getNodeType()) {
+                case OBJECT:
+                    int objectHash = 0;
+                    Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                    while (fields.hasNext()) {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        path.push(field.getKey());
+                        if (!isIgnored()) {
+                            objectHash += field.getKey().hashCode() * 31 ^ hash(field.getValue());
+                        }
+                        path.pop();
+                    }
+                    return objectHash;
+                case ARRAY:
+                    boolean ordered = arrayRule().mode == ArrayMode.STRICT;
+                    int arrayHash = 1;
+                    for (int i = 0; i < node.size(); i++) {
+                        path.push(i);
+                        if (!isIgnored()) {
+                            arrayHash = ordered ? 31 * arrayHash + hash(node.get(i)) : arrayHash + hash(node.get(i));
+                        }
+                        path.pop();
+                    }
+                    return arrayHash;
+                case NUMBER:
+                    return Double.hashCode(node.doubleValue());
+                default:
+                    return node.hashCode();
+            }
+        }
+    }
+
+    private static boolean numbersEqual(JsonNode expected, JsonNode actual) {
+        if (expected.equals(actual)) {
+            return true;
+        }
+        if (expected.isIntegralNumber() && actual.isIntegralNumber()) {
+            return expected.bigIntegerValue().equals(actual.bigIntegerValue());
+        }
+        return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+    }
+
+    /**
+     * Merge index of duplicate key: single index becomes queue of indexes.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object appendIndex(Object first, Object next) {
+        ArrayDeque<Integer> queue = first instanceof ArrayDeque ? (ArrayDeque<Integer>) first
+            : new ArrayDeque<>(Collections.singleton((Integer) first));
+        queue.add((Integer) next);
+        return queue;
+    }
+
+    /**
+     * Key value of element, numbers are normalized so 1 and 1.0 are the same key.
+     * Integral values are kept as long, others as BigDecimal without trailing zeros.
+     */
+    private static Object keyOf(JsonNode element, String key) {
+        JsonNode value = element.isObject() ? element.get(key) : null;
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isIntegralNumber() && value.canConvertToLong()) {
+            return value.longValue();
+        }
+        if (value.isNumber()) {
+            BigDecimal decimal = value.decimalValue();
+            if (decimal.signum() == 0) {
+                return 0L;
+            }
+            decimal = decimal.stripTrailingZeros();
+            return decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19 ? (Object) decimal.longValue()
+                : decimal;
+        }
+        return value;
+    }
+
+    /**
+     * Growable list of element indexes.
+     */
+    private static final class Indexes {
+
+        private int[] values;
+        private int size;
+
+        Indexes(int capacity) {
+            this.values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Element indexes sorted by hash, packed as hash in high and index in low bits.
+     * Taken positions are skipped through next free pointers, compressed on lookup.
+     */
+    private static final class HashIndex {
+
+        private final long[] entries;
+        private int[] nextFree;
+        private int size;
+
+        HashIndex(int capacity) {
+            this.entries = new long[capacity];
+        }
+
+        void add(int hash, int index) {
+            entries[size++] = (long) hash << 32 | index & 0xFFFFFFFFL;
+        }
+
+        void sort() {
+            Arrays.sort(entries, 0, size);
+            nextFree = new int[size + 1];
+            for (int i = 0; i <= size; i++) {
+                nextFree[i] = i;
+            }
+        }
+
+        int indexAt(int position) {
+            return (int) entries[position];
+        }
+
+        int firstFree(int hash) {
+            int low = 0;
+            int high = size;
+            long key = (long) hash << 32;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (entries[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return sameHash(free(low), hash);
+        }
+
+        int nextFree(int position, int hash) {
+            return sameHash(free(position + 1), hash);
+        }
+
+        void take(int position) {
+            nextFree[position] = position + 1;
+        }
+
+        private int sameHash(int position, int hash) {
+            return position < size && (int) (entries[position] >> 32) == hash ? position : -1;
+        }
+
+        private int free(int position) {
+            int root = position;
+            while (nextFree[root] != root) {
+                root = nextFree[root];
+            }
+            while (nextFree[position] != root) {
+                int next = nextFree[position];
+                nextFree[position] = root;
+                position = next;
+            }
+            return root;
+        }
+    }
+
+    /**
+     * Array mode for arrays which path matches pattern.
+     */
+    private static final class ArrayRule {
+
+        private final PathGlob glob;
+        private final ArrayMode mode;
+        private final String key;
+
+        ArrayRule(PathGlob glob, ArrayMode mode, String key) {
+            this.glob = glob;
+            this.mode = mode;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Comparison of children from index to index exclusive.
+     */
+    private interface RangeComparison {
+        void compare(Comparison comparison, int from, int to);
+    }
+
+    public static final class Builder {
+        private ArrayMode arrayMode;
+        private String arrayKey;
+        private final List<ArrayRule> arrayRules;
+        private final List<PathGlob> ignored;
+        private boolean ignoreExtraFields;
+        private int maxDifferences;
+        private int parallelism;
+        private int parallelThreshold;
+
+        private Builder() {
+            this.arrayMode = ArrayMode.STRICT;
+            this.arrayRules = new ArrayList<>();
+            this.ignored = new ArrayList<>();
+            this.ignoreExtraFields = false;
+            this.maxDifferences = NO_LIMIT;
+            this.parallelism = 1;
+            this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        }
+
+        /**
+         * Define array mode for all arrays without own rule, STRICT by default.
+         *
+         * @param mode STRICT or UNORDERED, use {@link #withArrayKey(String)} for KEYED
+         * @return this
+         */
+        public Builder withArrayMode(ArrayMode mode) {
+            this.arrayMode = checkNotKeyed(mode);
+            this.arrayKey = null;
+            return this;
+        }
+
+        /**
+         * Match elements of all arrays without own rule by key field.
+         *
+         * @param keyField name of the field, e.g. "id"
+         * @return this
+         */
+        public Builder withArrayKey(String keyField) {
+            this.arrayMode = ArrayMode.KEYED;
+            this.arrayKey = keyField;
+            return this;
+        }
+
+        /**
+         * Define array mode for arrays matching path pattern. First added matching rule is used.
+         *
+         * @param pathPattern JSON Pointer pattern, "*" matches one segment and "**" any number of segments
+         * @param mode STRICT or UNORDERED, use {@link #withArrayKey(String, String)} for KEYED
+         * @return this
+         */
+        public Builder withArrayMode(String pathPattern, ArrayMode mode) {
+            this.arrayRules.add(new ArrayRule(new PathGlob(pathPattern), checkNotKeyed(mode), null));
+            return this;
+        }
+
+        /**
+         * Match elements of arrays matching path pattern by key field.
+         *
+         * @param pathPattern JSON Pointer pattern, "*" matches one segment and "**" any number of segments
+         * @param keyField name of the field, e.g. "id"
+         * @return this
+         */
+        public Builder withArrayKey(String pathPattern, String keyField) {
+            this.arrayRules.add(new ArrayRule(new PathGlob(pathPattern), ArrayMode.KEYED, keyField));
+            return this;
+        }
+
+        /**
+         * Skip values matching path patterns, e.g. /data/&#42;/updatedAt or /meta/**.
+         *
+         * @param pathPatterns JSON Pointer patterns
+         * @return this
+         */
+        public Builder ignoring(String... pathPatterns) {
+            for (String pattern : pathPatterns) {
+                this.ignored.add(new PathGlob(pattern));
+            }
+            return this;
+        }
+
+        /**
+         * Do not report fields that are present only in actual json.
+         *
+         * @return this
+         */
+        public Builder ignoringExtraFields() {
+            this.ignoreExtraFields = true;
+            return this;
+        }
+
+        /**
+         * Stop comparison after number of differences.
+         *
+         * @param maxDifferences positive number
+         * @return this
+         */
+        public Builder withMaxDifferences(int maxDifferences) {
+            if (maxDifferences < 1) {
+                throw new IllegalArgumentException("Max differences should be positive: " + maxDifferences);
+            }
+            this.maxDifferences = maxDifferences;
+            return this;
+        }
+
+        /**
+         * Compare wide objects and long arrays on several threads of ForkJoinPool shared by
+         * all JsonDiff instances with the same parallelism.
+         *
+         * @param parallelism max number of threads, 1 compares on the calling thread
+         * @return this
+         */
+        public Builder withParallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism should be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Min number of fields or elements of a container compared in parallel, {@value JsonDiff#DEFAULT_PARALLEL_THRESHOLD}
+         * by default.
+         *
+         * @param minSize positive number
+         * @return this
+         */
+        public Builder withParallelThreshold(int minSize) {
+            if (minSize < 1) {
+                throw new IllegalArgumentException("Parallel threshold should be positive: " + minSize);
+            }
+            this.parallelThreshold = minSize;
+            return this;
+        }
+
+        public JsonDiff build() {
+            return new JsonDiff(this);
+        }
+
+        private static ArrayMode checkNotKeyed(ArrayMode mode) {
+            if (mode == ArrayMode.KEYED) {
+                throw new IllegalArgumentException("Key field is required for KEYED mode, use withArrayKey");
+            }
+            return mode;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package framework.utilities.jsondiff;
+
+import java.util.Arrays;
+
+/**
+ * Mutable stack of path segments of the node being compared.
+ * Segment is either field name or array index, pointer string is built only when it is needed.
+ */
+final class JsonPath {
+
+    private String[] names = new String[16];
+    private int[] indexes = new int[16];
+    private int depth;
+
+    /**
+     * Independent copy of path, e.g. for a subtree compared on other thread.
+     *
+     * @return JsonPath
+     */
+    JsonPath copy() {
+        JsonPath copy = new JsonPath();
+        copy.names = Arrays.copyOf(names, names.length);
+        copy.indexes = Arrays.copyOf(indexes, indexes.length);
+        copy.depth = depth;
+        return copy;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Field name of segment.
+     *
+     * @param segment segment position
+     * @return name or null if segment is array index
+     */
+    String name(int segment) {
+        return names[segment];
+    }
+
+    int index(int segment) {
+        return indexes[segment];
+    }
+
+    void push(String name) {
+        ensureCapacity();
+        names[depth] = name;
+        indexes[depth] = -1;
+        depth++;
+    }
+
+    void push(int index) {
+        ensureCapacity();
+        names[depth] = null;
+        indexes[depth] = index;
+        depth++;
+    }
+
+    void pop() {
+        depth--;
+        names[depth] = null;
+    }
+
+    String pointer() {
+        StringBuilder pointer = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            pointer.append('/');
+            if (names[i] == null) {
+                pointer.append(indexes[i]);
+            } else {
+                escape(names[i], pointer);
+            }
+        }
+        return pointer.toString();
+    }
+
+    private static void escape(String name, StringBuilder pointer) {
+        for (int i = 0; i < name.length(); i++) {
+            char symbol = name.charAt(i);
+            if (symbol == '~') {
+                pointer.append("~0");
+            } else if (symbol == '/') {
+                pointer.append("~1");
+            } else {
+                pointer.append(symbol);
+            }
+        }
+    }
+
+    private void ensureCapacity() {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+        }
+    }
+}
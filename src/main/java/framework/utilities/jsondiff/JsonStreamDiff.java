@@ -0,0 +1,436 @@
+package framework.utilities.jsondiff;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+/**
+ * Streaming left mode diff of json documents: two token streams are read in lockstep,
+ * every expected value should be present and equal in actual json, extra actual values are skipped.
+ * Documents are never materialized, memory is bounded by nesting depth while fields come in the same order;
+ * object fields coming in different order are buffered until their pair is read.
+ * Values are read into trees only when they are reported. Arrays are compared by index.
+ * JsonStreamDiff is immutable and can be shared between threads.
+ * Example
+ * <pre>
+ *      JsonStreamDiff streamDiff = JsonStreamDiff.newBuilder()
+ *          .ignoring("/data/&#42;/updatedAt")
+ *          .withMaxDifferences(50)
+ *          .build();
+ *      List&lt;Difference&gt; differences = streamDiff.diff(expectedStream, actualStream);
+ * </pre>
+ */
+public final class JsonStreamDiff {
+
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private static final JsonStreamDiff LEFT_MODE = newBuilder().build();
+
+    private final List<PathGlob> ignored;
+    private final boolean reportUnexpected;
+    private final int maxDifferences;
+
+    private JsonStreamDiff(Builder builder) {
+        this.ignored = Collections.unmodifiableList(new ArrayList<>(builder.ignored));
+        this.reportUnexpected = builder.reportUnexpected;
+        this.maxDifferences = builder.maxDifferences;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Diff with default settings: left mode, nothing is ignored, no limit of differences.
+     *
+     * @return JsonStreamDiff
+     */
+    public static JsonStreamDiff leftMode() {
+        return LEFT_MODE;
+    }
+
+    /**
+     * Find differences of actual json from expected one, streams are closed when comparison ends.
+     *
+     * @param expected expected json
+     * @param actual actual json
+     * @return differences, empty if actual json contains expected one
+     * @throws IOException if any of documents can't be read or is not a valid json
+     */
+    public List<Difference> diff(InputStream expected, InputStream actual) throws IOException {
+        List<Difference> differences = new ArrayList<>();
+        try (JsonParser expectedParser = ObjectMapperRegistry.createParser(expected);
+            JsonParser actualParser = ObjectMapperRegistry.createParser(actual)) {
+            diff(expectedParser, actualParser, differences::add);
+        }
+        return differences;
+    }
+
+    /**
+     * Find differences of actual json from expected one, each difference is passed to listener as soon as it is found.
+     * Parsers should be created by an ObjectMapper, e.g. {@link ObjectMapperRegistry#createParser(InputStream)},
+     * they are left where comparison stopped.
+     *
+     * @param expected parser of expected json, before the first token or on it
+     * @param actual parser of actual json, before the first token or on it
+     * @param listener receives differences
+     * @return number of differences found, not more than max differences
+     * @throws IOException if any of documents can't be read or is not a valid json
+     */
+    public int diff(JsonParser expected, JsonParser actual, Consumer<Difference> listener) throws IOException {
+        Comparison comparison = new Comparison(listener);
+        JsonToken expectedToken = expected.hasCurrentToken() ? expected.currentToken() : expected.nextToken();
+        JsonToken actualToken = actual.hasCurrentToken() ? actual.currentToken() : actual.nextToken();
+        if (expectedToken == null) {
+            if (actualToken != null && reportUnexpected) {
+                comparison.report(Difference.Type.UNEXPECTED, null, actual.readValueAsTree());
+            }
+        } else if (actualToken == null) {
+            comparison.report(Difference.Type.MISSING, expected.readValueAsTree(), null);
+        } else {
+            comparison.compare(expected, actual);
+        }
+        return comparison.found;
+    }
+
+    /**
+     * Check actual json contains expected one, comparison stops on the first difference.
+     *
+     * @param expected expected json
+     * @param actual actual json
+     * @return true if there are no differences
+     * @throws IOException if any of documents can't be read or is not a valid json
+     */
+    public boolean isEqual(InputStream expected, InputStream actual) throws IOException {
+        try (JsonParser expectedParser = ObjectMapperRegistry.createParser(expected);
+            JsonParser actualParser = ObjectMapperRegistry.createParser(actual)) {
+            return newBuilder(this).withMaxDifferences(1).build()
+                .diff(expectedParser, actualParser, difference -> { }) == 0;
+        }
+    }
+
+    private static Builder newBuilder(JsonStreamDiff streamDiff) {
+        Builder builder = new Builder();
+        builder.ignored.addAll(streamDiff.ignored);
+        builder.reportUnexpected = streamDiff.reportUnexpected;
+        return builder;
+    }
+
+    /**
+     * State of one comparison: current path and number of differences found.
+     * Every compare method is called with both parsers on the first token of a value
+     * and leaves them on the last token of that value, unless the limit is reached.
+     */
+    private final class Comparison {
+
+        private final JsonPath path = new JsonPath();
+        private final Consumer<Difference> listener;
+        private int found;
+
+        Comparison(Consumer<Difference> listener) {
+            this.listener = listener;
+        }
+
+        private boolean done() {
+            return found >= maxDifferences;
+        }
+
+        private void report(Difference.Type type, JsonNode expected, JsonNode actual) {
+            if (!done()) {
+                found++;
+                listener.accept(new Difference(type, path.pointer(), expected, actual));
+            }
+        }
+
+        private boolean isIgnored() {
+            for (int i = 0; i < ignored.size(); i++) {
+                if (ignored.get(i).matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void compare(JsonParser expected, JsonParser actual) throws IOException {
+            if (done()) {
+                return;
+            }
+            if (isIgnored()) {
+                expected.skipChildren();
+                actual.skipChildren();
+                return;
+            }
+            JsonToken expectedToken = expected.currentToken();
+            JsonToken actualToken = actual.currentToken();
+            if (kind(expectedToken) != kind(actualToken)) {
+                report(Difference.Type.TYPE, expected.readValueAsTree(), actual.readValueAsTree());
+            } else if (expectedToken == JsonToken.START_OBJECT) {
+                compareObjects(expected, actual);
+            } else if (expectedToken == JsonToken.START_ARRAY) {
+                compareArrays(expected, actual);
+            } else if (!scalarsEqual(expected, actual)) {
+                report(Difference.Type.VALUE, expected.readValueAsTree(), actual.readValueAsTree());
+            }
+        }
+
+        /**
+         * Fields with same name at same position are compared in place, others are buffered
+         * until the field with same name is read from the other side or the object ends.
+         */
+        private void compareObjects(JsonParser expected, JsonParser actual) throws IOException {
+            Map<String, TokenBuffer> pendingExpected = null;
+            Map<String, TokenBuffer> pendingActual = null;
+            String expectedName = nextField(expected);
+            String actualName = nextField(actual);
+            while (expectedName != null || actualName != null) {
+                if (expectedName != null && expectedName.equals(actualName)) {
+                    expected.nextToken();
+                    actual.nextToken();
+                    path.push(expectedName);
+                    compare(expected, actual);
+                    path.pop();
+                    if (done()) {
+                        return;
+                    }
+                    expectedName = nextField(expected);
+                    actualName = nextField(actual);
+                    continue;
+                }
+                if (expectedName != null) {
+                    expected.nextToken();
+                    path.push(expectedName);
+                    TokenBuffer pair = pendingActual == null ? null : pendingActual.remove(expectedName);
+                    if (pair != null) {
+                        try (JsonParser buffered = replay(pair)) {
+                            compare(expected, buffered);
+                        }
+                    } else if (actualName == null) {
+                        reportMissing(expected);
+                    } else if (isIgnored()) {
+                        expected.skipChildren();
+                    } else {
+                        pendingExpected = pendingExpected == null ? new LinkedHashMap<>() : pendingExpected;
+                        pendingExpected.put(expectedName, buffer(expected));
+                    }
+                    path.pop();
+                    if (done()) {
+                        return;
+                    }
+                    expectedName = nextField(expected);
+                }
+                if (actualName != null) {
+                    actual.nextToken();
+                    path.push(actualName);
+                    TokenBuffer pair = pendingExpected == null ? null : pendingExpected.remove(actualName);
+                    if (pair != null) {
+                        try (JsonParser buffered = replay(pair)) {
+                            compare(buffered, actual);
+                        }
+                    } else if (actualName.equals(expectedName)) {
+                        expected.nextToken();
+                        compare(expected, actual);
+                        expectedName = done() ? null : nextField(expected);
+                    } else if (expectedName == null) {
+                        reportUnexpected(actual);
+                    } else if (isIgnored()) {
+                        actual.skipChildren();
+                    } else {
+                        pendingActual = pendingActual == null ? new HashMap<>() : pendingActual;
+                        pendingActual.put(actualName, buffer(actual));
+                    }
+                    path.pop();
+                    if (done()) {
+                        return;
+                    }
+                    actualName = nextField(actual);
+                }
+            }
+            if (pendingExpected != null) {
+                for (Map.Entry<String, TokenBuffer> field : pendingExpected.entrySet()) {
+                    path.push(field.getKey());
+                    reportMissing(replay(field.getValue()));
+                    path.pop();
+                }
+            }
+            if (pendingActual != null && reportUnexpected) {
+                for (Map.Entry<String, TokenBuffer> field : pendingActual.entrySet()) {
+                    path.push(field.getKey());
+                    reportUnexpected(replay(field.getValue()));
+                    path.pop();
+                }
+            }
+        }
+
+        private void compareArrays(JsonParser expected, JsonParser actual) throws IOException {
+            int index = 0;
+            JsonToken expectedToken = expected.nextToken();
+            JsonToken actualToken = actual.nextToken();
+            while (!done() && expectedToken != JsonToken.END_ARRAY && actualToken != JsonToken.END_ARRAY) {
+                path.push(index++);
+                compare(expected, actual);
+                path.pop();
+                expectedToken = expected.nextToken();
+                actualToken = actual.nextToken();
+            }
+            while (!done() && expectedToken != JsonToken.END_ARRAY) {
+                path.push(index++);
+                reportMissing(expected);
+                path.pop();
+                expectedToken = expected.nextToken();
+            }
+            while (!done() && actualToken != JsonToken.END_ARRAY) {
+                path.push(index++);
+                reportUnexpected(actual);
+                path.pop();
+                actualToken = actual.nextToken();
+            }
+        }
+
+        private void reportMissing(JsonParser expected) throws IOException {
+            if (done() || isIgnored()) {
+                expected.skipChildren();
+            } else {
+                report(Difference.Type.MISSING, expected.readValueAsTree(), null);
+            }
+        }
+
+        private void reportUnexpected(JsonParser actual) throws IOException {
+            if (!reportUnexpected || done() || isIgnored()) {
+                actual.skipChildren();
+            } else {
+                report(Difference.Type.UNEXPECTED, null, actual.readValueAsTree());
+            }
+        }
+    }
+
+    private static String nextField(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.FIELD_NAME ? parser.getCurrentName() : null;
+    }
+
+    private static TokenBuffer buffer(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    private static JsonParser replay(TokenBuffer buffer) throws IOException {
+        JsonParser parser = buffer.asParser();
+        parser.nextToken();
+        return parser;
+    }
+
+    /**
+     * Json type of a value token, number tokens of integers and floats are one kind.
+     */
+    private static JsonToken kind(JsonToken token) {
+        switch (token) {
+            case VALUE_NUMBER_FLOAT:
+                return JsonToken.VALUE_NUMBER_INT;
+            case VALUE_FALSE:
+                return JsonToken.VALUE_TRUE;
+            default:
+                return token;
+        }
+    }
+
+    private static boolean scalarsEqual(JsonParser expected, JsonParser actual) throws IOException {
+        JsonToken expectedToken = expected.currentToken();
+        JsonToken actualToken = actual.currentToken();
+        switch (expectedToken) {
+            case VALUE_STRING:
+                return expected.getText().equals(actual.getText());
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return numbersEqual(expected, actual);
+            case VALUE_EMBEDDED_OBJECT:
+                return Objects.equals(expected.getEmbeddedObject(), actual.getEmbeddedObject());
+            default:
+                return expectedToken == actualToken;
+        }
+    }
+
+    private static boolean numbersEqual(JsonParser expected, JsonParser actual) throws IOException {
+        if (expected.currentToken() == JsonToken.VALUE_NUMBER_INT
+            && actual.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            if (isLong(expected) && isLong(actual)) {
+                return expected.getLongValue() == actual.getLongValue();
+            }
+            return expected.getBigIntegerValue().equals(actual.getBigIntegerValue());
+        }
+        return expected.getDecimalValue().compareTo(actual.getDecimalValue()) == 0;
+    }
+
+    private static boolean isLong(JsonParser parser) throws IOException {
+        JsonParser.NumberType type = parser.getNumberType();
+        return type == JsonParser.NumberType.INT || type == JsonParser.NumberType.LONG;
+    }
+
+    /**
+     * Builder of JsonStreamDiff.
+     */
+    public static final class Builder {
+        private final List<PathGlob> ignored;
+        private boolean reportUnexpected;
+        private int maxDifferences;
+
+        private Builder() {
+            this.ignored = new ArrayList<>();
+            this.reportUnexpected = false;
+            this.maxDifferences = NO_LIMIT;
+        }
+
+        /**
+         * Skip values matching path patterns, e.g. /data/&#42;/updatedAt or /meta/**.
+         *
+         * @param pathPatterns JSON Pointer patterns
+         * @return this
+         */
+        public Builder ignoring(String... pathPatterns) {
+            for (String pattern : pathPatterns) {
+                this.ignored.add(new PathGlob(pattern));
+            }
+            return this;
+        }
+
+        /**
+         * Report fields and array elements that are present only in actual json, they are skipped by default.
+         *
+         * @return this
+         */
+        public Builder reportingUnexpected() {
+            this.reportUnexpected = true;
+            return this;
+        }
+
+        /**
+         * Stop reading after number of differences.
+         *
+         * @param maxDifferences positive number
+         * @return this
+         */
+        public Builder withMaxDifferences(int maxDifferences) {
+            if (maxDifferences < 1) {
+                throw new IllegalArgumentException("Max differences should be positive: " + maxDifferences);
+            }
+            this.maxDifferences = maxDifferences;
+            return this;
+        }
+
+        public JsonStreamDiff build() {
+            return new JsonStreamDiff(this);
+        }
+    }
+}
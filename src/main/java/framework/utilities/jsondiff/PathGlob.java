@@ -0,0 +1,94 @@
+package framework.utilities.jsondiff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import framework.utilities.WildCardPatternMatching;
+
+/**
+ * JSON Pointer pattern: "*" matches one segment, "**" any number of segments,
+ * other segments with "*" are wildcard patterns, e.g. /data/&#42;/updated*.
+ */
+final class PathGlob {
+
+    private static final String ANY_SEGMENT = "*";
+    private static final String ANY_SEGMENTS = "**";
+
+    private final String pattern;
+    private final String[] segments;
+    private final int[] indexes;
+
+    PathGlob(String pattern) {
+        if (!pattern.isEmpty() && pattern.charAt(0) != '/') {
+            throw new IllegalArgumentException("Path pattern should be a JSON Pointer starting with '/': " + pattern);
+        }
+        this.pattern = pattern;
+        List<String> parts = new ArrayList<>();
+        if (!pattern.isEmpty()) {
+            for (String part : pattern.substring(1).split("/", -1)) {
+                parts.add(part.replace("~1", "/").replace("~0", "~"));
+            }
+        }
+        this.segments = parts.toArray(new String[0]);
+        this.indexes = new int[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            indexes[i] = toIndex(segments[i]);
+        }
+    }
+
+    boolean matches(JsonPath path) {
+        return matches(path, 0, 0);
+    }
+
+    private boolean matches(JsonPath path, int segment, int depth) {
+        while (segment < segments.length) {
+            String expected = segments[segment];
+            if (ANY_SEGMENTS.equals(expected)) {
+                for (int skip = depth; skip <= path.depth(); skip++) {
+                    if (matches(path, segment + 1, skip)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            if (depth >= path.depth() || !matchesSegment(segment, path, depth)) {
+                return false;
+            }
+            segment++;
+            depth++;
+        }
+        return depth == path.depth();
+    }
+
+    private boolean matchesSegment(int segment, JsonPath path, int depth) {
+        String expected = segments[segment];
+        if (ANY_SEGMENT.equals(expected)) {
+            return true;
+        }
+        String name = path.name(depth);
+        if (name == null) {
+            return indexes[segment] == path.index(depth)
+                || expected.contains(ANY_SEGMENT) && WildCardPatternMatching.isMatch(
+                    Integer.toString(path.index(depth)), expected);
+        }
+        return expected.contains(ANY_SEGMENT) ? WildCardPatternMatching.isMatch(name, expected)
+            : expected.equals(name);
+    }
+
+    private static int toIndex(String segment) {
+        if (segment.isEmpty() || segment.length() > 9) {
+            return -1;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (segment.charAt(i) < '0' || segment.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(segment);
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,293 @@
+package framework.utilities.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arrival rate over time for {@link ArrivalRateScheduler}: when scenario iterations should start,
+ * no matter how long previous iterations take. Rates are iterations per second.
+ * Example
+ * <pre>
+ *      ArrivalProfile profile = ArrivalProfile.ramp(0, 200, 1, TimeUnit.MINUTES)
+ *          .then(ArrivalProfile.poisson(200, 10, TimeUnit.MINUTES));
+ * </pre>
+ */
+public abstract class ArrivalProfile {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private ArrivalProfile() {
+    }
+
+    /**
+     * Evenly spaced arrivals.
+     *
+     * @param rate iterations per second
+     * @param duration duration
+     * @param unit time unit of duration
+     * @return ArrivalProfile
+     */
+    public static ArrivalProfile constant(double rate, long duration, TimeUnit unit) {
+        return ramp(rate, rate, duration, unit);
+    }
+
+    /**
+     * Rate changes linearly from start rate to end rate.
+     *
+     * @param startRate iterations per second at the start
+     * @param endRate iterations per second at the end
+     * @param duration duration
+     * @param unit time unit of duration
+     * @return ArrivalProfile
+     */
+    public static ArrivalProfile ramp(double startRate, double endRate, long duration, TimeUnit unit) {
+        checkRate(startRate);
+        checkRate(endRate);
+        return new Ramp(startRate, endRate, checkDuration(duration, unit));
+    }
+
+    /**
+     * Rate grows by increment every step, e.g. 10, 20, 30 per second for 5 minutes each.
+     *
+     * @param startRate iterations per second of the first step
+     * @param increment rate increment of every next step
+     * @param steps number of steps
+     * @param stepDuration duration of one step
+     * @param unit time unit of step duration
+     * @return ArrivalProfile
+     */
+    public static ArrivalProfile steps(double startRate, double increment, int steps, long stepDuration,
+        TimeUnit unit) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Number of steps must be positive: " + steps);
+        }
+        ArrivalProfile[] phases = new ArrivalProfile[steps];
+        for (int i = 0; i < steps; i++) {
+            phases[i] = constant(startRate + increment * i, stepDuration, unit);
+        }
+        return new Sequence(Arrays.asList(phases));
+    }
+
+    /**
+     * Random arrivals with exponentially distributed intervals and given mean rate, as independent users do.
+     *
+     * @param rate mean iterations per second
+     * @param duration duration
+     * @param unit time unit of duration
+     * @return ArrivalProfile
+     */
+    public static ArrivalProfile poisson(double rate, long duration, TimeUnit unit) {
+        checkRate(rate);
+        return new Poisson(rate, checkDuration(duration, unit));
+    }
+
+    /**
+     * Run next profile after this one.
+     *
+     * @param next ArrivalProfile
+     * @return ArrivalProfile
+     */
+    public ArrivalProfile then(ArrivalProfile next) {
+        List<ArrivalProfile> phases = new ArrayList<>();
+        phases.add(this);
+        phases.add(next);
+        return new Sequence(phases);
+    }
+
+    public abstract long getDuration(TimeUnit unit);
+
+    /**
+     * Expected number of arrivals.
+     */
+    public abstract long getExpectedArrivals();
+
+    /**
+     * Create arrival times generator for one run.
+     */
+    abstract Schedule schedule(Random random);
+
+    private static void checkRate(double rate) {
+        if (rate < 0 || Double.isNaN(rate) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("Rate must be not negative: " + rate);
+        }
+    }
+
+    private static long checkDuration(long duration, TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        return unit.toNanos(duration);
+    }
+
+    /**
+     * Arrival times of one run.
+     */
+    interface Schedule {
+
+        /**
+         * Offset of next arrival from the start of the profile.
+         *
+         * @return nanoseconds, negative when profile is over
+         */
+        long nextNanos();
+    }
+
+    /**
+     * Arrival k is at time t where the integral of rate from 0 to t is k, rate(t) = start + (end - start) t / T.
+     */
+    private static final class Ramp extends ArrivalProfile {
+
+        private final double startRate;
+        private final double endRate;
+        private final long durationNanos;
+
+        Ramp(double startRate, double endRate, long durationNanos) {
+            this.startRate = startRate;
+            this.endRate = endRate;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getExpectedArrivals() {
+            return (long) ((startRate + endRate) / 2 * durationNanos / NANOS_PER_SECOND);
+        }
+
+        @Override
+        Schedule schedule(Random random) {
+            double seconds = durationNanos / NANOS_PER_SECOND;
+            double a = (endRate - startRate) / (2 * seconds);
+            double b = startRate;
+            return new Schedule() {
+                private long index;
+
+                @Override
+                public long nextNanos() {
+                    double k = index++;
+                    double time;
+                    if (Math.abs(a) < 1e-12) {
+                        time = b == 0 ? Double.MAX_VALUE : k / b;
+                    } else {
+                        double discriminant = b * b + 4 * a * k;
+                        time = discriminant < 0 ? Double.MAX_VALUE : (-b + Math.sqrt(discriminant)) / (2 * a);
+                    }
+                    long nanos = time >= seconds ? durationNanos : (long) (time * NANOS_PER_SECOND);
+                    return nanos < durationNanos ? nanos : -1;
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return startRate == endRate ? "constant " + startRate + "/s for " + getDuration(TimeUnit.SECONDS) + "s"
+                : "ramp " + startRate + "-" + endRate + "/s for " + getDuration(TimeUnit.SECONDS) + "s";
+        }
+    }
+
+    private static final class Poisson extends ArrivalProfile {
+
+        private final double rate;
+        private final long durationNanos;
+
+        Poisson(double rate, long durationNanos) {
+            this.rate = rate;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public long getDuration(TimeUnit unit) {
+            return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getExpectedArrivals() {
+            return (long) (rate * durationNanos / NANOS_PER_SECOND);
+        }
+
+        @Override
+        Schedule schedule(Random random) {
+            return new Schedule() {
+                private double time;
+
+                @Override
+                public long nextNanos() {
+                    if (rate == 0) {
+                        return -1;
+                    }
+                    time += -Math.log(1 - random.nextDouble()) / rate * NANOS_PER_SECOND;
+                    return time < durationNanos ? (long) time : -1;
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return "poisson " + rate + "/s for " + getDuration(TimeUnit.SECONDS) + "s";
+        }
+    }
+
+    private static final class Sequence extends ArrivalProfile {
+
+        private final List<ArrivalProfile> phases = new ArrayList<>();
+
+        Sequence(List<ArrivalProfile> profiles) {
+            for (ArrivalProfile profile : profiles) {
+                if (profile instanceof Sequence) {
+                    phases.addAll(((Sequence) profile).phases);
+                } else {
+                    phases.add(profile);
+                }
+            }
+        }
+
+        @Override
+        public long getDuration(TimeUnit unit) {
+            long nanos = 0;
+            for (ArrivalProfile phase : phases) {
+                nanos += phase.getDuration(TimeUnit.NANOSECONDS);
+            }
+            return unit.convert(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public long getExpectedArrivals() {
+            return phases.stream().mapToLong(ArrivalProfile::getExpectedArrivals).sum();
+        }
+
+        @Override
+        Schedule schedule(Random random) {
+            return new Schedule() {
+                private int phase;
+                private long offset;
+                private Schedule current = phases.get(0).schedule(random);
+
+                @Override
+                public long nextNanos() {
+                    while (true) {
+                        long next = current.nextNanos();
+                        if (next >= 0) {
+                            return offset + next;
+                        }
+                        if (++phase == phases.size()) {
+                            return -1;
+                        }
+                        offset += phases.get(phase - 1).getDuration(TimeUnit.NANOSECONDS);
+                        current = phases.get(phase).schedule(random);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return phases.toString();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package framework.utilities.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import framework.utilities.metrics.LatencyHistogram;
+
+/**
+ * Result of {@link ArrivalRateScheduler} run. Latency is measured from the intended start of iteration,
+ * so time an iteration waited for the scheduler or a free slot is included (no coordinated omission);
+ * service time is measured from the actual start.
+ */
+public final class ArrivalRateResult {
+
+    private final String name;
+    private final long expected;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile long durationNanos;
+    private volatile int peakInFlight;
+
+    ArrivalRateResult(String name, long expected) {
+        this.name = name;
+        this.expected = expected;
+    }
+
+    void scheduled(boolean isLate) {
+        scheduled.increment();
+        if (isLate) {
+            late.increment();
+        }
+    }
+
+    void missed() {
+        missed.increment();
+    }
+
+    void completed(long intendedNanos, long startNanos, long endNanos, Throwable error) {
+        latency.record(endNanos - intendedNanos, TimeUnit.NANOSECONDS);
+        serviceTime.record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+        completed.increment();
+        if (error != null) {
+            failures.increment();
+            errors.computeIfAbsent(error.getClass().getName(), key -> new LongAdder()).increment();
+        }
+    }
+
+    void finish(long durationNanos, int peakInFlight) {
+        this.durationNanos = durationNanos;
+        this.peakInFlight = peakInFlight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Number of arrivals the profile expects.
+     */
+    public long getExpected() {
+        return expected;
+    }
+
+    /**
+     * Number of started iterations.
+     */
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Number of arrivals that were not started, because max concurrency was reached or run was stopped.
+     */
+    public long getMissed() {
+        return missed.sum();
+    }
+
+    /**
+     * Number of iterations started later than the allowed lateness after their intended time.
+     */
+    public long getLate() {
+        return late.sum();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    /**
+     * Completed iterations per second.
+     */
+    public double getAchievedRate() {
+        return durationNanos == 0 ? 0 : getCompleted() * 1e9 / durationNanos;
+    }
+
+    /**
+     * Latency from intended start to the end of iteration.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Time from actual start to the end of iteration.
+     */
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    /**
+     * Number of failed iterations by exception class.
+     *
+     * @return Map sorted by class name
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> result = new TreeMap<>();
+        errors.forEach((type, count) -> result.put(type, count.sum()));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: expected=%d, scheduled=%d, completed=%d, failures=%d, missed=%d, late=%d, "
+                + "rate=%.2f/s, peakInFlight=%d, latency p50=%.3fms p99=%.3fms max=%dms, service p50=%.3fms "
+                + "p99=%.3fms", name, expected, getScheduled(), getCompleted(), getFailures(), getMissed(), getLate(),
+            getAchievedRate(), peakInFlight, latency.getPercentileMillis(50), latency.getPercentileMillis(99),
+            latency.getMax(TimeUnit.MILLISECONDS), serviceTime.getPercentileMillis(50),
+            serviceTime.getPercentileMillis(99));
+    }
+}
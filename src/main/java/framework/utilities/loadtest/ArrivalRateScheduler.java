@@ -0,0 +1,242 @@
+package framework.utilities.loadtest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.utilities.ExecutorHelper;
+import framework.utilities.metrics.MetricsRegistry;
+
+/**
+ * Open workload model: scenario iterations start at the rate of {@link ArrivalProfile}, whether previous
+ * iterations are finished or not, so slow responses don't reduce the load as with a fixed number of threads
+ * of {@link framework.utilities.factories.ThreadExecutorHelper}.
+ * Every iteration runs in its own (virtual, when java 21+ runtime is used) thread. Latency is measured from the
+ * intended start time and recorded into {@link MetricsRegistry} with method SCENARIO.
+ * When max concurrency is reached, arrival is missed instead of queued.
+ * Example
+ * <pre>
+ *      CardPaymentEndpoint cards = PaymentModule.getInstance().getCardPaymentGetway();
+ *      ArrivalRateResult result = ArrivalRateScheduler.newBuilder()
+ *          .withProfile(ArrivalProfile.ramp(10, 100, 5, TimeUnit.MINUTES))
+ *          .withMaxConcurrency(2000)
+ *          .build()
+ *          .run("card payments", () -> cards.get("/payments"));
+ * </pre>
+ * Endpoints don't change their request specification, so one endpoint can be shared by all iterations.
+ */
+public final class ArrivalRateScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String SCENARIO = "SCENARIO";
+    private static final int DEFAULT_MAX_CONCURRENCY = 10000;
+    private static final long DEFAULT_LATENESS_MILLIS = 10;
+    private static final long DEFAULT_DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final ArrivalProfile profile;
+    private final int maxConcurrency;
+    private final long latenessNanos;
+    private final long drainTimeoutNanos;
+    private final boolean virtualThreads;
+    private final Long seed;
+
+    private ArrivalRateScheduler(Builder builder) {
+        this.profile = builder.profile;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.latenessNanos = builder.latenessNanos;
+        this.drainTimeoutNanos = builder.drainTimeoutNanos;
+        this.virtualThreads = builder.virtualThreads;
+        this.seed = builder.seed;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Run scenario with arrival profile and wait until started iterations are finished or drain timeout is over.
+     * Calling thread schedules iterations, interrupt it to stop the run.
+     *
+     * @param name scenario name for metrics and logs
+     * @param scenario one iteration, e.g. call of endpoint method, exception fails iteration
+     * @return ArrivalRateResult
+     */
+    public ArrivalRateResult run(String name, Callable<?> scenario) {
+        ArrivalRateResult result = new ArrivalRateResult(name, profile.getExpectedArrivals());
+        ArrivalProfile.Schedule schedule = profile.schedule(seed == null ? new Random() : new Random(seed));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        ExecutorService executor = virtualThreads ? ExecutorHelper.newVirtualThreadPerTaskExecutor()
+            : Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("arrival-%d").setDaemon(true)
+            .build());
+        LOGGER.info("Run scenario [{}] with profile {}, expected iterations: {}", name, profile,
+            profile.getExpectedArrivals());
+        long start = System.nanoTime();
+        try {
+            for (long offset = schedule.nextNanos(); offset >= 0; offset = schedule.nextNanos()) {
+                long intended = start + offset;
+                if (!sleepUntil(intended)) {
+                    break;
+                }
+                if (inFlight.get() >= maxConcurrency) {
+                    result.missed();
+                    continue;
+                }
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                result.scheduled(System.nanoTime() - intended > latenessNanos);
+                try {
+                    executor.execute(() -> iteration(name, scenario, intended, inFlight, result));
+                } catch (RejectedExecutionException e) {
+                    inFlight.decrementAndGet();
+                    result.missed();
+                }
+            }
+            drain(inFlight);
+        } finally {
+            executor.shutdownNow();
+        }
+        result.finish(System.nanoTime() - start, peakInFlight.get());
+        if (result.getMissed() > 0 || result.getLate() > 0) {
+            LOGGER.warn("Scenario [{}] missed {} and started late {} iterations, increase max concurrency or "
+                + "check load generator resources", name, result.getMissed(), result.getLate());
+        }
+        LOGGER.info("Scenario finished: {}", result);
+        return result;
+    }
+
+    private static void iteration(String name, Callable<?> scenario, long intended, AtomicInteger inFlight,
+        ArrivalRateResult result) {
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            scenario.call();
+        } catch (Exception | AssertionError e) {
+            error = e;
+            LOGGER.debug("Scenario [{}] iteration failed", name, e);
+        } finally {
+            long end = System.nanoTime();
+            result.completed(intended, start, end, error);
+            MetricsRegistry.getInstance().record(SCENARIO, name, error == null ? 200 : 500, intended, end);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Park until deadline.
+     *
+     * @return false if thread was interrupted
+     */
+    private static boolean sleepUntil(long deadline) {
+        long wait;
+        while ((wait = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private void drain(AtomicInteger inFlight) {
+        long deadline = System.nanoTime() + drainTimeoutNanos;
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (inFlight.get() > 0) {
+            LOGGER.warn("{} iterations are not finished and are interrupted", inFlight.get());
+        }
+    }
+
+    public static final class Builder {
+        private ArrivalProfile profile;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+        private long latenessNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_LATENESS_MILLIS);
+        private long drainTimeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_DRAIN_TIMEOUT_SECONDS);
+        private boolean virtualThreads = ExecutorHelper.isVirtualThreadSupported();
+        private Long seed;
+
+        private Builder() {
+        }
+
+        public Builder withProfile(ArrivalProfile profile) {
+            this.profile = profile;
+            return this;
+        }
+
+        /**
+         * Define max number of iterations in flight, arrivals above it are missed. Default is 10000.
+         *
+         * @param maxConcurrency positive number
+         * @return this
+         */
+        public Builder withMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) {
+                throw new IllegalArgumentException("Max concurrency must be positive: " + maxConcurrency);
+            }
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        /**
+         * Define how late iteration may start before it is reported as late, default is 10 ms.
+         *
+         * @param lateness allowed lateness
+         * @param unit time unit
+         * @return this
+         */
+        public Builder withAllowedLateness(long lateness, TimeUnit unit) {
+            this.latenessNanos = unit.toNanos(lateness);
+            return this;
+        }
+
+        /**
+         * Define how long to wait for started iterations after the profile is over, default is 60 seconds.
+         *
+         * @param timeout timeout
+         * @param unit time unit
+         * @return this
+         */
+        public Builder withDrainTimeout(long timeout, TimeUnit unit) {
+            this.drainTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        /**
+         * Define random seed of poisson profile, to repeat the same arrivals.
+         *
+         * @param seed long
+         * @return this
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Define if iterations run on virtual threads, default is true on java 21+ runtime.
+         * Cached pool of platform threads is used otherwise.
+         *
+         * @param virtualThreads boolean
+         * @return this
+         */
+        public Builder usingVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public ArrivalRateScheduler build() {
+            if (profile == null) {
+                throw new IllegalArgumentException("Arrival profile must be not null");
+            }
+            return new ArrivalRateScheduler(this);
+        }
+    }
+}
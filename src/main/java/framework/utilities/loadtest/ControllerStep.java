@@ -0,0 +1,66 @@
+package framework.utilities.loadtest;
+
+import java.util.List;
+
+/**
+ * Simple, Loop or Transaction controller of jmeter plan. CSV data sets of controller scope read next row
+ * at the start of every iteration. Transaction time includes its timers, transaction fails when any of its
+ * samples failed.
+ */
+final class ControllerStep implements Step {
+
+    private final String name;
+    private final long loops;
+    private final boolean transaction;
+    private final List<CsvDataSet> dataSets;
+    private final List<Step> steps;
+    private final LoadTestResult result;
+
+    /**
+     * Create controller.
+     *
+     * @param loops number of iterations, negative to loop while user is running
+     * @param transaction record transaction of all iterations
+     */
+    ControllerStep(String name, long loops, boolean transaction, List<CsvDataSet> dataSets, List<Step> steps,
+        LoadTestResult result) {
+        this.name = name;
+        this.loops = loops;
+        this.transaction = transaction;
+        this.dataSets = dataSets;
+        this.steps = steps;
+        this.result = result;
+    }
+
+    @Override
+    public void execute(VirtualUser user) {
+        long start = System.nanoTime();
+        int failures = user.getFailures();
+        for (long i = 0; (loops < 0 || i < loops) && user.isRunning(); i++) {
+            iterate(dataSets, steps, user);
+        }
+        if (transaction) {
+            result.recordTransaction(name, start, System.nanoTime(), user.getFailures() == failures);
+        }
+    }
+
+    /**
+     * One iteration: next rows of data sets, then steps while user is running.
+     */
+    static void iterate(List<CsvDataSet> dataSets, List<Step> steps, VirtualUser user) {
+        for (CsvDataSet dataSet : dataSets) {
+            dataSet.next(user);
+        }
+        for (Step step : steps) {
+            if (!user.isRunning()) {
+                return;
+            }
+            step.execute(user);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + steps;
+    }
+}
@@ -0,0 +1,106 @@
+package framework.utilities.loadtest;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import framework.utilities.feeder.CsvFeeder;
+import framework.utilities.feeder.CsvFile;
+import framework.utilities.feeder.CsvRow;
+import framework.utilities.feeder.FeedStrategy;
+
+/**
+ * CSV Data Set Config: next row of the file is put into variables at the start of every iteration.
+ * File is looked up by its path first, then by its name in the data directory, so plans recorded with
+ * local paths run with files of jmeter/resources. File is memory mapped by {@link CsvFile}, rows are handed
+ * out by {@link CsvFeeder}, to all users in turn or to every user from the start (shareMode.thread).
+ * At the end of file rows are recycled, or user is stopped (stopThread), or variables are set to &lt;EOF&gt;.
+ */
+final class CsvDataSet {
+
+    private static final String EOF = "<EOF>";
+
+    private final String name;
+    private final List<String> variableNames;
+    private final CsvFeeder feeder;
+    private final boolean stopThread;
+
+    private CsvDataSet(String name, List<String> variableNames, CsvFeeder feeder, boolean stopThread) {
+        this.name = name;
+        this.variableNames = variableNames;
+        this.feeder = feeder;
+        this.stopThread = stopThread;
+    }
+
+    /**
+     * Index file of CSVDataSet element.
+     *
+     * @param config CSVDataSet element
+     * @param dataDirectory directory to look up file by name
+     * @return CsvDataSet
+     */
+    static CsvDataSet open(JmxNode config, Path dataDirectory) {
+        Path path = resolve(config.getString("filename"), dataDirectory);
+        String encoding = config.getString("fileEncoding").trim();
+        Charset charset = encoding.isEmpty() ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        String delimiter = config.getString("delimiter", ",");
+        char separator = delimiter.isEmpty() ? ',' : "\\t".equals(delimiter) ? '\t' : delimiter.charAt(0);
+        String names = config.getString("variableNames").trim();
+        CsvFile.Builder file = CsvFile.newBuilder().withPath(path).withCharset(charset).withDelimiter(separator)
+            .withQuotedData(config.getBoolean("quotedData", false));
+        if (names.isEmpty()) {
+            file.withHeader(true);
+        } else {
+            String[] columns = names.split(Pattern.quote(String.valueOf(separator)), -1);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columns[i].trim();
+            }
+            file.withColumns(columns).withHeader(config.getBoolean("ignoreFirstLine", false));
+        }
+        boolean perUser = "shareMode.thread".equals(config.getString("shareMode", "shareMode.all"));
+        CsvFeeder feeder = CsvFeeder.newBuilder().withFile(file.build())
+            .usingStrategy(perUser ? FeedStrategy.PER_THREAD : FeedStrategy.SEQUENTIAL)
+            .withRecycle(config.getBoolean("recycle", true)).build();
+        return new CsvDataSet(config.getName(), feeder.getFile().getColumns(), feeder,
+            config.getBoolean("stopThread", false));
+    }
+
+    /**
+     * Put next row into user variables, user takes rows on its own thread.
+     */
+    void next(VirtualUser user) {
+        CsvRow row = feeder.next();
+        if (row == null && stopThread) {
+            user.setFlow(VirtualUser.Flow.STOP_USER);
+            return;
+        }
+        for (int i = 0; i < variableNames.size(); i++) {
+            String value = row == null ? EOF : i < row.size() ? row.get(i) : "";
+            user.setVariable(variableNames.get(i).trim(), value);
+        }
+    }
+
+    private static Path resolve(String fileName, Path dataDirectory) {
+        Path path = Paths.get(fileName.trim());
+        if (Files.isRegularFile(path)) {
+            return path;
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+            .trim();
+        Path inDataDirectory = dataDirectory.resolve(name);
+        if (Files.isRegularFile(inDataDirectory)) {
+            return inDataDirectory;
+        }
+        throw new IllegalStateException("CSV data file not found: " + fileName + ", data directory: "
+            + dataDirectory.toAbsolutePath());
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + variableNames + ", rows: " + feeder.getFile().size();
+    }
+}
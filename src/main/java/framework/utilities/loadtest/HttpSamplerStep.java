@@ -0,0 +1,278 @@
+package framework.utilities.loadtest;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RedirectConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.cookie.CookieFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.baseclass.RestAssuredConfiguration;
+import framework.baseclass.apis.AbstractWebEndpoint;
+
+/**
+ * HTTP Request sampler of jmeter plan. Url, headers and body are templates compiled once, request is sent
+ * through the pooled client of {@link RestAssuredConfiguration} without url encoding, as recorded.
+ * Samplers that don't follow redirects share a second client instance on the same pool, because redirect
+ * settings are applied to the client and the default instance is used by all threads.
+ * Accept-Encoding header is not sent, responses are decompressed by rest assured.
+ */
+final class HttpSamplerStep implements Step {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String FORM = "application/x-www-form-urlencoded";
+    private static final String CONTENT_TYPE = "content-type";
+    private static final String ACCEPT_ENCODING = "accept-encoding";
+    private static final String HANDLE_REDIRECTS = "http.protocol.handle-redirects";
+    private static final AbstractWebEndpoint ENDPOINT = new AbstractWebEndpoint();
+    private static final RequestSpecification FOLLOW_REDIRECTS = baseSpecification(true);
+    private static final RequestSpecification NO_REDIRECTS = baseSpecification(false);
+
+    private final String label;
+    private final String method;
+    private final JmxTemplate protocol;
+    private final JmxTemplate domain;
+    private final JmxTemplate port;
+    private final JmxTemplate path;
+    private final Charset charset;
+    private final JmxTemplate rawBody;
+    private final List<Argument> arguments = new ArrayList<>();
+    private final List<String> headerNames = new ArrayList<>();
+    private final List<JmxTemplate> headerValues = new ArrayList<>();
+    private final JmxTemplate contentType;
+    private final RequestSpecification base;
+    private final List<JmxTemplate> timers;
+    private final List<SampleProcessor> extractors;
+    private final List<SampleProcessor> assertions;
+    private final VirtualUser.Flow onError;
+    private final LoadTestResult result;
+
+    HttpSamplerStep(JmxNode sampler, JmxCompiler.Scope scope, VirtualUser.Flow onError, LoadTestResult result) {
+        this.label = sampler.getName();
+        this.method = sampler.getString("HTTPSampler.method", "GET").trim().toUpperCase(Locale.ROOT);
+        this.protocol = JmxTemplate.compile(property(sampler, scope, "HTTPSampler.protocol"));
+        this.domain = JmxTemplate.compile(property(sampler, scope, "HTTPSampler.domain"));
+        this.port = JmxTemplate.compile(property(sampler, scope, "HTTPSampler.port"));
+        this.path = JmxTemplate.compile(property(sampler, scope, "HTTPSampler.path"));
+        String encoding = property(sampler, scope, "HTTPSampler.contentEncoding").trim();
+        this.charset = encoding.isEmpty() ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        List<JmxNode> values = argumentsOf(sampler);
+        if (sampler.getBoolean("HTTPSampler.postBodyRaw", false)) {
+            this.rawBody = JmxTemplate.compile(values.isEmpty() ? "" : values.get(0).getString("Argument.value"));
+        } else {
+            this.rawBody = null;
+            values.forEach(value -> arguments.add(new Argument(value)));
+        }
+        Map<String, JmxNode> headers = new LinkedHashMap<>();
+        for (JmxNode manager : scope.headerManagers) {
+            for (JmxNode header : manager.getNodes("HeaderManager.headers")) {
+                String name = header.getString("Header.name").trim();
+                headers.remove(name.toLowerCase(Locale.ROOT));
+                headers.put(name.toLowerCase(Locale.ROOT), header);
+            }
+        }
+        JmxNode contentTypeHeader = headers.remove(CONTENT_TYPE);
+        headers.remove(ACCEPT_ENCODING);
+        headers.values().forEach(header -> {
+            headerNames.add(header.getString("Header.name").trim());
+            headerValues.add(JmxTemplate.compile(header.getString("Header.value")));
+        });
+        String defaultContentType = rawBody == null && !arguments.isEmpty() && hasBody() ? FORM : "";
+        this.contentType = JmxTemplate.compile(contentTypeHeader == null ? defaultContentType
+            : contentTypeHeader.getString("Header.value"));
+        boolean followRedirects = sampler.getBoolean("HTTPSampler.follow_redirects", false)
+            || sampler.getBoolean("HTTPSampler.auto_redirects", false);
+        this.base = followRedirects ? FOLLOW_REDIRECTS : NO_REDIRECTS;
+        this.timers = new ArrayList<>(scope.timers);
+        this.extractors = new ArrayList<>(scope.extractors);
+        this.assertions = new ArrayList<>(scope.assertions);
+        this.onError = onError;
+        this.result = result;
+    }
+
+    private static RequestSpecification baseSpecification(boolean followRedirects) {
+        RestAssuredConfig config = RestAssuredConfiguration.instance().defaultConfig();
+        // a changed param drops the cached client, so the no-redirect config creates and keeps its own one
+        HttpClientConfig httpClient = followRedirects ? config.getHttpClientConfig()
+            : config.getHttpClientConfig().setParam(HANDLE_REDIRECTS, false).reuseHttpClientInstance();
+        return new RequestSpecBuilder()
+            .setConfig(config.httpClient(httpClient)
+                .redirect(RedirectConfig.redirectConfig().followRedirects(followRedirects))
+                .encoderConfig(config.getEncoderConfig().appendDefaultContentCharsetToContentTypeIfUndefined(false)))
+            .setUrlEncodingEnabled(false)
+            .build();
+    }
+
+    /**
+     * Sampler property, or property of HTTP Request Defaults in scope if sampler one is empty.
+     */
+    private static String property(JmxNode sampler, JmxCompiler.Scope scope, String name) {
+        String value = sampler.getString(name);
+        for (int i = scope.defaults.size() - 1; i >= 0 && value.trim().isEmpty(); i--) {
+            value = scope.defaults.get(i).getString(name);
+        }
+        return value;
+    }
+
+    private static List<JmxNode> argumentsOf(JmxNode sampler) {
+        JmxNode arguments = sampler.getNode("HTTPsampler.Arguments");
+        return arguments == null ? new ArrayList<>() : arguments.getNodes("Arguments.arguments");
+    }
+
+    private boolean hasBody() {
+        return !"GET".equals(method) && !"DELETE".equals(method) && !"HEAD".equals(method)
+            && !"OPTIONS".equals(method);
+    }
+
+    @Override
+    public void execute(VirtualUser user) {
+        for (JmxTemplate timer : timers) {
+            String delay = timer.evaluate(user).trim();
+            try {
+                user.pause(Long.parseLong(delay));
+            } catch (NumberFormatException e) {
+                LOGGER.debug("Timer delay [{}] of sample [{}] is not a number", delay, label);
+            }
+        }
+        if (!user.isRunning()) {
+            return;
+        }
+        String url = url(user);
+        RequestSpecBuilder request = new RequestSpecBuilder().addRequestSpecification(base);
+        for (int i = 0; i < headerNames.size(); i++) {
+            request.addHeader(headerNames.get(i), headerValues.get(i).evaluate(user));
+        }
+        String type = contentType.evaluate(user);
+        if (!type.isEmpty()) {
+            request.setContentType(type);
+        }
+        if (rawBody != null) {
+            request.setBody(rawBody.evaluate(user).getBytes(charset));
+        } else if (!arguments.isEmpty() && hasBody()) {
+            request.setBody(query(user).getBytes(charset));
+        }
+        CookieFilter cookies = user.getCookies();
+        if (cookies != null) {
+            request.addFilter(cookies);
+        }
+        SampleResult sample;
+        long start = System.nanoTime();
+        try {
+            Response response = ENDPOINT.sendRequest(request.build(), method, url);
+            sample = SampleResult.of(url, response);
+        } catch (Exception e) {
+            sample = SampleResult.failed(url, e);
+        }
+        long end = System.nanoTime();
+        process(sample, user);
+        String failure = sample.isSuccessful() ? null : sample.getFailureMessage();
+        result.recordSample(label, method, sample.getStatusCode(), start, end, failure);
+        if (failure != null) {
+            LOGGER.debug("User [{}] sample [{}] failed: {}", user.getNumber(), label, failure);
+            user.addFailure();
+            user.setFlow(onError);
+        }
+    }
+
+    private void process(SampleResult sample, VirtualUser user) {
+        for (SampleProcessor extractor : extractors) {
+            try {
+                extractor.process(sample, user);
+            } catch (RuntimeException e) {
+                sample.fail("Extractor failed: " + e);
+            }
+        }
+        for (SampleProcessor assertion : assertions) {
+            assertion.process(sample, user);
+        }
+    }
+
+    private String url(VirtualUser user) {
+        String target = path.evaluate(user).trim();
+        StringBuilder url = new StringBuilder();
+        if (!target.startsWith("http://") && !target.startsWith("https://")) {
+            String portNumber = port.evaluate(user).trim();
+            String scheme = protocol.evaluate(user).trim().toLowerCase(Locale.ROOT);
+            if (scheme.isEmpty()) {
+                scheme = "443".equals(portNumber) ? "https" : "http";
+            }
+            url.append(scheme).append("://").append(domain.evaluate(user).trim());
+            if (!portNumber.isEmpty() && !("http".equals(scheme) && "80".equals(portNumber))
+                && !("https".equals(scheme) && "443".equals(portNumber))) {
+                url.append(':').append(portNumber);
+            }
+            if (!target.startsWith("/")) {
+                url.append('/');
+            }
+        }
+        url.append(target);
+        if (!arguments.isEmpty() && !hasBody()) {
+            url.append(target.indexOf('?') < 0 ? '?' : '&').append(query(user));
+        }
+        return url.toString();
+    }
+
+    private String query(VirtualUser user) {
+        StringBuilder query = new StringBuilder();
+        for (Argument argument : arguments) {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            argument.appendTo(query, user, charset);
+        }
+        return query.toString();
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + label;
+    }
+
+    /**
+     * Query or form parameter of sampler.
+     */
+    private static final class Argument {
+
+        private final JmxTemplate name;
+        private final JmxTemplate value;
+        private final boolean encode;
+        private final boolean useEquals;
+
+        Argument(JmxNode node) {
+            this.name = JmxTemplate.compile(node.getString("Argument.name"));
+            this.value = JmxTemplate.compile(node.getString("Argument.value"));
+            this.encode = node.getBoolean("HTTPArgument.always_encode", false);
+            this.useEquals = node.getBoolean("HTTPArgument.use_equals", true);
+        }
+
+        void appendTo(StringBuilder query, VirtualUser user, Charset charset) {
+            String argumentName = name.evaluate(user);
+            String argumentValue = value.evaluate(user);
+            query.append(encode ? encode(argumentName, charset) : argumentName);
+            if (useEquals || !argumentValue.isEmpty()) {
+                query.append('=');
+            }
+            query.append(encode ? encode(argumentValue, charset) : argumentValue);
+        }
+
+        private static String encode(String text, Charset charset) {
+            try {
+                return URLEncoder.encode(text, charset.name());
+            } catch (UnsupportedEncodingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package framework.utilities.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compile parsed plan into steps for one run. Config elements (headers, defaults, timers, extractors,
+ * assertions, CSV data sets and cookie manager) apply to samplers of their level and below, elements
+ * under a sampler apply to that sampler only. CSV files are opened once per run and shared by thread groups.
+ */
+final class JmxCompiler {
+
+    static final String TEST_PLAN = "TestPlan";
+    static final String THREAD_GROUP = "ThreadGroup";
+    static final String STEPPING_THREAD_GROUP = "kg.apc.jmeter.threads.SteppingThreadGroup";
+
+    private static final String SAMPLER = "HTTPSamplerProxy";
+    private static final String HEADER_MANAGER = "HeaderManager";
+    private static final String DEFAULTS = "ConfigTestElement";
+    private static final String TIMER = "ConstantTimer";
+    private static final String REGEX_EXTRACTOR = "RegexExtractor";
+    private static final String BOUNDARY_EXTRACTOR = "BoundaryExtractor";
+    private static final String ASSERTION = "ResponseAssertion";
+    private static final String CSV_DATA_SET = "CSVDataSet";
+    private static final String COOKIE_MANAGER = "CookieManager";
+    private static final String ARGUMENTS = "Arguments";
+    private static final String GENERIC_CONTROLLER = "GenericController";
+    private static final String LOOP_CONTROLLER = "LoopController";
+    private static final String TRANSACTION_CONTROLLER = "TransactionController";
+    private static final Set<String> SUPPORTED = new HashSet<>(Arrays.asList(TEST_PLAN, THREAD_GROUP,
+        STEPPING_THREAD_GROUP, SAMPLER, HEADER_MANAGER, DEFAULTS, TIMER, REGEX_EXTRACTOR, BOUNDARY_EXTRACTOR,
+        ASSERTION, CSV_DATA_SET, COOKIE_MANAGER, ARGUMENTS, GENERIC_CONTROLLER, LOOP_CONTROLLER,
+        TRANSACTION_CONTROLLER));
+    // listeners, results are collected by the engine
+    private static final Set<String> IGNORED = new HashSet<>(Arrays.asList("ResultCollector", "Summariser"));
+
+    private final Path dataDirectory;
+    private final VirtualUser bootstrap;
+    private final LoadTestResult result;
+    private final Map<JmxNode, CsvDataSet> dataSets = new IdentityHashMap<>();
+    private VirtualUser.Flow onError = VirtualUser.Flow.CONTINUE;
+
+    /**
+     * Create compiler.
+     *
+     * @param dataDirectory directory of CSV files
+     * @param properties properties for __P function of thread group settings
+     * @param result result samples are recorded to
+     */
+    JmxCompiler(Path dataDirectory, Map<String, String> properties, LoadTestResult result) {
+        this.dataDirectory = dataDirectory;
+        this.bootstrap = new VirtualUser(0, properties, System.nanoTime() + Long.MAX_VALUE / 2,
+            new AtomicBoolean());
+        this.result = result;
+    }
+
+    /**
+     * Check if element is executed by the engine, listeners are not reported as unsupported.
+     */
+    static boolean isSupported(String type) {
+        return SUPPORTED.contains(type) || IGNORED.contains(type);
+    }
+
+    static boolean isThreadGroup(String type) {
+        return THREAD_GROUP.equals(type) || STEPPING_THREAD_GROUP.equals(type);
+    }
+
+    /**
+     * Compile thread group of test plan.
+     */
+    ThreadGroupPlan compile(JmxNode testPlan, JmxNode threadGroup) {
+        onError = onError(threadGroup.getString("ThreadGroup.on_sample_error"));
+        List<CsvDataSet> iterationData = new ArrayList<>();
+        Scope planScope = scope(new Scope(), testPlan.getChildren(), iterationData);
+        Scope scope = scope(planScope, threadGroup.getChildren(), iterationData);
+        List<Step> steps = steps(threadGroup.getChildren(), scope, iterationData);
+
+        List<String> variableNames = new ArrayList<>();
+        List<JmxTemplate> variableValues = new ArrayList<>();
+        List<JmxNode> variables = new ArrayList<>();
+        if (testPlan.getNode("TestPlan.user_defined_variables") != null) {
+            variables.add(testPlan.getNode("TestPlan.user_defined_variables"));
+        }
+        variables.addAll(enabled(testPlan.getChildren(), ARGUMENTS));
+        variables.addAll(enabled(threadGroup.getChildren(), ARGUMENTS));
+        for (JmxNode arguments : variables) {
+            for (JmxNode argument : arguments.getNodes("Arguments.arguments")) {
+                variableNames.add(argument.getString("Argument.name"));
+                variableValues.add(JmxTemplate.compile(argument.getString("Argument.value")));
+            }
+        }
+        JmxNode cookieManager = null;
+        for (JmxNode manager : enabled(testPlan.getChildren(), COOKIE_MANAGER)) {
+            cookieManager = manager;
+        }
+        for (JmxNode manager : enabled(threadGroup.getChildren(), COOKIE_MANAGER)) {
+            cookieManager = manager;
+        }
+        JmxNode mainController = threadGroup.getNode("ThreadGroup.main_controller");
+        long loops = mainController == null ? 1 : number(mainController, "LoopController.loops", 1);
+        return new ThreadGroupPlan(threadGroup.getName(), schedule(threadGroup), loops, variableNames,
+            variableValues, cookieManager, iterationData, steps);
+    }
+
+    private long[][] schedule(JmxNode threadGroup) {
+        int users = (int) number(threadGroup, "ThreadGroup.num_threads", 1);
+        if (STEPPING_THREAD_GROUP.equals(threadGroup.getType())) {
+            return ThreadGroupPlan.stepping(users, seconds(threadGroup, "Threads initial delay"),
+                (int) number(threadGroup, "Start users count burst", 0),
+                (int) number(threadGroup, "Start users count", 1), seconds(threadGroup, "Start users period"),
+                seconds(threadGroup, "rampUp"), seconds(threadGroup, "flighttime"),
+                (int) number(threadGroup, "Stop users count", 1), seconds(threadGroup, "Stop users period"));
+        }
+        boolean scheduler = threadGroup.getBoolean("ThreadGroup.scheduler", false);
+        return ThreadGroupPlan.rampUp(users, scheduler ? seconds(threadGroup, "ThreadGroup.delay") : 0,
+            seconds(threadGroup, "ThreadGroup.ramp_time"),
+            scheduler ? seconds(threadGroup, "ThreadGroup.duration") : 0);
+    }
+
+    /**
+     * Scope of elements: parent scope with config elements of this level.
+     */
+    private Scope scope(Scope parent, List<JmxNode> elements, List<CsvDataSet> iterationData) {
+        Scope scope = new Scope(parent);
+        for (JmxNode element : elements) {
+            if (!element.isEnabled()) {
+                continue;
+            }
+            switch (element.getType()) {
+                case HEADER_MANAGER:
+                    scope.headerManagers.add(element);
+                    break;
+                case DEFAULTS:
+                    scope.defaults.add(element);
+                    break;
+                case TIMER:
+                    scope.timers.add(JmxTemplate.compile(element.getString("ConstantTimer.delay")));
+                    break;
+                case REGEX_EXTRACTOR:
+                    scope.extractors.add(JmxExtractors.regex(element));
+                    break;
+                case BOUNDARY_EXTRACTOR:
+                    scope.extractors.add(JmxExtractors.boundary(element));
+                    break;
+                case ASSERTION:
+                    scope.assertions.add(new ResponseAssertion(element));
+                    break;
+                case CSV_DATA_SET:
+                    iterationData.add(dataSets.computeIfAbsent(element,
+                        config -> CsvDataSet.open(config, dataDirectory)));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return scope;
+    }
+
+    private List<Step> steps(List<JmxNode> elements, Scope scope, List<CsvDataSet> iterationData) {
+        List<Step> steps = new ArrayList<>();
+        for (JmxNode element : elements) {
+            if (!element.isEnabled()) {
+                continue;
+            }
+            switch (element.getType()) {
+                case SAMPLER:
+                    steps.add(new HttpSamplerStep(element, scope(scope, element.getChildren(), iterationData),
+                        onError, result));
+                    break;
+                case GENERIC_CONTROLLER:
+                case LOOP_CONTROLLER:
+                case TRANSACTION_CONTROLLER:
+                    steps.add(controller(element, scope));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return steps;
+    }
+
+    private Step controller(JmxNode controller, Scope parent) {
+        List<CsvDataSet> iterationData = new ArrayList<>();
+        Scope scope = scope(parent, controller.getChildren(), iterationData);
+        List<Step> steps = steps(controller.getChildren(), scope, iterationData);
+        long loops = LOOP_CONTROLLER.equals(controller.getType())
+            ? number(controller, "LoopController.loops", 1) : 1;
+        return new ControllerStep(controller.getName(), loops,
+            TRANSACTION_CONTROLLER.equals(controller.getType()), iterationData, steps, result);
+    }
+
+    private static List<JmxNode> enabled(List<JmxNode> elements, String type) {
+        List<JmxNode> result = new ArrayList<>();
+        for (JmxNode element : elements) {
+            if (element.isEnabled() && type.equals(element.getType())) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number property, functions such as ${__P(users,10)} are evaluated.
+     */
+    private long number(JmxNode node, String property, long defaultValue) {
+        String value = JmxTemplate.compile(node.getString(property)).evaluate(bootstrap).trim();
+        try {
+            return value.isEmpty() ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Property " + property + " of " + node + " is not a number: " + value,
+                e);
+        }
+    }
+
+    private long seconds(JmxNode node, String property) {
+        return TimeUnit.SECONDS.toMillis(number(node, property, 0));
+    }
+
+    private static VirtualUser.Flow onError(String action) {
+        switch (action.trim()) {
+            case "startnextloop":
+                return VirtualUser.Flow.START_NEXT_ITERATION;
+            case "stopthread":
+                return VirtualUser.Flow.STOP_USER;
+            case "stoptest":
+            case "stoptestnow":
+                return VirtualUser.Flow.STOP_TEST;
+            default:
+                return VirtualUser.Flow.CONTINUE;
+        }
+    }
+
+    /**
+     * Config elements that apply to a sampler, outer ones first.
+     */
+    static final class Scope {
+
+        final List<JmxNode> headerManagers;
+        final List<JmxNode> defaults;
+        final List<JmxTemplate> timers;
+        final List<SampleProcessor> extractors;
+        final List<SampleProcessor> assertions;
+
+        private Scope() {
+            this.headerManagers = new ArrayList<>();
+            this.defaults = new ArrayList<>();
+            this.timers = new ArrayList<>();
+            this.extractors = new ArrayList<>();
+            this.assertions = new ArrayList<>();
+        }
+
+        private Scope(Scope parent) {
+            this.headerManagers = new ArrayList<>(parent.headerManagers);
+            this.defaults = new ArrayList<>(parent.defaults);
+            this.timers = new ArrayList<>(parent.timers);
+            this.extractors = new ArrayList<>(parent.extractors);
+            this.assertions = new ArrayList<>(parent.assertions);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package framework.utilities.loadtest;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import framework.pageobject.api.correlation.Extractor;
+import framework.pageobject.api.correlation.Extractors;
+import framework.pageobject.api.correlation.RegexExtractor;
+
+/**
+ * RegexExtractor and BoundaryExtractor of jmeter plan, run by extractors of correlation engine over response
+ * bytes. Regular expression is compiled once when plan is loaded, boundaries with variables are compiled once
+ * per value by {@link Extractors} cache.
+ * Match number 1..n takes n-th match, 0 takes random match, negative takes all matches into
+ * refname_1..refname_n and refname_matchNr. Not numeric match number, e.g. $1$, takes the first match.
+ * When nothing is found, default value is set if it is not empty or default_empty_value is set.
+ */
+final class JmxExtractors {
+
+    private JmxExtractors() {
+    }
+
+    static SampleProcessor regex(JmxNode node) {
+        return new RegexProcessor(node);
+    }
+
+    static SampleProcessor boundary(JmxNode node) {
+        return new BoundaryProcessor(node);
+    }
+
+    /**
+     * Part of sample the value is extracted from, useHeaders property.
+     */
+    enum Field {
+        BODY, HEADERS, URL, CODE, MESSAGE;
+
+        static Field parse(String useHeaders) {
+            switch (useHeaders.trim()) {
+                case "true":
+                    return HEADERS;
+                case "URL":
+                    return URL;
+                case "code":
+                    return CODE;
+                case "message":
+                    return MESSAGE;
+                default:
+                    return BODY;
+            }
+        }
+
+        /**
+         * Body bytes, or text of other field as UTF-8.
+         */
+        byte[] bytesOf(SampleResult result) {
+            return this == BODY ? result.getBodyBytes() : of(result).getBytes(StandardCharsets.UTF_8);
+        }
+
+        Charset charsetOf(SampleResult result) {
+            return this == BODY ? result.getCharset() : StandardCharsets.UTF_8;
+        }
+
+        String of(SampleResult result) {
+            switch (this) {
+                case HEADERS:
+                    return result.getHeaders();
+                case URL:
+                    return result.getUrl();
+                case CODE:
+                    return Integer.toString(result.getStatusCode());
+                case MESSAGE:
+                    return result.getStatusMessage();
+                default:
+                    return result.getBody();
+            }
+        }
+    }
+
+    private abstract static class AbstractExtractor implements SampleProcessor {
+
+        final String refName;
+        final JmxTemplate defaultValue;
+        final boolean defaultEmpty;
+        final int matchNumber;
+        final Field field;
+
+        AbstractExtractor(JmxNode node, String prefix) {
+            this.refName = node.getString(prefix + ".refname").trim();
+            this.defaultValue = JmxTemplate.compile(node.getString(prefix + ".default"));
+            this.defaultEmpty = node.getBoolean(prefix + ".default_empty_value", false);
+            this.matchNumber = (int) node.getLong(prefix + ".match_number", 1);
+            this.field = Field.parse(node.getString(prefix + ".useHeaders", "false"));
+        }
+
+        /**
+         * Number of matches to look for, 0 for all.
+         */
+        int limit() {
+            return matchNumber > 0 ? matchNumber : 0;
+        }
+
+        /**
+         * Index of the selected match, -1 if there is no such match.
+         */
+        int select(int found) {
+            if (matchNumber == 0) {
+                return found == 0 ? -1 : ThreadLocalRandom.current().nextInt(found);
+            }
+            return matchNumber <= found ? matchNumber - 1 : -1;
+        }
+
+        /**
+         * Set refName_matchNr and remove refName_n values left by a previous sample with more matches.
+         */
+        void setMatchCount(VirtualUser user, int found) {
+            String previous = user.getVariable(refName + "_matchNr");
+            int stale = 0;
+            try {
+                stale = previous == null ? 0 : Integer.parseInt(previous);
+            } catch (NumberFormatException e) {
+                // value was not set by extractor, there is nothing to remove
+            }
+            for (int i = found + 1; i <= stale; i++) {
+                user.removeVariable(refName + "_" + i);
+            }
+            user.setVariable(refName + "_matchNr", Integer.toString(found));
+        }
+
+        void setDefault(VirtualUser user) {
+            String value = defaultValue.evaluate(user);
+            if (!value.isEmpty() || defaultEmpty) {
+                user.setVariable(refName, value);
+            }
+        }
+    }
+
+    private static final class RegexProcessor extends AbstractExtractor {
+
+        private static final Pattern GROUP = Pattern.compile("\\$(\\d+)\\$");
+
+        private final RegexExtractor extractor;
+        private final List<Object> template = new ArrayList<>();
+
+        RegexProcessor(JmxNode node) {
+            super(node, "RegexExtractor");
+            this.extractor = Extractors.regex(node.getString("RegexExtractor.regex"), 0);
+            String text = node.getString("RegexExtractor.template", "$1$");
+            Matcher groups = GROUP.matcher(text);
+            int position = 0;
+            while (groups.find()) {
+                if (groups.start() > position) {
+                    template.add(text.substring(position, groups.start()));
+                }
+                template.add(Integer.valueOf(groups.group(1)));
+                position = groups.end();
+            }
+            if (position < text.length()) {
+                template.add(text.substring(position));
+            }
+        }
+
+        @Override
+        public void process(SampleResult result, VirtualUser user) {
+            List<String[]> matches = extractor.findGroups(field.bytesOf(result), field.charsetOf(result), limit());
+            if (matchNumber < 0) {
+                setMatchCount(user, matches.size());
+                for (int i = 0; i < matches.size(); i++) {
+                    user.setVariable(refName + "_" + (i + 1), apply(matches.get(i)));
+                }
+                if (matches.isEmpty()) {
+                    setDefault(user);
+                }
+                return;
+            }
+            int selected = select(matches.size());
+            if (selected < 0) {
+                setDefault(user);
+                return;
+            }
+            String[] groups = matches.get(selected);
+            user.setVariable(refName, apply(groups));
+            user.setVariable(refName + "_g", Integer.toString(groups.length - 1));
+            for (int i = 0; i < groups.length; i++) {
+                user.setVariable(refName + "_g" + i, groups[i] == null ? "" : groups[i]);
+            }
+        }
+
+        private String apply(String[] groups) {
+            StringBuilder value = new StringBuilder();
+            for (Object part : template) {
+                if (part instanceof Integer) {
+                    int group = (Integer) part;
+                    if (group < groups.length && groups[group] != null) {
+                        value.append(groups[group]);
+                    }
+                } else {
+                    value.append(part);
+                }
+            }
+            return value.toString();
+        }
+    }
+
+    private static final class BoundaryProcessor extends AbstractExtractor {
+
+        private final JmxTemplate left;
+        private final JmxTemplate right;
+
+        BoundaryProcessor(JmxNode node) {
+            super(node, "BoundaryExtractor");
+            this.left = JmxTemplate.compile(node.getString("BoundaryExtractor.lboundary"));
+            this.right = JmxTemplate.compile(node.getString("BoundaryExtractor.rboundary"));
+        }
+
+        @Override
+        public void process(SampleResult result, VirtualUser user) {
+            Extractor extractor = Extractors.boundary(left.evaluate(user), right.evaluate(user));
+            List<String> matches = extractor.extract(field.bytesOf(result), field.charsetOf(result), limit());
+            if (matchNumber < 0) {
+                setMatchCount(user, matches.size());
+                for (int i = 0; i < matches.size(); i++) {
+                    user.setVariable(refName + "_" + (i + 1), matches.get(i));
+                }
+                if (matches.isEmpty()) {
+                    setDefault(user);
+                }
+                return;
+            }
+            int selected = select(matches.size());
+            if (selected < 0) {
+                setDefault(user);
+            } else {
+                user.setVariable(refName, matches.get(selected));
+            }
+        }
+    }
+}
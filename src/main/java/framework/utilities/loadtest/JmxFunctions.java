@@ -0,0 +1,113 @@
+package framework.utilities.loadtest;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Jmeter functions used by the plans: __time, __P, __property, __Random, __RandomString, __urlencode, __UUID,
+ * __threadNum. Result is stored into variable when variable name argument is set.
+ */
+final class JmxFunctions {
+
+    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+    private static final Map<String, Function> FUNCTIONS = new HashMap<>();
+    private static final Map<String, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    static {
+        register("time", 1, (args, user) -> time(arg(args, 0)));
+        register("P", -1,
+            (args, user) -> user.getProperty(arg(args, 0).trim(), args.size() > 1 ? args.get(1) : "1"));
+        register("property", 1, (args, user) -> user.getProperty(arg(args, 0).trim(), arg(args, 2)));
+        register("Random", 2, (args, user) -> Long.toString(
+            ThreadLocalRandom.current().nextLong(parseLong(arg(args, 0)), parseLong(arg(args, 1)) + 1)));
+        register("RandomString", 2, (args, user) -> randomString((int) parseLong(arg(args, 0)), arg(args, 1)));
+        register("urlencode", -1, (args, user) -> urlEncode(arg(args, 0)));
+        register("UUID", -1, (args, user) -> UUID.randomUUID().toString());
+        register("threadNum", -1, (args, user) -> Integer.toString(user.getNumber()));
+    }
+
+    private JmxFunctions() {
+    }
+
+    /**
+     * Function of jmeter plan.
+     */
+    interface Function {
+        String apply(List<String> args, VirtualUser user);
+    }
+
+    static Function get(String name) {
+        return FUNCTIONS.get(name);
+    }
+
+    /**
+     * Register function.
+     *
+     * @param variableArgument index of argument with variable name to store result, -1 if function has none
+     */
+    private static void register(String name, int variableArgument, Function function) {
+        FUNCTIONS.put(name, new Function() {
+            @Override
+            public String apply(List<String> args, VirtualUser user) {
+                String value = function.apply(args, user);
+                String variable = variableArgument < 0 ? "" : arg(args, variableArgument).trim();
+                if (!variable.isEmpty()) {
+                    user.setVariable(variable, value);
+                }
+                return value;
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        });
+    }
+
+    private static String arg(List<String> args, int index) {
+        return index < args.size() ? args.get(index) : "";
+    }
+
+    private static long parseLong(String value) {
+        return Long.parseLong(value.trim());
+    }
+
+    private static String time(String format) {
+        long now = System.currentTimeMillis();
+        String pattern = format.trim();
+        if (pattern.isEmpty()) {
+            return Long.toString(now);
+        }
+        if (pattern.startsWith("/")) {
+            return Long.toString(now / parseLong(pattern.substring(1)));
+        }
+        return FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern).format(ZonedDateTime.now());
+    }
+
+    private static String randomString(int length, String chars) {
+        String alphabet = chars.isEmpty() ? ALPHANUMERIC : chars;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return result.toString();
+    }
+
+    private static String urlEncode(String text) {
+        try {
+            return URLEncoder.encode(text, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package framework.utilities.loadtest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.utilities.ExecutorHelper;
+
+/**
+ * Run jmeter test plans without jmeter: every jmeter thread is a virtual user running on its own
+ * (virtual, when java 21+ runtime is used) thread, requests go through the pooled rest assured client,
+ * response times are recorded into {@link framework.utilities.metrics.MetricsRegistry}.
+ * Supported elements: Thread Group, Stepping Thread Group, HTTP Request, HTTP Request Defaults, HTTP Header
+ * Manager, HTTP Cookie Manager, CSV Data Set Config, User Defined Variables, Constant Timer, Regular Expression
+ * Extractor, Boundary Extractor, Response Assertion, Simple, Loop and Transaction controllers.
+ * Other elements are skipped with a warning.
+ * Example
+ * <pre>
+ *      LoadTestResult result = JmxLoadEngine.newBuilder()
+ *          .withPlan(JmxPlan.load("jmeter/TS03_WeeklyTimeCard_ByProject.jmx"))
+ *          .withVariable("URL", "qa.bqecore.com")
+ *          .withDuration(10, TimeUnit.MINUTES)
+ *          .build()
+ *          .run();
+ * </pre>
+ */
+public final class JmxLoadEngine {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String DEFAULT_DATA_DIRECTORY = "jmeter/resources";
+    private static final long START_POLL_MILLIS = 100;
+
+    private final JmxPlan plan;
+    private final Path dataDirectory;
+    private final Map<String, String> properties;
+    private final Map<String, String> variables;
+    private final List<String> threadGroups;
+    private final long durationNanos;
+    private final boolean virtualThreads;
+
+    private JmxLoadEngine(Builder builder) {
+        this.plan = builder.plan;
+        this.dataDirectory = builder.dataDirectory;
+        this.properties = Collections.unmodifiableMap(new HashMap<>(builder.properties));
+        this.variables = Collections.unmodifiableMap(new LinkedHashMap<>(builder.variables));
+        this.threadGroups = new ArrayList<>(builder.threadGroups);
+        this.durationNanos = builder.durationNanos;
+        this.virtualThreads = builder.virtualThreads;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Run plan and wait until all users are finished.
+     *
+     * @return LoadTestResult
+     */
+    public LoadTestResult run() {
+        if (!plan.getUnsupportedElements().isEmpty()) {
+            LOGGER.warn("Plan [{}] elements are not supported and skipped: {}", plan.getName(),
+                plan.getUnsupportedElements());
+        }
+        LoadTestResult result = new LoadTestResult(plan.getUnsupportedElements());
+        JmxCompiler compiler = new JmxCompiler(dataDirectory, properties, result);
+        List<ThreadGroupPlan> groups = new ArrayList<>();
+        for (JmxNode threadGroup : plan.getThreadGroups()) {
+            if (threadGroups.isEmpty() || threadGroups.contains(threadGroup.getName())) {
+                ThreadGroupPlan group = compiler.compile(plan.getTestPlan(), threadGroup);
+                if (group.isEndless() && durationNanos == Long.MAX_VALUE) {
+                    LOGGER.warn("Thread group [{}] loops forever and run has no duration", group.getName());
+                }
+                groups.add(group);
+            }
+        }
+        int users = groups.stream().mapToInt(ThreadGroupPlan::getUsers).sum();
+        LOGGER.info("Run plan [{}]: {} users, thread groups: {}", plan.getName(), users, groups);
+
+        AtomicBoolean testStopped = new AtomicBoolean();
+        ExecutorService executor = virtualThreads ? ExecutorHelper.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(Math.max(1, users),
+                new ThreadFactoryBuilder().setNameFormat("jmx-user-%d").setDaemon(true).build());
+        long start = System.nanoTime();
+        long end = durationNanos == Long.MAX_VALUE ? start + Long.MAX_VALUE / 2 : start + durationNanos;
+        List<Future<?>> futures = new ArrayList<>(users);
+        for (ThreadGroupPlan group : groups) {
+            for (int i = 0; i < group.getUsers(); i++) {
+                long startNanos = start + TimeUnit.MILLISECONDS.toNanos(group.getStartMillis(i));
+                long stopMillis = group.getStopMillis(i);
+                long deadline = stopMillis == ThreadGroupPlan.NO_STOP ? end
+                    : Math.min(end, start + TimeUnit.MILLISECONDS.toNanos(stopMillis));
+                VirtualUser user = new VirtualUser(i + 1, properties, deadline, testStopped);
+                futures.add(executor.submit(() -> {
+                    if (awaitStart(startNanos, deadline, testStopped)) {
+                        result.userStarted();
+                        group.run(user, variables);
+                    }
+                }));
+            }
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            testStopped.set(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            testStopped.set(true);
+            LOGGER.error("Virtual user failed, test is stopped", e.getCause());
+        } finally {
+            ExecutorHelper.stopExecutor(executor);
+        }
+        result.finish(System.nanoTime() - start);
+        LOGGER.info("Plan [{}] finished: {}", plan.getName(), result);
+        return result;
+    }
+
+    /**
+     * Wait for user start time, polling so that stopped test is noticed.
+     *
+     * @return true if user should start
+     */
+    private static boolean awaitStart(long startNanos, long deadline, AtomicBoolean testStopped) {
+        try {
+            long wait;
+            while ((wait = startNanos - System.nanoTime()) > 0 && !testStopped.get()) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(wait, TimeUnit.MILLISECONDS.toNanos(START_POLL_MILLIS)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return !testStopped.get() && System.nanoTime() - deadline < 0;
+    }
+
+    public static final class Builder {
+        private JmxPlan plan;
+        private Path dataDirectory = Paths.get(DEFAULT_DATA_DIRECTORY);
+        private final Map<String, String> properties = new HashMap<>();
+        private final Map<String, String> variables = new LinkedHashMap<>();
+        private final List<String> threadGroups = new ArrayList<>();
+        private long durationNanos = Long.MAX_VALUE;
+        private boolean virtualThreads = ExecutorHelper.isVirtualThreadSupported();
+
+        private Builder() {
+        }
+
+        public Builder withPlan(JmxPlan plan) {
+            this.plan = plan;
+            return this;
+        }
+
+        /**
+         * Define directory CSV files are looked up by name, default is jmeter/resources.
+         *
+         * @param dataDirectory path to directory
+         * @return this
+         */
+        public Builder withDataDirectory(String dataDirectory) {
+            this.dataDirectory = Paths.get(dataDirectory);
+            return this;
+        }
+
+        /**
+         * Define property read by __P and __property functions, system properties are used otherwise.
+         *
+         * @param name property name
+         * @param value property value
+         * @return this
+         */
+        public Builder withProperty(String name, String value) {
+            this.properties.put(name, value);
+            return this;
+        }
+
+        /**
+         * Define variable that replaces user defined variable of plan, e.g. URL of environment.
+         *
+         * @param name variable name
+         * @param value variable value
+         * @return this
+         */
+        public Builder withVariable(String name, String value) {
+            this.variables.put(name, value);
+            return this;
+        }
+
+        /**
+         * Run only given thread groups, all enabled thread groups are run by default.
+         *
+         * @param names thread group names
+         * @return this
+         */
+        public Builder withThreadGroups(String... names) {
+            Collections.addAll(this.threadGroups, names);
+            return this;
+        }
+
+        /**
+         * Stop all users after duration, e.g. for thread groups that loop forever.
+         *
+         * @param duration duration
+         * @param unit time unit
+         * @return this
+         */
+        public Builder withDuration(long duration, TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Duration must be positive: " + duration);
+            }
+            this.durationNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Define if users run on virtual threads, default is true on java 21+ runtime.
+         * Platform thread is created for every user otherwise.
+         *
+         * @param virtualThreads boolean
+         * @return this
+         */
+        public Builder usingVirtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public JmxLoadEngine build() {
+            if (plan == null) {
+                throw new IllegalArgumentException("Test plan must be not null");
+            }
+            return new JmxLoadEngine(this);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package framework.utilities.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Test element of .jmx file: test class, name, properties and child elements of its hash tree.
+ * Property value is String for string, bool, int and long properties, JmxNode for element property
+ * and List for collection property.
+ */
+final class JmxNode {
+
+    private static final String HASH_TREE = "hashTree";
+
+    private final String type;
+    private final String name;
+    private final boolean enabled;
+    private final Map<String, Object> properties = new LinkedHashMap<>();
+    private final List<JmxNode> children = new ArrayList<>();
+
+    private JmxNode(String type, String name, boolean enabled) {
+        this.type = type;
+        this.name = name;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Parse test plan.
+     *
+     * @param content .jmx content
+     * @return elements of the top hash tree, usually one TestPlan
+     * @throws IOException if content is not a valid .jmx
+     */
+    static List<JmxNode> parse(InputStream content) throws IOException {
+        Document document;
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            document = builder.parse(content);
+        } catch (ParserConfigurationException | SAXException e) {
+            throw new IOException("Test plan can't be parsed", e);
+        }
+        Element root = document.getDocumentElement();
+        if (!"jmeterTestPlan".equals(root.getTagName())) {
+            throw new IOException("Not a jmeter test plan, root element: " + root.getTagName());
+        }
+        for (Element child : elements(root)) {
+            if (HASH_TREE.equals(child.getTagName())) {
+                return parseTree(child);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Elements of hash tree, each element is followed by hash tree of its children.
+     */
+    private static List<JmxNode> parseTree(Element tree) {
+        List<JmxNode> nodes = new ArrayList<>();
+        JmxNode last = null;
+        for (Element element : elements(tree)) {
+            if (HASH_TREE.equals(element.getTagName())) {
+                if (last != null) {
+                    last.children.addAll(parseTree(element));
+                }
+                continue;
+            }
+            last = parseElement(element);
+            nodes.add(last);
+        }
+        return nodes;
+    }
+
+    private static JmxNode parseElement(Element element) {
+        String testClass = element.getAttribute("testclass");
+        if (testClass.isEmpty()) {
+            testClass = element.hasAttribute("elementType") ? element.getAttribute("elementType")
+                : element.getTagName();
+        }
+        JmxNode node = new JmxNode(testClass, element.getAttribute("testname"),
+            !"false".equals(element.getAttribute("enabled")));
+        for (Element property : elements(element)) {
+            node.properties.put(property.getAttribute("name"), parseProperty(property));
+        }
+        return node;
+    }
+
+    private static Object parseProperty(Element property) {
+        switch (property.getTagName()) {
+            case "elementProp":
+                return parseElement(property);
+            case "collectionProp":
+                List<Object> values = new ArrayList<>();
+                for (Element item : elements(property)) {
+                    values.add(parseProperty(item));
+                }
+                return values;
+            default:
+                return property.getTextContent();
+        }
+    }
+
+    private static List<Element> elements(Element parent) {
+        List<Element> elements = new ArrayList<>();
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                elements.add((Element) child);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Test class, e.g. HTTPSamplerProxy, for element properties - element type, e.g. Header.
+     */
+    String getType() {
+        return type;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    List<JmxNode> getChildren() {
+        return children;
+    }
+
+    String getString(String property) {
+        return getString(property, "");
+    }
+
+    String getString(String property, String defaultValue) {
+        Object value = properties.get(property);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+
+    boolean getBoolean(String property, boolean defaultValue) {
+        String value = getString(property, null);
+        return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    long getLong(String property, long defaultValue) {
+        String value = getString(property, null);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    JmxNode getNode(String property) {
+        Object value = properties.get(property);
+        return value instanceof JmxNode ? (JmxNode) value : null;
+    }
+
+    /**
+     * Element items of collection property.
+     */
+    List<JmxNode> getNodes(String property) {
+        Object value = properties.get(property);
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<JmxNode> nodes = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (item instanceof JmxNode) {
+                nodes.add((JmxNode) item);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * String items of collection property.
+     */
+    List<String> getStrings(String property) {
+        Object value = properties.get(property);
+        if (!(value instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            if (item instanceof String) {
+                strings.add((String) item);
+            }
+        }
+        return strings;
+    }
+
+    @Override
+    public String toString() {
+        return type + " [" + name + "]";
+    }
+}
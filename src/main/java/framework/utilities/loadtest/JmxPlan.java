@@ -0,0 +1,130 @@
+package framework.utilities.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsed jmeter test plan (.jmx), e.g. jmeter/TS03_WeeklyTimeCard_ByProject.jmx.
+ * Plan is parsed once and can be run many times by {@link JmxLoadEngine}.
+ */
+public final class JmxPlan {
+
+    private final String name;
+    private final JmxNode testPlan;
+    private final List<JmxNode> threadGroups = new ArrayList<>();
+    private final Set<String> unsupportedElements = new LinkedHashSet<>();
+    private int samplers;
+
+    private JmxPlan(String name, JmxNode testPlan) {
+        this.name = name;
+        this.testPlan = testPlan;
+        for (JmxNode child : testPlan.getChildren()) {
+            if (child.isEnabled() && JmxCompiler.isThreadGroup(child.getType())) {
+                threadGroups.add(child);
+            }
+        }
+        inspect(testPlan.getChildren());
+    }
+
+    /**
+     * Load plan from file.
+     *
+     * @param path path to .jmx file
+     * @return JmxPlan
+     */
+    public static JmxPlan load(String path) {
+        Path file = Paths.get(path);
+        try (InputStream content = Files.newInputStream(file)) {
+            return load(file.getFileName().toString(), content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Test plan can't be read: " + path, e);
+        }
+    }
+
+    /**
+     * Load plan from stream, stream is not closed.
+     *
+     * @param name plan name for logs
+     * @param content .jmx content
+     * @return JmxPlan
+     */
+    public static JmxPlan load(String name, InputStream content) {
+        List<JmxNode> nodes;
+        try {
+            nodes = JmxNode.parse(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Test plan can't be parsed: " + name, e);
+        }
+        for (JmxNode node : nodes) {
+            if (JmxCompiler.TEST_PLAN.equals(node.getType())) {
+                return new JmxPlan(name, node);
+            }
+        }
+        throw new IllegalStateException("Test plan " + name + " has no TestPlan element");
+    }
+
+    private void inspect(List<JmxNode> elements) {
+        for (JmxNode element : elements) {
+            if (!element.isEnabled()) {
+                continue;
+            }
+            if (!JmxCompiler.isSupported(element.getType())) {
+                unsupportedElements.add(element.getType());
+                continue;
+            }
+            if ("HTTPSamplerProxy".equals(element.getType())) {
+                samplers++;
+            }
+            inspect(element.getChildren());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Names of enabled thread groups.
+     */
+    public List<String> getThreadGroupNames() {
+        List<String> names = new ArrayList<>();
+        threadGroups.forEach(threadGroup -> names.add(threadGroup.getName()));
+        return names;
+    }
+
+    /**
+     * Number of enabled HTTP samplers.
+     */
+    public int getSamplerCount() {
+        return samplers;
+    }
+
+    /**
+     * Test classes of enabled elements that are skipped by the engine, e.g. BeanShellPreProcessor.
+     */
+    public Set<String> getUnsupportedElements() {
+        return Collections.unmodifiableSet(unsupportedElements);
+    }
+
+    JmxNode getTestPlan() {
+        return testPlan;
+    }
+
+    List<JmxNode> getThreadGroups() {
+        return threadGroups;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + getThreadGroupNames() + ", samplers: " + samplers;
+    }
+}
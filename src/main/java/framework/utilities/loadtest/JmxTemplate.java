@@ -0,0 +1,227 @@
+package framework.utilities.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text with ${variable} references and ${__function(arg,...)} calls, parsed once when plan is loaded.
+ * Function arguments are templates as well, commas inside argument are escaped with backslash.
+ * Undefined variables and unknown functions are kept as is, like jmeter does.
+ */
+final class JmxTemplate {
+
+    private static final JmxTemplate EMPTY = new JmxTemplate(Collections.emptyList(), "");
+
+    private final Part[] parts;
+    private final String constant;
+
+    private JmxTemplate(List<Part> parts, String constant) {
+        this.parts = parts.toArray(new Part[0]);
+        this.constant = constant;
+    }
+
+    static JmxTemplate compile(String text) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+        if (!text.contains("${")) {
+            return new JmxTemplate(Collections.emptyList(), text);
+        }
+        List<Part> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            int start = text.indexOf("${", position);
+            int end = start < 0 ? -1 : closingBrace(text, start + 2);
+            if (end < 0) {
+                literal.append(text, position, text.length());
+                break;
+            }
+            literal.append(text, position, start);
+            Part reference = reference(text.substring(start, end + 1));
+            if (reference == null) {
+                literal.append(text, start, end + 1);
+            } else {
+                if (literal.length() > 0) {
+                    parts.add(new Literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                parts.add(reference);
+            }
+            position = end + 1;
+        }
+        if (literal.length() > 0) {
+            parts.add(new Literal(literal.toString()));
+        }
+        return parts.size() == 1 && parts.get(0) instanceof Literal ? new JmxTemplate(Collections.emptyList(),
+            ((Literal) parts.get(0)).text) : new JmxTemplate(parts, null);
+    }
+
+    boolean isConstant() {
+        return constant != null;
+    }
+
+    String evaluate(VirtualUser user) {
+        if (constant != null) {
+            return constant;
+        }
+        StringBuilder result = new StringBuilder();
+        for (Part part : parts) {
+            part.appendTo(result, user);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Parse ${...} reference, null if it is neither variable nor known function.
+     */
+    private static Part reference(String reference) {
+        String body = reference.substring(2, reference.length() - 1);
+        if (!body.startsWith("__")) {
+            return body.isEmpty() || body.contains("${") ? null : new Variable(body, reference);
+        }
+        int open = body.indexOf('(');
+        String name = open < 0 ? body.substring(2) : body.substring(2, open);
+        JmxFunctions.Function function = JmxFunctions.get(name);
+        if (function == null || open >= 0 && !body.endsWith(")")) {
+            return null;
+        }
+        List<JmxTemplate> arguments = new ArrayList<>();
+        if (open >= 0) {
+            for (String argument : splitArguments(body.substring(open + 1, body.length() - 1))) {
+                arguments.add(compile(argument));
+            }
+        }
+        return new FunctionCall(function, arguments);
+    }
+
+    /**
+     * Position of brace that closes reference starting before from, nested references are skipped.
+     */
+    private static int closingBrace(String text, int from) {
+        int depth = 1;
+        for (int i = from; i < text.length(); i++) {
+            char symbol = text.charAt(i);
+            if (symbol == '\\') {
+                i++;
+            } else if (symbol == '{' && text.charAt(i - 1) == '$') {
+                depth++;
+            } else if (symbol == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Split on commas outside of nested references and parentheses, \, is unescaped to comma.
+     */
+    private static List<String> splitArguments(String text) {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder argument = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char symbol = text.charAt(i);
+            if (symbol == '\\' && i + 1 < text.length() && text.charAt(i + 1) == ',') {
+                argument.append(',');
+                i++;
+                continue;
+            }
+            if (symbol == '(' || symbol == '{') {
+                depth++;
+            } else if ((symbol == ')' || symbol == '}') && depth > 0) {
+                depth--;
+            } else if (symbol == ',' && depth == 0) {
+                arguments.add(argument.toString());
+                argument.setLength(0);
+                continue;
+            }
+            argument.append(symbol);
+        }
+        arguments.add(argument.toString());
+        return arguments;
+    }
+
+    @Override
+    public String toString() {
+        if (constant != null) {
+            return constant;
+        }
+        StringBuilder text = new StringBuilder();
+        for (Part part : parts) {
+            text.append(part);
+        }
+        return text.toString();
+    }
+
+    private interface Part {
+        void appendTo(StringBuilder result, VirtualUser user);
+    }
+
+    private static final class Literal implements Part {
+
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void appendTo(StringBuilder result, VirtualUser user) {
+            result.append(text);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private static final class Variable implements Part {
+
+        private final String name;
+        private final String reference;
+
+        Variable(String name, String reference) {
+            this.name = name;
+            this.reference = reference;
+        }
+
+        @Override
+        public void appendTo(StringBuilder result, VirtualUser user) {
+            String value = user.getVariable(name);
+            result.append(value == null ? reference : value);
+        }
+
+        @Override
+        public String toString() {
+            return reference;
+        }
+    }
+
+    private static final class FunctionCall implements Part {
+
+        private final JmxFunctions.Function function;
+        private final List<JmxTemplate> arguments;
+
+        FunctionCall(JmxFunctions.Function function, List<JmxTemplate> arguments) {
+            this.function = function;
+            this.arguments = arguments;
+        }
+
+        @Override
+        public void appendTo(StringBuilder result, VirtualUser user) {
+            List<String> values = new ArrayList<>(arguments.size());
+            for (JmxTemplate argument : arguments) {
+                values.add(argument.evaluate(user));
+            }
+            result.append(function.apply(values, user));
+        }
+
+        @Override
+        public String toString() {
+            return "${__" + function + arguments + "}";
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package framework.utilities.loadtest;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import framework.utilities.metrics.MetricsRegistry;
+
+/**
+ * Counters of one load test run. Response times are recorded into {@link MetricsRegistry} by sampler label,
+ * e.g. "POST Login/webapp/Account/Validate2FASignIn 200", transactions are recorded with method TRANSACTION
+ * and status 200 when all their samples passed or 500 otherwise.
+ */
+public final class LoadTestResult {
+
+    static final String TRANSACTION = "TRANSACTION";
+
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder failedTransactions = new LongAdder();
+    private final AtomicInteger users = new AtomicInteger();
+    private final Map<String, LongAdder> failuresByLabel = new ConcurrentHashMap<>();
+    private final Map<String, String> failureMessages = new ConcurrentHashMap<>();
+    private final Set<String> unsupportedElements;
+    private volatile long durationNanos;
+
+    LoadTestResult(Set<String> unsupportedElements) {
+        this.unsupportedElements = Collections.unmodifiableSet(unsupportedElements);
+    }
+
+    void userStarted() {
+        users.incrementAndGet();
+    }
+
+    void recordSample(String label, String method, int statusCode, long startNanos, long endNanos,
+        String failureMessage) {
+        samples.increment();
+        MetricsRegistry.getInstance().record(method, label, statusCode, startNanos, endNanos);
+        if (failureMessage != null) {
+            failures.increment();
+            failuresByLabel.computeIfAbsent(label, key -> new LongAdder()).increment();
+            failureMessages.putIfAbsent(label, failureMessage);
+        }
+    }
+
+    void recordTransaction(String label, long startNanos, long endNanos, boolean successful) {
+        transactions.increment();
+        MetricsRegistry.getInstance().record(TRANSACTION, label, successful ? 200 : 500, startNanos, endNanos);
+        if (!successful) {
+            failedTransactions.increment();
+        }
+    }
+
+    void finish(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public double getErrorRate() {
+        long total = getSamples();
+        return total == 0 ? 0 : (double) getFailures() / total;
+    }
+
+    public long getTransactions() {
+        return transactions.sum();
+    }
+
+    public long getFailedTransactions() {
+        return failedTransactions.sum();
+    }
+
+    /**
+     * Number of started virtual users.
+     */
+    public int getUsers() {
+        return users.get();
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    /**
+     * Samples per second over the whole run.
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0 : getSamples() * 1e9 / durationNanos;
+    }
+
+    /**
+     * Number of failed samples by sampler label.
+     *
+     * @return Map sorted by label
+     */
+    public Map<String, Long> getFailuresByLabel() {
+        Map<String, Long> result = new TreeMap<>();
+        failuresByLabel.forEach((label, count) -> result.put(label, count.sum()));
+        return result;
+    }
+
+    /**
+     * The first failure message of every failed sampler, e.g. assertion message or status code.
+     *
+     * @return Map sorted by label
+     */
+    public Map<String, String> getFailureMessages() {
+        return new TreeMap<>(failureMessages);
+    }
+
+    /**
+     * Test classes of plan elements that were skipped, e.g. BeanShellPreProcessor.
+     */
+    public Set<String> getUnsupportedElements() {
+        return unsupportedElements;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users: %d, samples: %d, failures: %d (%.2f%%), transactions: %d, failed: %d, "
+                + "duration: %d ms, throughput: %.1f/s", getUsers(), getSamples(), getFailures(),
+            getErrorRate() * 100, getTransactions(), getFailedTransactions(), getDurationMillis(), getThroughput());
+    }
+}
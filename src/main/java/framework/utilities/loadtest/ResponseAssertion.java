@@ -0,0 +1,112 @@
+package framework.utilities.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import framework.pageobject.api.correlation.Extractors;
+
+/**
+ * Response Assertion of jmeter plan. Test type is a set of bits: matches, contains, equals or substring,
+ * optionally negated (not) and combined with or. Patterns without variables are compiled once.
+ */
+final class ResponseAssertion implements SampleProcessor {
+
+    private static final int MATCH = 1;
+    private static final int CONTAINS = 2;
+    private static final int NOT = 4;
+    private static final int EQUALS = 8;
+    private static final int SUBSTRING = 16;
+    private static final int OR = 32;
+
+    private final String name;
+    private final String field;
+    private final int testType;
+    private final boolean assumeSuccess;
+    private final String customMessage;
+    private final List<JmxTemplate> testStrings = new ArrayList<>();
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    ResponseAssertion(JmxNode node) {
+        this.name = node.getName();
+        this.field = node.getString("Assertion.test_field", "Assertion.response_data");
+        this.testType = (int) node.getLong("Assertion.test_type", SUBSTRING);
+        this.assumeSuccess = node.getBoolean("Assertion.assume_success", false);
+        this.customMessage = node.getString("Assertion.custom_message").trim();
+        for (String text : node.getStrings("Asserion.test_strings")) {
+            JmxTemplate template = JmxTemplate.compile(text);
+            testStrings.add(template);
+            patterns.add(isPattern() && template.isConstant() ? Extractors.pattern(text) : null);
+        }
+    }
+
+    @Override
+    public void process(SampleResult result, VirtualUser user) {
+        if (assumeSuccess) {
+            result.ignoreStatus();
+        }
+        if (testStrings.isEmpty()) {
+            return;
+        }
+        String text = fieldOf(result);
+        boolean not = (testType & NOT) != 0;
+        boolean or = (testType & OR) != 0;
+        String failed = null;
+        boolean anyPassed = false;
+        for (int i = 0; i < testStrings.size(); i++) {
+            String expected = testStrings.get(i).evaluate(user);
+            boolean passed = test(text, expected, patterns.get(i)) != not;
+            if (passed) {
+                anyPassed = true;
+            } else if (failed == null) {
+                failed = expected;
+            }
+        }
+        boolean successful = or ? anyPassed : failed == null;
+        if (!successful) {
+            result.fail(customMessage.isEmpty() ? name + ": " + field.replace("Assertion.", "") + " was expected "
+                + (not ? "not " : "") + "to " + describe() + " [" + failed + "]" : customMessage);
+        }
+    }
+
+    private boolean isPattern() {
+        return (testType & (MATCH | CONTAINS)) != 0;
+    }
+
+    private boolean test(String text, String expected, Pattern compiled) {
+        if ((testType & SUBSTRING) != 0) {
+            return text.contains(expected);
+        }
+        if ((testType & EQUALS) != 0) {
+            return text.equals(expected);
+        }
+        Pattern pattern = compiled == null ? Extractors.pattern(expected) : compiled;
+        return (testType & MATCH) != 0 ? pattern.matcher(text).matches() : pattern.matcher(text).find();
+    }
+
+    private String describe() {
+        if ((testType & SUBSTRING) != 0) {
+            return "contain substring";
+        }
+        if ((testType & EQUALS) != 0) {
+            return "equal";
+        }
+        return (testType & MATCH) != 0 ? "match" : "contain";
+    }
+
+    private String fieldOf(SampleResult result) {
+        switch (field) {
+            case "Assertion.response_code":
+                return Integer.toString(result.getStatusCode());
+            case "Assertion.response_message":
+                return result.getStatusMessage();
+            case "Assertion.response_headers":
+                return result.getHeaders();
+            case "Assertion.sample_label":
+            case "Assertion.request_url":
+                return result.getUrl();
+            default:
+                return result.getBody();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package framework.utilities.loadtest;
+
+/**
+ * Extractor or assertion applied to every sample in its scope.
+ */
+interface SampleProcessor {
+
+    void process(SampleResult result, VirtualUser user);
+}
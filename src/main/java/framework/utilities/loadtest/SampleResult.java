@@ -0,0 +1,128 @@
+package framework.utilities.loadtest;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import framework.pageobject.api.correlation.Extractors;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+
+/**
+ * Result of one http sample, read by extractors and assertions. Body is read when sample is created, so the pooled
+ * connection is released even if nothing reads the body, and response time includes the download as in jmeter.
+ * Body and headers text are built on first use.
+ */
+final class SampleResult {
+
+    private final String url;
+    private final Response response;
+    private final String error;
+    private String body;
+    private final byte[] bodyBytes;
+    private String headers;
+    private String failureMessage;
+    private boolean statusIgnored;
+
+    private SampleResult(String url, Response response, String error) {
+        this.url = url;
+        this.response = response;
+        this.error = error;
+        this.bodyBytes = response == null ? new byte[0] : response.asByteArray();
+    }
+
+    static SampleResult of(String url, Response response) {
+        return new SampleResult(url, response, null);
+    }
+
+    /**
+     * Sample failed without response, e.g. connection refused.
+     */
+    static SampleResult failed(String url, Throwable error) {
+        return new SampleResult(url, null, error.toString());
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * Response status code, 0 if there is no response.
+     */
+    int getStatusCode() {
+        return response == null ? 0 : response.getStatusCode();
+    }
+
+    String getStatusMessage() {
+        if (response == null) {
+            return error;
+        }
+        String statusLine = response.getStatusLine();
+        int space = statusLine == null ? -1 : statusLine.indexOf(' ', statusLine.indexOf(' ') + 1);
+        return space < 0 ? "" : statusLine.substring(space + 1);
+    }
+
+    String getBody() {
+        if (body == null) {
+            body = response == null ? "" : response.asString();
+        }
+        return body;
+    }
+
+    /**
+     * Body bytes for extractors, that scan them without building text.
+     */
+    byte[] getBodyBytes() {
+        return bodyBytes;
+    }
+
+    Charset getCharset() {
+        return response == null ? StandardCharsets.UTF_8 : Extractors.charsetOf(response.getContentType());
+    }
+
+    /**
+     * Status line and headers, one per line, as jmeter shows response headers.
+     */
+    String getHeaders() {
+        if (headers == null) {
+            StringBuilder text = new StringBuilder();
+            if (response != null) {
+                text.append(response.getStatusLine()).append('\n');
+                for (Header header : response.getHeaders()) {
+                    text.append(header.getName()).append(": ").append(header.getValue()).append('\n');
+                }
+            }
+            headers = text.toString();
+        }
+        return headers;
+    }
+
+    /**
+     * Sample is successful when it has 1xx-3xx response and no assertion failed.
+     */
+    boolean isSuccessful() {
+        return failureMessage == null && response != null && (statusIgnored || getStatusCode() < 400);
+    }
+
+    /**
+     * Response assertion with "ignore status" decides if sample is successful.
+     */
+    void ignoreStatus() {
+        statusIgnored = true;
+    }
+
+    /**
+     * Mark sample as failed, the first failure message is kept.
+     */
+    void fail(String message) {
+        if (failureMessage == null) {
+            failureMessage = message;
+        }
+    }
+
+    String getFailureMessage() {
+        if (failureMessage != null) {
+            return failureMessage;
+        }
+        return response == null ? error : "Status code " + getStatusCode();
+    }
+}
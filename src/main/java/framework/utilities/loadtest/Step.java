@@ -0,0 +1,9 @@
+package framework.utilities.loadtest;
+
+/**
+ * Compiled sampler or controller of jmeter plan, executed by virtual user thread.
+ */
+interface Step {
+
+    void execute(VirtualUser user);
+}
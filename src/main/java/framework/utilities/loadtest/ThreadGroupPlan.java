@@ -0,0 +1,130 @@
+package framework.utilities.loadtest;
+
+import io.restassured.filter.cookie.CookieFilter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled thread group: start and stop time of every user and the main loop.
+ * Thread Group starts users evenly over ramp-up period. Stepping Thread Group starts burst users at once,
+ * then "Start users count" users every period, each batch over its ramp-up, holds the load for flight time
+ * and then stops "Stop users count" users every stop period, the last started first.
+ */
+final class ThreadGroupPlan {
+
+    static final long NO_STOP = Long.MAX_VALUE;
+
+    private final String name;
+    private final long[] startMillis;
+    private final long[] stopMillis;
+    private final long loops;
+    private final List<String> variableNames;
+    private final List<JmxTemplate> variableValues;
+    private final boolean cookies;
+    private final boolean clearCookies;
+    private final List<CsvDataSet> dataSets;
+    private final List<Step> steps;
+
+    ThreadGroupPlan(String name, long[][] schedule, long loops, List<String> variableNames,
+        List<JmxTemplate> variableValues, JmxNode cookieManager, List<CsvDataSet> dataSets, List<Step> steps) {
+        this.name = name;
+        this.startMillis = schedule[0];
+        this.stopMillis = schedule[1];
+        this.loops = loops;
+        this.variableNames = variableNames;
+        this.variableValues = variableValues;
+        this.cookies = cookieManager != null;
+        this.clearCookies = cookies && cookieManager.getBoolean("CookieManager.clearEachIteration", false);
+        this.dataSets = dataSets;
+        this.steps = steps;
+    }
+
+    /**
+     * Schedule of Thread Group.
+     *
+     * @return start offsets and stop offsets in milliseconds
+     */
+    static long[][] rampUp(int users, long delayMillis, long rampUpMillis, long durationMillis) {
+        long[][] schedule = new long[2][users];
+        for (int i = 0; i < users; i++) {
+            schedule[0][i] = delayMillis + rampUpMillis * i / users;
+            schedule[1][i] = durationMillis > 0 ? delayMillis + durationMillis : NO_STOP;
+        }
+        return schedule;
+    }
+
+    /**
+     * Schedule of Stepping Thread Group, all times are in milliseconds.
+     *
+     * @return start offsets and stop offsets in milliseconds
+     */
+    static long[][] stepping(int users, long delayMillis, int burst, int stepUsers, long periodMillis,
+        long rampUpMillis, long flightMillis, int stopUsers, long stopPeriodMillis) {
+        long[][] schedule = new long[2][users];
+        int batch = Math.max(1, stepUsers);
+        long lastStart = delayMillis;
+        for (int i = 0; i < users; i++) {
+            if (i < burst) {
+                schedule[0][i] = delayMillis;
+            } else {
+                int index = i - burst;
+                int step = index / batch + (burst > 0 ? 1 : 0);
+                schedule[0][i] = delayMillis + step * periodMillis + rampUpMillis * (index % batch) / batch;
+            }
+            lastStart = Math.max(lastStart, schedule[0][i]);
+        }
+        long stopStart = lastStart + flightMillis;
+        int stopBatch = Math.max(1, stopUsers);
+        for (int i = 0; i < users; i++) {
+            schedule[1][i] = stopStart + (users - 1 - i) / stopBatch * stopPeriodMillis;
+        }
+        return schedule;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getUsers() {
+        return startMillis.length;
+    }
+
+    long getStartMillis(int user) {
+        return startMillis[user];
+    }
+
+    /**
+     * Stop offset of user, {@link #NO_STOP} if user runs until its loops are over.
+     */
+    long getStopMillis(int user) {
+        return stopMillis[user];
+    }
+
+    boolean isEndless() {
+        return loops < 0 && stopMillis.length > 0 && stopMillis[0] == NO_STOP;
+    }
+
+    /**
+     * Run user: user defined variables, then main loop.
+     *
+     * @param overrides variables that replace plan ones, e.g. environment url
+     */
+    void run(VirtualUser user, Map<String, String> overrides) {
+        for (int i = 0; i < variableNames.size(); i++) {
+            user.setVariable(variableNames.get(i), variableValues.get(i).evaluate(user));
+        }
+        overrides.forEach(user::setVariable);
+        for (long i = 0; (loops < 0 || i < loops) && user.isAlive(); i++) {
+            user.resetFlow();
+            if (cookies && (i == 0 || clearCookies)) {
+                user.setCookies(new CookieFilter());
+            }
+            ControllerStep.iterate(dataSets, steps, user);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + ", users: " + getUsers() + ", loops: " + loops;
+    }
+}
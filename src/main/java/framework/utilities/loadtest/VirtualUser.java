@@ -0,0 +1,141 @@
+package framework.utilities.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.restassured.filter.cookie.CookieFilter;
+
+/**
+ * State of one jmeter thread: variables, cookies and flow after a failed sample.
+ * Virtual user is used by its own thread only.
+ */
+final class VirtualUser {
+
+    /**
+     * What to do after the current sample.
+     */
+    enum Flow {
+        CONTINUE, START_NEXT_ITERATION, STOP_USER, STOP_TEST
+    }
+
+    private final int number;
+    private final Map<String, String> properties;
+    private final Map<String, String> variables = new HashMap<>();
+    private final long deadlineNanos;
+    private final AtomicBoolean testStopped;
+    private CookieFilter cookies;
+    private Flow flow = Flow.CONTINUE;
+    private int failures;
+
+    VirtualUser(int number, Map<String, String> properties, long deadlineNanos, AtomicBoolean testStopped) {
+        this.number = number;
+        this.properties = properties;
+        this.deadlineNanos = deadlineNanos;
+        this.testStopped = testStopped;
+    }
+
+    /**
+     * Number of user in thread group, starting from 1.
+     */
+    int getNumber() {
+        return number;
+    }
+
+    String getVariable(String name) {
+        return variables.get(name);
+    }
+
+    void setVariable(String name, String value) {
+        variables.put(name, value);
+    }
+
+    void removeVariable(String name) {
+        variables.remove(name);
+    }
+
+    /**
+     * Engine property, then system property, then default value.
+     */
+    String getProperty(String name, String defaultValue) {
+        String value = properties.get(name);
+        if (value == null) {
+            value = System.getProperty(name, defaultValue);
+        }
+        return value;
+    }
+
+    CookieFilter getCookies() {
+        return cookies;
+    }
+
+    void setCookies(CookieFilter cookies) {
+        this.cookies = cookies;
+    }
+
+    /**
+     * Count failed sample, transactions compare counts to find failed children.
+     */
+    void addFailure() {
+        failures++;
+    }
+
+    int getFailures() {
+        return failures;
+    }
+
+    Flow getFlow() {
+        return flow;
+    }
+
+    void setFlow(Flow flow) {
+        if (flow.ordinal() > this.flow.ordinal()) {
+            this.flow = flow;
+        }
+        if (flow == Flow.STOP_TEST) {
+            testStopped.set(true);
+        }
+    }
+
+    void resetFlow() {
+        if (flow == Flow.START_NEXT_ITERATION) {
+            flow = Flow.CONTINUE;
+        }
+    }
+
+    /**
+     * Check if iteration should go on: no failure stopped it, test is not stopped and user time is not over.
+     */
+    boolean isRunning() {
+        return flow == Flow.CONTINUE && !testStopped.get() && System.nanoTime() - deadlineNanos < 0;
+    }
+
+    /**
+     * Check if user should start next iteration.
+     */
+    boolean isAlive() {
+        return flow != Flow.STOP_USER && flow != Flow.STOP_TEST && !testStopped.get()
+            && System.nanoTime() - deadlineNanos < 0;
+    }
+
+    long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Sleep, e.g. for timer delay, but not after the user deadline. Interrupted user is stopped.
+     */
+    void pause(long millis) {
+        long sleepNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(millis), deadlineNanos - System.nanoTime());
+        if (sleepNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+            setFlow(Flow.STOP_USER);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
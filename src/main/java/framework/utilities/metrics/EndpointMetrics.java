@@ -0,0 +1,95 @@
+package framework.utilities.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram and throughput of one (method, path template, status) combination.
+ */
+public class EndpointMetrics {
+
+    private final String method;
+    private final String path;
+    private final int statusCode;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+    EndpointMetrics(String method, String path, int statusCode) {
+        this.method = method;
+        this.path = path;
+        this.statusCode = statusCode;
+    }
+
+    void record(long startNanos, long endNanos) {
+        histogram.record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+        firstStartNanos.accumulateAndGet(startNanos, Math::min);
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get response status code, 0 means request failed without response.
+     *
+     * @return int
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Get requests per second between the first request start and the last response.
+     *
+     * @return double
+     */
+    public double getThroughputPerSecond() {
+        long window = lastEndNanos.get() - firstStartNanos.get();
+        if (window <= 0) {
+            return 0;
+        }
+        return histogram.getCount() * (double) TimeUnit.SECONDS.toNanos(1) / window;
+    }
+
+    static String key(String method, String path, int statusCode) {
+        return method + " " + path + " " + statusCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        EndpointMetrics that = (EndpointMetrics) o;
+        return statusCode == that.statusCode
+            && Objects.equals(method, that.method)
+            && Objects.equals(path, that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, path, statusCode);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s [%d]: count=%d, rps=%.2f, p50=%.3fms, p99=%.3fms, p999=%.3fms, max=%dms",
+            method, path, statusCode, histogram.getCount(), getThroughputPerSecond(),
+            histogram.getPercentileMillis(50), histogram.getPercentileMillis(99),
+            histogram.getPercentileMillis(99.9), histogram.getMax(TimeUnit.MILLISECONDS));
+    }
+}
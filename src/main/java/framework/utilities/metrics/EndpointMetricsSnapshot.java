@@ -0,0 +1,112 @@
+package framework.utilities.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable point in time copy of {@link EndpointMetrics}, used for reports and json dump.
+ * Latencies are in milliseconds.
+ */
+@JsonPropertyOrder({"method", "path", "status", "count", "throughputPerSecond", "min", "mean", "p50", "p90", "p99",
+    "p999", "max"})
+public class EndpointMetricsSnapshot {
+
+    @JsonProperty("method")
+    private final String method;
+    @JsonProperty("path")
+    private final String path;
+    @JsonProperty("status")
+    private final int status;
+    @JsonProperty("count")
+    private final long count;
+    @JsonProperty("throughputPerSecond")
+    private final double throughputPerSecond;
+    @JsonProperty("min")
+    private final double min;
+    @JsonProperty("mean")
+    private final double mean;
+    @JsonProperty("p50")
+    private final double p50;
+    @JsonProperty("p90")
+    private final double p90;
+    @JsonProperty("p99")
+    private final double p99;
+    @JsonProperty("p999")
+    private final double p999;
+    @JsonProperty("max")
+    private final double max;
+
+    EndpointMetricsSnapshot(EndpointMetrics metrics) {
+        LatencyHistogram histogram = metrics.getHistogram();
+        this.method = metrics.getMethod();
+        this.path = metrics.getPath();
+        this.status = metrics.getStatusCode();
+        this.count = histogram.getCount();
+        this.throughputPerSecond = metrics.getThroughputPerSecond();
+        this.min = histogram.getMin(TimeUnit.MICROSECONDS) / 1000d;
+        this.mean = histogram.getMeanMillis();
+        this.p50 = histogram.getPercentileMillis(50);
+        this.p90 = histogram.getPercentileMillis(90);
+        this.p99 = histogram.getPercentileMillis(99);
+        this.p999 = histogram.getPercentileMillis(99.9);
+        this.max = histogram.getMax(TimeUnit.MICROSECONDS) / 1000d;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getP999() {
+        return p999;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    String[] toRow() {
+        return new String[] {method, path, String.valueOf(status), String.valueOf(count),
+            format(throughputPerSecond), format(p50), format(p90), format(p99), format(p999), format(max)};
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+}
@@ -0,0 +1,44 @@
+package framework.utilities.metrics;
+
+import java.util.Objects;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter that measures every call and records it into {@link MetricsRegistry}.
+ * Path template (not resolved path) is used, so /users/1 and /users/2 are reported as one endpoint.
+ * Call that failed without response is recorded with status 0.
+ */
+public class MetricsFilter implements Filter {
+
+    private final MetricsRegistry registry;
+
+    public MetricsFilter() {
+        this(MetricsRegistry.getInstance());
+    }
+
+    public MetricsFilter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+        FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String path = Objects.toString(requestSpec.getBasePath(), "") + requestSpec.getUserDefinedPath();
+        int statusCode = 0;
+        registry.requestStarted(method, path);
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            statusCode = response.getStatusCode();
+            return response;
+        } finally {
+            registry.requestFinished(method, path, statusCode, start, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package framework.utilities.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import framework.utilities.MavenProperty;
+import framework.utilities.files.FileUtil;
+import framework.utilities.objectmapper.DtoConvert;
+
+/**
+ * Process wide registry of REST call metrics collected by {@link MetricsFilter}.
+ * Metrics are grouped by http method, path template (as defined in endpoint, e.g. /users{ID}) and status code.
+ * Example
+ * <pre>
+ *      EndpointMetrics users = MetricsRegistry.getInstance().getMetrics("GET", "/users", 200);
+ *      double p99 = users.getHistogram().getPercentileMillis(99);
+ *      MetricsRegistry.getInstance().writeJson("Reports/rest-metrics.json");
+ * </pre>
+ */
+public class MetricsRegistry {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String ENABLED_PROPERTY = "RestMetrics.enabled";
+    private static final String[] TABLE_HEADER = {"Method", "Path", "Status", "Count", "Rps", "p50 ms", "p90 ms",
+        "p99 ms", "p999 ms", "Max ms"};
+
+    private final Map<String, EndpointMetrics> metrics = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> inFlightByEndpoint = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+
+    /**
+     * Check if metrics filter should be added to default request specification.
+     * Maven property RestMetrics.enabled, default is true.
+     *
+     * @return boolean
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(MavenProperty.getMavenProperties().getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    void requestStarted(String method, String path) {
+        inFlightByEndpoint.computeIfAbsent(method + " " + path, key -> new AtomicInteger()).incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    void requestFinished(String method, String path, int statusCode, long startNanos, long endNanos) {
+        inFlight.decrementAndGet();
+        inFlightByEndpoint.get(method + " " + path).decrementAndGet();
+        record(method, path, statusCode, startNanos, endNanos);
+    }
+
+    /**
+     * Record call that is measured outside of {@link MetricsFilter}, e.g. sample of load test plan.
+     *
+     * @param method http method, e.g. GET
+     * @param path path template or sample label
+     * @param statusCode response status code
+     * @param startNanos System.nanoTime() when call started
+     * @param endNanos System.nanoTime() when response was read
+     */
+    public void record(String method, String path, int statusCode, long startNanos, long endNanos) {
+        metrics.computeIfAbsent(EndpointMetrics.key(method, path, statusCode),
+            key -> new EndpointMetrics(method, path, statusCode))
+            .record(startNanos, endNanos);
+    }
+
+    /**
+     * Get metrics of endpoint.
+     *
+     * @param method http method, e.g. GET
+     * @param path path template, e.g. /users{ID}
+     * @param statusCode response status code
+     * @return EndpointMetrics or null if no such call was recorded
+     */
+    public EndpointMetrics getMetrics(String method, String path, int statusCode) {
+        return metrics.get(EndpointMetrics.key(method.toUpperCase(), path, statusCode));
+    }
+
+    /**
+     * Get metrics of endpoint for all recorded status codes.
+     *
+     * @param method http method, e.g. GET
+     * @param path path template, e.g. /users{ID}
+     * @return List of EndpointMetrics
+     */
+    public List<EndpointMetrics> getMetrics(String method, String path) {
+        return metrics.values().stream()
+            .filter(item -> item.getMethod().equalsIgnoreCase(method) && item.getPath().equals(path))
+            .collect(Collectors.toList());
+    }
+
+    public Collection<EndpointMetrics> getAllMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    public boolean isEmpty() {
+        return metrics.isEmpty();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getInFlight(String method, String path) {
+        AtomicInteger counter = inFlightByEndpoint.get(method.toUpperCase() + " " + path);
+        return counter == null ? 0 : counter.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * Register value that is read on demand, e.g. connection pool statistics.
+     *
+     * @param name gauge name
+     * @param gauge supplier of current value
+     */
+    public void registerGauge(String name, Supplier<?> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Read current values of all gauges.
+     *
+     * @return Map of gauge name to value
+     */
+    public Map<String, Object> getGauges() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.get()));
+        return values;
+    }
+
+    /**
+     * Take snapshot of all endpoints sorted by path, method and status.
+     *
+     * @return List of EndpointMetricsSnapshot
+     */
+    public List<EndpointMetricsSnapshot> snapshot() {
+        return metrics.values().stream()
+            .sorted(Comparator.comparing(EndpointMetrics::getPath)
+                .thenComparing(EndpointMetrics::getMethod)
+                .thenComparingInt(EndpointMetrics::getStatusCode))
+            .map(EndpointMetricsSnapshot::new)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Render snapshot as table with header row, e.g. for MarkupHelper.createTable of extent report.
+     *
+     * @return String[][]
+     */
+    public String[][] toTable() {
+        List<String[]> rows = new ArrayList<>();
+        rows.add(TABLE_HEADER);
+        snapshot().forEach(item -> rows.add(item.toRow()));
+        return rows.toArray(new String[0][]);
+    }
+
+    /**
+     * Dump snapshot into json file.
+     *
+     * @param filePath path to file
+     */
+    public void writeJson(String filePath) {
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("peakInFlight", getPeakInFlight());
+        content.put("endpoints", snapshot());
+        content.put("gauges", getGauges());
+        FileUtil.writeToFile(filePath, DtoConvert.dtoToPrettyJsonString(content));
+        LOGGER.info("REST metrics of [{}] endpoints are written to [{}]", metrics.size(), filePath);
+    }
+
+    /**
+     * Remove all recorded metrics.
+     */
+    public void reset() {
+        metrics.clear();
+        peakInFlight.set(inFlight.get());
+    }
+
+    private static class SingletonHolder {
+
+        static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+        private SingletonHolder() {
+            //empty
+        }
+    }
+}
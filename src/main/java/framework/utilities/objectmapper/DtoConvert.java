@@ -1,16 +1,15 @@
 package framework.utilities.objectmapper;
 
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import framework.utilities.ReflectionUtil;
 import framework.utilities.files.FileUtil;
+import framework.utilities.objectmapper.ObjectMapperRegistry.Format;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -47,8 +46,7 @@ public class DtoConvert {
      * @return String json
      */
     public static String dtoToJsonString(Object dtoClass) {
-        ObjectMapper mapper = new ObjectMapper();
-        return writeAsString(dtoClass, mapper);
+        return writeAsString(dtoClass, ObjectMapperRegistry.jsonWriter());
     }
 
     /**
@@ -59,9 +57,8 @@ public class DtoConvert {
      */
     public static String dtoToPrettyJsonString(Object dtoClass) {
         String result = Strings.EMPTY;
-        ObjectMapper mapper = new ObjectMapper();
         try {
-            result = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(dtoClass);
+            result = ObjectMapperRegistry.prettyJsonWriter().writeValueAsString(dtoClass);
         } catch (JsonProcessingException e) {
             LOGGER.error(e.getMessage());
         }
@@ -75,18 +72,13 @@ public class DtoConvert {
      * @return String YAML
      */
     public static String dtoToYaml(Object dtoClass) {
-        ObjectMapper mapper = new ObjectMapper(new YAMLFactory().enable(YAMLGenerator.Feature.MINIMIZE_QUOTES));
-        mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
-        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
-        return writeAsString(dtoClass, mapper);
+        return writeAsString(dtoClass, ObjectMapperRegistry.yamlWriter());
     }
 
-    private static String writeAsString(Object dtoClass, ObjectMapper mapper) {
+    private static String writeAsString(Object dtoClass, ObjectWriter writer) {
         String result = Strings.EMPTY;
         try {
-            mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            result = mapper.writeValueAsString(dtoClass);
+            result = writer.writeValueAsString(dtoClass);
         } catch (JsonProcessingException e) {
             LOGGER.error(e.getMessage());
         }
@@ -94,9 +86,9 @@ public class DtoConvert {
     }
 
 
-    protected static <T> T readStream(Class<T> configClass, String filePath, ObjectMapper dtoObjectMapper) {
+    protected static <T> T readStream(Class<T> configClass, String filePath, ObjectReader reader) {
         try (InputStream inputStream = FileUtil.getFileInputStream(filePath, configClass)) {
-            return dtoObjectMapper.readValue(inputStream, configClass);
+            return reader.readValue(inputStream);
         } catch (IOException e) {
             LOGGER.catching(e);
         }
@@ -112,20 +104,19 @@ public class DtoConvert {
      * @return List of T of defined target Class
      */
     public static <T> List<T> jsonStringToDtoList(Class<T> configClass, String json) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
         try {
-            return dtoObjectMapper.readValue(json,
-                dtoObjectMapper.getTypeFactory().constructCollectionType(List.class, configClass));
+            return ObjectMapperRegistry.reader(Format.JSON, ObjectMapperRegistry.listType(configClass), true)
+                .readValue(json);
         } catch (JsonProcessingException e) {
             LOGGER.catching(e);
         }
         return new ArrayList<>();
     }
 
-    protected static <T> List<T> readListStream(Class<T> configClass, String filePath, ObjectMapper dtoObjectMapper) {
+    protected static <T> List<T> readListStream(Class<T> configClass, String filePath, boolean failOnUnknown) {
         try (InputStream inputStream = FileUtil.getFileInputStream(filePath, configClass)) {
-            return dtoObjectMapper.readValue(inputStream,
-                dtoObjectMapper.getTypeFactory().constructCollectionType(List.class, configClass));
+            return ObjectMapperRegistry.reader(Format.JSON, ObjectMapperRegistry.listType(configClass), failOnUnknown)
+                .readValue(inputStream);
         } catch (IOException e) {
             LOGGER.catching(e);
         }
@@ -166,9 +157,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T yamlFileToDto(Class<T> configClass, String filePath, boolean failOnUnknown) {
-        ObjectMapper mapper = new ObjectMapper(new YAMLFactory().enable(YAMLGenerator.Feature.MINIMIZE_QUOTES));
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
-        return readStream(configClass, filePath, mapper);
+        return readStream(configClass, filePath,
+            ObjectMapperRegistry.reader(Format.YAML, configClass, failOnUnknown));
     }
 
     /**
@@ -181,7 +171,7 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T stringToDto(Class<T> dtoClass, String content, boolean failOnUnknown) {
-        return stringToDto(dtoClass, content, failOnUnknown, new ObjectMapper());
+        return readString(ObjectMapperRegistry.reader(Format.JSON, dtoClass, failOnUnknown), content);
     }
 
     /**
@@ -197,9 +187,16 @@ public class DtoConvert {
     @Nullable
     public static <T> T stringToDto(Class<T> dtoClass, String content, boolean failOnUnknown,
         ObjectMapper dtoObjectMapper) {
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
+        ObjectReader reader = dtoObjectMapper.readerFor(dtoClass);
+        return readString(failOnUnknown
+            ? reader.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            : reader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES), content);
+    }
+
+    @Nullable
+    private static <T> T readString(ObjectReader reader, String content) {
         try {
-            return dtoObjectMapper.readValue(content, dtoClass);
+            return reader.readValue(content);
         } catch (IOException e) {
             LOGGER.error(e);
             return null;
@@ -214,8 +211,7 @@ public class DtoConvert {
      */
     public static boolean isJsonValid(String jsonInString) {
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            mapper.readTree(jsonInString);
+            ObjectMapperRegistry.readTree(jsonInString);
             return true;
         } catch (IOException e) {
             return false;
@@ -232,8 +228,7 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T yamlToDto(Class<T> dtoClass, String content, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper(new YAMLFactory());
-        return stringToDto(dtoClass, content, failOnUnknown, dtoObjectMapper);
+        return readString(ObjectMapperRegistry.reader(Format.YAML, dtoClass, failOnUnknown), content);
     }
 
     /**
@@ -257,10 +252,7 @@ public class DtoConvert {
      */
     @SuppressWarnings("unchecked")
     public static Map<String, Object> dtoToMap(Object dtoClass) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        return mapper.convertValue(dtoClass, Map.class);
+        return ObjectMapperRegistry.nonNullMapper().convertValue(dtoClass, Map.class);
     }
 
     private static String encodeField(Map.Entry<String, Object> x) {
@@ -329,10 +321,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T bytesToDto(Class<T> dtoClass, byte[] content, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try {
-            return dtoObjectMapper.readValue(content, dtoClass);
+            return ObjectMapperRegistry.reader(Format.JSON, dtoClass, failOnUnknown).readValue(content);
         } catch (IOException e) {
             LOGGER.error(e);
             return null;
@@ -349,16 +339,28 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T inputStreamToDto(Class<T> dtoClass, InputStream content, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try {
-            return dtoObjectMapper.readValue(content, dtoClass);
+            return ObjectMapperRegistry.reader(Format.JSON, dtoClass, failOnUnknown).readValue(content);
         } catch (IOException e) {
             LOGGER.error(e);
             return null;
         }
     }
 
+    /**
+     * Convert stream of json array to dto iterator, elements are read one by one.
+     *
+     * @param dtoClass      Class - target element
+     * @param content       Stream - source
+     * @param failOnUnknown true if should fail if unknown property
+     * @param <T>           T any type suitable for deserialization, list, map, dto
+     * @return JsonArrayReader, should be closed if not read till the end
+     */
+    public static <T> JsonArrayReader<T> inputStreamToDtoIterator(Class<T> dtoClass, InputStream content,
+        boolean failOnUnknown) {
+        return JsonArrayReader.of(content, dtoClass, "", failOnUnknown);
+    }
+
     /**
      * Convert map to dto.
      *
@@ -369,10 +371,9 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T mapToDto(Class<T> dtoClass, Map<String, Object> content, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try {
-            return dtoObjectMapper.convertValue(content, dtoClass);
+            return ObjectMapperRegistry.convert(content,
+                ObjectMapperRegistry.reader(Format.JSON, dtoClass, failOnUnknown));
         } catch (Exception e) {
             LOGGER.error(e);
             return null;
@@ -390,10 +391,9 @@ public class DtoConvert {
      */
 
     public static <T> T mapToDto(Object object, Map<String, Object> content, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try {
-            return (T) dtoObjectMapper.convertValue(content, object.getClass());
+            return ObjectMapperRegistry.convert(content,
+                ObjectMapperRegistry.reader(Format.JSON, object.getClass(), failOnUnknown));
         } catch (Exception e) {
             LOGGER.error(e);
             return null;
@@ -409,12 +409,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T contentToDto(String content, TypeReference<T> typeReference) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         try {
-            return mapper.readValue(content, typeReference);
+            return ObjectMapperRegistry.reader(Format.JSON, typeReference, false).readValue(content);
         } catch (IOException e) {
             LOGGER.error(e);
             return null;
@@ -431,10 +427,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T jsonFileToMap(String filePath, Class<?> clazz, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try (InputStream inputStream = getFileInputStream(filePath, clazz)) {
-            return (T) dtoObjectMapper.readValue(inputStream, clazz);
+            return ObjectMapperRegistry.reader(Format.JSON, clazz, failOnUnknown).readValue(inputStream);
         } catch (IOException e) {
             LOGGER.error(e);
         }
@@ -451,10 +445,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T jsonFileToDto(TypeReference<T> typeReference, String filePath, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
         try (InputStream inputStream = getFileInputStream(filePath, DtoConvert.class)) {
-            return dtoObjectMapper.readValue(inputStream, typeReference);
+            return ObjectMapperRegistry.reader(Format.JSON, typeReference, failOnUnknown).readValue(inputStream);
         } catch (IOException e) {
             LOGGER.catching(e);
         }
@@ -470,9 +462,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T jsonFileToDto(Class<T> configClass, String filePath, boolean failOnUnknown) {
-        ObjectMapper dtoObjectMapper = new ObjectMapper();
-        dtoObjectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, failOnUnknown);
-        return readStream(configClass, filePath, dtoObjectMapper);
+        return readStream(configClass, filePath,
+            ObjectMapperRegistry.reader(Format.JSON, configClass, failOnUnknown));
     }
 
     /**
@@ -484,11 +475,8 @@ public class DtoConvert {
      * @return T
      */
     public static <T> T jsonFileToDto(String filePath, TypeReference<T> typeReference) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         try (InputStream inputStream = getFileInputStream(filePath, DtoConvert.class)) {
-            return mapper.readValue(inputStream, typeReference);
+            return ObjectMapperRegistry.reader(Format.JSON, typeReference, true).readValue(inputStream);
         } catch (IOException e) {
             LOGGER.error(e);
         }
@@ -0,0 +1,230 @@
+package framework.utilities.objectmapper;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads elements of a json array one by one with Jackson streaming parser,
+ * so only the current element is kept in memory.
+ * Array is located by JSON pointer, empty pointer means root array, "/data" - array in "data" field.
+ * Reader closes the stream when the array is over, otherwise it should be closed by caller.
+ * Example
+ * <pre>
+ *      try (Stream&#60;UserAllDto&#62; users = JsonArrayReader.of(content, UserAllDto.class, "/data", false).stream()) {
+ *          users.forEach(user -&#62; softAssert.assertNotNull(user.getEmail()));
+ *      }
+ * </pre>
+ *
+ * @param <T> element type
+ */
+public class JsonArrayReader<T> implements Iterator<T>, Closeable {
+
+    private static final ObjectMapper MAPPER = ObjectMapperRegistry.mapper(ObjectMapperRegistry.Format.JSON);
+
+    private final JsonParser parser;
+    private final ObjectReader reader;
+    private Boolean hasNext;
+    private int index;
+
+    private JsonArrayReader(JsonParser parser, ObjectReader reader) {
+        this.parser = parser;
+        this.reader = reader;
+    }
+
+    /**
+     * Open reader of json array.
+     *
+     * @param content       json source
+     * @param dtoClass      element class
+     * @param arrayPointer  JSON pointer to array, empty or null for root array
+     * @param failOnUnknown true if should fail if unknown property
+     * @param <T>           element type
+     * @return JsonArrayReader positioned before the first element
+     */
+    public static <T> JsonArrayReader<T> of(InputStream content, Class<T> dtoClass, String arrayPointer,
+        boolean failOnUnknown) {
+        return open(content, MAPPER.getTypeFactory().constructType(dtoClass), arrayPointer, failOnUnknown);
+    }
+
+    public static <T> JsonArrayReader<T> of(InputStream content, TypeReference<T> type, String arrayPointer,
+        boolean failOnUnknown) {
+        return open(content, MAPPER.getTypeFactory().constructType(type), arrayPointer, failOnUnknown);
+    }
+
+    private static <T> JsonArrayReader<T> open(InputStream content, JavaType type, String arrayPointer,
+        boolean failOnUnknown) {
+        ObjectReader reader = ObjectMapperRegistry.reader(ObjectMapperRegistry.Format.JSON, type, failOnUnknown);
+        JsonParser parser = null;
+        try {
+            parser = MAPPER.getFactory().createParser(content);
+            moveToArray(parser, arrayPointer == null ? "" : arrayPointer);
+            return new JsonArrayReader<>(parser, reader);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(parser, content);
+            if (e instanceof JsonStreamException) {
+                throw (JsonStreamException) e;
+            }
+            throw new JsonStreamException("Failed to open json array [" + arrayPointer + "]", e);
+        }
+    }
+
+    private static void moveToArray(JsonParser parser, String arrayPointer) throws IOException {
+        JsonPointer pointer = JsonPointer.compile(arrayPointer);
+        JsonToken token = parser.nextToken();
+        while (!pointer.matches()) {
+            if (token == JsonToken.START_OBJECT) {
+                token = moveToField(parser, pointer.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY && pointer.getMatchingIndex() >= 0) {
+                token = parser.nextToken();
+                for (int i = 0; i < pointer.getMatchingIndex() && token != JsonToken.END_ARRAY; i++) {
+                    parser.skipChildren();
+                    token = parser.nextToken();
+                }
+            } else {
+                token = null;
+            }
+            if (token == null || token == JsonToken.END_ARRAY) {
+                throw new JsonStreamException("Json has no [" + arrayPointer + "]");
+            }
+            pointer = pointer.tail();
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonStreamException("Json at [" + arrayPointer + "] is not an array but " + token);
+        }
+    }
+
+    private static JsonToken moveToField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            JsonToken value = parser.nextToken();
+            if (name.equals(parser.currentName())) {
+                return value;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (hasNext == null) {
+            try {
+                JsonToken token = parser.nextToken();
+                hasNext = token != null && token != JsonToken.END_ARRAY;
+            } catch (IOException e) {
+                close();
+                throw new JsonStreamException("Failed to read json array element [" + index + "]", e);
+            }
+            if (!hasNext) {
+                close();
+            }
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNext = null;
+        try {
+            T element = reader.readValue(parser);
+            index++;
+            return element;
+        } catch (IOException e) {
+            close();
+            throw new JsonStreamException("Failed to read json array element [" + index + "]", e);
+        }
+    }
+
+    /**
+     * Number of elements read so far.
+     *
+     * @return int
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Stream of the rest of elements, closing the stream closes the reader.
+     *
+     * @return Stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(this::close);
+    }
+
+    /**
+     * Pass elements to visitor until array is over or visitor returns false, reader is closed after all.
+     *
+     * @param visitor element visitor
+     * @return number of visited elements
+     */
+    public int visit(Visitor<? super T> visitor) {
+        int visited = 0;
+        try {
+            while (hasNext()) {
+                int elementIndex = index;
+                visited++;
+                if (!visitor.visit(elementIndex, next())) {
+                    break;
+                }
+            }
+        } finally {
+            close();
+        }
+        return visited;
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(parser, null);
+    }
+
+    private static void closeQuietly(JsonParser parser, InputStream content) {
+        try {
+            if (parser != null) {
+                parser.close();
+            } else if (content != null) {
+                content.close();
+            }
+        } catch (IOException e) {
+            // nothing to do with the stream that can't be closed
+        }
+    }
+
+    /**
+     * Callback for each element of json array.
+     *
+     * @param <T> element type
+     */
+    @FunctionalInterface
+    public interface Visitor<T> {
+
+        /**
+         * Visit element.
+         *
+         * @param index element index in array
+         * @param element element
+         * @return true to continue, false to stop reading
+         */
+        boolean visit(int index, T element);
+    }
+}
@@ -0,0 +1,14 @@
+package framework.utilities.objectmapper;
+
+public class JsonStreamException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsonStreamException(String message) {
+        super(message);
+    }
+
+    public JsonStreamException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,249 @@
+package framework.utilities.objectmapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared Jackson mappers, readers and writers used by {@link DtoConvert}.
+ * Mappers are configured once and never changed, so they keep serializer and deserializer caches between calls.
+ * Readers are immutable and cached per format, target type and FAIL_ON_UNKNOWN_PROPERTIES,
+ * root deserializer is resolved when reader is created.
+ */
+public final class ObjectMapperRegistry {
+
+    /**
+     * Data format of mapper.
+     */
+    public enum Format {
+        JSON,
+        YAML
+    }
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+    private static final ObjectMapper JSON_NON_NULL_MAPPER = nonNull(new ObjectMapper());
+    private static final ObjectMapper YAML_MAPPER = new ObjectMapper(new YAMLFactory());
+    private static final ObjectMapper YAML_WRITE_MAPPER = createYamlWriteMapper();
+
+    private static final ObjectWriter JSON_WRITER = JSON_NON_NULL_MAPPER.writer();
+    private static final ObjectWriter JSON_PRETTY_WRITER = JSON_MAPPER.writerWithDefaultPrettyPrinter();
+    private static final ObjectWriter YAML_WRITER = YAML_WRITE_MAPPER.writer();
+
+    private static final Map<ReaderKey, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private ObjectMapperRegistry() {
+        throw new AssertionError();
+    }
+
+    private static ObjectMapper nonNull(ObjectMapper mapper) {
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        return mapper;
+    }
+
+    private static ObjectMapper createYamlWriteMapper() {
+        ObjectMapper mapper = nonNull(
+            new ObjectMapper(new YAMLFactory().enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)));
+        mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        mapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+        return mapper;
+    }
+
+    static ObjectMapper mapper(Format format) {
+        return format == Format.YAML ? YAML_MAPPER : JSON_MAPPER;
+    }
+
+    /**
+     * Mapper that skips null fields and doesn't fail on empty beans.
+     */
+    static ObjectMapper nonNullMapper() {
+        return JSON_NON_NULL_MAPPER;
+    }
+
+    /**
+     * Get reader of target class.
+     *
+     * @param format        data format
+     * @param dtoClass      target class
+     * @param failOnUnknown true if should fail if unknown property
+     * @return ObjectReader
+     */
+    public static ObjectReader reader(Format format, Class<?> dtoClass, boolean failOnUnknown) {
+        return reader(format, mapper(format).getTypeFactory().constructType(dtoClass), failOnUnknown);
+    }
+
+    /**
+     * Get reader of target type reference.
+     *
+     * @param format        data format
+     * @param typeReference target type
+     * @param failOnUnknown true if should fail if unknown property
+     * @return ObjectReader
+     */
+    public static ObjectReader reader(Format format, TypeReference<?> typeReference, boolean failOnUnknown) {
+        return reader(format, mapper(format).getTypeFactory().constructType(typeReference), failOnUnknown);
+    }
+
+    /**
+     * Get reader of target java type, e.g. collection type.
+     *
+     * @param format        data format
+     * @param type          target type
+     * @param failOnUnknown true if should fail if unknown property
+     * @return ObjectReader
+     */
+    public static ObjectReader reader(Format format, JavaType type, boolean failOnUnknown) {
+        return READERS.computeIfAbsent(new ReaderKey(format, type, failOnUnknown),
+            key -> createReader(key.format, key.type, key.failOnUnknown));
+    }
+
+    private static ObjectReader createReader(Format format, JavaType type, boolean failOnUnknown) {
+        ObjectReader reader = mapper(format).readerFor(type);
+        return failOnUnknown
+            ? reader.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            : reader.without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    public static JavaType listType(Class<?> elementClass) {
+        return JSON_MAPPER.getTypeFactory().constructCollectionType(List.class, elementClass);
+    }
+
+    /**
+     * Json writer that skips null fields and doesn't fail on empty beans.
+     *
+     * @return ObjectWriter
+     */
+    public static ObjectWriter jsonWriter() {
+        return JSON_WRITER;
+    }
+
+    public static ObjectWriter prettyJsonWriter() {
+        return JSON_PRETTY_WRITER;
+    }
+
+    /**
+     * Yaml writer with minimized quotes, sorted map keys and indentation, null fields are skipped.
+     *
+     * @return ObjectWriter
+     */
+    public static ObjectWriter yamlWriter() {
+        return YAML_WRITER;
+    }
+
+    /**
+     * Read json tree.
+     *
+     * @param content json string
+     * @return JsonNode
+     * @throws IOException if content is not a valid json
+     */
+    public static JsonNode readTree(String content) throws IOException {
+        return JSON_MAPPER.readTree(content);
+    }
+
+    /**
+     * Create streaming parser of shared json mapper, parser can read trees of current values.
+     *
+     * @param content json
+     * @return JsonParser, caller should close it
+     * @throws IOException if parser can't be created
+     */
+    public static JsonParser createParser(InputStream content) throws IOException {
+        return JSON_MAPPER.getFactory().createParser(content);
+    }
+
+    /**
+     * Convert value (e.g. a map or dto) to json tree, null values are kept.
+     *
+     * @param value source
+     * @return JsonNode
+     */
+    public static JsonNode valueToTree(Object value) {
+        return JSON_MAPPER.valueToTree(value);
+    }
+
+    /**
+     * Convert value (e.g. a map) to the target type of reader, without writing it to string.
+     *
+     * @param value  source
+     * @param reader reader of target type
+     * @param <T>    target type
+     * @return T
+     * @throws IOException if value can't be converted
+     */
+    public static <T> T convert(Object value, ObjectReader reader) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(JSON_MAPPER, false);
+        JSON_MAPPER.writeValue(buffer, value);
+        return reader.readValue(buffer.asParser());
+    }
+
+    /**
+     * Create readers and writers of classes in advance, e.g. before the load starts.
+     *
+     * @param dtoClasses classes to prepare
+     */
+    public static void warmUp(Class<?>... dtoClasses) {
+        for (Class<?> dtoClass : dtoClasses) {
+            reader(Format.JSON, dtoClass, true);
+            reader(Format.JSON, dtoClass, false);
+            // resolves root serializer into the shared serializer cache
+            JSON_WRITER.forType(dtoClass);
+        }
+    }
+
+    /**
+     * Number of cached readers.
+     *
+     * @return int
+     */
+    public static int readerCount() {
+        return READERS.size();
+    }
+
+    private static final class ReaderKey {
+
+        private final Format format;
+        private final JavaType type;
+        private final boolean failOnUnknown;
+
+        private ReaderKey(Format format, JavaType type, boolean failOnUnknown) {
+            this.format = format;
+            this.type = type;
+            this.failOnUnknown = failOnUnknown;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ReaderKey that = (ReaderKey) o;
+            return failOnUnknown == that.failOnUnknown && format == that.format && type.equals(that.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(format, type, failOnUnknown);
+        }
+    }
+}
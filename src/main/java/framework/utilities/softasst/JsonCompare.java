@@ -1,11 +1,19 @@
 package framework.utilities.softasst;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import framework.utilities.BeanUtils;
+import framework.utilities.jsondiff.Difference;
+import framework.utilities.jsondiff.JsonDiff;
+import framework.utilities.jsondiff.JsonStreamDiff;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
 
 public class JsonCompare {
 
@@ -25,7 +33,10 @@ public class JsonCompare {
     }
 
     /**
-     * Check if input objects are equal.
+     * Check if input objects are equal. Only fields of expected are checked and null or missing actual values
+     * are skipped, differences are reported in the format callers assert on; the walk stays sequential to keep
+     * this lenient behavior. Use {@link #isEqual(Object, Object, JsonDiff)} to compare wide maps or long lists
+     * in parallel.
      */
     public boolean isEqual(Object actual, Object expected) {
         this.diffs.clear();
@@ -39,6 +50,53 @@ public class JsonCompare {
         return diffs.isEmpty();
     }
 
+    /**
+     * Check if json trees are equal using diff settings, e.g. unordered arrays or ignored paths.
+     *
+     * @param actual actual json
+     * @param expected expected json
+     * @param jsonDiff diff settings, {@link JsonDiff#strict()} compares everything in order
+     * @return true if there are no differences
+     */
+    public boolean isEqual(JsonNode actual, JsonNode expected, JsonDiff jsonDiff) {
+        this.diffs.clear();
+        for (Difference difference : jsonDiff.diff(expected, actual)) {
+            this.diffs.add(difference.toString());
+        }
+        return diffs.isEmpty();
+    }
+
+    /**
+     * Check if maps or lists, e.g. json read into Map, are equal using diff settings. JsonDiff built with
+     * parallelism compares wide objects and long arrays in parallel.
+     *
+     * @param actual actual value
+     * @param expected expected value
+     * @param jsonDiff diff settings, {@link JsonDiff.Builder#ignoringExtraFields()} checks fields of expected only
+     * @return true if there are no differences
+     */
+    public boolean isEqual(Object actual, Object expected, JsonDiff jsonDiff) {
+        return isEqual(ObjectMapperRegistry.valueToTree(actual), ObjectMapperRegistry.valueToTree(expected),
+            jsonDiff);
+    }
+
+    /**
+     * Check if actual json stream contains expected one without reading documents into memory, left mode.
+     *
+     * @param actual actual json, closed when comparison ends
+     * @param expected expected json, closed when comparison ends
+     * @param streamDiff diff settings, {@link JsonStreamDiff#leftMode()} reports all differences
+     * @return true if there are no differences
+     * @throws IOException if any of documents can't be read or is not a valid json
+     */
+    public boolean isEqual(InputStream actual, InputStream expected, JsonStreamDiff streamDiff) throws IOException {
+        this.diffs.clear();
+        for (Difference difference : streamDiff.diff(expected, actual)) {
+            this.diffs.add(difference.toString());
+        }
+        return diffs.isEmpty();
+    }
+
     /**
      * Compare object with other object ignore or not ignore null fields Comparing complex object.
      */
@@ -80,13 +138,9 @@ public class JsonCompare {
     }
 
     private void compare(String parentKey, List<Object> actual, List<Object> expected) {
-        for (Object expectedElement : expected) {
-            Object actualElement = null;
-            int actualElementIndex =
-                actual.size() >= expected.indexOf(expectedElement) ? expected.indexOf(expectedElement) : -1;
-            if (actualElementIndex > -1) {
-                actualElement = actual.get(actualElementIndex);
-            }
+        for (int index = 0; index < expected.size(); index++) {
+            Object expectedElement = expected.get(index);
+            Object actualElement = index < actual.size() ? actual.get(index) : null;
 
             if (actualElement instanceof Map) {
                 compare((Map) actualElement, (Map) expectedElement);
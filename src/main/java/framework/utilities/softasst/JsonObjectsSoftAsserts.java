@@ -1,8 +1,16 @@
 package framework.utilities.softasst;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.assertj.core.api.AbstractAssert;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import framework.utilities.jsondiff.JsonDiff;
+import framework.utilities.jsondiff.JsonStreamDiff;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
 public class JsonObjectsSoftAsserts extends AbstractAssert<JsonObjectsSoftAsserts, Object> {
 
     public JsonObjectsSoftAsserts(Object actual) {
@@ -18,12 +26,52 @@ public class JsonObjectsSoftAsserts extends AbstractAssert<JsonObjectsSoftAssert
 
         JsonCompare comparingAction = new JsonCompare();
         comparingAction.isEqual(actual, expected);
-        List<String> result = comparingAction.getDiffs();
+        failOnDiffs(comparingAction.getDiffs());
+        return this;
+    }
+
+    /**
+     * Compare objects as json trees using diff settings.
+     * Objects that are not JsonNode (maps, lists, dto) are converted to json trees first.
+     * @param expected Object
+     * @param jsonDiff diff settings
+     * @return JsonObjectsSoftAsserts
+     */
+    public JsonObjectsSoftAsserts compareUsing(Object expected, JsonDiff jsonDiff) {
+        JsonCompare comparingAction = new JsonCompare();
+        comparingAction.isEqual(toTree(actual), toTree(expected), jsonDiff);
+        failOnDiffs(comparingAction.getDiffs());
+        return this;
+    }
+
+    /**
+     * Compare json streams - left mode, documents are compared while they are read.
+     * Actual should be an InputStream, both streams are closed.
+     * @param expected InputStream
+     * @param streamDiff diff settings, e.g. limit of differences
+     * @return JsonObjectsSoftAsserts
+     */
+    public JsonObjectsSoftAsserts compareStreamUsing(InputStream expected, JsonStreamDiff streamDiff) {
+        isInstanceOf(InputStream.class);
+        JsonCompare comparingAction = new JsonCompare();
+        try {
+            comparingAction.isEqual((InputStream) actual, expected, streamDiff);
+        } catch (IOException e) {
+            failWithMessage("Json streams can't be compared: %s", e.getMessage());
+        }
+        failOnDiffs(comparingAction.getDiffs());
+        return this;
+    }
+
+    private void failOnDiffs(List<String> result) {
         if (!result.isEmpty()) {
             StringBuilder customizeMessage = new StringBuilder();
             result.forEach(message -> customizeMessage.append(message).append("\n"));
             failWithMessage("Differences failed:\n%s", customizeMessage.toString().trim());
         }
-        return this;
+    }
+
+    private static JsonNode toTree(Object value) {
+        return value instanceof JsonNode ? (JsonNode) value : ObjectMapperRegistry.valueToTree(value);
     }
 }
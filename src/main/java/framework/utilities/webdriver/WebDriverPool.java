@@ -0,0 +1,323 @@
+package framework.utilities.webdriver;
+
+import framework.utilities.MavenProperty;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Pool of warm browser sessions for parallel UI tests. Every thread leases its own session, so page objects of
+ * one test never see the browser of another. On release a session is reset and kept for the next lease instead
+ * of starting a new browser; session that fails health check or reached max uses is quit and replaced on demand.
+ * <p>Reset closes extra windows and clears browser state. Chromium browsers (Chrome, Edge) are reset through
+ * DevTools: cookies of all origins, and storage (local, session, IndexedDB, cache, service workers) of the
+ * current origin and of every origin that has cookies. Other browsers only expose state of the current page,
+ * so cookies and local and session storage of the current origin are cleared, state left by other origins
+ * (e.g. a single sign-on server) survives; use max uses 1 there if tests depend on it.</p>
+ * Example
+ * <pre>
+ *      WebDriverPool pool = WebDriverPool.newBuilder()
+ *          .withSize(4)
+ *          .usingFactory(ChromeDriver::new)
+ *          .build();
+ *      WebDriver driver = pool.acquire();
+ *      ...
+ *      pool.release();
+ * </pre>
+ */
+public final class WebDriverPool {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String SIZE_PROPERTY = "WebDriverPool.size";
+    private static final String MAX_USES_PROPERTY = "WebDriverPool.maxUses";
+    private static final String TIMEOUT_PROPERTY = "WebDriverPool.acquireTimeoutSeconds";
+    private static final String RESET_SCRIPT = "try { window.localStorage.clear(); } catch (e) {}"
+        + " try { window.sessionStorage.clear(); } catch (e) {}";
+    private static final String ORIGIN_SCRIPT = "return window.location.origin;";
+    private static final String BLANK_PAGE = "about:blank";
+
+    private final Supplier<WebDriver> factory;
+    private final int size;
+    private final int maxUses;
+    private final long acquireTimeoutSeconds;
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<Session> idle = new ConcurrentLinkedDeque<>();
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Session> leased = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    private WebDriverPool(Builder builder) {
+        this.factory = builder.factory;
+        this.size = builder.size;
+        this.maxUses = builder.maxUses;
+        this.acquireTimeoutSeconds = builder.acquireTimeoutSeconds;
+        this.permits = new Semaphore(size, true);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Lease session for the current thread, the same session is returned until it is released. Idle session is
+     * reused, new browser is started while pool is not full, otherwise the call waits for a release.
+     *
+     * @return WebDriver of the current thread
+     */
+    public WebDriver acquire() {
+        Session session = leased.get();
+        if (session != null) {
+            return session.driver;
+        }
+        if (closed) {
+            throw new IllegalStateException("WebDriver pool is shut down");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No WebDriver session is released in " + acquireTimeoutSeconds
+                    + " seconds, pool size is " + size);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for WebDriver session", e);
+        }
+        try {
+            session = idle.pollFirst();
+            if (session == null) {
+                session = new Session(Objects.requireNonNull(factory.get(), "WebDriver factory returned null"));
+                sessions.add(session);
+                LOGGER.info("WebDriver session [{}] is started, {} of {}", session.id, sessions.size(), size);
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        session.uses++;
+        leased.set(session);
+        return session.driver;
+    }
+
+    /**
+     * Driver leased by the current thread.
+     *
+     * @return WebDriver or null if the thread has no session
+     */
+    public WebDriver current() {
+        Session session = leased.get();
+        return session == null ? null : session.driver;
+    }
+
+    /**
+     * Return session of the current thread to the pool. Session is reset and kept warm, or quit if it is broken,
+     * reached max uses or pool is shut down. Does nothing if the thread has no session.
+     */
+    public void release() {
+        Session session = leased.get();
+        if (session == null) {
+            return;
+        }
+        leased.remove();
+        try {
+            if (closed) {
+                quit(session, "pool is shut down");
+            } else if (maxUses > 0 && session.uses >= maxUses) {
+                quit(session, "it is used " + session.uses + " times");
+            } else if (!reset(session)) {
+                quit(session, "it failed health check");
+            } else {
+                idle.offerLast(session);
+                if (closed && idle.remove(session)) {
+                    quit(session, "pool is shut down");
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quit idle sessions, leased sessions are quit when they are released.
+     */
+    public void shutdown() {
+        closed = true;
+        Session session;
+        while ((session = idle.pollFirst()) != null) {
+            quit(session, "pool is shut down");
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private static boolean reset(Session session) {
+        WebDriver driver = session.driver;
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            if (driver instanceof HasCdp) {
+                clearAllOrigins((HasCdp) driver, currentOrigin(driver));
+            } else {
+                driver.manage().deleteAllCookies();
+                if (driver instanceof JavascriptExecutor) {
+                    ((JavascriptExecutor) driver).executeScript(RESET_SCRIPT);
+                }
+            }
+            driver.get(BLANK_PAGE);
+            return driver.getWindowHandle() != null;
+        } catch (RuntimeException e) {
+            LOGGER.warn("WebDriver session [{}] is not reset: {}", session.id, e.getMessage());
+            return false;
+        }
+    }
+
+    private static String currentOrigin(WebDriver driver) {
+        Object origin = driver instanceof JavascriptExecutor
+            ? ((JavascriptExecutor) driver).executeScript(ORIGIN_SCRIPT) : null;
+        return origin instanceof String ? (String) origin : null;
+    }
+
+    /**
+     * Clear storage of the current origin and of origins of all cookies, then all cookies.
+     */
+    private static void clearAllOrigins(HasCdp devTools, String currentOrigin) {
+        Set<String> origins = new LinkedHashSet<>();
+        if (currentOrigin != null && currentOrigin.startsWith("http")) {
+            origins.add(currentOrigin);
+        }
+        Object cookies = devTools.executeCdpCommand("Network.getAllCookies", Collections.emptyMap()).get("cookies");
+        if (cookies instanceof List) {
+            for (Object cookie : (List<?>) cookies) {
+                Object domain = cookie instanceof Map ? ((Map<?, ?>) cookie).get("domain") : null;
+                String host = domain instanceof String ? ((String) domain).replaceFirst("^\\.", "") : "";
+                if (!host.isEmpty()) {
+                    origins.add("https://" + host);
+                    origins.add("http://" + host);
+                }
+            }
+        }
+        for (String origin : origins) {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("origin", origin);
+            parameters.put("storageTypes", "all");
+            devTools.executeCdpCommand("Storage.clearDataForOrigin", parameters);
+        }
+        devTools.executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+    }
+
+    private void quit(Session session, String reason) {
+        sessions.remove(session);
+        LOGGER.info("WebDriver session [{}] is quit as {}", session.id, reason);
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            LOGGER.warn("WebDriver session [{}] is not quit cleanly: {}", session.id, e.getMessage());
+        }
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        String value = MavenProperty.getMavenProperties().getProperty(name);
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Property [{}] has invalid value [{}], default [{}] is used", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Browser with number of leases.
+     */
+    private static final class Session {
+
+        private final WebDriver driver;
+        private final int id = System.identityHashCode(this);
+        private int uses;
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    public static final class Builder {
+        private Supplier<WebDriver> factory;
+        private int size = intProperty(SIZE_PROPERTY, 1);
+        private int maxUses = intProperty(MAX_USES_PROPERTY, 50);
+        private long acquireTimeoutSeconds = intProperty(TIMEOUT_PROPERTY, 300);
+
+        private Builder() {
+        }
+
+        /**
+         * Define how browser is started, e.g. ChromeDriver::new.
+         *
+         * @param factory Supplier of WebDriver
+         * @return this
+         */
+        public Builder usingFactory(Supplier<WebDriver> factory) {
+            this.factory = factory;
+            return this;
+        }
+
+        /**
+         * Define max number of browsers, default is maven property WebDriverPool.size or 1.
+         *
+         * @param size number of sessions
+         * @return this
+         */
+        public Builder withSize(int size) {
+            this.size = size;
+            return this;
+        }
+
+        /**
+         * Define number of leases after which browser is restarted, 0 to never restart.
+         * Default is maven property WebDriverPool.maxUses or 50.
+         *
+         * @param maxUses number of leases
+         * @return this
+         */
+        public Builder withMaxUses(int maxUses) {
+            this.maxUses = maxUses;
+            return this;
+        }
+
+        /**
+         * Define how long acquire waits for a release, default is maven property
+         * WebDriverPool.acquireTimeoutSeconds or 300.
+         *
+         * @param acquireTimeoutSeconds seconds
+         * @return this
+         */
+        public Builder withAcquireTimeout(long acquireTimeoutSeconds) {
+            this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+            return this;
+        }
+
+        public WebDriverPool build() {
+            if (factory == null || size < 1 || maxUses < 0 || acquireTimeoutSeconds < 0) {
+                throw new IllegalArgumentException(
+                    "WebDriver pool needs factory, positive size, not negative max uses and timeout");
+            }
+            return new WebDriverPool(this);
+        }
+    }
+}
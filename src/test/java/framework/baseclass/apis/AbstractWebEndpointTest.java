@@ -0,0 +1,92 @@
+package framework.baseclass.apis;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class AbstractWebEndpointTest {
+
+    private final CountDownLatch rest = new CountDownLatch(1);
+    private volatile boolean finished;
+    private HttpServer server;
+    private AbstractWebEndpoint endpoint;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // the rest of the array is sent when the client has read the first elements or after 10 seconds
+        server.createContext("/slow", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("[{\"id\":1},{\"id\":2},".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                rest.await(10, TimeUnit.SECONDS);
+                out.write("{\"id\":3}]".getBytes(StandardCharsets.UTF_8));
+                finished = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.createContext("/page", exchange -> {
+            byte[] body = "{\"total\":2,\"data\":[{\"id\":1,\"extra\":true},{\"id\":2}],\"next\":null}"
+                .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        endpoint = new AbstractWebEndpoint(RestAssured.given()
+            .baseUri("http://127.0.0.1")
+            .port(server.getAddress().getPort()));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        rest.countDown();
+        server.stop(0);
+    }
+
+    @Test(timeOut = 30000)
+    public void listIsReadFromConnectionBeforeResponseIsOver() {
+        List<Object> ids = new ArrayList<>();
+
+        int visited = AbstractWebEndpoint.visitDtoList(endpoint.get("/slow"), Map.class, "", (index, element) -> {
+            assertFalse(finished, "element is read while server still holds the rest of the body");
+            ids.add(element.get("id"));
+            if (index < 1) {
+                return true;
+            }
+            rest.countDown();
+            return false;
+        });
+
+        assertEquals(visited, 2);
+        assertEquals(ids.toString(), "[1, 2]");
+    }
+
+    @Test
+    public void streamReadsArrayOfPagedResponse() {
+        try (Stream<Map> page = AbstractWebEndpoint.extractAsDtoStream(endpoint.get("/page"), Map.class, "/data")) {
+            assertEquals(page.map(element -> element.get("id")).collect(Collectors.toList()).toString(), "[1, 2]");
+        }
+    }
+}
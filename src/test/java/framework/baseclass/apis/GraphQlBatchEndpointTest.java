@@ -0,0 +1,207 @@
+package framework.baseclass.apis;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import framework.utilities.graphqlmapper.GraphQlRequest;
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+public class GraphQlBatchEndpointTest {
+
+    private static final String USER = "{ user(id: 1) { name } }";
+    private static final String USER_BY_ID = "query User($id: ID) { user(id: $id) { name } }";
+
+    private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+    private volatile Function<JsonNode, String> answer;
+    private HttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            JsonNode request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = ObjectMapperRegistry.readTree(new String(readAll(in), StandardCharsets.UTF_8));
+            }
+            requests.add(request);
+            byte[] body = answer.apply(request).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @BeforeMethod
+    public void clearRequests() {
+        requests.clear();
+    }
+
+    private GraphQlBatchEndpoint.Builder graphQl() {
+        return GraphQlBatchEndpoint.newBuilder()
+            .withEndpoint(new AbstractWebEndpoint(RestAssured.given()
+                .baseUri("http://127.0.0.1")
+                .port(server.getAddress().getPort())))
+            .withWindow(10, TimeUnit.SECONDS);
+    }
+
+    private static JsonNode get(CompletableFuture<JsonNode> response) throws Exception {
+        return response.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void fullBatchIsMergedAndResponseIsSplitBack() throws Exception {
+        answer = request -> "{\"data\":{\"b0_user\":{\"name\":\"a\"},\"b1_user\":null},"
+            + "\"errors\":[{\"message\":\"denied\",\"path\":[\"b1_user\",\"name\"]}]}";
+        GraphQlBatchEndpoint graphQl = graphQl().withMaxBatchSize(2).build();
+
+        CompletableFuture<JsonNode> first = graphQl.query(new GraphQlRequest(USER));
+        CompletableFuture<JsonNode> second = graphQl.query(USER_BY_ID, Collections.singletonMap("id", 2));
+
+        assertEquals(get(first).toString(), "{\"data\":{\"user\":{\"name\":\"a\"}}}");
+        assertEquals(get(second).toString(),
+            "{\"data\":{\"user\":null},\"errors\":[{\"message\":\"denied\",\"path\":[\"user\",\"name\"]}]}");
+        assertEquals(requests.size(), 1);
+        String merged = requests.get(0).get("query").asText();
+        assertTrue(merged.contains("b0_user: user(id: 1)"), merged);
+        assertTrue(merged.contains("b1_user: user(id: $b1_id)"), merged);
+        assertEquals(requests.get(0).at("/variables/b1_id").asInt(), 2);
+    }
+
+    @Test
+    public void windowSendsBatchThatIsNotFull() throws Exception {
+        answer = request -> "{\"data\":{\"b0_user\":{\"name\":\"a\"},\"b1_user\":{\"name\":\"b\"}}}";
+        GraphQlBatchEndpoint graphQl = graphQl().withWindow(20, TimeUnit.MILLISECONDS).build();
+
+        CompletableFuture<JsonNode> first = graphQl.query(new GraphQlRequest(USER));
+        CompletableFuture<JsonNode> second = graphQl.query(new GraphQlRequest(USER));
+
+        assertEquals(get(first).at("/data/user/name").asText(), "a");
+        assertEquals(get(second).at("/data/user/name").asText(), "b");
+        assertEquals(requests.size(), 1);
+    }
+
+    @Test
+    public void batchOfOneIsSentAsIs() throws Exception {
+        answer = request -> "{\"data\":{\"user\":{\"name\":\"a\"}},\"extensions\":{\"cost\":1}}";
+        GraphQlBatchEndpoint graphQl = graphQl().build();
+
+        CompletableFuture<JsonNode> response = graphQl.query(new GraphQlRequest(USER));
+        graphQl.flush();
+
+        assertEquals(get(response).toString(), "{\"data\":{\"user\":{\"name\":\"a\"}},\"extensions\":{\"cost\":1}}");
+        assertEquals(requests.get(0).get("query").asText(), USER);
+    }
+
+    @Test
+    public void arrayBatchGetsResponseOfEveryQuery() throws Exception {
+        answer = request -> "[{\"data\":{\"user\":{\"name\":\"a\"}}},{\"errors\":[{\"message\":\"denied\"}]}]";
+        GraphQlBatchEndpoint graphQl = graphQl()
+            .withBatchMode(GraphQlBatchEndpoint.BatchMode.ARRAY)
+            .withMaxBatchSize(2)
+            .build();
+
+        CompletableFuture<JsonNode> first = graphQl.query(new GraphQlRequest(USER));
+        CompletableFuture<JsonNode> second = graphQl.query(new GraphQlRequest(USER));
+
+        assertEquals(get(first).at("/data/user/name").asText(), "a");
+        assertEquals(get(second).at("/errors/0/message").asText(), "denied");
+        assertTrue(requests.get(0).isArray());
+    }
+
+    @Test
+    public void persistedQueryIsRegisteredWhenServerDoesNotKnowIt() throws Exception {
+        answer = request -> request.has("query") ? "{\"data\":{\"user\":{\"name\":\"a\"}}}"
+            : "{\"errors\":[{\"message\":\"not found\",\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}";
+        GraphQlBatchEndpoint graphQl = graphQl().usingPersistedQueries().build();
+
+        CompletableFuture<JsonNode> response = graphQl.query(new GraphQlRequest(USER));
+        graphQl.flush();
+
+        assertEquals(get(response).at("/data/user/name").asText(), "a");
+        assertEquals(requests.size(), 2);
+        assertFalse(requests.get(0).has("query"), "hash only");
+        assertEquals(requests.get(0).at("/extensions/persistedQuery/sha256Hash").asText(),
+            GraphQlRequest.sha256(USER));
+        assertEquals(requests.get(1).get("query").asText(), USER);
+        assertEquals(requests.get(1).at("/extensions/persistedQuery/sha256Hash").asText(),
+            GraphQlRequest.sha256(USER));
+    }
+
+    @Test(timeOut = 30000)
+    public void rejectedBatchFailsEveryQuery() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1));
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> { });
+        try {
+            GraphQlBatchEndpoint full = graphQl().withExecutor(executor).withMaxBatchSize(2).build();
+            CompletableFuture<JsonNode> first = full.query(new GraphQlRequest(USER));
+            CompletableFuture<JsonNode> second = full.query(new GraphQlRequest(USER));
+            GraphQlBatchEndpoint scheduled = graphQl().withExecutor(executor)
+                .withWindow(1, TimeUnit.MILLISECONDS)
+                .build();
+            CompletableFuture<JsonNode> third = scheduled.query(new GraphQlRequest(USER));
+
+            for (CompletableFuture<JsonNode> response : Arrays.asList(first, second, third)) {
+                ExecutionException e = expectThrows(ExecutionException.class, () -> get(response));
+                assertTrue(e.getCause() instanceof RejectedExecutionException, String.valueOf(e.getCause()));
+            }
+            assertTrue(requests.isEmpty());
+        } finally {
+            busy.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,9 +1,11 @@
 package framework.basescript;
 
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.google.common.hash.Hashing;
 import framework.utilities.*;
 import framework.utilities.softasst.AutomationSoftAsserts;
+import framework.utilities.webdriver.WebDriverPool;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -25,11 +27,11 @@ import java.nio.charset.StandardCharsets;
 //@Listeners({AssertJSoftAssertListener.class, TestsListener.class, ContReportPortalListener.class})
 public class BaseTestScript extends ExtentConfig {
 
-	private static ThreadLocal<WebDriver> tlDriver = new ThreadLocal<>();
+	private static final Logger LOGGER = LogManager.getLogger(BaseTestScript.class);
+	private static volatile WebDriverPool driverPool;
 	private Logger log = LogManager.getLogger(BaseTestScript.class);
-	// private static ThreadLocal<WebDriver> thread = new ThreadLocal<WebDriver>();
-	public static WebDriver driver = null;
 	private static final String BDD_TESTNG_RUNNER = "TestNGCukesRunnerForUI";
+	private static final String EXTENT_TEST = "extentTest";
 	protected AutomationSoftAsserts softAssert;
 	private long startTime;
 	private long endTime;
@@ -50,57 +52,107 @@ public class BaseTestScript extends ExtentConfig {
 
 	@BeforeTest(description = "Creating Test for Report")
 	public void launchBrowser(ITestContext xmlTest) {
-		if (xmlTest.getCurrentXmlTest().getXmlClasses().get(0).getName().contains(".ui."))
-			setupDriver();
 		if (!getXmlClassName(xmlTest).equals(BDD_TESTNG_RUNNER)) {
 			printLog("Extent report going to configure Test Name in HTML report : " + getXmlClassName(xmlTest));
 			test.set(extent.get().createTest(xmlTest.getCurrentXmlTest().getName(), "This is a sample test"));
+			xmlTest.setAttribute(EXTENT_TEST, getTest());
 		}
 		printLog("Extent report going to configure Test Name in HTML report : " + xmlTest.getName());
 		getTest().log(Status.INFO, "Test Case Execution Start");
 		// Need to revalidated below line
 		LogginOutputStream.redirectPrintsToLogger();
 		loadProperties();
-		loadUrl();
 		softAssert = framework.utilities.softasst.SoftAssertFactory.getSoftAssert();
 	}
 
+	/**
+	 * UI tests lease browser per method, so methods and classes may run in parallel (parallel="methods").
+	 */
 	@BeforeMethod(description = "Creating Node for scenario")
-	public void beforeMethod(Method method) {
+	public void beforeMethod(Method method, ITestContext xmlTest) {
+		if (getTest() == null) {
+			// worker thread of parallel methods, report test is created on the thread of @BeforeTest
+			test.set((ExtentTest) xmlTest.getAttribute(EXTENT_TEST));
+		}
 		node.set(getTest().createNode(method.getName()));
 		printLog("Extent report invoke method for create 'TestNode' in HTML report as " + method.getName());
 		printReportLog("Scenario is start");
+		if (isUiTest()) {
+			setupDriver();
+			loadUrl();
+		}
 	}
 
+	/**
+	 * Lease browser of the current thread from the pool and bind page objects to it.
+	 */
 	public void setupDriver() {
+		InitFactory.setDriver(getDriverPool().acquire());
+		printLog("Driver is leased for thread " + Thread.currentThread().getName());
+	}
+
+	/**
+	 * Driver of the current thread, null if it is not leased.
+	 */
+	public static WebDriver getDriver() {
+		return driverPool == null ? null : driverPool.current();
+	}
+
+	private boolean isUiTest() {
+		return getClass().getName().contains(".ui.");
+	}
+
+	/**
+	 * Pool of browsers shared by all tests, size is maven property WebDriverPool.size.
+	 */
+	public static WebDriverPool getDriverPool() {
+		if (driverPool == null) {
+			synchronized (BaseTestScript.class) {
+				if (driverPool == null) {
+					driverPool = WebDriverPool.newBuilder().usingFactory(BaseTestScript::createDriver).build();
+				}
+			}
+		}
+		return driverPool;
+	}
+
+	public static void shutdownDriverPool() {
+		synchronized (BaseTestScript.class) {
+			if (driverPool != null) {
+				driverPool.shutdown();
+				driverPool = null;
+			}
+		}
+	}
+
+	private static WebDriver createDriver() {
+		WebDriver driver;
 		String browser = System.getProperty("Browser")!=null?System.getProperty("Browser"):
 				MavenProperty.getMavenProperties().getProperty("Browser");
-		printLog("Going to load browser " + browser);
+		LOGGER.info("Going to load browser " + browser);
 		if (browser.equalsIgnoreCase(BrowserName.CHROME.getValue())) {
 			//WebDriverManager.chromedriver().setup();
 			System.setProperty("webdriver.chrome.driver", "C:\\Projects\\CRM\\auto\\chromedriver-win64\\chromedriver.exe");
 			driver = new ChromeDriver();
-			printLog("Driver load successfully..");
+			LOGGER.info("Driver load successfully..");
 		} else if (browser.equalsIgnoreCase(BrowserName.FF.getValue())) {
 			//WebDriverManager.firefoxdriver().setup();
 			driver = new FirefoxDriver();
-			printLog("Driver load successfully..");
+			LOGGER.info("Driver load successfully..");
 		} else if (browser.equalsIgnoreCase(BrowserName.IE.getValue())) {
 			//WebDriverManager.iedriver().setup();
 			driver = new EdgeDriver();
-			printLog("Driver load successfully..");
+			LOGGER.info("Driver load successfully..");
 		} else if (browser.equalsIgnoreCase(BrowserName.HEADLESS.getValue())) {
 			ChromeOptions options = new ChromeOptions();
 			WebDriverManager.chromedriver().setup();
 			driver = new ChromeDriver(options);
-			printLog("Driver load successfully..");
+			LOGGER.info("Driver load successfully..");
 		} else {
-			log.error("Given WebDriver is not implemented... " + browser);
-			System.exit(0);
+			throw new IllegalArgumentException("Given WebDriver is not implemented... " + browser);
 		}
 		driver.manage().window().maximize();
-		InitFactory.setDriver(driver);
-		InitFactory.getBasePageObject().initMapping();
+		return driver;
 	}
 
 	public void loadUrl() {
@@ -108,7 +160,7 @@ public class BaseTestScript extends ExtentConfig {
 		password = MavenProperty.getMavenProperties().getProperty("Password");
 		printLog("Going to load Url : " + MavenProperty.getMavenProperties().getProperty(Configuration.URL));
 		try {
-			driver.get(MavenProperty.getMavenProperties().getProperty(Configuration.URL));
+			getDriver().get(MavenProperty.getMavenProperties().getProperty(Configuration.URL));
 		} catch (Exception e) {
 			log.error(e.getMessage());
 		}
@@ -125,7 +177,11 @@ public class BaseTestScript extends ExtentConfig {
 		printLog("Extent report going to validate scenario result in HTML page after scenario execution done");
 		printReportLog("Scenario is end");
 		getNode().log(Status.INFO, "Scenario Execution Completed");
-		printResultInReport(result, driver);
+		printResultInReport(result, getDriver());
+		if (isUiTest()) {
+			printLog("Going to close browser");
+			closeBrowser();
+		}
 	}
 
 
@@ -141,17 +197,20 @@ public class BaseTestScript extends ExtentConfig {
 	public void afterTest() {
 		getTest().log(Status.INFO, "Test Execution Completed");
 		printLog("Extent report print data into HTML report after test execution done");
-		printLog("Going to close browser");
-		closeBrowser();
 	}
 
+	/**
+	 * Return browser of the current thread to the pool, it is reset and reused by the next test.
+	 * Page objects of the thread are kept and rebound when the thread leases another browser.
+	 */
 	public void closeBrowser(){
-		if(driver!=null)
-			driver.quit();
+		if (driverPool != null)
+			driverPool.release();
 	}
 	@AfterSuite
 	public void afterSuite(){
 		closeReport();
+		shutdownDriverPool();
 	}
 
 	protected void loadProperties() {
@@ -9,6 +9,7 @@ import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentHtmlReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import framework.utilities.Screenshot;
+import framework.utilities.metrics.MetricsRegistry;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
 import org.testng.ITestResult;
@@ -52,9 +53,24 @@ public class ExtentConfig {
             extent.get().addTestRunnerOutput("<br/>");
             extent.get().addTestRunnerOutput(" -  " + msg);
         }
+        printRestMetrics();
         extent.get().flush();
     }
 
+    /**
+     * Add latency table of every called REST endpoint into report and dump it as json next to the report.
+     */
+    protected void printRestMetrics() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        if (registry.isEmpty()) {
+            return;
+        }
+        extent.get().createTest("REST Endpoint Metrics", "Latency and throughput of called endpoints")
+                .log(Status.INFO, MarkupHelper.createTable(registry.toTable()))
+                .log(Status.INFO, "Peak in-flight requests : " + registry.getPeakInFlight());
+        registry.writeJson(System.getProperty("user.dir") + "/Reports/rest-metrics.json");
+    }
+
     protected void printLog(String message) {
         Reporter.log(message);
     }
@@ -143,7 +143,7 @@ public class CustomReportListener extends AbstractTestNGCucumberTests implements
 	public void attachedScreenshots(TestStepFinished event) {
 		String screen;
 		try {
-			screen = Screenshot.getScreenShotForReport(BaseTestScript.driver, event.getTestCase().getName());
+			screen = Screenshot.getScreenShotForReport(BaseTestScript.getDriver(), event.getTestCase().getName());
 		} catch (IOException e) {
 			throw new RuntimeException(e);
 		}
@@ -18,6 +18,7 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.DataProvider;
 
 import java.util.Date;
 
@@ -38,16 +39,25 @@ import java.util.Date;
 public class TestNGCukesRunner extends AbstractTestNGCucumberTests {
 
 	private Logger log = LogManager.getLogger(TestNGCukesRunner.class);
-	private BaseTestScript script = null;
 	private long startTime;
 	private long endTime;
 
 	@BeforeSuite
 	//@Parameters({ "Browser" })
 	public void setup(ITestContext xmlTest) {
-		script = new BaseTestScript();
-		script.setupDriver();
-		script.loadUrl();
+		// browsers are leased per scenario by framework.bdd.stepdef.ui.UiHooks, one scenario thread per browser
+		int poolSize = BaseTestScript.getDriverPool().getSize();
+		xmlTest.getSuite().getXmlSuite().setDataProviderThreadCount(poolSize);
+		printLog("WebDriver pool size : " + poolSize);
+	}
+
+	/**
+	 * Scenarios run in parallel, as many at a time as there are browsers in the pool (WebDriverPool.size).
+	 */
+	@Override
+	@DataProvider(parallel = true)
+	public Object[][] scenarios() {
+		return super.scenarios();
 	}
 
 	@BeforeClass
@@ -68,7 +78,7 @@ public class TestNGCukesRunner extends AbstractTestNGCucumberTests {
 
 	@AfterSuite
 	public void tearDown() {
-		script.closeBrowser();
+		BaseTestScript.shutdownDriverPool();
 	}
 
 	protected void loadProperties() {
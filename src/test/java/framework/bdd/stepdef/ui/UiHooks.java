@@ -0,0 +1,25 @@
+package framework.bdd.stepdef.ui;
+
+import framework.basescript.BaseTestScript;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+
+/**
+ * Every scenario leases browser of its thread from WebDriverPool and returns it reset,
+ * so scenarios may run in parallel and reuse warm browsers.
+ */
+public class UiHooks {
+
+	private final BaseTestScript script = new BaseTestScript();
+
+	@Before
+	public void leaseBrowser() {
+		script.setupDriver();
+		script.loadUrl();
+	}
+
+	@After
+	public void releaseBrowser() {
+		script.closeBrowser();
+	}
+}
@@ -0,0 +1,85 @@
+package framework.pageobject.api.correlation;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+public class CorrelationTest {
+
+    private static boolean apply(Correlation correlation, String content, CorrelationVariables variables) {
+        return correlation.apply(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, variables);
+    }
+
+    @Test
+    public void firstMatchIsTakenAndSubstituted() {
+        CorrelationVariables.reset();
+        CorrelationVariables variables = CorrelationVariables.current();
+
+        assertTrue(apply(Correlation.jsonPath("invoiceId", "$.Id"), "{\"Id\":\"Åb-1\"}", variables));
+        assertEquals(variables.substitute("{\"InvoiceId\":\"${invoiceId}\",\"x\":\"${unknown}\"}"),
+            "{\"InvoiceId\":\"Åb-1\",\"x\":\"${unknown}\"}");
+        CorrelationVariables.reset();
+    }
+
+    @Test
+    public void defaultIsSetOnlyWhenNothingIsFound() {
+        CorrelationVariables variables = new CorrelationVariables();
+        Correlation correlation = Correlation.newBuilder()
+            .withVariable("id")
+            .usingExtractor(Extractors.regex("id=(\\d+)"))
+            .withMatchNumber(2)
+            .withDefault("NOT_FOUND")
+            .build();
+
+        assertTrue(apply(correlation, "id=1 id=2", variables));
+        assertEquals(variables.get("id"), "2");
+        assertFalse(apply(correlation, "id=1", variables));
+        assertEquals(variables.get("id"), "NOT_FOUND");
+        assertFalse(apply(Correlation.regex("other", "none=(.+)"), "id=1", variables));
+        assertNull(variables.get("other"));
+    }
+
+    @Test
+    public void randomMatchIsOneOfMatches() {
+        CorrelationVariables variables = new CorrelationVariables();
+        Correlation correlation = Correlation.newBuilder()
+            .withVariable("id")
+            .usingExtractor(Extractors.boundary("id=", ";"))
+            .withMatchNumber(0)
+            .build();
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(apply(correlation, "id=a;id=b;id=c;", variables));
+            assertTrue(Arrays.asList("a", "b", "c").contains(variables.get("id")));
+        }
+    }
+
+    @Test
+    public void allMatchesReplaceValuesOfPreviousResponse() {
+        CorrelationVariables variables = new CorrelationVariables();
+        Correlation correlation = Correlation.newBuilder()
+            .withVariable("id")
+            .usingExtractor(Extractors.regex("id=(\\w+)"))
+            .withMatchNumber(-1)
+            .build();
+
+        assertTrue(apply(correlation, "id=a id=b id=c", variables));
+        assertEquals(variables.get("id_matchNr"), "3");
+        assertEquals(variables.get("id_3"), "c");
+
+        assertTrue(apply(correlation, "id=x", variables));
+        assertEquals(variables.get("id_matchNr"), "1");
+        assertEquals(variables.get("id_1"), "x");
+        assertNull(variables.get("id_2"));
+        assertNull(variables.get("id_3"));
+
+        assertFalse(apply(correlation, "nothing", variables));
+        assertEquals(variables.get("id_matchNr"), "0");
+        assertNull(variables.get("id_1"));
+    }
+}
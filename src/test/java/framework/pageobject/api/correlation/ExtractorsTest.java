@@ -0,0 +1,94 @@
+package framework.pageobject.api.correlation;
+
+import static org.testng.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class ExtractorsTest {
+
+    private static List<String> extract(Extractor extractor, String content, Charset charset) {
+        return extractor.extract(content.getBytes(charset), charset, 0);
+    }
+
+    private static List<String> extract(Extractor extractor, String content) {
+        return extract(extractor, content, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void regexTreatsBraceThatIsNotQuantifierAsLiteral() {
+        assertEquals(extract(Extractors.regex("{\"ID\":\"(.*?)\"}"), "[{\"ID\":\"a1\"},{\"ID\":\"b2\"}]"),
+            Arrays.asList("a1", "b2"));
+        assertEquals(extract(Extractors.regex("id=(\\d{2,3})"), "id=1234"), Collections.singletonList("123"));
+        assertEquals(extract(Extractors.regex("id=\\d+"), "id=7 id=8"), Arrays.asList("id=7", "id=8"));
+    }
+
+    @Test
+    public void regexSeesCharactersOfNonAsciiContent() {
+        assertEquals(extract(Extractors.regex("\"name\":\"(.+?)\""), "{\"name\":\"Åsa\"}"),
+            Collections.singletonList("Åsa"));
+        assertEquals(extract(Extractors.regex("name=(.+)"), "name=хо"), Collections.singletonList("хо"));
+        assertEquals(extract(Extractors.regex("(.)-"), "é-"), Collections.singletonList("é"));
+        assertEquals(extract(Extractors.regex("id=([а-я]+)"), "id=привет!"), Collections.singletonList("привет"));
+        assertEquals(extract(Extractors.regex("=(\\S+)"), "a=Åsa b"), Collections.singletonList("Åsa"));
+    }
+
+    @Test
+    public void regexDecodesContentOfAnyCharset() {
+        assertEquals(extract(Extractors.regex("name=(.+)"), "name=Åsa", StandardCharsets.ISO_8859_1),
+            Collections.singletonList("Åsa"));
+        assertEquals(extract(Extractors.regex("name=(.+)"), "name=хо", StandardCharsets.UTF_16),
+            Collections.singletonList("хо"));
+    }
+
+    @Test
+    public void regexDotStopsAtLineFeedOnly() {
+        assertEquals(extract(Extractors.regex("a=(.+)"), "a=1\r2\n3"), Collections.singletonList("1\r2"));
+        assertEquals(extract(Extractors.regex("a=(.+)"), "a=Å\r2\n3"), Collections.singletonList("Å\r2"));
+    }
+
+    @Test
+    public void regexGroupsAndLimit() {
+        RegexExtractor extractor = Extractors.regex("(\\w+)=(\\w+)?", 2);
+        byte[] content = "a=1&b=&c=3".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(extractor.getGroupCount(), 2);
+        assertEquals(extractor.extract(content, StandardCharsets.UTF_8, 2), Arrays.asList("1", null));
+        assertEquals(extractor.findGroups(content, StandardCharsets.UTF_8, 0).get(2), new String[] {"c=3", "c", "3"});
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void regexWithoutRequestedGroupIsRejected() {
+        Extractors.regex("id=\\d+", 1);
+    }
+
+    @Test
+    public void boundaryExtractsTextBetweenBoundaries() {
+        assertEquals(extract(Extractors.boundary("token=\"", "\""), "token=\"Å1\" token=\"x\""),
+            Arrays.asList("Å1", "x"));
+        assertEquals(extract(Extractors.boundary("«", "»"), "a «Åsa» b", StandardCharsets.ISO_8859_1),
+            Collections.singletonList("Åsa"));
+        assertEquals(extract(Extractors.boundary("id=", ""), "x id=rest"), Collections.singletonList("rest"));
+    }
+
+    @Test
+    public void jsonPathReadsValuesAndContainers() {
+        String json = "{\"data\":[{\"id\":1,\"name\":\"Åsa\"},{\"id\":2,\"tags\":[\"a\"]}],\"meta\":{\"id\":3}}";
+
+        assertEquals(extract(Extractors.jsonPath("$.data[*].id"), json), Arrays.asList("1", "2"));
+        assertEquals(extract(Extractors.jsonPath("$.data[0].name"), json), Collections.singletonList("Åsa"));
+        assertEquals(extract(Extractors.jsonPath("$..id"), json), Arrays.asList("1", "2", "3"));
+        assertEquals(extract(Extractors.jsonPath("$.data[1].tags"), json), Collections.singletonList("[\"a\"]"));
+    }
+
+    @Test
+    public void extractorsAreShared() {
+        assertEquals(Extractors.regex("a(b)"), Extractors.regex("a(b)"));
+        assertEquals(Extractors.charsetOf("text/html; charset=\"ISO-8859-1\""), StandardCharsets.ISO_8859_1);
+        assertEquals(Extractors.charsetOf("application/json"), StandardCharsets.UTF_8);
+    }
+}
@@ -5,37 +5,51 @@ import org.openqa.selenium.support.PageFactory;
 
 import framework.baseclass.BasePageObject;
 
+/**
+ * Page objects of the current thread. Every thread of parallel tests has its own driver leased from
+ * WebDriverPool and its own page objects bound to that driver.
+ */
 public class InitFactory {
 
-	private static BasePageObject basePageObject;
-	private static Screenshot screenshot;
-	private static InitFactory factory;
-	private static WebDriver driver;
-	
+	private static final ThreadLocal<InitFactory> FACTORY = new ThreadLocal<>();
+
+	private final WebDriver driver;
+	private BasePageObject basePageObject;
+	private Screenshot screenshot;
+
 	private InitFactory(WebDriver driver) {
+		this.driver = driver;
 		initObjects(driver);
 	}
 
+	/**
+	 * Bind driver to the current thread, page objects are created once per driver
+	 * and kept while the same warm session is leased again.
+	 * @param driver WebDriver of the current thread
+	 */
 	public static void setDriver(WebDriver driver) {
-		InitFactory.driver = driver;
-		getInstance();
+		InitFactory factory = FACTORY.get();
+		if (factory == null || factory.driver != driver) {
+			FACTORY.set(new InitFactory(driver));
+		}
 	}
+
 	/**
-	 * Driver copy 
+	 * Driver copy
 	 * Current Page Object (InitFactory Object)
 	 * constructor call
 	 * initObjects(driver);
 	 * It will create each pageobject
 	 * @return
 	 */
-	
 	private static InitFactory getInstance() {
-		if(factory==null) {
-			factory = (new InitFactory(InitFactory.driver));
+		InitFactory factory = FACTORY.get();
+		if (factory == null) {
+			throw new IllegalStateException("WebDriver is not set for thread " + Thread.currentThread().getName());
 		}
 		return factory;
 	}
-	
+
 	public InitFactory initObjects(WebDriver driver) {
 		initBasePaseObject(driver);
 		initScreenShotObject(driver);
@@ -44,21 +58,21 @@ public class InitFactory {
 
 	private InitFactory initBasePaseObject(WebDriver driver) {
 		basePageObject = PageFactory.initElements(driver, BasePageObject.class);
+		basePageObject.initMapping();
 		return this;
 	}
-	
+
 	private InitFactory initScreenShotObject(WebDriver driver) {
 		screenshot = PageFactory.initElements(driver, Screenshot.class);
 		return this;
 	}
 
-	
 	public static BasePageObject getBasePageObject() {
-		return basePageObject;
+		return getInstance().basePageObject;
 	}
-	
+
 	public static Screenshot getScreenShotObject() {
-		return screenshot;
+		return getInstance().screenshot;
 	}
 
 }
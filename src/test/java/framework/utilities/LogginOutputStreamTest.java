@@ -0,0 +1,131 @@
+package framework.utilities;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.testng.annotations.Test;
+
+public class LogginOutputStreamTest {
+
+    private final List<String> events = new ArrayList<>();
+    private boolean enabled = true;
+
+    private LogginOutputStream stream() {
+        events.clear();
+        enabled = true;
+        Logger logger = (Logger) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Logger.class},
+            (proxy, method, args) -> {
+                if ("isEnabled".equals(method.getName())) {
+                    return enabled && args[0] == Level.INFO;
+                }
+                if ("log".equals(method.getName()) && args.length == 2 && args[1] instanceof CharSequence) {
+                    events.add(args[1].toString());
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.toString());
+            });
+        return new LogginOutputStream(logger, Level.INFO);
+    }
+
+    private static void write(LogginOutputStream stream, String text) throws IOException {
+        stream.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int bufferLength(LogginOutputStream stream) throws ReflectiveOperationException {
+        Field buffer = LogginOutputStream.class.getDeclaredField("buf");
+        buffer.setAccessible(true);
+        return ((byte[]) buffer.get(stream)).length;
+    }
+
+    @Test
+    public void everyLineOfWriteIsOwnEvent() throws IOException {
+        LogginOutputStream stream = stream();
+
+        write(stream, "first\nsecond\r\n\nthi");
+        assertEquals(events, Arrays.asList("first", "second"));
+        write(stream, "rd Åsa\nfourth\n");
+        assertEquals(events, Arrays.asList("first", "second", "third Åsa", "fourth"));
+        stream.flush();
+        assertEquals(events.size(), 4, "nothing is buffered");
+    }
+
+    @Test
+    public void printStreamLinesAndFlushedRestAreLogged() throws IOException {
+        LogginOutputStream stream = stream();
+        PrintStream out = new PrintStream(stream, true, StandardCharsets.UTF_8.name());
+
+        out.println("request:");
+        out.print("line 1\nline 2\nrest");
+        out.flush();
+        out.write('!');
+        out.write('\n');
+
+        assertEquals(events, Arrays.asList("request:", "line 1", "line 2", "rest", "!"));
+    }
+
+    @Test
+    public void nullsAreDropped() throws IOException {
+        LogginOutputStream stream = stream();
+
+        write(stream, "a\0b\nc\0\n\0");
+        stream.write(0);
+        stream.flush();
+
+        assertEquals(events, Arrays.asList("ab", "c"));
+    }
+
+    @Test
+    public void nothingIsBufferedWhileLevelIsDisabled() throws IOException {
+        LogginOutputStream stream = stream();
+        enabled = false;
+
+        write(stream, "hidden\nrest");
+        stream.write('x');
+        enabled = true;
+        stream.flush();
+
+        assertEquals(events, Collections.emptyList());
+    }
+
+    @Test
+    public void bufferGrowsForLongLineAndHugeBufferIsReleased() throws Exception {
+        LogginOutputStream stream = stream();
+        char[] line = new char[100000];
+        Arrays.fill(line, 'x');
+
+        write(stream, "start ");
+        write(stream, new String(line, 0, 3000));
+        int grown = bufferLength(stream);
+        assertTrue(grown >= 3006 && grown <= 4096, "doubled: " + grown);
+        write(stream, "\n");
+        assertEquals(bufferLength(stream), grown, "small buffer is kept");
+
+        write(stream, "start ");
+        write(stream, new String(line));
+        assertTrue(bufferLength(stream) > 100000);
+        write(stream, "end\n");
+        assertEquals(events.get(1).length(), 100009);
+        assertEquals(bufferLength(stream), 2048, "huge buffer is released");
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void closedStreamRejectsWrites() throws IOException {
+        LogginOutputStream stream = stream();
+        write(stream, "last");
+        stream.close();
+        assertEquals(events, Collections.singletonList("last"));
+
+        stream.write('x');
+    }
+}
@@ -0,0 +1,74 @@
+package framework.utilities.cache;
+
+import static org.testng.Assert.assertEquals;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import framework.bean.apiconfig.ApiConfig;
+import framework.bean.apiconfig.ResponseCacheSettings;
+import framework.utilities.balancer.LoadBalancingFilter;
+import framework.utilities.balancer.NodeBalancer;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+
+public class ResponseCacheFilterTest {
+
+    private final AtomicInteger gets = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/items", exchange -> {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                gets.incrementAndGet();
+            }
+            byte[] body = ("{\"version\":" + gets.get() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void writeThroughBalancerEvictsCachedGet() {
+        // configured address is not listened, every request is sent to the node by the balancer
+        ApiConfig apiConfig = new ApiConfig()
+            .setApiUrl("http://localhost")
+            .setApiPort(1)
+            .setApiNodes(Collections.singletonList("127.0.0.1:" + server.getAddress().getPort()))
+            .setResponseCache(new ResponseCacheSettings().setTtlMillis(60000L));
+        ResponseCache cache = ResponseCache.forApi("cacheTest", apiConfig);
+        NodeBalancer balancer = NodeBalancer.forApi("cacheTest", apiConfig);
+        RequestSpecification spec = RestAssured.given()
+            .baseUri(apiConfig.getApiUrl())
+            .port(apiConfig.getApiPort())
+            .filter(new ResponseCacheFilter(cache))
+            .filter(new LoadBalancingFilter(balancer));
+
+        assertEquals(RestAssured.given().spec(spec).get("/items/1").jsonPath().getInt("version"), 1);
+        assertEquals(RestAssured.given().spec(spec).get("/items/1").jsonPath().getInt("version"), 1);
+        assertEquals(gets.get(), 1, "second GET is answered from cache");
+
+        assertEquals(RestAssured.given().spec(spec).body("{}").put("/items/1").getStatusCode(), 200);
+        assertEquals(RestAssured.given().spec(spec).get("/items/1").jsonPath().getInt("version"), 2);
+        assertEquals(gets.get(), 2, "PUT evicts cached GET of the resource");
+    }
+}
@@ -0,0 +1,128 @@
+package framework.utilities.feeder;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class CsvFeederTest {
+
+    private static CsvFeeder feeder(FeedStrategy strategy, boolean recycle) throws IOException {
+        return CsvFeeder.newBuilder()
+            .withFile(CsvFile.open(CsvFileTest.write("0\n1\n2\n").toString()))
+            .usingStrategy(strategy)
+            .withRecycle(recycle)
+            .build();
+    }
+
+    @Test
+    public void sequentialFeederStopsOrRecyclesAtEndOfFile() throws IOException {
+        CsvFeeder once = feeder(FeedStrategy.SEQUENTIAL, false);
+        CsvFeeder recycled = feeder(FeedStrategy.SEQUENTIAL, true);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(once.next().get(0), String.valueOf(i));
+            assertEquals(recycled.next().get(0), String.valueOf(i));
+        }
+        assertNull(once.next());
+        assertEquals(recycled.next().get(0), "0");
+    }
+
+    @Test(timeOut = 30000)
+    public void sequentialFeederGivesEveryRowToOneThread() throws Exception {
+        CsvFeeder feeder = CsvFeeder.newBuilder()
+            .withFile(CsvFile.open(CsvFileTest.write(numbers(10000)).toString()))
+            .withRecycle(false)
+            .build();
+        Set<String> taken = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> counts = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            counts.add(executor.submit(() -> {
+                int count = 0;
+                for (CsvRow row = feeder.next(); row != null; row = feeder.next()) {
+                    assertTrue(taken.add(row.get(0)), "row taken twice: " + row);
+                    count++;
+                }
+                return count;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> count : counts) {
+            total += count.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(total, 10000);
+        assertEquals(taken.size(), 10000);
+    }
+
+    @Test
+    public void perThreadFeederHasCursorOfEveryThread() throws Exception {
+        CsvFeeder feeder = feeder(FeedStrategy.PER_THREAD, false);
+        assertEquals(feeder.next().get(0), "0");
+        assertEquals(feeder.next().get(0), "1");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        assertEquals(executor.submit(() -> feeder.next().get(0)).get(), "0");
+        executor.shutdown();
+        assertEquals(feeder.next().get(0), "2");
+    }
+
+    @Test
+    public void uniquePerThreadFeederKeepsRowOfThread() throws Exception {
+        CsvFeeder feeder = feeder(FeedStrategy.UNIQUE_PER_THREAD, false);
+        CsvRow row = feeder.next();
+        assertSame(feeder.next(), row);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        List<Future<CsvRow>> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            rows.add(executor.submit(feeder::next));
+        }
+        Set<Integer> indexes = ConcurrentHashMap.newKeySet();
+        indexes.add(row.getIndex());
+        int withoutRow = 0;
+        for (Future<CsvRow> other : rows) {
+            if (other.get() == null) {
+                withoutRow++;
+            } else {
+                indexes.add(other.get().getIndex());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(indexes.size(), 3);
+        assertEquals(withoutRow, 1, "file has rows for three threads only");
+    }
+
+    @Test
+    public void randomFeederNeverEnds() throws IOException {
+        CsvFeeder feeder = feeder(FeedStrategy.RANDOM, false);
+        List<Object[]> rows = new ArrayList<>();
+        feeder.dataProvider(10).forEachRemaining(rows::add);
+
+        assertEquals(rows.size(), 10);
+        rows.forEach(fields -> assertTrue(Integer.parseInt((String) fields[0]) < 3));
+    }
+
+    private static String numbers(int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i).append('\n');
+        }
+        return text.toString();
+    }
+}
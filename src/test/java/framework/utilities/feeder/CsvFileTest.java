@@ -0,0 +1,78 @@
+package framework.utilities.feeder;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.testng.annotations.Test;
+
+public class CsvFileTest {
+
+    static Path write(String content) throws IOException {
+        Path path = Files.createTempFile("feeder", ".csv");
+        path.toFile().deleteOnExit();
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rowsAreIndexedWithoutBlankLinesAndBom() throws IOException {
+        CsvFile file = CsvFile.open(write("\uFEFFa@x.com,1\r\n\r\nb@x.com,2\n\nc@x.com,3").toString());
+
+        assertEquals(file.size(), 3);
+        assertEquals(file.row(0).get(0), "a@x.com");
+        assertEquals(file.row(1).toArray(), new Object[] {"b@x.com", "2"});
+        assertEquals(file.row(2).get(1), "3");
+    }
+
+    @Test
+    public void headerNamesColumns() throws IOException {
+        CsvFile file = CsvFile.newBuilder()
+            .withPath(write("email;name\na@x.com;Åsa\nb@x.com\n"))
+            .withDelimiter(';')
+            .withHeader(true)
+            .build();
+
+        assertEquals(file.getColumns(), Arrays.asList("email", "name"));
+        assertEquals(file.size(), 2);
+        assertEquals(file.row(0).get("name"), "Åsa");
+        assertEquals(file.row(1).get("name"), "", "missing trailing field");
+        assertEquals(file.row(1).toMap().get("email"), "b@x.com");
+    }
+
+    @Test
+    public void quotedValuesMayContainDelimitersLineBreaksAndQuotes() throws IOException {
+        CsvFile file = CsvFile.newBuilder()
+            .withPath(write("\"a,b\",\"say \"\"hi\"\"\"\n\"line\nbreak\",x\n"))
+            .withQuotedData(true)
+            .withColumns("first", "second")
+            .build();
+
+        assertEquals(file.size(), 2);
+        assertEquals(file.row(0).get("first"), "a,b");
+        assertEquals(file.row(0).get("second"), "say \"hi\"");
+        assertEquals(file.row(1).get("first"), "line\nbreak");
+    }
+
+    @Test
+    public void dataProviderIteratesRowsInFileOrder() throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        Iterator<Object[]> provider = CsvFile.open(write("1,a\n2,b\n").toString()).dataProvider();
+        provider.forEachRemaining(rows::add);
+
+        assertEquals(rows.size(), 2);
+        assertEquals(rows.get(1), new Object[] {"2", "b"});
+        assertFalse(provider.hasNext());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void missingRowIsRejected() throws IOException {
+        CsvFile.open(write("1\n").toString()).row(1);
+    }
+}
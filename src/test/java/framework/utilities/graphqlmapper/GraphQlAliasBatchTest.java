@@ -0,0 +1,79 @@
+package framework.utilities.graphqlmapper;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.testng.annotations.Test;
+
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+public class GraphQlAliasBatchTest {
+
+    @Test
+    public void onlySingleQueryWithoutFragmentsIsMergeable() {
+        assertTrue(GraphQlAliasBatch.isMergeable("{ a { id } b }"));
+        assertTrue(GraphQlAliasBatch.isMergeable("query Q($id: ID = \"}\") { a(id: $id) { id } } # end"));
+        assertFalse(GraphQlAliasBatch.isMergeable("mutation { a }"));
+        assertFalse(GraphQlAliasBatch.isMergeable("{ ...Fields }"));
+        assertFalse(GraphQlAliasBatch.isMergeable("query @cached { a }"));
+        assertFalse(GraphQlAliasBatch.isMergeable("{ a } { b }"));
+    }
+
+    @Test
+    public void queriesGetAliasesAndOwnVariables() {
+        GraphQlAliasBatch batch = new GraphQlAliasBatch(Arrays.asList(
+            new GraphQlRequest("query A($id: ID) { user(id: $id, note: \"$id\") { name } }",
+                Collections.singletonMap("id", 1)),
+            new GraphQlRequest("query B($id: ID) { me: user(id: $id) @include(if: true) { name } }",
+                Collections.singletonMap("id", 2))));
+
+        assertEquals(batch.getRequest().getQuery(), "query batch($b0_id: ID, $b1_id: ID) "
+            + "{b0_user: user(id: $b0_id, note: \"$id\") { name } "
+            + "b1_me: user(id: $b1_id) @include(if: true) { name }}");
+        assertEquals(batch.getRequest().getVariables().toString(), "{b0_id=1, b1_id=2}");
+    }
+
+    @Test
+    public void responseIsSplitByAliasAndErrorPath() throws IOException {
+        GraphQlAliasBatch batch = new GraphQlAliasBatch(Arrays.asList(
+            new GraphQlRequest("{ a }"), new GraphQlRequest("{ a }"), new GraphQlRequest("{ b }")));
+
+        List<JsonNode> responses = batch.split(ObjectMapperRegistry.readTree("{\"data\":{\"b0_a\":1,\"b1_a\":2,"
+            + "\"b2_b\":null},\"errors\":[{\"message\":\"denied\",\"path\":[\"b2_b\"]},{\"message\":\"slow\"}],"
+            + "\"extensions\":{\"cost\":3}}"));
+
+        assertEquals(responses.get(0).toString(),
+            "{\"data\":{\"a\":1},\"errors\":[{\"message\":\"slow\"}],\"extensions\":{\"cost\":3}}");
+        assertEquals(responses.get(1).get("data").toString(), "{\"a\":2}");
+        assertEquals(responses.get(2).toString(), "{\"data\":{\"b\":null},\"errors\":[{\"message\":\"denied\","
+            + "\"path\":[\"b\"]},{\"message\":\"slow\"}],\"extensions\":{\"cost\":3}}");
+    }
+
+    @Test
+    public void responseWithoutDataGivesErrorsToEveryQuery() throws IOException {
+        GraphQlAliasBatch batch = new GraphQlAliasBatch(Arrays.asList(new GraphQlRequest("{ a }"),
+            new GraphQlRequest("{ b }")));
+
+        JsonNode response = ObjectMapperRegistry.readTree("{\"errors\":[{\"message\":\"down\"}]}");
+        for (JsonNode part : batch.split(response)) {
+            assertEquals(part.toString(), "{\"errors\":[{\"message\":\"down\"}]}");
+        }
+    }
+
+    @Test
+    public void persistedBodyHasHashAndQueryOnlyWhenAsked() {
+        GraphQlRequest request = new GraphQlRequest("{ a }", Collections.singletonMap("x", 1));
+
+        assertEquals(request.getSha256(), "1c7e1e347f726166b5b1c55afd61f278cc9b45e00c108ec33d540a566379811b");
+        assertEquals(request.toBody(false, true).toString(), "{\"query\":\"{ a }\",\"variables\":{\"x\":1}}");
+        assertEquals(request.toBody(true, false).toString(), "{\"variables\":{\"x\":1},\"extensions\":"
+            + "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + request.getSha256() + "\"}}}");
+        assertTrue(request.toBody(true, true).has("query"));
+    }
+}
@@ -0,0 +1,101 @@
+package framework.utilities.httplog;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.testng.annotations.Test;
+
+public class HttpLogRingBufferTest {
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(new HttpLogRingBuffer<>(1).capacity(), 1);
+        assertEquals(new HttpLogRingBuffer<>(5).capacity(), 8);
+        assertEquals(new HttpLogRingBuffer<>(1024).capacity(), 1024);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void zeroCapacityIsRejected() {
+        new HttpLogRingBuffer<>(0);
+    }
+
+    @Test
+    public void offerFailsWhenFullAndElementsComeOutInOrder() {
+        HttpLogRingBuffer<Integer> buffer = new HttpLogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(buffer.size(), 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(buffer.poll(), Integer.valueOf(i));
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void slotsAreReusedAfterWrapAround() {
+        HttpLogRingBuffer<Integer> buffer = new HttpLogRingBuffer<>(2);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(buffer.offer(i));
+            assertTrue(buffer.offer(-i));
+            assertEquals(buffer.poll(), Integer.valueOf(i));
+            assertEquals(buffer.poll(), Integer.valueOf(-i));
+        }
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test(timeOut = 30000)
+    public void concurrentProducersLoseNothingAndKeepOwnOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 100000;
+        HttpLogRingBuffer<long[]> buffer = new HttpLogRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] next = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(element[1], next[(int) element[0]], "order of producer " + element[0]);
+            next[(int) element[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,129 @@
+package framework.utilities.jsondiff;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+import framework.utilities.objectmapper.ObjectMapperRegistry;
+
+public class JsonDiffTest {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    @Test
+    public void strictDiffReportsEveryKindByPointer() throws IOException {
+        List<Difference> differences = JsonDiff.strict().diff(
+            "{\"a\":1,\"b\":\"x\",\"c\":[1,2],\"d\":true}",
+            "{\"a\":2,\"b\":3,\"c\":[1],\"e\":null}");
+
+        assertEquals(describe(differences), "VALUE /a, TYPE /b, MISSING /c/1, MISSING /d, UNEXPECTED /e");
+    }
+
+    @Test
+    public void numbersAreComparedByValue() throws IOException {
+        assertTrue(JsonDiff.strict().diff("{\"a\":1,\"b\":2.50}", "{\"a\":1.0,\"b\":2.5}").isEmpty());
+    }
+
+    @Test
+    public void unorderedArraysAreComparedAsMultisets() throws IOException {
+        JsonDiff jsonDiff = JsonDiff.newBuilder().withArrayMode(ArrayMode.UNORDERED).build();
+
+        assertTrue(jsonDiff.diff("[1,2,2,{\"a\":[3,4]}]", "[{\"a\":[4,3]},2,1,2]").isEmpty());
+        assertEquals(describe(jsonDiff.diff("[1,2,2]", "[2,1,1]")), "MISSING /2, UNEXPECTED /2");
+    }
+
+    @Test
+    public void keyedArraysMatchElementsByKey() throws IOException {
+        JsonDiff jsonDiff = JsonDiff.newBuilder().withArrayKey("/data", "id").build();
+
+        List<Difference> differences = jsonDiff.diff(
+            "{\"data\":[{\"id\":1,\"v\":\"a\"},{\"id\":2,\"v\":\"b\"},{\"id\":3}]}",
+            "{\"data\":[{\"id\":2,\"v\":\"c\"},{\"id\":1.0,\"v\":\"a\"},{\"id\":4}]}");
+
+        assertEquals(describe(differences), "VALUE /data/1/v, MISSING /data/2, UNEXPECTED /data/2");
+    }
+
+    @Test
+    public void ignoredPathsAreSkippedAlsoInUnorderedHashing() throws IOException {
+        JsonDiff jsonDiff = JsonDiff.newBuilder()
+            .withArrayMode(ArrayMode.UNORDERED)
+            .ignoring("/*/updatedAt", "/meta/**")
+            .build();
+
+        assertTrue(jsonDiff.diff(
+            "{\"0\":1,\"meta\":{\"a\":1}}", "{\"0\":1,\"meta\":{\"b\":2}}").isEmpty());
+        assertTrue(jsonDiff.diff(
+            "[{\"id\":1,\"updatedAt\":1},{\"id\":2,\"updatedAt\":2}]",
+            "[{\"id\":2,\"updatedAt\":9},{\"id\":1,\"updatedAt\":8}]").isEmpty());
+    }
+
+    @Test
+    public void extraFieldsAreIgnoredInUnorderedArrays() throws IOException {
+        JsonDiff jsonDiff = JsonDiff.newBuilder().withArrayMode(ArrayMode.UNORDERED).ignoringExtraFields().build();
+
+        assertTrue(jsonDiff.diff(
+            "[{\"id\":1},{\"id\":2,\"tags\":[\"a\"]},{\"name\":\"x\"}]",
+            "[{\"name\":\"x\",\"extra\":1},{\"id\":2,\"tags\":[\"a\"],\"more\":true},{\"id\":1,\"x\":[1]}]").isEmpty());
+        assertEquals(describe(jsonDiff.diff("[{\"id\":1},{\"id\":2}]", "[{\"id\":2,\"x\":1},{\"id\":3}]")),
+            "MISSING /0, UNEXPECTED /1");
+    }
+
+    @Test(timeOut = 30000)
+    public void extraFieldsInLongShuffledArrayAreMatchedInNearLinearTime() {
+        int size = 100000;
+        ArrayNode expected = NODES.arrayNode();
+        List<JsonNode> actualElements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ObjectNode element = NODES.objectNode().put("id", i).put("name", "user" + (i % 100));
+            expected.add(element);
+            actualElements.add(element.deepCopy().put("createdAt", 1000L + i));
+        }
+        Collections.shuffle(actualElements, new Random(7));
+        ArrayNode actual = NODES.arrayNode().addAll(actualElements);
+        JsonDiff jsonDiff = JsonDiff.newBuilder().withArrayMode(ArrayMode.UNORDERED).ignoringExtraFields().build();
+
+        assertTrue(jsonDiff.diff(expected, actual).isEmpty());
+
+        ((ObjectNode) actual.get(10)).put("name", "changed");
+        assertEquals(jsonDiff.diff(expected, actual).size(), 2);
+    }
+
+    @Test
+    public void maxDifferencesStopsComparison() throws IOException {
+        JsonDiff jsonDiff = JsonDiff.newBuilder().withMaxDifferences(2).build();
+
+        assertEquals(jsonDiff.diff("[1,2,3,4]", "[5,6,7,8]").size(), 2);
+        assertFalse(jsonDiff.isEqual(ObjectMapperRegistry.readTree("[1]"), ObjectMapperRegistry.readTree("[2]")));
+    }
+
+    @Test
+    public void parallelComparisonReportsSameDifferencesAsSequential() {
+        ArrayNode expected = NODES.arrayNode();
+        ArrayNode actual = NODES.arrayNode();
+        for (int i = 0; i < 5000; i++) {
+            expected.add(NODES.objectNode().put("id", i).put("v", i));
+            actual.add(NODES.objectNode().put("id", i).put("v", i % 97 == 0 ? -i : i));
+        }
+        JsonDiff parallel = JsonDiff.newBuilder().withParallelism(4).withParallelThreshold(100).build();
+
+        assertEquals(parallel.diff(expected, actual), JsonDiff.strict().diff(expected, actual));
+        assertEquals(parallel.diff(expected, actual).size(), 51);
+    }
+
+    private static String describe(List<Difference> differences) {
+        return differences.stream().map(difference -> difference.getType() + " " + difference.getPath())
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,81 @@
+package framework.utilities.jsondiff;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.testng.annotations.Test;
+
+public class JsonStreamDiffTest {
+
+    @Test
+    public void leftModeSkipsExtraActualValues() throws IOException {
+        List<Difference> differences = JsonStreamDiff.leftMode().diff(
+            stream("{\"a\":1,\"b\":{\"c\":[1,2]},\"d\":\"x\"}"),
+            stream("{\"a\":1,\"extra\":[1],\"b\":{\"c\":[1,3,4]},\"d\":5}"));
+
+        assertEquals(describe(differences), "TYPE /d, VALUE /b/c/1");
+    }
+
+    @Test
+    public void fieldsInDifferentOrderAreMatched() throws IOException {
+        assertTrue(JsonStreamDiff.leftMode().isEqual(
+            stream("{\"a\":{\"x\":1},\"b\":[true],\"c\":\"z\"}"),
+            stream("{\"c\":\"z\",\"b\":[true],\"a\":{\"x\":1.0}}")));
+    }
+
+    @Test
+    public void missingValuesAreReported() throws IOException {
+        List<Difference> differences = JsonStreamDiff.leftMode().diff(
+            stream("{\"a\":[1,2,3],\"b\":{\"c\":1}}"), stream("{\"a\":[1]}"));
+
+        assertEquals(describe(differences), "MISSING /a/1, MISSING /a/2, MISSING /b");
+    }
+
+    @Test
+    public void unexpectedValuesAreReportedOnRequest() throws IOException {
+        JsonStreamDiff streamDiff = JsonStreamDiff.newBuilder().reportingUnexpected().build();
+
+        assertEquals(describe(streamDiff.diff(stream("{\"a\":[1]}"), stream("{\"a\":[1,2],\"b\":0}"))),
+            "UNEXPECTED /a/1, UNEXPECTED /b");
+    }
+
+    @Test
+    public void ignoredPathsAndLimitAreHonoured() throws IOException {
+        JsonStreamDiff streamDiff = JsonStreamDiff.newBuilder()
+            .ignoring("/data/*/updatedAt")
+            .withMaxDifferences(1)
+            .build();
+
+        assertTrue(streamDiff.diff(
+            stream("{\"data\":[{\"id\":1,\"updatedAt\":1}]}"),
+            stream("{\"data\":[{\"id\":1,\"updatedAt\":2}]}")).isEmpty());
+        assertEquals(streamDiff.diff(stream("[1,2,3]"), stream("[4,5,6]")).size(), 1);
+        assertFalse(streamDiff.isEqual(stream("[1]"), stream("[2]")));
+    }
+
+    @Test
+    public void reportsSameDifferencesAsTreeDiffWithExtraFieldsIgnored() throws IOException {
+        String expected = "{\"users\":[{\"id\":1,\"tags\":[\"a\",\"b\"]},{\"id\":2,\"name\":\"n\"}],\"total\":2}";
+        String actual = "{\"total\":3,\"users\":[{\"id\":1,\"tags\":[\"a\",\"c\"],\"x\":0},{\"id\":2}]}";
+
+        assertEquals(describe(JsonStreamDiff.leftMode().diff(stream(expected), stream(actual))),
+            describe(JsonDiff.newBuilder().ignoringExtraFields().build().diff(expected, actual)));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String describe(List<Difference> differences) {
+        return differences.stream().map(difference -> difference.getType() + " " + difference.getPath())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,90 @@
+package framework.utilities.loadtest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class ArrivalProfileTest {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private static List<Long> arrivals(ArrivalProfile profile, long seed) {
+        ArrivalProfile.Schedule schedule = profile.schedule(new Random(seed));
+        List<Long> arrivals = new ArrayList<>();
+        for (long offset = schedule.nextNanos(); offset >= 0; offset = schedule.nextNanos()) {
+            arrivals.add(offset);
+        }
+        return arrivals;
+    }
+
+    private static List<Long> arrivals(ArrivalProfile profile) {
+        return arrivals(profile, 0);
+    }
+
+    @Test
+    public void constantRateSpacesArrivalsEvenly() {
+        ArrivalProfile profile = ArrivalProfile.constant(10, 1, TimeUnit.SECONDS);
+        List<Long> arrivals = arrivals(profile);
+
+        assertEquals(profile.getExpectedArrivals(), 10);
+        assertEquals(arrivals.size(), 10);
+        for (int k = 0; k < arrivals.size(); k++) {
+            assertEquals(arrivals.get(k), TimeUnit.MILLISECONDS.toNanos(100) * k, 1000, "arrival " + k);
+        }
+    }
+
+    @Test
+    public void rampArrivalIsWhereIntegralOfRateReachesItsNumber() {
+        // rate 2 + 4t per second for 1 second: a = (6 - 2) / 2 = 2, b = 2, so 2t^2 + 2t = k
+        checkRamp(ArrivalProfile.ramp(2, 6, 1, TimeUnit.SECONDS), 2, 2, 4);
+        // rate 10t / 2 per second from zero: 2.5t^2 = k
+        checkRamp(ArrivalProfile.ramp(0, 10, 2, TimeUnit.SECONDS), 2.5, 0, 10);
+        // decreasing rate 100 - 50t: -25t^2 + 100t = k
+        checkRamp(ArrivalProfile.ramp(100, 50, 1, TimeUnit.SECONDS), -25, 100, 75);
+    }
+
+    private static void checkRamp(ArrivalProfile profile, double a, double b, int expected) {
+        List<Long> arrivals = arrivals(profile);
+
+        assertEquals(profile.getExpectedArrivals(), expected);
+        assertEquals(arrivals.size(), expected, profile.toString());
+        for (int k = 0; k < arrivals.size(); k++) {
+            double t = arrivals.get(k) / NANOS_PER_SECOND;
+            assertEquals(a * t * t + b * t, k, 1e-6, profile + " arrival " + k);
+        }
+    }
+
+    @Test
+    public void phasesFollowEachOther() {
+        List<Long> arrivals = arrivals(ArrivalProfile.constant(1, 2, TimeUnit.SECONDS)
+            .then(ArrivalProfile.steps(0, 2, 2, 1, TimeUnit.SECONDS)));
+
+        assertEquals(arrivals.size(), 4, "no arrivals at zero rate");
+        assertEquals((long) arrivals.get(0), 0);
+        assertEquals((long) arrivals.get(1), TimeUnit.SECONDS.toNanos(1));
+        assertEquals((long) arrivals.get(2), TimeUnit.SECONDS.toNanos(3));
+        assertEquals((long) arrivals.get(3), TimeUnit.MILLISECONDS.toNanos(3500));
+    }
+
+    @Test
+    public void poissonArrivalsRepeatWithSeedAndKeepMeanRate() {
+        ArrivalProfile profile = ArrivalProfile.poisson(1000, 10, TimeUnit.SECONDS);
+        List<Long> arrivals = arrivals(profile, 42);
+
+        assertEquals(arrivals(profile, 42), arrivals);
+        assertEquals(arrivals.size(), 10000, 300);
+        for (int i = 1; i < arrivals.size(); i++) {
+            assertTrue(arrivals.get(i) >= arrivals.get(i - 1));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void negativeRateIsRejected() {
+        ArrivalProfile.ramp(-1, 10, 1, TimeUnit.SECONDS);
+    }
+}
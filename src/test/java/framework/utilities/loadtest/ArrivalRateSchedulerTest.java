@@ -0,0 +1,103 @@
+package framework.utilities.loadtest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class ArrivalRateSchedulerTest {
+
+    private static ArrivalRateScheduler.Builder scheduler(ArrivalProfile profile) {
+        return ArrivalRateScheduler.newBuilder()
+            .withProfile(profile)
+            .usingVirtualThreads(false);
+    }
+
+    @Test(timeOut = 30000)
+    public void arrivalsStartWhileEarlierIterationsAreRunning() {
+        ArrivalRateResult result = scheduler(ArrivalProfile.constant(50, 200, TimeUnit.MILLISECONDS))
+            .withAllowedLateness(1, TimeUnit.SECONDS)
+            .build()
+            .run("slow", () -> {
+                Thread.sleep(300);
+                return null;
+            });
+
+        assertEquals(result.getExpected(), 10);
+        assertEquals(result.getScheduled(), 10);
+        assertEquals(result.getCompleted(), 10);
+        assertEquals(result.getMissed(), 0);
+        assertEquals(result.getLate(), 0);
+        assertEquals(result.getPeakInFlight(), 10, "no iteration waits for a previous one");
+    }
+
+    @Test(timeOut = 30000)
+    public void arrivalsAboveMaxConcurrencyAreMissedNotQueued() {
+        ArrivalRateResult result = scheduler(ArrivalProfile.constant(100, 200, TimeUnit.MILLISECONDS))
+            .withMaxConcurrency(2)
+            .build()
+            .run("saturated", () -> {
+                Thread.sleep(500);
+                return null;
+            });
+
+        assertEquals(result.getScheduled(), 2);
+        assertEquals(result.getMissed(), 18);
+        assertEquals(result.getCompleted(), 2);
+        assertEquals(result.getPeakInFlight(), 2);
+    }
+
+    @Test(timeOut = 30000)
+    public void arrivalsStartedAfterAllowedLatenessAreLate() {
+        ArrivalRateResult result = scheduler(ArrivalProfile.constant(100, 100, TimeUnit.MILLISECONDS))
+            .withAllowedLateness(0, TimeUnit.NANOSECONDS)
+            .build()
+            .run("late", () -> null);
+
+        assertEquals(result.getScheduled(), 10);
+        assertEquals(result.getLate(), 10);
+    }
+
+    @Test(timeOut = 30000)
+    public void failuresAreCountedByException() {
+        ArrivalRateResult result = scheduler(ArrivalProfile.constant(100, 50, TimeUnit.MILLISECONDS))
+            .build()
+            .run("failing", () -> {
+                throw new IllegalStateException("down");
+            });
+
+        assertEquals(result.getFailures(), 5);
+        assertEquals(result.getErrors(), Collections.singletonMap(IllegalStateException.class.getName(), 5L));
+    }
+
+    @Test
+    public void latencyIsMeasuredFromIntendedStart() {
+        ArrivalRateResult result = new ArrivalRateResult("intended", 1);
+        long intended = TimeUnit.MILLISECONDS.toNanos(1000);
+
+        // iteration started 300 ms late and took 20 ms
+        result.completed(intended, intended + TimeUnit.MILLISECONDS.toNanos(300),
+            intended + TimeUnit.MILLISECONDS.toNanos(320), null);
+
+        assertEquals(result.getLatency().getMax(TimeUnit.MILLISECONDS), 320);
+        assertEquals(result.getServiceTime().getMax(TimeUnit.MILLISECONDS), 20);
+    }
+
+    @Test(timeOut = 30000)
+    public void latencyOfRunIncludesServiceTime() {
+        ArrivalRateResult result = scheduler(ArrivalProfile.constant(100, 100, TimeUnit.MILLISECONDS))
+            .build()
+            .run("measured", () -> {
+                Thread.sleep(20);
+                return null;
+            });
+
+        assertEquals(result.getLatency().getCount(), 10);
+        assertTrue(result.getServiceTime().getMin(TimeUnit.MILLISECONDS) >= 20);
+        assertTrue(result.getLatency().getMax(TimeUnit.NANOSECONDS)
+            >= result.getServiceTime().getMax(TimeUnit.NANOSECONDS));
+        assertTrue(result.getLatency().getPercentileMillis(50) >= result.getServiceTime().getPercentileMillis(50));
+    }
+}
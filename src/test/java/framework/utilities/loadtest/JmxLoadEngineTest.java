@@ -0,0 +1,117 @@
+package framework.utilities.loadtest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import framework.baseclass.RestAssuredConfiguration;
+
+public class JmxLoadEngineTest {
+
+    private static final String PLAN = "/loadtest/engine.jmx";
+
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger redirected = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/login", exchange -> {
+            String body = read(exchange.getRequestBody());
+            boolean json = "application/json".equals(exchange.getRequestHeaders().getFirst("Content-Type"));
+            if (json && body.equals("{\"user\":\"tester\"}")) {
+                logins.incrementAndGet();
+            }
+            respond(exchange, 200, "{\"id\":\"" + UUID.randomUUID() + "\"}");
+        });
+        server.createContext("/item", exchange ->
+            respond(exchange, 200, "item " + exchange.getRequestURI().getRawQuery().replace("id=", "")));
+        server.createContext("/moved", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/target");
+            respond(exchange, 302, "moved");
+        });
+        server.createContext("/target", exchange -> {
+            redirected.incrementAndGet();
+            respond(exchange, 200, "target");
+        });
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void planIsInspectedOnLoad() throws IOException {
+        JmxPlan plan = load();
+
+        assertEquals(plan.getThreadGroupNames(), Collections.singletonList("Users"));
+        assertEquals(plan.getSamplerCount(), 4);
+        assertEquals(plan.getUnsupportedElements(), Collections.singleton("BeanShellPreProcessor"));
+    }
+
+    @Test(timeOut = 60000)
+    public void usersRunPlanWithCorrelationAssertionsAndRedirectSettings() throws IOException {
+        int users = 3;
+        int loops = 2;
+        LoadTestResult result = JmxLoadEngine.newBuilder()
+            .withPlan(load())
+            .withProperty("port", String.valueOf(server.getAddress().getPort()))
+            .withProperty("users", String.valueOf(users))
+            .withProperty("loops", String.valueOf(loops))
+            .withProperty("user", "tester")
+            .build()
+            .run();
+
+        assertEquals(result.getFailureMessages(), Collections.emptyMap());
+        assertEquals(result.getUsers(), users);
+        assertEquals(result.getSamples(), users * loops * 4L);
+        assertEquals(result.getTransactions(), users * loops * 1L);
+        assertEquals(logins.get(), users * loops);
+        assertEquals(redirected.get(), users * loops, "only the sampler following redirects reaches target");
+        assertTrue(result.getUnsupportedElements().contains("BeanShellPreProcessor"));
+        assertEquals(RestAssuredConfiguration.instance().getTotalPoolStats().getLeased(), 0,
+            "bodies nobody reads must not keep connections leased");
+    }
+
+    private static JmxPlan load() throws IOException {
+        try (InputStream content = JmxLoadEngineTest.class.getResourceAsStream(PLAN)) {
+            return JmxPlan.load(PLAN, content);
+        }
+    }
+
+    private static String read(InputStream body) throws IOException {
+        StringBuilder text = new StringBuilder();
+        byte[] buffer = new byte[1024];
+        for (int read; (read = body.read(buffer)) > 0; ) {
+            text.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+        }
+        return text.toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+        exchange.close();
+    }
+}
@@ -0,0 +1,47 @@
+package framework.utilities.loadtest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.testng.annotations.Test;
+
+public class JmxTemplateTest {
+
+    private static VirtualUser user() {
+        VirtualUser user = new VirtualUser(7, Collections.singletonMap("host", "example.com"), Long.MAX_VALUE,
+            new AtomicBoolean());
+        user.setVariable("ID", "42");
+        return user;
+    }
+
+    @Test
+    public void textWithoutReferencesIsConstant() {
+        assertTrue(JmxTemplate.compile("/api/users").isConstant());
+        assertTrue(JmxTemplate.compile("cost ${ not closed").isConstant());
+        assertEquals(JmxTemplate.compile("").evaluate(user()), "");
+    }
+
+    @Test
+    public void variablesAndFunctionsAreEvaluatedPerUser() {
+        JmxTemplate template = JmxTemplate.compile("https://${__P(host,localhost)}/users/${ID}?n=${__threadNum}");
+
+        assertFalse(template.isConstant());
+        assertEquals(template.evaluate(user()), "https://example.com/users/42?n=7");
+    }
+
+    @Test
+    public void unknownReferencesAreKeptAsIs() {
+        assertEquals(JmxTemplate.compile("${UNDEFINED}-${__unknown(1)}-${ID}").evaluate(user()),
+            "${UNDEFINED}-${__unknown(1)}-42");
+    }
+
+    @Test
+    public void functionArgumentsAreNestedTemplatesWithEscapedCommas() {
+        assertEquals(JmxTemplate.compile("${__P(missing,${ID}\\,0)}").evaluate(user()), "42,0");
+        assertEquals(JmxTemplate.compile("${__urlencode(a b&${ID})}").evaluate(user()), "a+b%2642");
+        assertEquals(JmxTemplate.compile("${__RandomString(5,x)}").evaluate(user()), "xxxxx");
+    }
+}
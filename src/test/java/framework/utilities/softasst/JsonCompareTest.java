@@ -0,0 +1,52 @@
+package framework.utilities.softasst;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+import framework.utilities.jsondiff.JsonDiff;
+
+public class JsonCompareTest {
+
+    private static Map<String, Object> wide(int changed) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            map.put("f" + i, i == changed ? "changed" : Arrays.asList(i, "v" + i));
+        }
+        return map;
+    }
+
+    @Test
+    public void mapsAreComparedInParallelWithSameDifferencesAsSequentially() {
+        JsonDiff parallel = JsonDiff.newBuilder().withParallelism(4).withParallelThreshold(100).build();
+        JsonCompare compare = new JsonCompare();
+
+        assertTrue(compare.isEqual(wide(-1), wide(-1), parallel));
+        assertFalse(compare.isEqual(wide(2500), wide(-1), parallel));
+        List<String> differences = new ArrayList<>(compare.getDiffs());
+        assertFalse(compare.isEqual(wide(2500), wide(-1), JsonDiff.strict()));
+        assertEquals(differences, compare.getDiffs());
+        assertEquals(differences.size(), 1);
+    }
+
+    @Test
+    public void extraFieldsCanBeIgnoredAsByLenientComparison() {
+        Map<String, Object> actual = new LinkedHashMap<>();
+        actual.put("id", 1);
+        actual.put("extra", "x");
+        JsonCompare compare = new JsonCompare();
+
+        assertTrue(compare.isEqual(actual, Collections.singletonMap("id", 1)));
+        assertTrue(compare.isEqual(actual, Collections.singletonMap("id", 1),
+            JsonDiff.newBuilder().ignoringExtraFields().build()));
+        assertFalse(compare.isEqual(actual, Collections.singletonMap("id", 1), JsonDiff.strict()));
+    }
+}
@@ -0,0 +1,244 @@
+package framework.utilities.webdriver;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.expectThrows;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class WebDriverPoolTest {
+
+    /**
+     * WebDriver proxy that records calls, optionally with DevTools.
+     */
+    private static final class FakeBrowser {
+
+        final List<String> calls = new CopyOnWriteArrayList<>();
+        final List<String> windows = new CopyOnWriteArrayList<>(Collections.singletonList("main"));
+        final WebDriver driver;
+        volatile boolean broken;
+
+        FakeBrowser(boolean devTools) {
+            Object[] self = new Object[1];
+            WebDriver.Options options = proxy(WebDriver.Options.class, (name, args) -> {
+                calls.add(name);
+                return null;
+            });
+            WebDriver.TargetLocator locator = proxy(WebDriver.TargetLocator.class, (name, args) -> self[0]);
+            Class<?>[] types = devTools ? new Class<?>[] {WebDriver.class, JavascriptExecutor.class, HasCdp.class}
+                : new Class<?>[] {WebDriver.class, JavascriptExecutor.class};
+            self[0] = Proxy.newProxyInstance(getClass().getClassLoader(), types, (proxy, method, args) -> {
+                String name = method.getName();
+                switch (name) {
+                    case "getWindowHandles":
+                        if (broken) {
+                            throw new WebDriverException("browser is gone");
+                        }
+                        return new LinkedHashSet<>(windows);
+                    case "getWindowHandle":
+                        return windows.get(0);
+                    case "close":
+                        windows.remove(windows.size() - 1);
+                        return null;
+                    case "manage":
+                        return options;
+                    case "switchTo":
+                        return locator;
+                    case "executeScript":
+                        calls.add("script " + args[0]);
+                        return "https://app.example.com";
+                    case "executeCdpCommand":
+                        calls.add(args[0] + " " + args[1]);
+                        return "Network.getAllCookies".equals(args[0]) ? Collections.singletonMap("cookies",
+                            Arrays.asList(Collections.singletonMap("domain", ".sso.example.com"),
+                                Collections.singletonMap("domain", "app.example.com"))) : Collections.emptyMap();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "FakeBrowser";
+                    default:
+                        calls.add(name);
+                        return null;
+                }
+            });
+            this.driver = (WebDriver) self[0];
+        }
+
+        private <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> handler.handle(method.getName(), args)));
+        }
+
+        private interface Handler {
+            Object handle(String name, Object[] args);
+        }
+    }
+
+    private final List<FakeBrowser> browsers = new CopyOnWriteArrayList<>();
+
+    @BeforeMethod
+    public void clearBrowsers() {
+        browsers.clear();
+    }
+
+    private WebDriverPool.Builder pool(boolean devTools) {
+        return WebDriverPool.newBuilder().usingFactory(() -> {
+            FakeBrowser browser = new FakeBrowser(devTools);
+            browsers.add(browser);
+            return browser.driver;
+        }).withAcquireTimeout(5);
+    }
+
+    @Test
+    public void threadKeepsItsLeaseAndReleasedBrowserIsReused() {
+        WebDriverPool pool = pool(false).withSize(2).build();
+
+        WebDriver driver = pool.acquire();
+        assertSame(pool.acquire(), driver);
+        assertSame(pool.current(), driver);
+        pool.release();
+        assertNull(pool.current());
+        pool.release();
+
+        assertSame(pool.acquire(), driver);
+        pool.release();
+        assertEquals(browsers.size(), 1);
+    }
+
+    @Test
+    public void releaseClosesExtraWindowsAndClearsStateOfCurrentOrigin() {
+        WebDriverPool pool = pool(false).build();
+        pool.acquire();
+        FakeBrowser browser = browsers.get(0);
+        browser.windows.add("popup");
+
+        pool.release();
+
+        assertEquals(browser.windows, Collections.singletonList("main"));
+        assertTrue(browser.calls.contains("deleteAllCookies"));
+        assertTrue(browser.calls.stream().anyMatch(call -> call.contains("localStorage.clear()")));
+        assertEquals(browser.calls.get(browser.calls.size() - 1), "get");
+    }
+
+    @Test
+    public void chromiumBrowserIsResetForAllOriginsThroughDevTools() {
+        WebDriverPool pool = pool(true).build();
+        pool.acquire();
+        pool.release();
+
+        List<String> devTools = new ArrayList<>();
+        browsers.get(0).calls.stream().filter(call -> call.startsWith("Network") || call.startsWith("Storage"))
+            .forEach(devTools::add);
+        assertEquals(devTools, Arrays.asList(
+            "Network.getAllCookies {}",
+            "Storage.clearDataForOrigin {origin=https://app.example.com, storageTypes=all}",
+            "Storage.clearDataForOrigin {origin=https://sso.example.com, storageTypes=all}",
+            "Storage.clearDataForOrigin {origin=http://sso.example.com, storageTypes=all}",
+            "Storage.clearDataForOrigin {origin=http://app.example.com, storageTypes=all}",
+            "Network.clearBrowserCookies {}"));
+        assertFalse(browsers.get(0).calls.contains("deleteAllCookies"));
+    }
+
+    @Test
+    public void brokenOrWornOutBrowserIsReplaced() {
+        WebDriverPool pool = pool(false).withMaxUses(2).build();
+        WebDriver first = pool.acquire();
+        pool.release();
+        assertSame(pool.acquire(), first);
+        pool.release();
+        assertTrue(browsers.get(0).calls.contains("quit"), "quit after max uses");
+
+        WebDriver second = pool.acquire();
+        assertNotSame(second, first);
+        browsers.get(1).broken = true;
+        pool.release();
+        assertTrue(browsers.get(1).calls.contains("quit"), "quit after failed reset");
+        assertNotSame(pool.acquire(), second);
+        pool.release();
+    }
+
+    @Test(timeOut = 30000)
+    public void browserIsNeverSharedBetweenThreads() throws Exception {
+        WebDriverPool pool = pool(false).withSize(3).withMaxUses(0).build();
+        Set<WebDriver> inUse = ConcurrentHashMap.newKeySet();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> leases = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leases.add(executor.submit(() -> {
+                WebDriver driver = pool.acquire();
+                boolean own = inUse.add(driver);
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                Thread.sleep(1);
+                active.decrementAndGet();
+                inUse.remove(driver);
+                pool.release();
+                return own;
+            }));
+        }
+        for (Future<Boolean> lease : leases) {
+            assertTrue(lease.get());
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertTrue(maxActive.get() <= 3, "max active " + maxActive);
+        assertTrue(browsers.size() <= 3, "started " + browsers.size());
+    }
+
+    @Test(timeOut = 30000)
+    public void acquireFailsWhenNoBrowserIsReleasedInTime() throws Exception {
+        WebDriverPool pool = pool(false).withSize(1).withAcquireTimeout(0).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(pool::acquire).get();
+
+        expectThrows(IllegalStateException.class, pool::acquire);
+        executor.submit(pool::release).get();
+        executor.shutdown();
+        pool.acquire();
+        pool.release();
+    }
+
+    @Test
+    public void shutdownQuitsIdleBrowsersNowAndLeasedOnRelease() throws Exception {
+        WebDriverPool pool = pool(false).withSize(2).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(pool::acquire).get();
+        pool.acquire();
+        pool.release();
+
+        pool.shutdown();
+        assertEquals(browsers.stream().filter(browser -> browser.calls.contains("quit")).count(), 1L);
+        expectThrows(IllegalStateException.class, pool::acquire);
+
+        executor.submit(pool::release).get();
+        executor.shutdown();
+        assertTrue(browsers.stream().allMatch(browser -> browser.calls.contains("quit")));
+    }
+}